@@ -0,0 +1,68 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigEntry;
+import io.kaoto.forage.core.util.config.ConfigModule;
+
+/**
+ * {@link ConfigEntries#find(Map, String, String)}, called once per key read from a properties file
+ * when a config registers its values. A miss on the exact pass makes it retry every module with
+ * {@link ConfigModule#asNamed(String)}, so the cost of a named key grows with the module count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigEntriesFindBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int keys;
+
+    private Map<ConfigModule, ConfigEntry> modules;
+    private String baseName;
+    private String namedName;
+    private String unknownName;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        modules = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            modules.put(ConfigModule.of(SyntheticConfig.class, "forage.bench.key" + i), ConfigEntry.fromModule());
+        }
+        baseName = "forage.bench.key" + (keys / 2);
+        namedName = "forage.ds1.bench.key" + (keys / 2);
+        unknownName = "forage.ds1.bench.absent";
+    }
+
+    @Benchmark
+    public Object findBase() {
+        return ConfigEntries.find(modules, null, baseName);
+    }
+
+    @Benchmark
+    public Object findNamed() {
+        return ConfigEntries.find(modules, "ds1", namedName);
+    }
+
+    @Benchmark
+    public Object findUnknown() {
+        return ConfigEntries.find(modules, "ds1", unknownName);
+    }
+}
@@ -0,0 +1,61 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * {@link ConfigHelper#readAsList(ConfigModule)} over every stored key, each holding a short
+ * comma-separated list such as the agent, guardrail or header lists modules read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigHelperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int keys;
+
+    private ConfigModule[] modules;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigStore store = ConfigStore.getInstance();
+        modules = new ConfigModule[keys];
+        for (int i = 0; i < keys; i++) {
+            modules[i] = ConfigModule.of(SyntheticConfig.class, SyntheticConfig.baseKey(i))
+                    .asNamed(SyntheticConfig.prefix(i));
+            store.set(modules[i], "alpha,beta,gamma,delta");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigStore.getInstance().reload();
+    }
+
+    @Benchmark
+    public void readAsList(Blackhole bh) {
+        for (ConfigModule module : modules) {
+            bh.consume(ConfigHelper.readAsList(module));
+        }
+    }
+}
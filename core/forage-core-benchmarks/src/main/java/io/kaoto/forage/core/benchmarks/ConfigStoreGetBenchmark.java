@@ -0,0 +1,98 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * Throughput of hot {@link ConfigStore#get(ConfigModule)} reads once startup is over, across 1, 10
+ * and 100 named prefixes. Run it on the commit before a ConfigStore change and after it to compare.
+ *
+ * <pre>
+ * java -jar core/forage-core-benchmarks/target/benchmarks.jar ConfigStoreGetBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigStoreGetBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int prefixes;
+
+    private SyntheticConfig[] configs;
+    private ConfigModule[] namedUrls;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigStore store = ConfigStore.getInstance();
+        configs = new SyntheticConfig[prefixes];
+        namedUrls = new ConfigModule[prefixes];
+        for (int i = 0; i < prefixes; i++) {
+            String prefix = "bench" + i;
+            store.set(SyntheticConfigEntries.URL.asNamed(prefix), "jdbc:h2:mem:" + prefix);
+            store.set(SyntheticConfigEntries.USERNAME.asNamed(prefix), "sa");
+            store.set(SyntheticConfigEntries.POOL_MAX_SIZE.asNamed(prefix), "10");
+            configs[i] = new SyntheticConfig(prefix);
+            namedUrls[i] = SyntheticConfigEntries.URL.asNamed(prefix);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigStore.getInstance().reload();
+    }
+
+    /**
+     * Reads every prefix through its typed config getters, as a bean factory does when it builds beans.
+     */
+    @Benchmark
+    @Threads(1)
+    public void configGetters(Blackhole bh) {
+        for (SyntheticConfig config : configs) {
+            bh.consume(config.url());
+            bh.consume(config.username());
+            bh.consume(config.poolMaxSize());
+            bh.consume(config.enabled());
+        }
+    }
+
+    /**
+     * Same read pattern from four threads, exposing contention on the store's read path.
+     */
+    @Benchmark
+    @Threads(4)
+    public void configGettersContended(Blackhole bh) {
+        configGetters(bh);
+    }
+
+    /**
+     * Raw store lookups with pre-built named modules, isolating the store from config-object overhead.
+     */
+    @Benchmark
+    @Threads(1)
+    public void storeGet(Blackhole bh) {
+        ConfigStore store = ConfigStore.getInstance();
+        for (ConfigModule module : namedUrls) {
+            bh.consume(store.get(module));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * {@link ConfigStore#get(ConfigModule)} and {@link ConfigStore#readPrefixes} as the number of stored
+ * keys grows, to catch lookups or discovery that degrade with the size of the configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigStoreScalingBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int keys;
+
+    private ConfigModule hit;
+    private ConfigModule miss;
+    private SyntheticConfig config;
+    private String namedRegexp;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ConfigStore store = ConfigStore.getInstance();
+        for (int i = 0; i < keys; i++) {
+            ConfigModule module = ConfigModule.of(SyntheticConfig.class, SyntheticConfig.baseKey(i));
+            store.set(module.asNamed(SyntheticConfig.prefix(i)), "value-" + i);
+        }
+        int middle = keys / 2;
+        hit = ConfigModule.of(SyntheticConfig.class, SyntheticConfig.baseKey(middle))
+                .asNamed(SyntheticConfig.prefix(middle));
+        miss = ConfigModule.of(SyntheticConfig.class, "forage.bench.absent").asNamed("p0");
+        config = new SyntheticConfig(null);
+        namedRegexp = ConfigHelper.getNamedPropertyRegexp("bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ConfigStore.getInstance().reload();
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return ConfigStore.getInstance().get(hit);
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return ConfigStore.getInstance().get(miss);
+    }
+
+    @Benchmark
+    public Object readPrefixes() {
+        return ConfigStore.getInstance().readPrefixes(config, namedRegexp);
+    }
+}
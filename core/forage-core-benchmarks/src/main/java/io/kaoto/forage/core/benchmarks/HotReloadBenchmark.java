@@ -0,0 +1,112 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.ForageContextServicePlugin;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * Latency of a dev-mode hot-reload through {@link ForageContextServicePlugin#onReload} with
+ * {@code beans} configured beans, bound by {@link SyntheticBeanFactory}.
+ *
+ * <p>{@code oneKeyChanged} rewrites the properties file with a different value for a single prefix
+ * before each reload; {@code nothingChanged} reloads an untouched file. {@code incremental} selects
+ * between the diff-based reload, which only recreates the beans of the changed prefix, and the full
+ * cleanup/configure cycle. Synthetic beans are cheap to create, so the full cycle's numbers are a
+ * lower bound: with real pools every recreated bean also opens new connections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotReloadBenchmark {
+
+    private static final String FILE_NAME = "forage-benchmark.properties";
+
+    @Param({"100"})
+    public int beans;
+
+    @Param({"false", "true"})
+    public boolean incremental;
+
+    private Path configDir;
+    private CamelContext camelContext;
+    private ForageContextServicePlugin plugin;
+    private int revision;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configDir = Files.createTempDirectory("forage-bench");
+        writeConfig(0);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        SyntheticBeanFactory.incremental = incremental;
+        camelContext = new DefaultCamelContext();
+        plugin = new ForageContextServicePlugin();
+        plugin.load(camelContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        plugin.unload(camelContext);
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        SyntheticConfig.deleteTempDir(configDir, FILE_NAME);
+    }
+
+    @Benchmark
+    public void oneKeyChanged(KeyChange change) {
+        plugin.onReload(camelContext);
+    }
+
+    @Benchmark
+    public void nothingChanged() {
+        plugin.onReload(camelContext);
+    }
+
+    /**
+     * Rewrites the properties file with a new value for one prefix before every reload. A reload
+     * takes far longer than the file write, which happens outside the measured time anyway.
+     */
+    @State(Scope.Benchmark)
+    public static class KeyChange {
+
+        @Setup(Level.Invocation)
+        public void changeOneKey(HotReloadBenchmark benchmark) throws IOException {
+            benchmark.writeConfig(++benchmark.revision);
+        }
+    }
+
+    private void writeConfig(int revision) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(configDir.resolve(FILE_NAME))) {
+            for (int i = 0; i < beans; i++) {
+                String prefix = "forage.p" + i + ".bench";
+                // only p0 follows the revision, every other prefix keeps its values
+                writer.write(prefix + ".url=url-" + i + "-" + (i == 0 ? revision : 0) + "\n");
+                writer.write(prefix + ".username=user-" + i + "\n");
+                writer.write(prefix + ".pool.max.size=10\n");
+            }
+        }
+    }
+}
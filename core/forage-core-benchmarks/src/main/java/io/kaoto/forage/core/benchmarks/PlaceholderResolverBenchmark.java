@@ -0,0 +1,70 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import io.kaoto.forage.core.util.config.PlaceholderResolver;
+
+/**
+ * {@link PlaceholderResolver#resolve(String)} over a property set where one value in ten carries an
+ * {@code {{env:..}}} or {@code {{sys:..}}} placeholder, as values are resolved once each when loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceholderResolverBenchmark {
+
+    private static final String SYS_KEY = "forage.bench.placeholder";
+
+    @Param({"100", "1000", "10000"})
+    public int keys;
+
+    private String[] values;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty(SYS_KEY, "resolved");
+        values = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            values[i] = switch (i % 10) {
+                case 0 -> "jdbc:h2:mem:{{env:FORAGE_BENCH_UNSET:db}}-" + i;
+                case 5 -> "{{sys:" + SYS_KEY + "}}-" + i;
+                default -> "plain-value-" + i;
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(SYS_KEY);
+    }
+
+    @Benchmark
+    public void resolve(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(PlaceholderResolver.resolve(value));
+        }
+    }
+
+    @Benchmark
+    public void containsPlaceholders(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(PlaceholderResolver.containsPlaceholders(value));
+        }
+    }
+}
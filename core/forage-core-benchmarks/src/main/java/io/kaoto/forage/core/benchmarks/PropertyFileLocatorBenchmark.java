@@ -0,0 +1,73 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.PropertyFileLocator;
+
+/**
+ * {@link PropertyFileLocator} lookups: locating and parsing a properties file through the
+ * built-in sources (it sits in the {@code forage.config.dir} directory, so the working directory
+ * is probed first), a miss that walks every source, and the regexp prefix scan over the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyFileLocatorBenchmark {
+
+    private static final String FILE_NAME = "forage-benchmark-locator.properties";
+
+    @Param({"100", "1000", "10000"})
+    public int keys;
+
+    private Path configDir;
+    private Properties loaded;
+    private String namedRegexp;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configDir = SyntheticConfig.writeToTempDir(FILE_NAME, keys);
+        System.setProperty("forage.config.dir", configDir.toString());
+        loaded = PropertyFileLocator.readProperties(PropertyFileLocator.locateFromFilesystem(FILE_NAME));
+        namedRegexp = ConfigHelper.getNamedPropertyRegexp("bench");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.clearProperty("forage.config.dir");
+        SyntheticConfig.deleteTempDir(configDir, FILE_NAME);
+    }
+
+    @Benchmark
+    public Properties locateAndRead() {
+        return PropertyFileLocator.readProperties(PropertyFileLocator.locateFromFilesystem(FILE_NAME));
+    }
+
+    @Benchmark
+    public Object locateMissing() {
+        return PropertyFileLocator.locateFromFilesystem("forage-benchmark-absent.properties");
+    }
+
+    @Benchmark
+    public Object readPrefixes() {
+        return PropertyFileLocator.readPrefixes(loaded, namedRegexp);
+    }
+}
@@ -0,0 +1,92 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * Prefix discovery as bean factories run it at startup: a properties file declaring {@code prefixes}
+ * JDBC, JMS and TLS instances each, and one {@link ConfigStore#readPrefixes} call per module.
+ *
+ * <p>{@code cold} clears the store first, so it includes locating and reading the properties file,
+ * as the first factory to configure pays; {@code warm} is every later call from {@code configure()}
+ * and {@code cleanup()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPrefixesBenchmark {
+
+    private static final String[] MODULES = {"jdbc", "jms", "tls"};
+
+    @Param({"50"})
+    public int prefixes;
+
+    private Path configDir;
+    private SyntheticConfig config;
+    private String[] regexps;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configDir = Files.createTempDirectory("forage-bench");
+        try (Writer writer = Files.newBufferedWriter(configDir.resolve("forage-benchmark.properties"))) {
+            for (String module : MODULES) {
+                for (int i = 0; i < prefixes; i++) {
+                    String prefix = "forage." + module + i + "." + module;
+                    writer.write(prefix + ".url=url-" + i + "\n");
+                    writer.write(prefix + ".username=user-" + i + "\n");
+                    writer.write(prefix + ".pool.max.size=10\n");
+                }
+            }
+        }
+        System.setProperty("forage.config.dir", configDir.toString());
+
+        config = new SyntheticConfig(null);
+        regexps = new String[MODULES.length];
+        for (int i = 0; i < MODULES.length; i++) {
+            regexps[i] = ConfigHelper.getNamedPropertyRegexp(MODULES[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve("forage-benchmark.properties"));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public void warm(Blackhole bh) {
+        for (String regexp : regexps) {
+            bh.consume(ConfigStore.getInstance().readPrefixes(config, regexp));
+        }
+    }
+
+    @Benchmark
+    public void cold(Blackhole bh) {
+        ConfigStore.getInstance().reload();
+        warm(bh);
+    }
+}
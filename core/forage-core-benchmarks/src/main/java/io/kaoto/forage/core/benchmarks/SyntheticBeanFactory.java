@@ -0,0 +1,71 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.camel.CamelContext;
+import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.util.config.ConfigChanges;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+/**
+ * Binds one bean per {@code forage.<name>.bench.*} prefix, shaped like the JDBC and JMS factories:
+ * {@link #configure()} only creates the beans missing from the registry. Registered through
+ * ServiceLoader so the benchmarks drive it via the real {@code ForageContextServicePlugin}.
+ *
+ * <p>{@link #incremental} selects between the full cleanup/configure cycle and
+ * {@link #reload(ConfigChanges)} on hot-reload.
+ */
+public class SyntheticBeanFactory implements BeanFactory {
+
+    static volatile boolean incremental;
+
+    private CamelContext camelContext;
+
+    @Override
+    public void configure() {
+        for (String name : prefixes()) {
+            if (camelContext.getRegistry().lookupByName(name) == null) {
+                SyntheticConfig config = new SyntheticConfig(name);
+                camelContext.getRegistry().bind(name, new SyntheticBean(config.url(), config.poolMaxSize()));
+            }
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        prefixes().forEach(camelContext.getRegistry()::unbind);
+    }
+
+    @Override
+    public boolean supportsIncrementalReload() {
+        return incremental;
+    }
+
+    @Override
+    public void reload(ConfigChanges changes) {
+        Set<String> affected = new HashSet<>(changes.changedPrefixes("bench"));
+        if (changes.defaultChanged("bench")) {
+            affected.addAll(prefixes());
+        }
+        affected.forEach(camelContext.getRegistry()::unbind);
+        configure();
+    }
+
+    private Set<String> prefixes() {
+        return ConfigStore.getInstance()
+                .readPrefixes(new SyntheticConfig(null), ConfigHelper.getNamedPropertyRegexp("bench"));
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    record SyntheticBean(String url, int poolMaxSize) {}
+}
@@ -0,0 +1,88 @@
+package io.kaoto.forage.core.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+
+import static io.kaoto.forage.core.benchmarks.SyntheticConfigEntries.ENABLED;
+import static io.kaoto.forage.core.benchmarks.SyntheticConfigEntries.POOL_MAX_SIZE;
+import static io.kaoto.forage.core.benchmarks.SyntheticConfigEntries.URL;
+import static io.kaoto.forage.core.benchmarks.SyntheticConfigEntries.USERNAME;
+
+/**
+ * Minimal {@link AbstractConfig} over {@link SyntheticConfigEntries}. Its properties file
+ * ({@code forage-benchmark.properties}) does not exist, so values come only from the store.
+ *
+ * <p>Also generates synthetic property sets of its {@code bench} module, so the benchmarks run offline
+ * with a controlled number of keys. Keys are grouped ten per named prefix: {@code forage.p<n>.bench.key<m>}.
+ */
+public class SyntheticConfig extends AbstractConfig {
+
+    public static final int KEYS_PER_PREFIX = 10;
+
+    public SyntheticConfig(String prefix) {
+        super(prefix, SyntheticConfigEntries.class);
+    }
+
+    @Override
+    public String name() {
+        return "forage-benchmark";
+    }
+
+    public String url() {
+        return getRequired(URL, "URL is required but not configured");
+    }
+
+    public String username() {
+        return get(USERNAME).orElse(null);
+    }
+
+    public int poolMaxSize() {
+        return get(POOL_MAX_SIZE).map(Integer::parseInt).orElse(Integer.parseInt(POOL_MAX_SIZE.defaultValue()));
+    }
+
+    public boolean enabled() {
+        return get(ENABLED).map(Boolean::parseBoolean).orElse(Boolean.parseBoolean(ENABLED.defaultValue()));
+    }
+
+    public static String prefix(int index) {
+        return "p" + (index / KEYS_PER_PREFIX);
+    }
+
+    public static String baseKey(int index) {
+        return "forage.bench.key" + (index % KEYS_PER_PREFIX);
+    }
+
+    public static String key(int index) {
+        return "forage." + prefix(index) + ".bench.key" + (index % KEYS_PER_PREFIX);
+    }
+
+    public static Properties generate(int keys) {
+        Properties props = new Properties();
+        for (int i = 0; i < keys; i++) {
+            props.setProperty(key(i), "value-" + i);
+        }
+        return props;
+    }
+
+    /**
+     * Writes {@code keys} synthetic entries to {@code fileName} in a new temporary directory.
+     *
+     * @return the directory, to be used as {@code forage.config.dir}
+     */
+    public static Path writeToTempDir(String fileName, int keys) throws IOException {
+        Path dir = Files.createTempDirectory("forage-bench");
+        try (Writer writer = Files.newBufferedWriter(dir.resolve(fileName))) {
+            generate(keys).store(writer, null);
+        }
+        return dir;
+    }
+
+    public static void deleteTempDir(Path dir, String fileName) throws IOException {
+        Files.deleteIfExists(dir.resolve(fileName));
+        Files.deleteIfExists(dir);
+    }
+}
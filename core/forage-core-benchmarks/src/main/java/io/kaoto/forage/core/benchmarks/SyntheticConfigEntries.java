@@ -0,0 +1,56 @@
+package io.kaoto.forage.core.benchmarks;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+/**
+ * Configuration entries shaped like a typical Forage module (a handful of connection settings),
+ * used by the benchmarks to drive the configuration layer without a real factory on the classpath.
+ */
+public final class SyntheticConfigEntries extends ConfigEntries {
+
+    public static final ConfigModule URL = ConfigModule.of(
+            SyntheticConfig.class,
+            "forage.bench.url",
+            "The connection URL",
+            "URL",
+            null,
+            "string",
+            true,
+            ConfigTag.COMMON);
+
+    public static final ConfigModule USERNAME = ConfigModule.of(
+            SyntheticConfig.class,
+            "forage.bench.username",
+            "The username",
+            "Username",
+            null,
+            "string",
+            false,
+            ConfigTag.SECURITY);
+
+    public static final ConfigModule POOL_MAX_SIZE = ConfigModule.of(
+            SyntheticConfig.class,
+            "forage.bench.pool.max.size",
+            "Maximum pool size",
+            "Max Pool Size",
+            "20",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule ENABLED = ConfigModule.of(
+            SyntheticConfig.class,
+            "forage.bench.enabled",
+            "Whether the feature is enabled",
+            "Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.COMMON);
+
+    static {
+        initModules(SyntheticConfigEntries.class, URL, USERNAME, POOL_MAX_SIZE, ENABLED);
+    }
+}
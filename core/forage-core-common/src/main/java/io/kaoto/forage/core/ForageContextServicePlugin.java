@@ -8,21 +8,54 @@ import org.apache.camel.spi.ContextServicePlugin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.util.config.ConfigChanges;
 import io.kaoto.forage.core.util.config.ConfigStore;
 
+/**
+ * Camel {@link ContextServicePlugin} discovering every {@link BeanFactory} through ServiceLoader and
+ * letting it bind its beans when the CamelContext is created. When a build tool has
+ * {@link RecordedBeanFactories recorded} the factories ahead of time, those are used instead.
+ *
+ * <p>Factories are configured one after the other on the startup thread. Setting the system property
+ * {@code forage.startup.parallel} (or the {@code FORAGE_STARTUP_PARALLEL} environment variable) to
+ * {@code true} configures the factories that {@link BeanFactory#supportsParallelConfigure() support it}
+ * concurrently instead, see {@link ParallelConfigurer}; they are all joined before
+ * {@link #load(CamelContext)} returns, so routes still start with every bean bound.
+ */
 public class ForageContextServicePlugin implements ContextServicePlugin {
     private static final Logger LOG = LoggerFactory.getLogger(ForageContextServicePlugin.class);
 
+    static final String PARALLEL_PROPERTY = "forage.startup.parallel";
+    static final String PARALLEL_ENV = "FORAGE_STARTUP_PARALLEL";
+
     private final List<BeanFactory> factories = new ArrayList<>();
 
     @Override
     public void load(CamelContext camelContext) {
-        ServiceLoader<BeanFactory> loader =
-                ServiceLoader.load(BeanFactory.class, camelContext.getApplicationContextClassLoader());
+        Iterable<BeanFactory> discovered = RecordedBeanFactories.isRecorded()
+                ? RecordedBeanFactories.create()
+                : ServiceLoader.load(BeanFactory.class, camelContext.getApplicationContextClassLoader());
 
-        loader.forEach(beanFactory -> {
+        List<BeanFactory> loaded = new ArrayList<>();
+        discovered.forEach(beanFactory -> {
             try {
                 beanFactory.setCamelContext(camelContext);
+                loaded.add(beanFactory);
+            } catch (Exception e) {
+                LOG.warn(
+                        "Failed to configure bean factory: {}",
+                        beanFactory.getClass().getName(),
+                        e);
+            }
+        });
+
+        if (parallelEnabled() && loaded.size() > 1) {
+            factories.addAll(new ParallelConfigurer().configure(loaded));
+            return;
+        }
+
+        for (BeanFactory beanFactory : loaded) {
+            try {
                 beanFactory.configure();
                 factories.add(beanFactory);
                 LOG.debug(
@@ -34,7 +67,15 @@ public class ForageContextServicePlugin implements ContextServicePlugin {
                         beanFactory.getClass().getName(),
                         e);
             }
-        });
+        }
+    }
+
+    static boolean parallelEnabled() {
+        String parallel = System.getProperty(PARALLEL_PROPERTY);
+        if (parallel == null) {
+            parallel = System.getenv(PARALLEL_ENV);
+        }
+        return Boolean.parseBoolean(parallel);
     }
 
     /**
@@ -60,9 +101,15 @@ public class ForageContextServicePlugin implements ContextServicePlugin {
      *
      * <p>The reload cycle is:
      * <ol>
-     *   <li><strong>Cleanup</strong> — call {@link BeanFactory#cleanup()} on all factories</li>
+     *   <li><strong>Capture</strong> — record the configuration values in use with
+     *       {@link ConfigChanges#capture()}</li>
+     *   <li><strong>Cleanup</strong> — call {@link BeanFactory#cleanup()} on the factories that do not
+     *       {@link BeanFactory#supportsIncrementalReload() reload incrementally}</li>
      *   <li><strong>Clear config</strong> — call {@link ConfigStore#reload()} to clear cached values</li>
-     *   <li><strong>Reconfigure</strong> — call {@link BeanFactory#configure()} on all factories</li>
+     *   <li><strong>Diff</strong> — re-read the configuration and compute the changed keys</li>
+     *   <li><strong>Reconfigure</strong> — call {@link BeanFactory#reload(ConfigChanges)} on the incremental
+     *       factories, which recreate only the beans whose keys changed, and {@link BeanFactory#configure()}
+     *       on the others</li>
      * </ol>
      */
     @Override
@@ -73,8 +120,14 @@ public class ForageContextServicePlugin implements ContextServicePlugin {
 
         LOG.info("Forage property change detected, reloading beans...");
 
-        // Phase 1: cleanup
+        // Phase 1: record the values the current beans were configured with
+        ConfigChanges changes = ConfigChanges.capture();
+
+        // Phase 2: cleanup, while the old configuration still tells which beans were bound
         for (BeanFactory factory : factories) {
+            if (factory.supportsIncrementalReload()) {
+                continue;
+            }
             try {
                 factory.cleanup();
             } catch (Exception e) {
@@ -83,14 +136,21 @@ public class ForageContextServicePlugin implements ContextServicePlugin {
             }
         }
 
-        // Phase 2: clear config cache
+        // Phase 3: clear config cache
         LOG.debug("Clearing ConfigStore and ConfigHelper caches");
         ConfigStore.getInstance().reload();
 
-        // Phase 3: reconfigure with fresh values from disk
+        // Phase 4: diff against fresh values from disk
+        changes.reread();
+
+        // Phase 5: reconfigure
         for (BeanFactory factory : factories) {
             try {
-                factory.configure();
+                if (factory.supportsIncrementalReload()) {
+                    factory.reload(changes);
+                } else {
+                    factory.configure();
+                }
                 LOG.info("Reloaded bean factory: {}", factory.getClass().getName());
             } catch (Exception e) {
                 LOG.warn("Failed to reload bean factory: {}", factory.getClass().getName(), e);
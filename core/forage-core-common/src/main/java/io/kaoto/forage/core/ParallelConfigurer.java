@@ -0,0 +1,164 @@
+package io.kaoto.forage.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.common.BeanFactory;
+
+/**
+ * Configures the {@link BeanFactory} instances that {@link BeanFactory#supportsParallelConfigure() support it}
+ * concurrently on a bounded executor and joins them all before returning. Factories open pools and broker
+ * connections in {@code configure()}, so overlapping them brings the startup time close to the slowest
+ * factory instead of the sum.
+ *
+ * <p>The other factories, which bind beans shared with other factories or do not guard their access to
+ * Camel's registry, are configured first, one after the other on the calling thread. The registry of the
+ * CamelContext is left as it is: the factories configured in parallel hold its monitor around each access.
+ *
+ * <p>Virtual threads are used when the running JVM provides them, platform daemon threads otherwise.
+ * The number of concurrently configured factories is bounded by {@code forage.startup.parallelism}
+ * (or {@code FORAGE_STARTUP_PARALLELISM}), which defaults to the number of available processors.
+ */
+class ParallelConfigurer {
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelConfigurer.class);
+
+    static final String PARALLELISM_PROPERTY = "forage.startup.parallelism";
+    static final String PARALLELISM_ENV = "FORAGE_STARTUP_PARALLELISM";
+
+    /**
+     * Configures the given factories, concurrently for those supporting it.
+     *
+     * @return the factories that configured successfully, in the order they were given
+     */
+    List<BeanFactory> configure(List<BeanFactory> factories) {
+        long start = System.nanoTime();
+        Set<BeanFactory> configured = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> failed = new ArrayList<>();
+
+        List<BeanFactory> parallel = new ArrayList<>();
+        for (BeanFactory beanFactory : factories) {
+            if (supportsParallelConfigure(beanFactory)) {
+                parallel.add(beanFactory);
+                continue;
+            }
+            String name = beanFactory.getClass().getName();
+            try {
+                beanFactory.configure();
+                configured.add(beanFactory);
+                LOG.debug("Successfully configured bean factory: {}", name);
+            } catch (Exception e) {
+                failed.add(name);
+                LOG.warn("Failed to configure bean factory: {}", name, e);
+            }
+        }
+
+        if (!parallel.isEmpty()) {
+            ExecutorService executor =
+                    Executors.newFixedThreadPool(Math.min(parallelism(), parallel.size()), threadFactory());
+            Map<BeanFactory, Future<Long>> futures = new LinkedHashMap<>();
+            try {
+                for (BeanFactory beanFactory : parallel) {
+                    futures.put(beanFactory, executor.submit(() -> {
+                        long factoryStart = System.nanoTime();
+                        beanFactory.configure();
+                        return System.nanoTime() - factoryStart;
+                    }));
+                }
+
+                for (Map.Entry<BeanFactory, Future<Long>> entry : futures.entrySet()) {
+                    String name = entry.getKey().getClass().getName();
+                    try {
+                        long elapsed = entry.getValue().get();
+                        configured.add(entry.getKey());
+                        LOG.debug(
+                                "Successfully configured bean factory: {} in {} ms",
+                                name,
+                                TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    } catch (ExecutionException e) {
+                        failed.add(name);
+                        LOG.warn("Failed to configure bean factory: {}", name, e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Interrupted while configuring bean factories in parallel");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        if (!failed.isEmpty()) {
+            LOG.warn("{} of {} bean factories failed to configure: {}", failed.size(), factories.size(), failed);
+        }
+        LOG.info(
+                "Configured {} bean factories, {} of them in parallel, in {} ms",
+                configured.size(),
+                parallel.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return factories.stream().filter(configured::contains).toList();
+    }
+
+    private static boolean supportsParallelConfigure(BeanFactory beanFactory) {
+        try {
+            return beanFactory.supportsParallelConfigure();
+        } catch (Exception e) {
+            LOG.debug(
+                    "Configuring bean factory {} serially: {}", beanFactory.getClass().getName(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    static int parallelism() {
+        String parallelism = System.getProperty(PARALLELISM_PROPERTY);
+        if (parallelism == null) {
+            parallelism = System.getenv(PARALLELISM_ENV);
+        }
+        if (parallelism != null) {
+            try {
+                int value = Integer.parseInt(parallelism.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the default
+            }
+            LOG.warn("Ignoring invalid {} value: {}", PARALLELISM_PROPERTY, parallelism);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Returns a factory for virtual threads when the JVM supports them. The project targets Java 17, so
+     * {@code Thread.ofVirtual()} is looked up reflectively.
+     */
+    static ThreadFactory threadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass
+                    .getMethod("name", String.class, long.class)
+                    .invoke(builder, "forage-configure-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong counter = new AtomicLong();
+            return runnable -> {
+                Thread thread = new Thread(runnable, "forage-configure-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.kaoto.forage.core;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import io.kaoto.forage.core.common.BeanFactory;
+
+/**
+ * The {@link BeanFactory} constructors resolved ahead of time by a build tool, used by
+ * {@link ForageContextServicePlugin} instead of a {@link java.util.ServiceLoader} scan.
+ *
+ * <p>The Quarkus extension records the factory classes found on the application classpath at build time,
+ * so that no {@code META-INF/services} file is read at startup, and in a native image, where static init
+ * runs during the image build, the constructors are part of the image heap. Runtimes that do not record
+ * anything keep the ServiceLoader discovery.
+ *
+ * @since 1.4
+ */
+public final class RecordedBeanFactories {
+
+    private static volatile List<Constructor<? extends BeanFactory>> constructors;
+
+    private RecordedBeanFactories() {}
+
+    /**
+     * Records the factories to create, in the order they should be configured.
+     *
+     * @throws IllegalStateException if a factory has no public no-arg constructor
+     */
+    public static void record(List<Class<? extends BeanFactory>> factories) {
+        List<Constructor<? extends BeanFactory>> recorded = new ArrayList<>();
+        for (Class<? extends BeanFactory> factory : factories) {
+            try {
+                recorded.add(factory.getConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(
+                        "Forage bean factory " + factory.getName() + " has no public no-arg constructor", e);
+            }
+        }
+        constructors = List.copyOf(recorded);
+    }
+
+    public static boolean isRecorded() {
+        return constructors != null;
+    }
+
+    /**
+     * Creates a new instance of every recorded factory.
+     *
+     * @throws ServiceConfigurationError if a factory cannot be instantiated, as ServiceLoader would
+     */
+    static List<BeanFactory> create() {
+        List<BeanFactory> factories = new ArrayList<>();
+        for (Constructor<? extends BeanFactory> constructor : constructors) {
+            try {
+                factories.add(constructor.newInstance());
+            } catch (InvocationTargetException e) {
+                throw new ServiceConfigurationError(
+                        constructor.getDeclaringClass().getName() + " could not be instantiated", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new ServiceConfigurationError(
+                        constructor.getDeclaringClass().getName() + " could not be instantiated", e);
+            }
+        }
+        return factories;
+    }
+
+    static void clear() {
+        constructors = null;
+    }
+}
@@ -2,7 +2,11 @@ package io.kaoto.forage.core.common;
 
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.function.Supplier;
 import org.apache.camel.CamelContextAware;
+import org.apache.camel.spi.Registry;
+import io.kaoto.forage.core.util.config.ConfigChanges;
+import io.kaoto.forage.core.util.config.ConfigStore;
 
 /**
  * Factory interface for creating and configuring beans within the Forage ecosystem.
@@ -17,6 +21,83 @@ public interface BeanFactory extends CamelContextAware {
      */
     void configure();
 
+    /**
+     * Returns whether {@link #configure()} may run concurrently with that of the other factories returning
+     * {@code true}, when {@code forage.startup.parallel} is enabled. The other factories are configured one
+     * after the other beforehand.
+     *
+     * <p>Camel's default registry is not thread-safe, so factories returning {@code true} access it through
+     * {@link #bind(String, Object)}, {@link #unbind(String)} and {@link #lookup(String, Class)}, and hold
+     * its monitor around any other change to the CamelContext. They return {@code false} when they are about
+     * to bind beans that other factories bind too, such as the JTA transaction policies.
+     *
+     * <p>The default implementation returns {@code false}.
+     *
+     * @return {@code true} if this factory can be configured in parallel with others
+     */
+    default boolean supportsParallelConfigure() {
+        return false;
+    }
+
+    /**
+     * Binds a bean into the registry of the CamelContext, holding the monitor of the registry.
+     *
+     * @param name the name of the bean
+     * @param bean the bean
+     * @see #supportsParallelConfigure()
+     */
+    default void bind(String name, Object bean) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            registry.bind(name, bean);
+        }
+    }
+
+    /**
+     * Binds a bean created on first lookup into the registry of the CamelContext, holding the monitor of
+     * the registry.
+     *
+     * @param name the name of the bean
+     * @param type the type of the bean
+     * @param bean the supplier of the bean
+     * @see #supportsParallelConfigure()
+     */
+    default void bind(String name, Class<?> type, Supplier<Object> bean) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            registry.bind(name, type, bean);
+        }
+    }
+
+    /**
+     * Removes a bean from the registry of the CamelContext, holding the monitor of the registry.
+     *
+     * @param name the name of the bean
+     * @see #supportsParallelConfigure()
+     */
+    default void unbind(String name) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            registry.unbind(name);
+        }
+    }
+
+    /**
+     * Looks a bean up in the registry of the CamelContext, holding the monitor of the registry.
+     *
+     * @param <T> the type of the bean
+     * @param name the name of the bean
+     * @param type the type of the bean
+     * @return the bean, or {@code null} if none is bound with this name and type
+     * @see #supportsParallelConfigure()
+     */
+    default <T> T lookup(String name, Class<T> type) {
+        Registry registry = getCamelContext().getRegistry();
+        synchronized (registry) {
+            return registry.lookupByNameAndType(name, type);
+        }
+    }
+
     /**
      * Cleans up beans previously created by this factory.
      *
@@ -38,6 +119,38 @@ public interface BeanFactory extends CamelContextAware {
         // no-op by default
     }
 
+    /**
+     * Returns whether this factory refreshes its beans through {@link #reload(ConfigChanges)} instead
+     * of the full {@link #cleanup()} and {@link #configure()} cycle during hot-reload.
+     *
+     * <p>The default implementation returns {@code false}.
+     *
+     * @return {@code true} if {@link #reload(ConfigChanges)} is implemented
+     */
+    default boolean supportsIncrementalReload() {
+        return false;
+    }
+
+    /**
+     * Recreates only the beans whose configuration changed during hot-reload, leaving all other
+     * beans bound in the registry with their identity (and their open pools) intact.
+     *
+     * <p>Called instead of {@link #cleanup()} and {@link #configure()} when
+     * {@link #supportsIncrementalReload()} returns {@code true}. The {@link ConfigStore} has already
+     * been reloaded, so implementations unbind the beans of the prefixes reported by
+     * {@link ConfigChanges#changedPrefixes(String)} and call {@link #configure()}, which binds
+     * anything missing. Prefixes added by the reload are not among the changed ones: implementations
+     * skipping {@link #configure()} when nothing changed must also check
+     * {@link ConfigChanges#addedPrefixes(String, java.util.Set)}.
+     *
+     * <p>The default implementation calls {@link #configure()}.
+     *
+     * @param changes the configuration keys changed since the beans were configured
+     */
+    default void reload(ConfigChanges changes) {
+        configure();
+    }
+
     /**
      * Releases resources held by this factory when the CamelContext is stopping.
      *
@@ -64,4 +177,22 @@ public interface BeanFactory extends CamelContextAware {
 
         return modelLoader.stream().toList();
     }
+
+    /**
+     * Finds the service provider of a specific type with the given class name. The provider is resolved
+     * through the {@link ForageBeanIndex} when it is indexed, with a ServiceLoader scan otherwise.
+     *
+     * @param <K> the type of service to find
+     * @param type the class type to search for
+     * @param className the fully qualified class name of the provider
+     * @return the matching provider, or {@code null} if none is found
+     */
+    default <K> ServiceLoader.Provider<K> findProvider(Class<K> type, String className) {
+        ServiceLoader.Provider<K> provider = ForageBeanIndex.findByClassName(
+                getCamelContext().getApplicationContextClassLoader(), type, className);
+        if (provider != null) {
+            return provider;
+        }
+        return ServiceLoaderHelper.findProviderByClassName(findProviders(type), className);
+    }
 }
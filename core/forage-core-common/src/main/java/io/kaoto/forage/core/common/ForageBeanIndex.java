@@ -0,0 +1,253 @@
+package io.kaoto.forage.core.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Constant-time lookup of Forage providers by class name or bean name, backed by the
+ * {@value #INDEX_RESOURCE} files that {@code ForageBeanIndexProcessor} writes into every module at
+ * compile time.
+ *
+ * <p>A {@link ServiceLoader} lookup enumerates and parses every {@code META-INF/services} file of the
+ * service type on each call, and resolving a provider by name then compares every provider found. The
+ * index files are read once per class loader instead, and a lookup loads only the requested class.
+ * Lookups return {@code null} when the class is not indexed, for instance a provider compiled without
+ * the processor, and callers then fall back to {@link ServiceLoader}. Like {@link ServiceLoader}, they
+ * only return classes listed in the {@code META-INF/services} file of the requested type, read once per
+ * class loader and type.
+ *
+ * <p>The index only keeps class names, so it does not hold on to the classes of the class loader it
+ * was built for. A build tool can instead {@link #record record} the beans with their classes and service
+ * registrations resolved ahead of time, which then replace the index files of every class loader.
+ *
+ * @since 1.4
+ */
+public final class ForageBeanIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(ForageBeanIndex.class);
+
+    public static final String INDEX_RESOURCE = "META-INF/forage/beans.properties";
+
+    private static final Map<ClassLoader, ForageBeanIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile ForageBeanIndex recorded;
+
+    // class name -> bean name, and bean name -> class names (bean names are only unique per service type)
+    private final Map<String, String> beanNames;
+    private final Map<String, List<String>> classNames;
+    // service type -> class names registered in its META-INF/services files
+    private final Map<String, Set<String>> services = new ConcurrentHashMap<>();
+    // classes loaded ahead of time when recorded, null when read from the index files
+    private final Map<String, Class<?>> classes;
+
+    private ForageBeanIndex(Map<String, String> beanNames, Map<String, Class<?>> classes) {
+        this.beanNames = beanNames;
+        this.classes = classes;
+        this.classNames = new HashMap<>();
+        beanNames.forEach((className, beanName) ->
+                classNames.computeIfAbsent(beanName, k -> new ArrayList<>()).add(className));
+    }
+
+    /**
+     * Finds the indexed provider with the given class name.
+     *
+     * @return the provider, or {@code null} if the class is not indexed or is not a registered {@code type}
+     */
+    public static <T> ServiceLoader.Provider<T> findByClassName(
+            ClassLoader classLoader, Class<T> type, String className) {
+        ForageBeanIndex index = of(classLoader);
+        if (!index.beanNames.containsKey(className)) {
+            return null;
+        }
+        return index.provider(classLoader, type, className);
+    }
+
+    /**
+     * Finds the indexed provider of the given type whose {@code @ForageBean} value is {@code beanName}.
+     *
+     * @return the provider, or {@code null} if no indexed and registered {@code type} has that bean name
+     */
+    public static <T> ServiceLoader.Provider<T> findByBeanName(
+            ClassLoader classLoader, Class<T> type, String beanName) {
+        ForageBeanIndex index = of(classLoader);
+        for (String className : index.classNames.getOrDefault(beanName, List.of())) {
+            ServiceLoader.Provider<T> provider = index.provider(classLoader, type, className);
+            if (provider != null) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the class names of every indexed bean visible from the class loader, mapped to their bean
+     * names, for instance to register them for reflection in a native image.
+     */
+    public static Map<String, String> indexedBeans(ClassLoader classLoader) {
+        return Collections.unmodifiableMap(of(classLoader).beanNames);
+    }
+
+    /**
+     * Returns the indexed beans visible from the class loader, mapped to the service types they are
+     * registered for in {@code META-INF/services}, for a build tool to {@link #record record} them.
+     */
+    public static Map<String, Set<String>> registeredServices(ClassLoader classLoader) {
+        ClassLoader loader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        ForageBeanIndex index = of(loader);
+        Map<String, Set<String>> registered = new HashMap<>();
+        for (String className : index.beanNames.keySet()) {
+            try {
+                for (Class<?> type : supertypes(Class.forName(className, false, loader), new HashSet<>())) {
+                    if (index.services
+                            .computeIfAbsent(type.getName(), name -> registered(loader, name))
+                            .contains(className)) {
+                        registered.computeIfAbsent(className, k -> new HashSet<>()).add(type.getName());
+                    }
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.debug("Indexed Forage bean {} cannot be loaded: {}", className, e.getMessage());
+            }
+        }
+        return registered;
+    }
+
+    private static Set<Class<?>> supertypes(Class<?> type, Set<Class<?>> found) {
+        Class<?> superType = type.getSuperclass();
+        if (superType != null && superType != Object.class && found.add(superType)) {
+            supertypes(superType, found);
+        }
+        for (Class<?> contract : type.getInterfaces()) {
+            if (found.add(contract)) {
+                supertypes(contract, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Replaces the index files of every class loader by beans resolved ahead of time: their classes, bean
+     * names, and the service types each one is registered for. A Quarkus application records them at static
+     * init, so that lookups neither read resources nor load classes by name.
+     */
+    public static void record(
+            Map<String, Class<?>> classes, Map<String, String> beanNames, Map<String, Set<String>> registrations) {
+        ForageBeanIndex index = new ForageBeanIndex(new HashMap<>(beanNames), Map.copyOf(classes));
+        registrations.forEach((className, serviceTypes) -> serviceTypes.forEach(serviceType -> index.services
+                .computeIfAbsent(serviceType, k -> ConcurrentHashMap.newKeySet())
+                .add(className)));
+        recorded = index;
+        LOG.debug("Recorded Forage bean index with {} entries", beanNames.size());
+    }
+
+    static void clearRecorded() {
+        recorded = null;
+    }
+
+    private static ForageBeanIndex of(ClassLoader classLoader) {
+        ForageBeanIndex index = recorded;
+        if (index != null) {
+            return index;
+        }
+        ClassLoader loader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        return INDEXES.computeIfAbsent(loader, ForageBeanIndex::load);
+    }
+
+    private static ForageBeanIndex load(ClassLoader classLoader) {
+        Map<String, String> beanNames = new HashMap<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                Properties properties = new Properties();
+                try (InputStream in = url.openStream()) {
+                    properties.load(in);
+                }
+                properties.forEach((className, beanName) -> beanNames.put((String) className, (String) beanName));
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not read the Forage bean index, falling back to ServiceLoader: {}", e.getMessage());
+        }
+        LOG.debug("Loaded Forage bean index with {} entries", beanNames.size());
+        return new ForageBeanIndex(beanNames, null);
+    }
+
+    // the class loader is passed in rather than kept, the index being the value of a weak map keyed by it
+    private <T> ServiceLoader.Provider<T> provider(ClassLoader classLoader, Class<T> type, String className) {
+        ClassLoader loader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader();
+        Set<String> registered = classes == null
+                ? services.computeIfAbsent(type.getName(), name -> registered(loader, name))
+                : services.getOrDefault(type.getName(), Set.of());
+        if (!registered.contains(className)) {
+            return null;
+        }
+        try {
+            Class<?> candidate = classes != null ? classes.get(className) : null;
+            if (candidate == null) {
+                candidate = Class.forName(className, false, loader);
+            }
+            if (!type.isAssignableFrom(candidate)) {
+                return null;
+            }
+            return new IndexedProvider<>(candidate.asSubclass(type));
+        } catch (ClassNotFoundException | LinkageError e) {
+            LOG.debug("Indexed Forage bean {} cannot be loaded: {}", className, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> registered(ClassLoader classLoader, String serviceType) {
+        Set<String> providers = new HashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources("META-INF/services/" + serviceType);
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        String provider = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                        if (!provider.isEmpty()) {
+                            providers.add(provider);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not read the {} service registrations: {}", serviceType, e.getMessage());
+        }
+        return providers;
+    }
+
+    private record IndexedProvider<T>(Class<? extends T> type) implements ServiceLoader.Provider<T> {
+
+        @Override
+        public T get() {
+            try {
+                return type.getConstructor().newInstance();
+            } catch (InvocationTargetException e) {
+                throw new ServiceConfigurationError(type.getName() + " could not be instantiated", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new ServiceConfigurationError(type.getName() + " could not be instantiated", e);
+            }
+        }
+    }
+}
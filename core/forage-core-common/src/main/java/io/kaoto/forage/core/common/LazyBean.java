@@ -0,0 +1,40 @@
+package io.kaoto.forage.core.common;
+
+import java.util.function.Supplier;
+
+/**
+ * A bean created on first use instead of when its {@link BeanFactory} is configured.
+ *
+ * <p>Factories supporting a lazy mode bind a supplier backed by a {@code LazyBean} through
+ * {@link org.apache.camel.spi.Registry#bind(String, Class, Supplier)}, so the first registry lookup of
+ * the bean name builds it. Beans nobody looks up are never built.
+ *
+ * <p>{@link #get()} builds the bean at most once, even when called concurrently.
+ *
+ * @param <T> the type of the bean
+ * @since 1.4
+ */
+public final class LazyBean<T> implements Supplier<T> {
+
+    private final Supplier<T> factory;
+    private volatile T bean;
+
+    public LazyBean(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public T get() {
+        T result = bean;
+        if (result == null) {
+            synchronized (this) {
+                result = bean;
+                if (result == null) {
+                    result = factory.get();
+                    bean = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package io.kaoto.forage.core.util.config;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +13,7 @@ public abstract class AbstractConfig implements Config {
 
     private final String prefix;
     private final Class<? extends ConfigEntries> entriesClass;
+    private final Map<ConfigModule, ConfigModule> namedModules = new ConcurrentHashMap<>();
 
     protected AbstractConfig(String prefix, Class<? extends ConfigEntries> entriesClass) {
         this.prefix = prefix;
@@ -30,6 +32,16 @@ public abstract class AbstractConfig implements Config {
         return prefix;
     }
 
+    /**
+     * Returns the {@link ConfigEntries} declaring the modules of this configuration, so that build-time
+     * tooling can inspect them without knowing the concrete config type.
+     *
+     * @since 1.4
+     */
+    public Class<? extends ConfigEntries> entriesClass() {
+        return entriesClass;
+    }
+
     @Override
     public void register(String name, String value) {
         Map<ConfigModule, ConfigEntry> modules = ConfigEntries.getModules(entriesClass);
@@ -101,7 +113,23 @@ public abstract class AbstractConfig implements Config {
     }
 
     protected Optional<String> get(ConfigModule module) {
-        return ConfigStore.getInstance().get(module.asNamed(prefix));
+        return ConfigStore.getInstance().get(named(module));
+    }
+
+    /**
+     * Returns the variant of the module for this config's prefix, reusing the instance created on
+     * the first read so repeated getters hit the store with a module whose name and hash are cached.
+     */
+    private ConfigModule named(ConfigModule module) {
+        if (prefix == null) {
+            return module;
+        }
+        ConfigModule named = namedModules.get(module);
+        if (named == null) {
+            named = module.asNamed(prefix);
+            namedModules.put(module, named);
+        }
+        return named;
     }
 
     protected String getRequired(ConfigModule module, String errorMessage) {
@@ -0,0 +1,182 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Key-level difference between the configuration held by the {@link ConfigStore} before and after
+ * a hot-reload, mapped to the prefixes of the changed {@link ConfigModule}s.
+ *
+ * <p>{@link #capture()} records the stored module values before {@link ConfigStore#reload()} clears
+ * them. Once the store is cleared, {@link #reread()} instantiates again every config class, for every
+ * prefix that had values, so each reads its properties files, environment variables and system
+ * properties afresh, and compares the result with the recorded values. A module whose value was
+ * added, changed or removed is reported under the module segment of its property name, e.g.
+ * {@code jdbc} for {@code forage.ds1.jdbc.url} or {@code forage.jdbc.url}.
+ *
+ * <p>Prefixes added by the reload had no config instance to be re-read, so their keys are not part of
+ * the changes: factories find them with {@link #addedPrefixes(String, Set)} among the prefixes they
+ * discover after the reload.
+ *
+ * <p><strong>Usage Example:</strong>
+ * <pre>{@code
+ * ConfigChanges changes = ConfigChanges.capture();
+ * ConfigStore.getInstance().reload();
+ * changes.reread();
+ *
+ * Set<String> names = new HashSet<>(changes.changedPrefixes("jdbc"));
+ * names.addAll(changes.addedPrefixes("jdbc", ConfigStore.getInstance().readPrefixes(config, regexp)));
+ * for (String name : names) {
+ *     // recreate the DataSource bound as "name"
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe: an instance belongs to the single reload that captured it.
+ *
+ * @see io.kaoto.forage.core.common.BeanFactory#reload(ConfigChanges)
+ * @since 1.4
+ */
+public final class ConfigChanges {
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigChanges.class);
+
+    private final Map<ConfigModule, String> previous;
+    private final Set<ConfigModule> changed = new HashSet<>();
+
+    private ConfigChanges(Map<ConfigModule, String> previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Records the module values currently held by the {@link ConfigStore}.
+     *
+     * @return the changes relative to the current configuration, to be completed with {@link #reread()}
+     */
+    public static ConfigChanges capture() {
+        return new ConfigChanges(ConfigStore.getInstance().moduleValues());
+    }
+
+    /**
+     * Re-reads the configuration of every config class and prefix recorded by {@link #capture()} and
+     * computes the modules whose value differs. Must be called after {@link ConfigStore#reload()}.
+     *
+     * <p>A config class that cannot be instantiated again with a {@code (String prefix)} constructor
+     * has all its recorded modules reported as changed.
+     */
+    public void reread() {
+        Map<Class<? extends Config>, Set<String>> instances = new HashMap<>();
+        for (ConfigModule module : previous.keySet()) {
+            instances.computeIfAbsent(module.config(), c -> new HashSet<>()).add(module.prefix());
+        }
+
+        Set<Class<? extends Config>> unreadable = new HashSet<>();
+        instances.forEach((configClass, prefixes) -> {
+            for (String prefix : prefixes) {
+                try {
+                    configClass.getConstructor(String.class).newInstance(prefix);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    LOG.debug("Cannot re-read {} for prefix {}", configClass.getName(), prefix, e);
+                    unreadable.add(configClass);
+                }
+            }
+        });
+
+        Map<ConfigModule, String> current = ConfigStore.getInstance().moduleValues();
+        previous.forEach((module, value) -> {
+            if (unreadable.contains(module.config()) || !Objects.equals(value, current.get(module))) {
+                changed.add(module);
+            }
+        });
+        for (ConfigModule module : current.keySet()) {
+            if (!previous.containsKey(module)) {
+                changed.add(module);
+            }
+        }
+
+        LOG.debug("Configuration keys changed since the last reload: {}", changedKeys());
+    }
+
+    /**
+     * Returns the prefixes having at least one changed key of the given module, i.e. the
+     * {@code <prefix>} of the changed {@code forage.<prefix>.<module>.*} keys.
+     *
+     * @param module the module segment of the property names, e.g. {@code jdbc}
+     * @return the changed prefixes, empty if none
+     */
+    public Set<String> changedPrefixes(String module) {
+        Set<String> prefixes = new HashSet<>();
+        for (ConfigModule m : changed) {
+            String prefix = m.prefix();
+            if (prefix != null && startsWith(m, "forage." + prefix + "." + module + ".")) {
+                prefixes.add(prefix);
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * Returns the prefixes among the given ones that had no key of the given module before the reload,
+     * i.e. the {@code <prefix>} of {@code forage.<prefix>.<module>.*} keys that were added by it.
+     *
+     * @param module the module segment of the property names, e.g. {@code jdbc}
+     * @param prefixes the prefixes configured after the reload, as found by
+     *        {@link ConfigStore#readPrefixes(Config, String)}
+     * @return the added prefixes, empty if none
+     */
+    public Set<String> addedPrefixes(String module, Set<String> prefixes) {
+        Set<String> added = new HashSet<>(prefixes);
+        for (ConfigModule m : previous.keySet()) {
+            String prefix = m.prefix();
+            if (prefix != null && startsWith(m, "forage." + prefix + "." + module + ".")) {
+                added.remove(prefix);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Returns whether a key of the default (unprefixed) configuration of the given module changed,
+     * i.e. one of the {@code forage.<module>.*} keys.
+     *
+     * @param module the module segment of the property names, e.g. {@code jdbc}
+     * @return {@code true} if the default configuration changed
+     */
+    public boolean defaultChanged(String module) {
+        String head = "forage." + module + ".";
+        return changed.stream().anyMatch(m -> m.prefix() == null && startsWith(m, head));
+    }
+
+    /**
+     * Returns the property names whose value was added, changed or removed, in sorted order.
+     *
+     * @return the changed property names
+     */
+    public Set<String> changedKeys() {
+        Set<String> keys = new TreeSet<>();
+        for (ConfigModule module : changed) {
+            if (module.propertyName() != null) {
+                keys.add(module.propertyName());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns whether no configuration value changed.
+     *
+     * @return {@code true} if nothing changed
+     */
+    public boolean isEmpty() {
+        return changed.isEmpty();
+    }
+
+    private static boolean startsWith(ConfigModule module, String head) {
+        String name = module.propertyName();
+        return name != null && name.startsWith(head);
+    }
+}
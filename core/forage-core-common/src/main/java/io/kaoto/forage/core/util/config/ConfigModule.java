@@ -53,6 +53,13 @@ public class ConfigModule {
     private final ConfigTag configTag;
     private final String selectsFrom;
 
+    // Derived values are cached lazily (racy single-check, like String#hashCode): prefixed
+    // modules are looked up on every configuration read, so rebuilding the name and hashing
+    // three fields each time would dominate the cost of a ConfigStore lookup
+    private String prefixedName;
+    private String envName;
+    private int hash;
+
     public ConfigModule(Class<? extends Config> config, String name, String prefix) {
         this.config = config;
         this.name = name;
@@ -168,9 +175,18 @@ public class ConfigModule {
     }
 
     /**
-     * Builds the full name with prefix inserted after "forage." if applicable.
+     * Returns the full name with prefix inserted after "forage." if applicable, computing it once.
      */
     private String buildPrefixedName() {
+        String result = prefixedName;
+        if (result == null && name != null) {
+            result = doBuildPrefixedName();
+            prefixedName = result;
+        }
+        return result;
+    }
+
+    private String doBuildPrefixedName() {
         if (prefix == null) {
             return name;
         }
@@ -189,13 +205,15 @@ public class ConfigModule {
      * @return the environment variable name, never null
      */
     public String envName() {
-        String envName = buildPrefixedName();
-
-        if (envName != null && !envName.isBlank()) {
-            return envName.replace(".", "_").toUpperCase();
+        String result = envName;
+        if (result == null) {
+            String fullName = buildPrefixedName();
+            if (fullName != null && !fullName.isBlank()) {
+                result = fullName.replace(".", "_").toUpperCase();
+                envName = result;
+            }
         }
-
-        return null;
+        return result;
     }
 
     /**
@@ -229,6 +247,15 @@ public class ConfigModule {
         return config;
     }
 
+    /**
+     * Returns the prefix this module was {@link #asNamed(String) named} with.
+     *
+     * @return the prefix, or {@code null} for the default (unprefixed) module
+     */
+    public String prefix() {
+        return prefix;
+    }
+
     public String description() {
         return description;
     }
@@ -270,6 +297,11 @@ public class ConfigModule {
 
     @Override
     public int hashCode() {
-        return Objects.hash(config, name, prefix);
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(config, name, prefix);
+            hash = h;
+        }
+        return h;
     }
 }
@@ -3,6 +3,8 @@ package io.kaoto.forage.core.util.config;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -10,6 +12,7 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +53,13 @@ import org.slf4j.LoggerFactory;
  * registration (add methods) should typically be performed during application startup before
  * concurrent access begins.
  *
+ * <p>Reads through {@link #get(ConfigModule)} and {@link #getDirect(String)} are served from an
+ * immutable snapshot of the stored values, published through a volatile reference. Writes drop
+ * the snapshot; until as many reads as there are stored values have followed the last write, reads
+ * go to the {@link Properties} table, whose lookups take no lock, and only then is the snapshot
+ * rebuilt. Interleaved loads and reads during startup therefore do not copy the whole table on
+ * every read, and once startup is over lookups are served from the snapshot.
+ *
  * @see Config
  * @see ConfigModule
  * @see ConfigEntry
@@ -64,6 +74,30 @@ public final class ConfigStore {
     private final List<ConfigResolver> resolvers = new CopyOnWriteArrayList<>();
     private volatile ClassLoader classLoader;
 
+    /**
+     * Frozen copy of {@link #properties} used by the read path; {@code null} when a write
+     * happened since it was last built. Only assigned while holding the {@code properties} monitor.
+     */
+    private volatile Map<Object, String> snapshot;
+
+    // reads served from the properties table since the last write, which pay for rebuilding the snapshot
+    private final AtomicInteger readsSinceWrite = new AtomicInteger();
+
+    /**
+     * Prefix indexes of the keys found in each config class' properties files and in
+     * application.properties, built on the first prefix discovery and dropped on {@link #reload()}.
+     */
+    private final Map<Class<?>, PrefixIndex> fileIndexes = new ConcurrentHashMap<>();
+
+    /**
+     * Prefix index of the {@link ConfigModule} keys held by this store, extended as keys are added
+     * and rebuilt lazily after a removal. Guarded by the {@code properties} monitor.
+     */
+    private PrefixIndex storeIndex;
+
+    // prefixes discovered by a build tool, per regexp, that the runtime configuration sources may not list
+    private final Map<String, Set<String>> recordedPrefixes = new ConcurrentHashMap<>();
+
     /**
      * Private constructor to enforce singleton pattern.
      * Registers the {@link DefaultConfigResolver} as the baseline resolver.
@@ -138,8 +172,10 @@ public final class ConfigStore {
 
         read.ifPresent(s -> {
             String resolved = PlaceholderResolver.resolve(s);
-            properties.put(module, resolved);
-            propertyNameIndex.put(module.propertyName(), resolved);
+            synchronized (properties) {
+                putModule(module, resolved);
+                invalidate();
+            }
         });
     }
 
@@ -171,6 +207,11 @@ public final class ConfigStore {
     /**
      * Utility method to read common prefixes from the {@link Config}, defined by the regexp.
      *
+     * <p>Prefixes are answered from {@link PrefixIndex indexes} of the keys: the config's properties
+     * files and application.properties are read and indexed once per config class, until
+     * {@link #reload()}, so repeated discovery from bean factories costs no file I/O, and the
+     * regexps built by {@link ConfigHelper} are resolved without matching every key.
+     *
      * <p>Regexp has to contain one group, which is extracted.
      * For the regexp <pre>"(.+).jdbc\\..*"</pre> from the properties:
      * <pre>
@@ -183,35 +224,90 @@ public final class ConfigStore {
      * the regexp in a set.
      */
     public <T extends Config> Set<String> readPrefixes(T instance, String regexp) {
-        final String fileName = asProperties(instance);
-        Properties merged = loadPropertiesWithPriority(instance, fileName);
-
-        // Also include properties from application.properties so that prefixes
-        // defined there (e.g., forage.ollama.agent.*) are detected
-        Properties appProps = ConfigHelper.getApplicationProperties();
-        if (appProps != null) {
-            merged.putAll(appProps);
-        }
+        Set<String> prefixes = new HashSet<>();
+        fileIndex(instance).collect(regexp, prefixes);
 
         // Also include properties already registered in ConfigStore by the Config
         // constructor, which may have loaded them from a properties file that cannot
         // be re-read in certain runtime contexts (e.g., JBang classloader)
-        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
-            if (entry.getKey() instanceof ConfigModule cm) {
-                merged.putIfAbsent(cm.propertyName(), entry.getValue());
-            }
+        synchronized (properties) {
+            storeIndex().collect(regexp, prefixes);
         }
 
-        Set<String> prefixes = PropertyFileLocator.readPrefixes(merged, regexp);
-
-        // Consult registered resolvers for additional prefix discovery
+        // Consult registered resolvers for additional prefix discovery. The default resolver
+        // only scans application.properties, which is already part of the file index.
         for (ConfigResolver resolver : resolvers) {
-            prefixes.addAll(resolver.discoverPrefixes(regexp));
+            if (resolver.getClass() != DefaultConfigResolver.class) {
+                prefixes.addAll(resolver.discoverPrefixes(regexp));
+            }
         }
 
+        prefixes.addAll(recordedPrefixes.getOrDefault(regexp, Set.of()));
         return prefixes;
     }
 
+    /**
+     * Records the prefixes a build tool discovered for the regexp, so that {@link #readPrefixes(Config, String)}
+     * returns them at runtime too, for instance the ones Quarkus found in profile-scoped or YAML sources. They
+     * describe the configuration the application started with, so {@link #reload()} drops them: a prefix
+     * removed from the configuration is not reported anymore.
+     */
+    public void recordPrefixes(String regexp, Set<String> prefixes) {
+        recordedPrefixes.put(regexp, Set.copyOf(prefixes));
+    }
+
+    private <T extends Config> PrefixIndex fileIndex(T instance) {
+        PrefixIndex index = fileIndexes.get(instance.getClass());
+        if (index == null) {
+            PrefixIndex built = new PrefixIndex();
+            loadPropertiesWithPriority(instance, asProperties(instance))
+                    .stringPropertyNames()
+                    .forEach(built::add);
+
+            // Also include properties from application.properties so that prefixes
+            // defined there (e.g., forage.ollama.agent.*) are detected
+            Properties appProps = ConfigHelper.getApplicationProperties();
+            if (appProps != null) {
+                appProps.stringPropertyNames().forEach(built::add);
+            }
+
+            index = fileIndexes.putIfAbsent(instance.getClass(), built);
+            if (index == null) {
+                index = built;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of stored module keys, rebuilding it if a removal invalidated it.
+     * Must be called while holding the {@code properties} monitor.
+     */
+    private PrefixIndex storeIndex() {
+        if (storeIndex == null) {
+            PrefixIndex index = new PrefixIndex();
+            for (Object key : properties.keySet()) {
+                if (key instanceof ConfigModule cm) {
+                    index.add(cm.propertyName());
+                }
+            }
+            storeIndex = index;
+        }
+        return storeIndex;
+    }
+
+    /**
+     * Stores a module value and keeps the name and prefix indexes in step. Must be called while
+     * holding the {@code properties} monitor.
+     */
+    private void putModule(ConfigModule module, String value) {
+        properties.put(module, value);
+        propertyNameIndex.put(module.propertyName(), value);
+        if (storeIndex != null) {
+            storeIndex.add(module.propertyName());
+        }
+    }
+
     /**
      * Method for loading properties from different sources in proper order, defaulting to 'default' properties.
      *
@@ -305,7 +401,49 @@ public final class ConfigStore {
      * @return an Optional containing the configuration value, or empty if not found
      */
     public Optional<String> get(ConfigModule entry) {
-        return Optional.ofNullable((String) properties.get(entry));
+        return Optional.ofNullable(lookup(entry));
+    }
+
+    /**
+     * Reads a value from the snapshot, or from the properties table while the snapshot is stale and
+     * too few reads followed the last write to pay for copying the table.
+     */
+    private String lookup(Object key) {
+        Map<Object, String> current = snapshot;
+        if (current != null) {
+            return current.get(key);
+        }
+        if (readsSinceWrite.incrementAndGet() > properties.size()) {
+            return snapshot().get(key);
+        }
+        return (String) properties.get(key);
+    }
+
+    /**
+     * Drops the read snapshot after a write. Must be called while holding the {@code properties} monitor.
+     */
+    private void invalidate() {
+        snapshot = null;
+        readsSinceWrite.set(0);
+    }
+
+    /**
+     * Returns the current read snapshot, rebuilding it if a write invalidated it.
+     */
+    private Map<Object, String> snapshot() {
+        Map<Object, String> current = snapshot;
+        if (current == null) {
+            synchronized (properties) {
+                current = snapshot;
+                if (current == null) {
+                    Map<Object, String> copy = new HashMap<>(properties.size() * 2);
+                    properties.forEach((k, v) -> copy.put(k, (String) v));
+                    current = Map.copyOf(copy);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
     }
 
     /**
@@ -358,12 +496,15 @@ public final class ConfigStore {
      * @since 1.0
      */
     public void set(ConfigModule module, String value) {
-        if (value == null) {
-            properties.remove(module);
-            propertyNameIndex.remove(module.propertyName());
-        } else {
-            properties.put(module, value);
-            propertyNameIndex.put(module.propertyName(), value);
+        synchronized (properties) {
+            if (value == null) {
+                properties.remove(module);
+                propertyNameIndex.remove(module.propertyName());
+                storeIndex = null;
+            } else {
+                putModule(module, value);
+            }
+            invalidate();
         }
     }
 
@@ -379,12 +520,15 @@ public final class ConfigStore {
      * @since 1.0
      */
     public void setDirect(String key, String value) {
-        if (value == null) {
-            properties.remove(key);
-            propertyNameIndex.remove(key);
-        } else {
-            properties.put(key, value);
-            propertyNameIndex.put(key, value);
+        synchronized (properties) {
+            if (value == null) {
+                properties.remove(key);
+                propertyNameIndex.remove(key);
+            } else {
+                properties.put(key, value);
+                propertyNameIndex.put(key, value);
+            }
+            invalidate();
         }
     }
 
@@ -399,7 +543,7 @@ public final class ConfigStore {
      * @since 1.0
      */
     public Optional<String> getDirect(String key) {
-        return Optional.ofNullable((String) properties.get(key));
+        return Optional.ofNullable(lookup(key));
     }
 
     public ClassLoader getClassLoader() {
@@ -408,6 +552,9 @@ public final class ConfigStore {
 
     public void setClassLoader(ClassLoader classLoader) {
         this.classLoader = classLoader;
+        // properties files are located through the classloader, so prefixes found with the
+        // previous one may no longer apply
+        fileIndexes.clear();
     }
 
     /**
@@ -423,6 +570,24 @@ public final class ConfigStore {
         return Collections.unmodifiableSet(((Properties) properties.clone()).entrySet());
     }
 
+    /**
+     * Returns the values stored under {@link ConfigModule} keys, as an immutable map.
+     *
+     * <p>Values set by string key through {@link #setDirect(String, String)} are not included.
+     *
+     * @return the stored module values
+     * @since 1.4
+     */
+    public Map<ConfigModule, String> moduleValues() {
+        Map<ConfigModule, String> values = new HashMap<>();
+        snapshot().forEach((k, v) -> {
+            if (k instanceof ConfigModule module) {
+                values.put(module, v);
+            }
+        });
+        return Map.copyOf(values);
+    }
+
     /**
      * Looks up a stored configuration value by its dot-notation property name
      * (e.g., {@code "forage.jdbc.url"}).
@@ -454,16 +619,23 @@ public final class ConfigStore {
      * sources (property files, environment variables, system properties) on next access.
      *
      * <p>This method is used during hot-reload to force a fresh read of configuration
-     * values from disk. Resolvers are not cleared: hot-reload does not re-run the
-     * runtime bootstrap that registers them, and {@link #registerResolver(ConfigResolver)}
-     * replaces same-class resolvers so refreshed contexts cannot leave stale ones behind.
+     * values from disk, and drops the prefixes recorded by a build tool. Resolvers are not
+     * cleared: hot-reload does not re-run the runtime bootstrap that registers them, and
+     * {@link #registerResolver(ConfigResolver)} replaces same-class resolvers so refreshed
+     * contexts cannot leave stale ones behind.
      *
      * @since 1.1
      */
     public void reload() {
         LOG.debug("ConfigStore.reload() - clearing {} cached properties", properties.size());
-        properties.clear();
-        propertyNameIndex.clear();
+        synchronized (properties) {
+            properties.clear();
+            propertyNameIndex.clear();
+            invalidate();
+            storeIndex = null;
+        }
+        fileIndexes.clear();
+        recordedPrefixes.clear();
         ConfigHelper.clearCache();
         LOG.debug("ConfigStore.reload() - caches cleared");
     }
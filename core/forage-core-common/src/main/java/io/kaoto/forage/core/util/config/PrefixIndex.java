@@ -0,0 +1,146 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index of configuration keys by their dot-separated segments, answering prefix discovery
+ * without scanning every key with a regular expression.
+ *
+ * <p>When a key is added, every way of reading it as {@code forage.<prefix>.<module>.<rest>} or
+ * {@code forage.<module>.<rest>} is recorded, so that a lookup for the regexps built by
+ * {@link ConfigHelper#getNamedPropertyRegexp(String)} and
+ * {@link ConfigHelper#getDefaultPropertyRegexp(String)} is a single map access returning the
+ * already collected prefixes. The recorded prefixes are exactly the groups those regexps would
+ * capture, including the greedy choice of the last {@code .<module>.} occurrence in a key.
+ *
+ * <p>Any other regexp falls back to matching the indexed keys one by one.
+ *
+ * <p>Not thread-safe: callers either fully build an index before publishing it or guard it
+ * with their own lock.
+ *
+ * @see ConfigStore#readPrefixes(Config, String)
+ * @since 1.4
+ */
+final class PrefixIndex {
+
+    private static final String FORAGE = "forage.";
+    private static final String NAMED_HEAD = "forage\\.(.+)\\.\\Q";
+    private static final String NAMED_TAIL = "\\E\\..+";
+    private static final String DEFAULT_HEAD = "forage\\.(\\Q";
+    private static final String DEFAULT_TAIL = "\\E)\\..+";
+    private static final String QUOTE_END = "\\E";
+
+    private final Set<String> keys = new HashSet<>();
+    private final Map<String, Set<String>> namedPrefixes = new HashMap<>();
+    private final Set<String> defaultModules = new HashSet<>();
+
+    /**
+     * Adds a key to the index. Adding a key that is already indexed is a no-op.
+     *
+     * @param key the dot-notation property name, may be {@code null}
+     */
+    void add(String key) {
+        if (key == null || !keys.add(key) || !key.startsWith(FORAGE) || hasLineTerminator(key)) {
+            return;
+        }
+
+        // Positions of the dots separating segments, starting with the one closing "forage"
+        List<Integer> dots = new ArrayList<>();
+        for (int i = FORAGE.length() - 1; i >= 0 && i < key.length(); i = key.indexOf('.', i + 1)) {
+            dots.add(i);
+        }
+        int last = key.length() - 1;
+
+        // forage.<module>.<rest>: the module ends at any dot that still leaves a non-empty rest
+        for (int b = 1; b < dots.size(); b++) {
+            int end = dots.get(b);
+            if (end < last) {
+                defaultModules.add(key.substring(FORAGE.length(), end));
+            }
+        }
+
+        // forage.<prefix>.<module>.<rest>: the regexp's greedy prefix group binds to the last
+        // occurrence of a module, so walk prefix boundaries from the right and keep the first hit
+        Set<String> seen = new HashSet<>();
+        for (int a = dots.size() - 1; a >= 1; a--) {
+            int prefixEnd = dots.get(a);
+            if (prefixEnd <= FORAGE.length()) {
+                continue;
+            }
+            for (int b = a + 1; b < dots.size(); b++) {
+                int moduleEnd = dots.get(b);
+                if (moduleEnd >= last) {
+                    break;
+                }
+                String module = key.substring(prefixEnd + 1, moduleEnd);
+                if (seen.add(module)) {
+                    namedPrefixes
+                            .computeIfAbsent(module, m -> new HashSet<>())
+                            .add(key.substring(FORAGE.length(), prefixEnd));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the prefixes the given regexp captures from the indexed keys to {@code into}.
+     *
+     * @param regexp a regex with one capture group for the prefix
+     * @param into the set receiving the prefixes
+     */
+    void collect(String regexp, Set<String> into) {
+        String module = unquote(regexp, NAMED_HEAD, NAMED_TAIL);
+        if (module != null) {
+            into.addAll(namedPrefixes.getOrDefault(module, Set.of()));
+            return;
+        }
+
+        module = unquote(regexp, DEFAULT_HEAD, DEFAULT_TAIL);
+        if (module != null) {
+            if (defaultModules.contains(module)) {
+                into.add(module);
+            }
+            return;
+        }
+
+        Pattern pattern = PropertyFileLocator.pattern(regexp);
+        for (String key : keys) {
+            Matcher m = pattern.matcher(key);
+            if (m.matches() && m.group(1) != null) {
+                into.add(m.group(1));
+            }
+        }
+    }
+
+    /**
+     * Returns the quoted literal between {@code head} and {@code tail}, or {@code null} when the
+     * regexp does not have exactly that shape.
+     */
+    private static String unquote(String regexp, String head, String tail) {
+        if (regexp.length() < head.length() + tail.length() || !regexp.startsWith(head) || !regexp.endsWith(tail)) {
+            return null;
+        }
+        String literal = regexp.substring(head.length(), regexp.length() - tail.length());
+        return literal.contains(QUOTE_END) ? null : literal;
+    }
+
+    /**
+     * Keys spanning several lines never match the regexps, since {@code .} stops at line terminators.
+     */
+    private static boolean hasLineTerminator(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package io.kaoto.forage.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Registry;
+import io.kaoto.forage.core.common.BeanFactory;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelConfigurerTest {
+
+    static class BindingFactory implements BeanFactory {
+        private final String name;
+        private final boolean failing;
+        private final boolean parallel;
+        private final List<Registry> registries = new ArrayList<>();
+        private CamelContext camelContext;
+
+        BindingFactory(String name, boolean failing, boolean parallel) {
+            this.name = name;
+            this.failing = failing;
+            this.parallel = parallel;
+        }
+
+        @Override
+        public boolean supportsParallelConfigure() {
+            return parallel;
+        }
+
+        @Override
+        public void configure() {
+            registries.add(camelContext.getRegistry());
+            if (failing) {
+                throw new IllegalStateException("cannot configure " + name);
+            }
+            for (int i = 0; i < 100; i++) {
+                bind(name + "-" + i, Thread.currentThread().getName());
+            }
+        }
+
+        @Override
+        public void setCamelContext(CamelContext camelContext) {
+            this.camelContext = camelContext;
+        }
+
+        @Override
+        public CamelContext getCamelContext() {
+            return camelContext;
+        }
+    }
+
+    @Test
+    void configuresAllFactoriesOnTheRealRegistryAndKeepsOrder() {
+        CamelContext camelContext = new DefaultCamelContext();
+        Registry registry = camelContext.getRegistry();
+        List<BindingFactory> factories = IntStream.range(0, 8)
+                .mapToObj(i -> new BindingFactory("f" + i, i == 3, i % 2 == 0))
+                .toList();
+        factories.forEach(factory -> factory.setCamelContext(camelContext));
+
+        List<BeanFactory> configured = new ParallelConfigurer().configure(List.copyOf(factories));
+
+        assertThat(configured).containsExactlyElementsOf(factories.stream()
+                .filter(factory -> factory != factories.get(3))
+                .toList());
+        assertThat(camelContext.getRegistry()).isSameAs(registry);
+        factories.forEach(factory -> assertThat(factory.registries).containsExactly(registry));
+        assertThat(registry.lookupByName("f3-0")).isNull();
+        for (int i = 0; i < 8; i++) {
+            if (i == 3) {
+                continue;
+            }
+            String thread = (String) registry.lookupByName("f" + i + "-99");
+            if (i % 2 == 0) {
+                assertThat(thread).startsWith("forage-configure-");
+            } else {
+                assertThat(thread).isEqualTo(Thread.currentThread().getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.kaoto.forage.core;
+
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.kaoto.forage.core.common.BeanFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordedBeanFactoriesTest {
+
+    public static class RecordedFactory implements BeanFactory {
+        private CamelContext camelContext;
+
+        @Override
+        public void configure() {
+            camelContext.getRegistry().bind("recorded", "bound");
+        }
+
+        @Override
+        public void setCamelContext(CamelContext camelContext) {
+            this.camelContext = camelContext;
+        }
+
+        @Override
+        public CamelContext getCamelContext() {
+            return camelContext;
+        }
+    }
+
+    @AfterEach
+    void clear() {
+        RecordedBeanFactories.clear();
+    }
+
+    @Test
+    void pluginConfiguresRecordedFactories() {
+        RecordedBeanFactories.record(List.of(RecordedFactory.class));
+        CamelContext camelContext = new DefaultCamelContext();
+
+        new ForageContextServicePlugin().load(camelContext);
+
+        assertThat(camelContext.getRegistry().lookupByName("recorded")).isEqualTo("bound");
+    }
+
+    @Test
+    void eachLoadCreatesNewFactories() {
+        RecordedBeanFactories.record(List.of(RecordedFactory.class));
+
+        List<BeanFactory> first = RecordedBeanFactories.create();
+        List<BeanFactory> second = RecordedBeanFactories.create();
+
+        assertThat(first).hasSize(1);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+    }
+}
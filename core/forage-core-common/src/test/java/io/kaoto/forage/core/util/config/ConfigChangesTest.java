@@ -0,0 +1,103 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigChangesTest {
+
+    private static final List<String> KEYS = List.of(
+            "forage.changes.url", "forage.a.changes.url", "forage.a.changes.user", "forage.b.changes.url");
+
+    public static class ChangesConfig extends AbstractConfig {
+        public ChangesConfig(String prefix) {
+            super(prefix, ChangesConfigEntries.class);
+        }
+
+        @Override
+        public String name() {
+            return "forage-changes-test";
+        }
+    }
+
+    static final class ChangesConfigEntries extends ConfigEntries {
+        static final ConfigModule URL = ConfigModule.of(ChangesConfig.class, "forage.changes.url");
+        static final ConfigModule USER = ConfigModule.of(ChangesConfig.class, "forage.changes.user");
+
+        static {
+            initModules(ChangesConfigEntries.class, URL, USER);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ConfigStore.getInstance().reload();
+        System.setProperty("forage.changes.url", "default");
+        System.setProperty("forage.a.changes.url", "a");
+        System.setProperty("forage.a.changes.user", "user");
+        System.setProperty("forage.b.changes.url", "b");
+        new ChangesConfig(null);
+        new ChangesConfig("a");
+        new ChangesConfig("b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        KEYS.forEach(System::clearProperty);
+        ConfigStore.getInstance().reload();
+    }
+
+    private static ConfigChanges reload(Runnable change) {
+        ConfigChanges changes = ConfigChanges.capture();
+        change.run();
+        ConfigStore.getInstance().reload();
+        changes.reread();
+        return changes;
+    }
+
+    @Test
+    void changedKeyReportsOnlyItsPrefix() {
+        ConfigChanges changes = reload(() -> System.setProperty("forage.b.changes.url", "b2"));
+
+        assertThat(changes.changedKeys()).containsExactly("forage.b.changes.url");
+        assertThat(changes.changedPrefixes("changes")).containsExactly("b");
+        assertThat(changes.defaultChanged("changes")).isFalse();
+        assertThat(changes.changedPrefixes("jdbc")).isEmpty();
+    }
+
+    @Test
+    void removedKeyIsAChange() {
+        ConfigChanges changes = reload(() -> System.clearProperty("forage.a.changes.user"));
+
+        assertThat(changes.changedKeys()).containsExactly("forage.a.changes.user");
+        assertThat(changes.changedPrefixes("changes")).containsExactly("a");
+    }
+
+    @Test
+    void defaultKeyIsReportedSeparately() {
+        ConfigChanges changes = reload(() -> System.setProperty("forage.changes.url", "other"));
+
+        assertThat(changes.defaultChanged("changes")).isTrue();
+        assertThat(changes.changedPrefixes("changes")).isEmpty();
+    }
+
+    @Test
+    void prefixWithoutPreviousKeysIsAdded() {
+        ConfigChanges changes = reload(() -> {});
+
+        assertThat(changes.addedPrefixes("changes", Set.of("a", "b", "c"))).containsExactly("c");
+        assertThat(changes.addedPrefixes("jdbc", Set.of("a"))).containsExactly("a");
+    }
+
+    @Test
+    void unchangedConfigurationIsEmpty() {
+        ConfigChanges changes = reload(() -> {});
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(changes.changedPrefixes("changes")).isEmpty();
+    }
+}
@@ -160,4 +160,62 @@ class ConfigStoreTest {
         store.set(module, null);
         assertThat(store.propertyNames()).doesNotContain("forage.storetest.names.key");
     }
+
+    @Test
+    void getSeesWritesMadeAfterSnapshotWasBuilt() {
+        ConfigStore store = ConfigStore.getInstance();
+        ConfigModule module = ConfigModule.of(TestConfig.class, "forage.storetest.frozen.key");
+        ConfigModule named = module.asNamed("frozen1");
+
+        store.set(module, "first");
+        // enough reads after the write to build the read snapshot
+        for (int i = 0; i <= store.entries().size(); i++) {
+            assertThat(store.get(module)).contains("first");
+        }
+        assertThat(store.get(named)).isEmpty();
+
+        store.set(module, "second");
+        store.set(named, "named");
+        store.setDirect("forage.storetest.frozen.direct", "direct");
+
+        assertThat(store.get(module)).contains("second");
+        assertThat(store.get(module.asNamed("frozen1"))).contains("named");
+        assertThat(store.getDirect("forage.storetest.frozen.direct")).contains("direct");
+
+        store.set(module, null);
+        store.set(named, null);
+        store.setDirect("forage.storetest.frozen.direct", null);
+        assertThat(store.get(module)).isEmpty();
+        assertThat(store.get(named)).isEmpty();
+    }
+
+    @Test
+    void readsBetweenWritesSeeEachWrite() {
+        ConfigStore store = ConfigStore.getInstance();
+        ConfigModule module = ConfigModule.of(TestConfig.class, "forage.storetest.interleaved.key");
+
+        for (int i = 0; i < 100; i++) {
+            ConfigModule named = module.asNamed("interleaved" + i);
+            store.set(named, "value" + i);
+            assertThat(store.get(named)).contains("value" + i);
+            assertThat(store.get(module.asNamed("interleaved0"))).contains("value0");
+        }
+
+        for (int i = 0; i < 100; i++) {
+            store.set(module.asNamed("interleaved" + i), null);
+        }
+        assertThat(store.get(module.asNamed("interleaved0"))).isEmpty();
+    }
+
+    @Test
+    void reloadDropsRecordedPrefixes() {
+        ConfigStore store = ConfigStore.getInstance();
+        String regexp = ConfigHelper.getNamedPropertyRegexp("storetest");
+
+        store.recordPrefixes(regexp, Set.of("recorded1"));
+        assertThat(store.readPrefixes(new TestConfig(), regexp)).contains("recorded1");
+
+        store.reload();
+        assertThat(store.readPrefixes(new TestConfig(), regexp)).doesNotContain("recorded1");
+    }
 }
@@ -0,0 +1,82 @@
+package io.kaoto.forage.core.util.config;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    private static final List<String> KEYS = List.of(
+            "forage.ds1.jdbc.url",
+            "forage.ds2.jdbc.username",
+            "forage.jdbc.url",
+            "forage.jdbc.",
+            "forage.ds3.jdbc.",
+            "forage.a.b.jdbc.url",
+            "forage.x.jdbc.pool.jdbc.size",
+            "forage.broker1.jms.kind",
+            "forage.my_tls.tls.key.store",
+            "forage.rmq.spring.rabbitmq.host",
+            "forage..jdbc.url",
+            "camel.component.jdbc.url",
+            "other.ds4.jdbc.url");
+
+    private static PrefixIndex index() {
+        PrefixIndex index = new PrefixIndex();
+        KEYS.forEach(index::add);
+        return index;
+    }
+
+    private static Set<String> viaRegex(String regexp) {
+        Properties props = new Properties();
+        KEYS.forEach(k -> props.setProperty(k, "v"));
+        return PropertyFileLocator.readPrefixes(props, regexp);
+    }
+
+    private static Set<String> viaIndex(String regexp) {
+        Set<String> prefixes = new HashSet<>();
+        index().collect(regexp, prefixes);
+        return prefixes;
+    }
+
+    @Test
+    void namedPrefixesMatchRegexScan() {
+        for (String module : List.of("jdbc", "jms", "tls", "spring.rabbitmq", "rabbitmq", "pool", "missing")) {
+            String regexp = ConfigHelper.getNamedPropertyRegexp(module);
+            assertThat(viaIndex(regexp)).as(module).isEqualTo(viaRegex(regexp));
+        }
+        assertThat(viaIndex(ConfigHelper.getNamedPropertyRegexp("jdbc")))
+                .containsExactlyInAnyOrder("ds1", "ds2", "a.b", "x.jdbc.pool");
+    }
+
+    @Test
+    void defaultPrefixesMatchRegexScan() {
+        for (String module : List.of("jdbc", "jms", "ds3", "spring.rabbitmq", "missing")) {
+            String regexp = ConfigHelper.getDefaultPropertyRegexp(module);
+            assertThat(viaIndex(regexp)).as(module).isEqualTo(viaRegex(regexp));
+        }
+        assertThat(viaIndex(ConfigHelper.getDefaultPropertyRegexp("jdbc"))).containsExactly("jdbc");
+    }
+
+    @Test
+    void arbitraryRegexpFallsBackToScan() {
+        String regexp = "(.+)\\.jdbc\\..*";
+        assertThat(viaIndex(regexp)).isEqualTo(viaRegex(regexp));
+    }
+
+    @Test
+    void addingSameKeyTwiceIsNoOp() {
+        PrefixIndex index = new PrefixIndex();
+        index.add("forage.ds1.jdbc.url");
+        index.add("forage.ds1.jdbc.url");
+        index.add(null);
+
+        Set<String> prefixes = new HashSet<>();
+        index.collect(ConfigHelper.getNamedPropertyRegexp("jdbc"), prefixes);
+        assertThat(prefixes).containsExactly("ds1");
+    }
+}
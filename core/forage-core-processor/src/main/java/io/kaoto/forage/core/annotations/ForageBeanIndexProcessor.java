@@ -0,0 +1,92 @@
+package io.kaoto.forage.core.annotations;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import io.kaoto.forage.core.common.ForageBeanIndex;
+
+/**
+ * Writes the {@link ForageBeanIndex#INDEX_RESOURCE} of a module at compile time, mapping the class
+ * name of every concrete {@link ForageBean} and {@link ForageFactory} to its bean name.
+ *
+ * <p>The processor ships in forage-core-processor rather than forage-core-common, so that it is not
+ * discovered implicitly from the compile classpath, which JDK 21 warns about and JDK 23 no longer does.
+ * Modules add it through the {@code annotationProcessorPaths} of the maven-compiler-plugin.
+ */
+@SupportedAnnotationTypes({
+    "io.kaoto.forage.core.annotations.ForageBean",
+    "io.kaoto.forage.core.annotations.ForageFactory"
+})
+public class ForageBeanIndexProcessor extends AbstractProcessor {
+
+    private final Map<String, String> entries = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!entries.isEmpty()) {
+                writeIndex();
+            }
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(ForageBean.class)) {
+            add(element, element.getAnnotation(ForageBean.class).value());
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(ForageFactory.class)) {
+            add(element, element.getAnnotation(ForageFactory.class).value());
+        }
+        return false;
+    }
+
+    private void add(Element element, String beanName) {
+        // ServiceLoader can only instantiate public concrete classes, so the index holds nothing else
+        if (element.getKind() != ElementKind.CLASS
+                || !element.getModifiers().contains(Modifier.PUBLIC)
+                || element.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+        TypeElement type = (TypeElement) element;
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        entries.put(className, beanName.isEmpty() ? type.getSimpleName().toString() : beanName);
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv
+                    .getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", ForageBeanIndex.INDEX_RESOURCE);
+            try (Writer writer = resource.openWriter()) {
+                writer.write("# Generated by " + ForageBeanIndexProcessor.class.getName() + "\n");
+                for (Map.Entry<String, String> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.WARNING,
+                            "Could not write " + ForageBeanIndex.INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
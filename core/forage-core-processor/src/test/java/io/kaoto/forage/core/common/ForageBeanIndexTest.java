@@ -0,0 +1,168 @@
+package io.kaoto.forage.core.common;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Supplier;
+import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.annotations.ForageBeanIndexProcessor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compiles two {@code @ForageBean}s with {@link ForageBeanIndexProcessor}, only one of them registered as a
+ * {@link Supplier} service, and resolves them through the generated index from a class loader over the
+ * compiler output.
+ */
+class ForageBeanIndexTest {
+
+    private static final String SOURCE = """
+            package sample;
+
+            @io.kaoto.forage.core.annotations.ForageBean("sample-kind")
+            public class SampleProvider implements java.util.function.Supplier<String> {
+                public String get() {
+                    return "sample";
+                }
+            }
+            """;
+
+    private static final String UNREGISTERED = """
+            package sample;
+
+            @io.kaoto.forage.core.annotations.ForageBean("unregistered-kind")
+            public class UnregisteredProvider implements java.util.function.Supplier<String> {
+                public String get() {
+                    return "unregistered";
+                }
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void compile() throws Exception {
+        Path source = dir.resolve("src/sample/SampleProvider.java");
+        Path unregistered = dir.resolve("src/sample/UnregisteredProvider.java");
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, SOURCE);
+        Files.writeString(unregistered, UNREGISTERED);
+        Path services = classes.resolve("META-INF/services/" + Supplier.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.writeString(services, "# registered\nsample.SampleProvider\n");
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(source, unregistered);
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    fileManager,
+                    null,
+                    List.of("-d", classes.toString(), "-classpath", codeSource(ForageBean.class)),
+                    null,
+                    units);
+            task.setProcessors(List.of(new ForageBeanIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+
+        classLoader = new URLClassLoader(
+                new URL[] {classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @AfterEach
+    void clearRecorded() {
+        ForageBeanIndex.clearRecorded();
+    }
+
+    @Test
+    void processorWritesIndex() throws Exception {
+        Path index = dir.resolve("classes").resolve(ForageBeanIndex.INDEX_RESOURCE);
+
+        assertThat(Files.readAllLines(index))
+                .contains("sample.SampleProvider=sample-kind", "sample.UnregisteredProvider=unregistered-kind");
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void resolvesIndexedProviderByBeanNameAndClassName() {
+        ServiceLoader.Provider<Supplier> byName =
+                ForageBeanIndex.findByBeanName(classLoader, Supplier.class, "sample-kind");
+        ServiceLoader.Provider<Supplier> byClass =
+                ForageBeanIndex.findByClassName(classLoader, Supplier.class, "sample.SampleProvider");
+
+        assertThat(byName).isNotNull();
+        assertThat(byName.type().getName()).isEqualTo("sample.SampleProvider");
+        assertThat(byName.get().get()).isEqualTo("sample");
+        assertThat(byClass.type()).isSameAs(byName.type());
+    }
+
+    @Test
+    void unknownOrMismatchingEntriesAreNotFound() {
+        assertThat(ForageBeanIndex.findByBeanName(classLoader, Runnable.class, "sample-kind"))
+                .isNull();
+        assertThat(ForageBeanIndex.findByBeanName(classLoader, Runnable.class, "unknown"))
+                .isNull();
+        assertThat(ForageBeanIndex.findByClassName(classLoader, Runnable.class, "sample.Missing"))
+                .isNull();
+    }
+
+    @Test
+    void indexedClassesWithoutServiceRegistrationAreNotFound() {
+        assertThat(ForageBeanIndex.findByBeanName(classLoader, Supplier.class, "unregistered-kind"))
+                .isNull();
+        assertThat(ForageBeanIndex.findByClassName(classLoader, Supplier.class, "sample.UnregisteredProvider"))
+                .isNull();
+    }
+
+    private static String codeSource(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+    }
+
+    @Test
+    void registeredServicesOnlyListRegisteredTypes() {
+        Map<String, Set<String>> registered = ForageBeanIndex.registeredServices(classLoader);
+
+        assertThat(registered).containsEntry("sample.SampleProvider", Set.of(Supplier.class.getName()));
+        assertThat(registered).doesNotContainKey("sample.UnregisteredProvider");
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    void recordedIndexResolvesWithoutTheClassLoader() throws ClassNotFoundException {
+        Map<String, Class<?>> classes = new HashMap<>();
+        classes.put("sample.SampleProvider", classLoader.loadClass("sample.SampleProvider"));
+        ForageBeanIndex.record(
+                classes,
+                ForageBeanIndex.indexedBeans(classLoader),
+                ForageBeanIndex.registeredServices(classLoader));
+
+        ServiceLoader.Provider<Supplier> byName =
+                ForageBeanIndex.findByBeanName(getClass().getClassLoader(), Supplier.class, "sample-kind");
+
+        assertThat(byName).isNotNull();
+        assertThat(byName.type()).isSameAs(classes.get("sample.SampleProvider"));
+        assertThat(ForageBeanIndex.findByBeanName(getClass().getClassLoader(), Supplier.class, "unregistered-kind"))
+                .isNull();
+    }
+}
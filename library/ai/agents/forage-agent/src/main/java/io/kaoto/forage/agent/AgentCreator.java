@@ -21,6 +21,7 @@ import io.kaoto.forage.core.ai.MaxMessagesAware;
 import io.kaoto.forage.core.ai.ModelProvider;
 import io.kaoto.forage.core.ai.RetrievalAugmentorProvider;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.common.ForageBeanIndex;
 import io.kaoto.forage.core.exceptions.RuntimeForageException;
 import io.kaoto.forage.core.guardrails.InputGuardrailProvider;
 import io.kaoto.forage.core.guardrails.OutputGuardrailProvider;
@@ -176,7 +177,8 @@ public final class AgentCreator {
     }
 
     static ChatModel createChatModel(AgentConfig config, String modelKind, String agentName, ClassLoader classLoader) {
-        List<ServiceLoader.Provider<ModelProvider>> providers = findModelProviders(classLoader);
+        List<ServiceLoader.Provider<ModelProvider>> providers =
+                findProvidersByKind(classLoader, ModelProvider.class, modelKind);
 
         for (ServiceLoader.Provider<ModelProvider> provider : providers) {
             Class<? extends ModelProvider> providerClass = provider.type();
@@ -229,7 +231,8 @@ public final class AgentCreator {
 
     static EmbeddingModel createEmbeddingModel(
             AgentConfig config, String modelKind, String agentName, ClassLoader classLoader) {
-        List<ServiceLoader.Provider<EmbeddingModelProvider>> providers = findEmbeddingModelProviders(classLoader);
+        List<ServiceLoader.Provider<EmbeddingModelProvider>> providers =
+                findProvidersByKind(classLoader, EmbeddingModelProvider.class, modelKind);
 
         for (ServiceLoader.Provider<EmbeddingModelProvider> provider : providers) {
             Class<? extends EmbeddingModelProvider> providerClass = provider.type();
@@ -305,7 +308,8 @@ public final class AgentCreator {
             return null;
         }
 
-        List<ServiceLoader.Provider<EmbeddingStoreProvider>> providers = findEmbeddingStoreProviders(classLoader);
+        List<ServiceLoader.Provider<EmbeddingStoreProvider>> providers =
+                findProvidersByKind(classLoader, EmbeddingStoreProvider.class, config.embeddingStoreKind());
         ServiceLoader.Provider<EmbeddingStoreProvider> selectedProvider =
                 selectProviderByForageBean(providers, config.embeddingStoreKind(), "embedding store");
 
@@ -396,14 +400,13 @@ public final class AgentCreator {
             return List.of();
         }
 
-        ServiceLoader<InputGuardrailProvider> loader = ServiceLoader.load(InputGuardrailProvider.class, classLoader);
-        List<ServiceLoader.Provider<InputGuardrailProvider>> providers =
-                loader.stream().toList();
         String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
 
         List<InputGuardrail> guardrails = new ArrayList<>();
         for (String name : selectedNames) {
             InputGuardrailProvider matched = null;
+            List<ServiceLoader.Provider<InputGuardrailProvider>> providers =
+                    findProvidersByKind(classLoader, InputGuardrailProvider.class, name);
             for (ServiceLoader.Provider<InputGuardrailProvider> provider : providers) {
                 ForageBean annotation = provider.type().getAnnotation(ForageBean.class);
                 if (annotation != null && annotation.value().equals(name)) {
@@ -431,14 +434,13 @@ public final class AgentCreator {
             return List.of();
         }
 
-        ServiceLoader<OutputGuardrailProvider> loader = ServiceLoader.load(OutputGuardrailProvider.class, classLoader);
-        List<ServiceLoader.Provider<OutputGuardrailProvider>> providers =
-                loader.stream().toList();
         String prefix = DEFAULT_AGENT.equals(agentName) ? null : agentName;
 
         List<OutputGuardrail> guardrails = new ArrayList<>();
         for (String name : selectedNames) {
             OutputGuardrailProvider matched = null;
+            List<ServiceLoader.Provider<OutputGuardrailProvider>> providers =
+                    findProvidersByKind(classLoader, OutputGuardrailProvider.class, name);
             for (ServiceLoader.Provider<OutputGuardrailProvider> provider : providers) {
                 ForageBean annotation = provider.type().getAnnotation(ForageBean.class);
                 if (annotation != null && annotation.value().equals(name)) {
@@ -479,9 +481,8 @@ public final class AgentCreator {
     }
 
     static ChatMemoryProvider createMemoryProvider(AgentConfig config, String memoryKind, ClassLoader classLoader) {
-        ServiceLoader<ChatMemoryBeanProvider> loader = ServiceLoader.load(ChatMemoryBeanProvider.class, classLoader);
         List<ServiceLoader.Provider<ChatMemoryBeanProvider>> providers =
-                loader.stream().toList();
+                findProvidersByKind(classLoader, ChatMemoryBeanProvider.class, memoryKind);
 
         for (ServiceLoader.Provider<ChatMemoryBeanProvider> provider : providers) {
             Class<? extends ChatMemoryBeanProvider> providerClass = provider.type();
@@ -560,6 +561,21 @@ public final class AgentCreator {
         };
     }
 
+    /**
+     * Returns the provider indexed at build time under the {@code kind} bean name, so that a single
+     * class is loaded, or every provider ServiceLoader finds when the kind is unset or not indexed.
+     */
+    static <T> List<ServiceLoader.Provider<T>> findProvidersByKind(
+            ClassLoader classLoader, Class<T> type, String kind) {
+        if (kind != null) {
+            ServiceLoader.Provider<T> indexed = ForageBeanIndex.findByBeanName(classLoader, type, kind);
+            if (indexed != null) {
+                return List.of(indexed);
+            }
+        }
+        return ServiceLoader.load(type, classLoader).stream().toList();
+    }
+
     static <T> ServiceLoader.Provider<T> selectProviderByForageBean(
             List<ServiceLoader.Provider<T>> providers, String desiredKind, String providerType) {
         if (providers.isEmpty()) {
@@ -595,23 +611,6 @@ public final class AgentCreator {
         return providers.get(0);
     }
 
-    private static List<ServiceLoader.Provider<ModelProvider>> findModelProviders(ClassLoader classLoader) {
-        ServiceLoader<ModelProvider> loader = ServiceLoader.load(ModelProvider.class, classLoader);
-        return loader.stream().toList();
-    }
-
-    private static List<ServiceLoader.Provider<EmbeddingModelProvider>> findEmbeddingModelProviders(
-            ClassLoader classLoader) {
-        ServiceLoader<EmbeddingModelProvider> loader = ServiceLoader.load(EmbeddingModelProvider.class, classLoader);
-        return loader.stream().toList();
-    }
-
-    private static List<ServiceLoader.Provider<EmbeddingStoreProvider>> findEmbeddingStoreProviders(
-            ClassLoader classLoader) {
-        ServiceLoader<EmbeddingStoreProvider> loader = ServiceLoader.load(EmbeddingStoreProvider.class, classLoader);
-        return loader.stream().toList();
-    }
-
     private static List<ServiceLoader.Provider<RetrievalAugmentorProvider>> findRetrievalAugmentorProviders(
             ClassLoader classLoader) {
         ServiceLoader<RetrievalAugmentorProvider> loader =
@@ -0,0 +1,40 @@
+package io.kaoto.forage.quarkus.common.deployment;
+
+import java.util.Set;
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * A {@code BeanFactory} found on the application classpath, with the configuration instances
+ * discovered for it at build time.
+ */
+public final class ForageFactoryBuildItem extends MultiBuildItem {
+
+    private final String factoryClassName;
+    private final String modulePrefix;
+    private final boolean defaultInstance;
+    private final Set<String> prefixes;
+
+    public ForageFactoryBuildItem(
+            String factoryClassName, String modulePrefix, boolean defaultInstance, Set<String> prefixes) {
+        this.factoryClassName = factoryClassName;
+        this.modulePrefix = modulePrefix;
+        this.defaultInstance = defaultInstance;
+        this.prefixes = prefixes;
+    }
+
+    public String getFactoryClassName() {
+        return factoryClassName;
+    }
+
+    public String getModulePrefix() {
+        return modulePrefix;
+    }
+
+    public boolean isDefaultInstance() {
+        return defaultInstance;
+    }
+
+    public Set<String> getPrefixes() {
+        return prefixes;
+    }
+}
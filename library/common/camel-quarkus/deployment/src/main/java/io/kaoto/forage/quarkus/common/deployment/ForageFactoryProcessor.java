@@ -0,0 +1,246 @@
+package io.kaoto.forage.quarkus.common.deployment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import org.jboss.logging.Logger;
+import io.kaoto.forage.core.annotations.ForageFactory;
+import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.common.ForageBeanIndex;
+import io.kaoto.forage.core.common.ForageQuarkusConfigSourceAdapter;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+import io.kaoto.forage.core.util.config.Config;
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.quarkus.common.ForageFactoryRecorder;
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.annotations.ExecutionTime;
+import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
+
+/**
+ * Moves the discovery work of every Forage {@link BeanFactory} from application startup to the Quarkus
+ * build.
+ *
+ * <p>The factories are found once through ServiceLoader, and their {@link ForageFactory#configClass()} is
+ * used to discover the configured instances and to report missing required properties. The providers of
+ * the {@link ForageBeanIndex} are loaded and matched with their {@code META-INF/services} registrations.
+ * The factory classes, the named instances and the providers are then recorded at static init, so that
+ * when the CamelContext starts {@code ForageContextServicePlugin} does not scan {@code META-INF/services},
+ * the factories find the instances discovered from the Quarkus config sources, and providers are resolved
+ * without reading resources or loading classes by name. The factories and providers are registered for
+ * reflection, which their constructors still need in a native image.
+ */
+public class ForageFactoryProcessor {
+
+    private static final Logger LOG = Logger.getLogger(ForageFactoryProcessor.class);
+    private static final String FEATURE = "forage-common";
+
+    @BuildStep
+    FeatureBuildItem feature() {
+        return new FeatureBuildItem(FEATURE);
+    }
+
+    @BuildStep
+    void discoverFactories(BuildProducer<ForageFactoryBuildItem> factories) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ServiceLoader.load(BeanFactory.class, classLoader).stream()
+                .map(ServiceLoader.Provider::type)
+                .forEach(type -> factories.produce(discover(type)));
+    }
+
+    private ForageFactoryBuildItem discover(Class<? extends BeanFactory> type) {
+        ForageFactory annotation = type.getAnnotation(ForageFactory.class);
+        AbstractConfig defaultConfig = annotation != null ? createConfig(annotation.configClass(), null) : null;
+        String modulePrefix = defaultConfig != null ? modulePrefix(defaultConfig) : null;
+        if (modulePrefix == null) {
+            LOG.debugf("Forage bean factory %s declares no configuration, recording it as is", type.getName());
+            return new ForageFactoryBuildItem(type.getName(), null, false, Set.of());
+        }
+
+        Set<String> prefixes = ConfigStore.getInstance()
+                .readPrefixes(defaultConfig, ConfigHelper.getNamedPropertyRegexp(modulePrefix));
+        if (prefixes.isEmpty()) {
+            prefixes = ForageQuarkusConfigSourceAdapter.getDiscoveredPrefixes(modulePrefix);
+        }
+        boolean defaultInstance = !ConfigStore.getInstance()
+                .readPrefixes(defaultConfig, ConfigHelper.getDefaultPropertyRegexp(modulePrefix))
+                .isEmpty();
+
+        if (defaultInstance) {
+            validate(defaultConfig, null, modulePrefix);
+        }
+        for (String prefix : prefixes) {
+            AbstractConfig config = createConfig(annotation.configClass(), prefix);
+            if (config != null) {
+                validate(config, prefix, modulePrefix);
+            }
+        }
+
+        LOG.debugf(
+                "Forage bean factory %s: module '%s', default instance %s, named instances %s",
+                type.getName(), modulePrefix, defaultInstance, prefixes);
+        return new ForageFactoryBuildItem(
+                type.getName(), modulePrefix, defaultInstance, new LinkedHashSet<>(prefixes));
+    }
+
+    private static AbstractConfig createConfig(Class<? extends Config> configClass, String prefix) {
+        if (!AbstractConfig.class.isAssignableFrom(configClass)) {
+            return null;
+        }
+        try {
+            return (AbstractConfig) configClass.getConstructor(String.class).newInstance(prefix);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debugf("Cannot inspect %s at build time: %s", configClass.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the module segment of the config keys, e.g. {@code jdbc} for {@code forage.jdbc.url}.
+     */
+    private static String modulePrefix(AbstractConfig config) {
+        return baseModules(config).stream()
+                .map(ConfigModule::name)
+                .filter(name -> name.startsWith("forage."))
+                .map(name -> name.split("\\.", 3))
+                .filter(segments -> segments.length == 3)
+                .map(segments -> segments[1])
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static List<ConfigModule> baseModules(AbstractConfig config) {
+        return ConfigEntries.getModules(config.entriesClass()).keySet().stream()
+                .filter(module -> module.prefix() == null)
+                .toList();
+    }
+
+    /**
+     * Warns about required properties that have no value and no default. This is not a build failure,
+     * because the value may still be provided through the environment of the running application.
+     */
+    private static void validate(AbstractConfig config, String prefix, String modulePrefix) {
+        List<String> missing = new ArrayList<>();
+        for (ConfigModule module : baseModules(config)) {
+            if (!module.required() || module.defaultValue() != null) {
+                continue;
+            }
+            ConfigModule resolved = module.asNamed(prefix);
+            if (ConfigStore.getInstance().get(resolved).isEmpty()) {
+                missing.add(resolved.propertyName());
+            }
+        }
+        if (!missing.isEmpty()) {
+            LOG.warnf(
+                    "Forage %s configuration '%s' is missing required properties %s; they must be set at runtime",
+                    modulePrefix, prefix != null ? prefix : "default", missing);
+        }
+    }
+
+    /**
+     * Finds the indexed providers registered as services. {@code @ForageFactory} descriptors of the Quarkus
+     * and Spring Boot adapters are indexed too, but they are never instantiated, and the Quarkus ones are not
+     * even on the runtime classpath.
+     */
+    @BuildStep
+    ForageProvidersBuildItem discoverProviders() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        Map<String, String> beanNames = new HashMap<>();
+        Map<String, Set<String>> registrations = new HashMap<>();
+        ForageBeanIndex.registeredServices(classLoader).forEach((className, serviceTypes) -> {
+            if (isProvider(classLoader, className)) {
+                beanNames.put(className, ForageBeanIndex.indexedBeans(classLoader).get(className));
+                registrations.put(className, new LinkedHashSet<>(serviceTypes));
+            }
+        });
+        LOG.debugf("Found %d registered Forage providers", beanNames.size());
+        return new ForageProvidersBuildItem(beanNames, registrations);
+    }
+
+    @BuildStep
+    void registerForNative(
+            List<ForageFactoryBuildItem> factories,
+            ForageProvidersBuildItem providers,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClasses,
+            BuildProducer<NativeImageResourceBuildItem> resources) {
+
+        if (!factories.isEmpty()) {
+            reflectiveClasses.produce(ReflectiveClassBuildItem.builder(factories.stream()
+                            .map(ForageFactoryBuildItem::getFactoryClassName)
+                            .toArray(String[]::new))
+                    .constructors()
+                    .build());
+        }
+
+        String[] providerClassNames =
+                providers.getBeanNames().keySet().stream().sorted().toArray(String[]::new);
+        if (providerClassNames.length > 0) {
+            LOG.debugf("Registering %d indexed Forage providers for reflection", providerClassNames.length);
+            reflectiveClasses.produce(ReflectiveClassBuildItem.builder(providerClassNames)
+                    .constructors()
+                    .build());
+            // for the lookups of a context created outside of the recorded application, as in tests
+            resources.produce(new NativeImageResourceBuildItem(ForageBeanIndex.INDEX_RESOURCE));
+        }
+    }
+
+    private static boolean isProvider(ClassLoader classLoader, String className) {
+        try {
+            Class<?> type = Class.forName(className, false, classLoader);
+            return type.getAnnotation(ForageFactory.class) == null || BeanFactory.class.isAssignableFrom(type);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void recordFactories(
+            ForageFactoryRecorder recorder,
+            List<ForageFactoryBuildItem> factories,
+            ForageProvidersBuildItem providers) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        Map<String, Set<String>> prefixes = new HashMap<>();
+        for (ForageFactoryBuildItem factory : factories) {
+            if (factory.getModulePrefix() != null && !factory.getPrefixes().isEmpty()) {
+                prefixes.computeIfAbsent(factory.getModulePrefix(), k -> new LinkedHashSet<>())
+                        .addAll(factory.getPrefixes());
+            }
+        }
+        recorder.recordPrefixes(prefixes);
+
+        Map<String, Class<?>> providerClasses = new HashMap<>();
+        for (String className : providers.getBeanNames().keySet()) {
+            providerClasses.put(className, load(classLoader, className));
+        }
+        recorder.recordProviders(
+                providerClasses, new HashMap<>(providers.getBeanNames()), new HashMap<>(providers.getRegistrations()));
+
+        List<Class<? extends BeanFactory>> factoryClasses = new ArrayList<>();
+        for (ForageFactoryBuildItem factory : factories) {
+            factoryClasses.add(load(classLoader, factory.getFactoryClassName()).asSubclass(BeanFactory.class));
+        }
+        LOG.infof(
+                "Recording %d Forage bean factories and %d providers", factoryClasses.size(), providerClasses.size());
+        recorder.recordBeanFactories(factoryClasses);
+    }
+
+    private static Class<?> load(ClassLoader classLoader, String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Forage class " + className + " was discovered but cannot be loaded", e);
+        }
+    }
+}
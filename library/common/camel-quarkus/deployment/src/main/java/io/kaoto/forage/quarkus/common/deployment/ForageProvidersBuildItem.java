@@ -0,0 +1,28 @@
+package io.kaoto.forage.quarkus.common.deployment;
+
+import java.util.Map;
+import java.util.Set;
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * The providers of the Forage bean index found on the application classpath, with their bean names and the
+ * service types they are registered for.
+ */
+public final class ForageProvidersBuildItem extends SimpleBuildItem {
+
+    private final Map<String, String> beanNames;
+    private final Map<String, Set<String>> registrations;
+
+    public ForageProvidersBuildItem(Map<String, String> beanNames, Map<String, Set<String>> registrations) {
+        this.beanNames = beanNames;
+        this.registrations = registrations;
+    }
+
+    public Map<String, String> getBeanNames() {
+        return beanNames;
+    }
+
+    public Map<String, Set<String>> getRegistrations() {
+        return registrations;
+    }
+}
@@ -0,0 +1,37 @@
+package io.kaoto.forage.quarkus.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jboss.logging.Logger;
+import io.kaoto.forage.core.RecordedBeanFactories;
+import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.common.ForageBeanIndex;
+import io.kaoto.forage.core.util.config.ConfigHelper;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.quarkus.runtime.annotations.Recorder;
+
+@Recorder
+public class ForageFactoryRecorder {
+
+    private static final Logger LOG = Logger.getLogger(ForageFactoryRecorder.class);
+
+    /**
+     * Records the named instances discovered at build time, per module prefix, including the ones only the
+     * Quarkus config sources know about.
+     */
+    public void recordPrefixes(Map<String, Set<String>> prefixes) {
+        prefixes.forEach((modulePrefix, named) -> ConfigStore.getInstance()
+                .recordPrefixes(ConfigHelper.getNamedPropertyRegexp(modulePrefix), named));
+    }
+
+    public void recordProviders(
+            Map<String, Class<?>> classes, Map<String, String> beanNames, Map<String, Set<String>> registrations) {
+        ForageBeanIndex.record(classes, beanNames, registrations);
+    }
+
+    public void recordBeanFactories(List<Class<? extends BeanFactory>> factories) {
+        RecordedBeanFactories.record(factories);
+        LOG.debugf("Recorded %d Forage bean factories", factories.size());
+    }
+}
@@ -0,0 +1,94 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+
+/**
+ * Latency distribution of 64 threads each acquiring an H2 connection and holding it for 5 ms, on a pool
+ * starting at four connections with {@code pool.adaptive.enabled}, a fixed pool of four and a fixed pool
+ * of 64. Above the 5 ms hold, the p99 JMH reports is the wait for a connection; the adaptive pool should
+ * come close to the large one once it has grown, which takes a few sampling intervals of the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class AdaptivePoolSizingBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+
+    @Param({"adaptive", "fixed-4", "fixed-64"})
+    public String pool;
+
+    private Path configDir;
+    private AgroalDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=h2
+                forage.bench.jdbc.url=jdbc:h2:mem:adaptive
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.pool.initial.size=4
+                forage.bench.jdbc.pool.min.size=4
+                forage.bench.jdbc.pool.max.size=%d
+                forage.bench.jdbc.pool.adaptive.enabled=%s
+                forage.bench.jdbc.pool.adaptive.max.size.limit=64
+                forage.bench.jdbc.pool.adaptive.interval.millis=100
+                forage.bench.jdbc.pool.adaptive.acquisition.threshold.millis=1
+                """.formatted(pool.equals("fixed-64") ? 64 : 4, pool.equals("adaptive")));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public boolean acquireAndHold() throws SQLException, InterruptedException {
+        try (Connection connection = dataSource.getConnection()) {
+            Thread.sleep(5);
+            return connection.isClosed();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.jdbc.JdbcCamelCodec;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.jdbc.common.aggregation.BinaryAggregationCodec;
+
+/**
+ * Encoding and decoding an aggregated exchange with the Java serialization of Camel's
+ * {@link JdbcCamelCodec} and with {@link BinaryAggregationCodec}, with and without body compression, for
+ * 1 KB, 64 KB and 1 MB text bodies and a few headers. The {@code bytes} counter reports the size of the
+ * encoded exchange.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationCodecBenchmark {
+
+    private static final String[] WORDS = {"order", "item", "quantity", "price", "customer", "42", "EUR", "true"};
+
+    @Param({"1024", "65536", "1048576"})
+    public int bodySize;
+
+    @Param({"java", "binary", "binary-deflate"})
+    public String codec;
+
+    private CamelContext camelContext;
+    private Exchange exchange;
+    private byte[] encoded;
+    private JdbcCamelCodec javaCodec;
+    private BinaryAggregationCodec binaryCodec;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        camelContext = new DefaultCamelContext();
+        exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(text(bodySize));
+        exchange.getMessage().setHeader("orderId", "ORD-2024-000042");
+        exchange.getMessage().setHeader("customerId", 4711L);
+        exchange.getMessage().setHeader("priority", 3);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, 10);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATED_CORRELATION_KEY, "ORD-2024-000042");
+
+        javaCodec = new JdbcCamelCodec();
+        binaryCodec = new BinaryAggregationCodec(
+                codec.equals("binary-deflate")
+                        ? BinaryAggregationCodec.Compression.DEFLATE
+                        : BinaryAggregationCodec.Compression.NONE);
+        encoded = encode();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        camelContext.close();
+    }
+
+    @Benchmark
+    public byte[] encode(Size size) throws IOException {
+        byte[] bytes = encode();
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Exchange decode() throws IOException, ClassNotFoundException {
+        return codec.equals("java")
+                ? javaCodec.unmarshallExchange(camelContext, encoded, null)
+                : binaryCodec.decode(camelContext, encoded, null);
+    }
+
+    private byte[] encode() throws IOException {
+        return codec.equals("java") ? javaCodec.marshallExchange(exchange, false) : binaryCodec.encode(exchange, false);
+    }
+
+    private static String text(int size) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextBoolean() ? ' ' : ',');
+        }
+        return text.substring(0, size);
+    }
+}
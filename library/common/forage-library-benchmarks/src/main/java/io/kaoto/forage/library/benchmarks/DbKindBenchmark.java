@@ -0,0 +1,223 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.aggregation.ForageAggregationRepository;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+
+/**
+ * Operations/s of the common pool workloads on each in-process DB kind, with every pool configured
+ * through {@code forage.<name>.jdbc.*} properties so that changes to {@code PooledDataSource} show up
+ * here:
+ *
+ * <ul>
+ *   <li>{@code acquireRelease}: borrowing and returning a connection</li>
+ *   <li>{@code validateOnBorrow}: the same on a pool with {@code pool.validate.on.borrow}</li>
+ *   <li>{@code shortTransaction}: a single row update committed on its own</li>
+ *   <li>{@code idempotentAdd}: a new message ID through the bound JDBC idempotent repository</li>
+ *   <li>{@code aggregationUpdate}: storing the next version of an aggregate of the calling thread</li>
+ * </ul>
+ *
+ * <p>{@link #main(String[])} runs this class and writes the results as JSON, to compare two builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class DbKindBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final String RESULTS_FILE = "db-kind-benchmark.json";
+    private static final int ACCOUNTS = 1_000;
+
+    @Param({"h2", "hsqldb"})
+    public String kind;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path configDir;
+    private CamelContext camelContext;
+    private AgroalDataSource dataSource;
+    private AgroalDataSource validated;
+    private ForageJdbcMessageIdRepository idempotentRepository;
+    private ForageAggregationRepository aggregationRepository;
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .include(DbKindBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULTS_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * The aggregate each thread keeps updating, so threads never contend for the same row.
+     */
+    @State(Scope.Thread)
+    public static class Aggregate {
+        private static final AtomicInteger KEYS = new AtomicInteger();
+
+        final String key = "aggregate-" + KEYS.incrementAndGet();
+        Exchange exchange;
+        long version;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        String url = kind.equals("h2") ? "jdbc:h2:mem:kind" : "jdbc:hsqldb:mem:kind";
+
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=%1$s
+                forage.bench.jdbc.url=%2$s
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.pool.min.size=8
+                forage.bench.jdbc.pool.max.size=8
+                forage.bench.jdbc.idempotent.repository.enabled=true
+                forage.bench.jdbc.aggregation.repository.name=bench_aggregation
+                forage.validated.jdbc.db.kind=%1$s
+                forage.validated.jdbc.url=%2$s
+                forage.validated.jdbc.username=sa
+                forage.validated.jdbc.password=
+                forage.validated.jdbc.pool.min.size=8
+                forage.validated.jdbc.pool.max.size=8
+                forage.validated.jdbc.pool.validate.on.borrow=true
+                """.formatted(kind, url));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+        validated = camelContext.getRegistry().lookupByNameAndType("validated", AgroalDataSource.class);
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE account (id INT PRIMARY KEY, balance BIGINT NOT NULL)");
+            for (String table : new String[] {"bench_aggregation", "bench_aggregation_completed"}) {
+                statement.execute("CREATE TABLE " + table
+                        + " (id VARCHAR(255) NOT NULL, exchange BLOB NOT NULL, version BIGINT NOT NULL,"
+                        + " CONSTRAINT " + table + "_pk PRIMARY KEY (id))");
+            }
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO account VALUES (?, 0)")) {
+                for (int id = 0; id < ACCOUNTS; id++) {
+                    insert.setInt(1, id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+
+        DataSourceFactoryConfig config = new DataSourceFactoryConfig("bench");
+        idempotentRepository = camelContext
+                .getRegistry()
+                .lookupByNameAndType(config.idempotentRepositoryTableName(), ForageJdbcMessageIdRepository.class);
+        idempotentRepository.start();
+        // bound only with transactions enabled, which would make every workload run on an XA pool
+        aggregationRepository = new ForageAggregationRepository(
+                dataSource, com.arjuna.ats.jta.TransactionManager.transactionManager(), config);
+        aggregationRepository.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        aggregationRepository.stop();
+        idempotentRepository.stop();
+        camelContext.close();
+        dataSource.close();
+        validated.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public boolean acquireRelease() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    public boolean validateOnBorrow() throws SQLException {
+        try (Connection connection = validated.getConnection()) {
+            return connection.getAutoCommit();
+        }
+    }
+
+    @Benchmark
+    public int shortTransaction() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement update =
+                        connection.prepareStatement("UPDATE account SET balance = balance + 1 WHERE id = ?")) {
+            connection.setAutoCommit(false);
+            update.setInt(1, ThreadLocalRandom.current().nextInt(ACCOUNTS));
+            int updated = update.executeUpdate();
+            connection.commit();
+            return updated;
+        }
+    }
+
+    @Benchmark
+    public boolean idempotentAdd() {
+        return idempotentRepository.add("id-" + ids.incrementAndGet());
+    }
+
+    @Benchmark
+    public Exchange aggregationUpdate(Aggregate aggregate) {
+        if (aggregate.exchange == null) {
+            aggregate.exchange = new DefaultExchange(camelContext);
+        }
+        aggregate.exchange.getMessage().setBody("version-" + ++aggregate.version);
+        return aggregationRepository.add(camelContext, aggregate.key, aggregate.exchange);
+    }
+}
@@ -0,0 +1,131 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+
+/**
+ * Messages per second through {@link ForageJdbcMessageIdRepository#add(String)} on an H2 table already
+ * holding {@value #STORED_KEYS} message IDs, with and without
+ * {@code forage.<name>.jdbc.idempotent.repository.cache.enabled}. {@code duplicatePercent} of the
+ * messages repeat a random stored ID, the others carry a new one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdempotentRepositoryBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final int STORED_KEYS = 1_000_000;
+
+    @Param({"1", "10", "50"})
+    public int duplicatePercent;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private final AtomicLong newKeys = new AtomicLong();
+
+    private Path configDir;
+    private AgroalDataSource dataSource;
+    private ForageJdbcMessageIdRepository repository;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=h2
+                forage.bench.jdbc.url=jdbc:h2:mem:idempotent
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.idempotent.repository.cache.enabled=%s
+                """.formatted(cache));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+
+        DataSourceFactoryConfig config = new DataSourceFactoryConfig("bench");
+        // the first start creates the table, the second loads the stored IDs into the near cache
+        ForageJdbcMessageIdRepository creator =
+                new ForageJdbcMessageIdRepository(config, dataSource, new ForageIdRepository() {});
+        creator.start();
+        store(config.idempotentRepositoryTableName(), config.idempotentRepositoryProcessorName());
+        creator.stop();
+
+        repository = new ForageJdbcMessageIdRepository(config, dataSource, new ForageIdRepository() {});
+        repository.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.stop();
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public boolean add() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String key = random.nextInt(100) < duplicatePercent
+                ? "stored-" + random.nextInt(STORED_KEYS)
+                : "new-" + newKeys.incrementAndGet();
+        return repository.add(key);
+    }
+
+    private void store(String table, String processorName) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO " + table + " (processorName, messageId, createdAt) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < STORED_KEYS; i++) {
+                insert.setString(1, processorName);
+                insert.setString(2, "stored-" + i);
+                insert.setTimestamp(3, now);
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+}
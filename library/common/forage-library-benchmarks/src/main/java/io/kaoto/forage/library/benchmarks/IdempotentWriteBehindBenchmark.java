@@ -0,0 +1,148 @@
+package io.kaoto.forage.library.benchmarks;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+
+/**
+ * Messages per second through a write-behind {@link ForageJdbcMessageIdRepository} on H2 and HSQLDB at
+ * batch sizes of 1, 50 and 500, every message carrying a new ID. The {@code commits} counter reports the
+ * database commits per iteration, counted on the connections handed to the repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class IdempotentWriteBehindBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final AtomicLong COMMITS = new AtomicLong();
+
+    @Param({"h2", "hsqldb"})
+    public String kind;
+
+    @Param({"1", "50", "500"})
+    public int batchSize;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path configDir;
+    private AgroalDataSource dataSource;
+    private ForageJdbcMessageIdRepository repository;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Commits {
+        private long base;
+
+        public long commits;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            base = COMMITS.get();
+            commits = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        String url = kind.equals("h2") ? "jdbc:h2:mem:behind" : "jdbc:hsqldb:mem:behind";
+
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=%s
+                forage.bench.jdbc.url=%s
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.idempotent.repository.write.behind.enabled=true
+                forage.bench.jdbc.idempotent.repository.write.behind.batch.size=%d
+                """.formatted(kind, url, batchSize));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+
+        repository = new ForageJdbcMessageIdRepository(
+                new DataSourceFactoryConfig("bench"), countingCommits(dataSource), new ForageIdRepository() {});
+        repository.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.stop();
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public boolean add(Commits counters) {
+        boolean added = repository.add("id-" + ids.incrementAndGet());
+        counters.commits = COMMITS.get() - counters.base;
+        return added;
+    }
+
+    private static DataSource countingCommits(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(), new Class<?>[] {DataSource.class}, (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection ? countingCommits(connection) : result;
+                });
+    }
+
+    private static Connection countingCommits(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("commit")) {
+                        COMMITS.incrementAndGet();
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.ConnectionFactoryBeanFactory;
+
+/**
+ * Msgs/s of a route sending persistent messages with {@code transacted=true} to an Artemis broker embedded in
+ * the benchmark JVM, through the {@code mq} component the {@link ConnectionFactoryBeanFactory} builds from
+ * {@code forage.mq.jms.*} properties, at {@code producer.batch.size} 1 (a commit per message), 10 and 100.
+ *
+ * <p>An exchange completes once its batch is committed, so batches only fill with as many concurrent
+ * senders: the benchmark runs 128 threads. The queue is emptied after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(128)
+@Fork(1)
+public class JmsBatchProducerBenchmark {
+
+    private static final String CONNECTIONFACTORY_FILE = "forage-connectionfactory.properties";
+    private static final String QUEUE = "bench";
+    private static final String PAYLOAD = "x".repeat(1024);
+
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    private Path dataDir;
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private ProducerTemplate template;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataDir = Files.createTempDirectory("forage-bench");
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(true)
+                .setJournalType(JournalType.NIO)
+                .setJournalDirectory(dataDir.resolve("journal").toString())
+                .setBindingsDirectory(dataDir.resolve("bindings").toString())
+                .setPagingDirectory(dataDir.resolve("paging").toString())
+                .setLargeMessagesDirectory(dataDir.resolve("large-messages").toString())
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        Files.writeString(dataDir.resolve(CONNECTIONFACTORY_FILE), """
+                forage.mq.jms.kind=artemis
+                forage.mq.jms.broker.url=vm://0
+                forage.mq.jms.producer.batch.size=%d
+                forage.mq.jms.producer.batch.timeout.millis=5
+                """.formatted(batchSize));
+        System.setProperty("forage.config.dir", dataDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        ConnectionFactoryBeanFactory factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:send").routeId("send").to("mq:queue:" + QUEUE + "?transacted=true");
+            }
+        });
+        camelContext.start();
+        template = camelContext.createProducerTemplate();
+    }
+
+    @TearDown(Level.Iteration)
+    public void purge() throws Exception {
+        Queue queue = broker.getActiveMQServer().locateQueue(SimpleString.of(QUEUE));
+        if (queue != null) {
+            queue.deleteAllReferences();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        template.close();
+        JmsPoolConnectionFactory pool =
+                camelContext.getRegistry().lookupByNameAndType("mq", JmsPoolConnectionFactory.class);
+        camelContext.close();
+        if (pool != null) {
+            pool.stop();
+        }
+        broker.stop();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void send() {
+        template.sendBody("direct:send", PAYLOAD);
+    }
+}
@@ -0,0 +1,142 @@
+package io.kaoto.forage.library.benchmarks;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.ConnectionFactoryBeanFactory;
+
+/**
+ * Msgs/s of sending a backlog of 64-byte non-persistent messages to an Artemis broker embedded in the
+ * benchmark JVM and then receiving them, through the ConnectionFactory the {@link ConnectionFactoryBeanFactory}
+ * builds from {@code forage.mq.jms.*} properties, across {@code artemis.consumer.window.size} 0 (a round
+ * trip to the broker per receive), 64 KB and the default 1 MB, and {@code artemis.producer.window.size}
+ * 1 KB and the default 64 KB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JmsConsumerWindowBenchmark {
+
+    private static final String CONNECTIONFACTORY_FILE = "forage-connectionfactory.properties";
+    private static final int MESSAGES = 1000;
+    private static final String PAYLOAD = "x".repeat(64);
+
+    @Param({"0", "65536", "1048576"})
+    public int consumerWindowSize;
+
+    @Param({"1024", "65536"})
+    public int producerWindowSize;
+
+    private Path configDir;
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private Connection connection;
+    private Session session;
+    private MessageProducer producer;
+    private MessageConsumer consumer;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(CONNECTIONFACTORY_FILE), """
+                forage.mq.jms.kind=artemis
+                forage.mq.jms.broker.url=vm://0
+                forage.mq.jms.artemis.consumer.window.size=%d
+                forage.mq.jms.artemis.producer.window.size=%d
+                """.formatted(consumerWindowSize, producerWindowSize));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        ConnectionFactoryBeanFactory factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        ConnectionFactory connectionFactory =
+                camelContext.getRegistry().lookupByNameAndType("mq", ConnectionFactory.class);
+
+        connection = connectionFactory.createConnection();
+        connection.start();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("bench");
+        producer = session.createProducer(queue);
+        producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        consumer = session.createConsumer(queue);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        JmsPoolConnectionFactory pool =
+                camelContext.getRegistry().lookupByNameAndType("mq", JmsPoolConnectionFactory.class);
+        camelContext.close();
+        if (pool != null) {
+            pool.stop();
+        }
+        broker.stop();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        try (Stream<Path> files = Files.walk(configDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public int sendThenReceive() throws Exception {
+        for (int i = 0; i < MESSAGES; i++) {
+            producer.send(session.createTextMessage(PAYLOAD));
+        }
+        int length = 0;
+        for (int i = 0; i < MESSAGES; i++) {
+            TextMessage message = (TextMessage) consumer.receive(5000);
+            if (message == null) {
+                throw new IllegalStateException("Received " + i + " of " + MESSAGES + " messages");
+            }
+            length += message.getText().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,222 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.JournalType;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.ConnectionFactoryBeanFactory;
+
+/**
+ * Messages/s and latency percentiles of Camel routes sending to and consuming from a persistent Artemis
+ * broker embedded in the benchmark JVM, through the ConnectionFactory and {@code mq} component the
+ * {@link ConnectionFactoryBeanFactory} builds from {@code forage.mq.jms.*} properties:
+ *
+ * <ul>
+ *   <li>{@code send}: one message sent by a route, the transaction committed</li>
+ *   <li>{@code roundTrip}: one message sent, then received by the consumer route in its own
+ *       transaction, measured until the consumer has processed it</li>
+ * </ul>
+ *
+ * <p>The matrix covers {@code pool.max.connections}, {@code pool.max.sessions.per.connection} (the four
+ * consumers hold their sessions, so 6 leaves two for the four sending threads), persistent vs.
+ * non-persistent delivery, and local JMS transactions ({@code transacted=true}) vs. JTA with XA sessions
+ * ({@code transaction.enabled}). {@code send} and {@code roundTrip} report msgs/s, their
+ * {@code Latency} variants sample each operation for the p50 and p99 latency in µs.
+ * Narayana is configured once per JVM, so every parameter combination runs in its own fork.
+ *
+ * <p>{@link #main(String[])} runs this class and writes the results as JSON, to compare two builds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class JmsThroughputBenchmark {
+
+    private static final String CONNECTIONFACTORY_FILE = "forage-connectionfactory.properties";
+    private static final String RESULTS_FILE = "jms-throughput-benchmark.json";
+    private static final String CORRELATION = "benchmarkId";
+    private static final String REQUIRED = "PROPAGATION_REQUIRED";
+    private static final int CONSUMERS = 4;
+    private static final String PAYLOAD = "x".repeat(1024);
+
+    @Param({"1", "4"})
+    public int maxConnections;
+
+    @Param({"6", "500"})
+    public int maxSessionsPerConnection;
+
+    @Param({"true", "false"})
+    public boolean persistent;
+
+    @Param({"local", "xa"})
+    public String transactions;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+
+    private Path dataDir;
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private ProducerTemplate template;
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .include(JmsThroughputBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON);
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULTS_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dataDir = Files.createTempDirectory("forage-bench");
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(true)
+                .setJournalType(JournalType.NIO)
+                .setJournalDirectory(dataDir.resolve("journal").toString())
+                .setBindingsDirectory(dataDir.resolve("bindings").toString())
+                .setPagingDirectory(dataDir.resolve("paging").toString())
+                .setLargeMessagesDirectory(dataDir.resolve("large-messages").toString())
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        boolean xa = transactions.equals("xa");
+        Files.writeString(dataDir.resolve(CONNECTIONFACTORY_FILE), """
+                forage.mq.jms.kind=artemis
+                forage.mq.jms.broker.url=vm://0
+                forage.mq.jms.pool.max.connections=%d
+                forage.mq.jms.pool.max.sessions.per.connection=%d
+                forage.mq.jms.transaction.enabled=%s
+                forage.mq.jms.transaction.object.store.directory=%s/ObjectStore
+                """.formatted(maxConnections, maxSessionsPerConnection, xa, dataDir));
+        System.setProperty("forage.config.dir", dataDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        ConnectionFactoryBeanFactory factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+
+        // XA sessions must not use local transactions: the component joins the JTA transaction instead
+        String local = xa ? "" : "&transacted=true";
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                String producer = "mq:queue:bench?deliveryPersistent=" + persistent + local;
+                String consumer = "mq:queue:bench?concurrentConsumers=" + CONSUMERS + local;
+                if (xa) {
+                    from("direct:send").routeId("send").transacted(REQUIRED).to(producer);
+                    from(consumer)
+                            .routeId("consume")
+                            .transacted(REQUIRED)
+                            .process(JmsThroughputBenchmark.this::consumed);
+                } else {
+                    from("direct:send").routeId("send").to(producer);
+                    from(consumer).routeId("consume").process(JmsThroughputBenchmark.this::consumed);
+                }
+            }
+        });
+        camelContext.start();
+        template = camelContext.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        template.close();
+        JmsPoolConnectionFactory pool =
+                camelContext.getRegistry().lookupByNameAndType("mq", JmsPoolConnectionFactory.class);
+        camelContext.close();
+        if (pool != null) {
+            pool.stop();
+        }
+        broker.stop();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void consumed(Exchange exchange) {
+        String id = exchange.getMessage().getHeader(CORRELATION, String.class);
+        CompletableFuture<Void> waiting = id == null ? null : pending.remove(id);
+        if (waiting != null) {
+            waiting.complete(null);
+        }
+    }
+
+    @Benchmark
+    public void send() {
+        template.sendBody("direct:send", PAYLOAD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void sendLatency() {
+        send();
+    }
+
+    @Benchmark
+    public void roundTrip() throws Exception {
+        String id = Long.toString(ids.incrementAndGet());
+        CompletableFuture<Void> consumed = new CompletableFuture<>();
+        pending.put(id, consumed);
+        template.sendBodyAndHeader("direct:send", PAYLOAD, CORRELATION, id);
+        consumed.get(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void roundTripLatency() throws Exception {
+        roundTrip();
+    }
+}
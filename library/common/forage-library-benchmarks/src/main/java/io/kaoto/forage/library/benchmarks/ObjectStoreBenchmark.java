@@ -0,0 +1,173 @@
+package io.kaoto.forage.library.benchmarks;
+
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+
+/**
+ * Two-phase commits/s of an H2 XA DataSource and a second, no-op resource with the Narayana object store
+ * in a directory ({@code file-system}) and in an H2 database file ({@code jdbc}) under the same temporary
+ * directory. Narayana configures its object store once per JVM, so each fork measures one store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(2)
+public class ObjectStoreBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+
+    @Param({"file-system", "jdbc"})
+    public String store;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path configDir;
+    private CamelContext camelContext;
+    private AgroalDataSource orders;
+    private AgroalDataSource txlog;
+    private jakarta.transaction.TransactionManager transactionManager;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.orders.jdbc.db.kind=h2
+                forage.orders.jdbc.url=jdbc:h2:mem:object_store_orders
+                forage.orders.jdbc.username=sa
+                forage.orders.jdbc.password=
+                forage.orders.jdbc.pool.min.size=4
+                forage.orders.jdbc.pool.max.size=8
+                forage.orders.jdbc.transaction.enabled=true
+                forage.orders.jdbc.transaction.object.store.type=%1$s
+                forage.orders.jdbc.transaction.object.store.directory=%2$s/ObjectStore
+                forage.orders.jdbc.transaction.object.store.datasource=txlog
+                forage.orders.jdbc.transaction.object.store.create.table=true
+                forage.txlog.jdbc.db.kind=h2
+                forage.txlog.jdbc.url=jdbc:h2:file:%2$s/txlog
+                forage.txlog.jdbc.username=sa
+                forage.txlog.jdbc.password=
+                forage.txlog.jdbc.pool.min.size=4
+                forage.txlog.jdbc.pool.max.size=8
+                """.formatted(store, configDir));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        orders = camelContext.getRegistry().lookupByNameAndType("orders", AgroalDataSource.class);
+        txlog = camelContext.getRegistry().lookupByNameAndType("txlog", AgroalDataSource.class);
+        transactionManager = com.arjuna.ats.jta.TransactionManager.transactionManager();
+
+        try (Connection connection = orders.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        camelContext.close();
+        orders.close();
+        txlog.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        try (Stream<Path> files = Files.walk(configDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void commit() throws Exception {
+        transactionManager.begin();
+        try (Connection connection = orders.getConnection();
+                PreparedStatement insert = connection.prepareStatement("INSERT INTO orders VALUES (?)")) {
+            insert.setLong(1, ids.incrementAndGet());
+            insert.executeUpdate();
+        }
+        // a second resource, so the transaction is prepared and logged instead of committed in one phase
+        transactionManager.getTransaction().enlistResource(new NoOpResource());
+        transactionManager.commit();
+    }
+
+    static class NoOpResource implements XAResource, Serializable {
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) {}
+
+        @Override
+        public int prepare(Xid xid) {
+            return XA_OK;
+        }
+
+        @Override
+        public void rollback(Xid xid) {}
+
+        @Override
+        public void start(Xid xid, int flags) {}
+
+        @Override
+        public void end(Xid xid, int flags) {}
+
+        @Override
+        public void forget(Xid xid) {}
+
+        @Override
+        public Xid[] recover(int flag) {
+            return new Xid[0];
+        }
+
+        @Override
+        public boolean isSameRM(XAResource other) {
+            return other == this;
+        }
+
+        @Override
+        public int getTransactionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.kaoto.forage.library.benchmarks;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+
+/**
+ * Latency of the first 1,000 queries per thread on a freshly bound DataSource, with and without
+ * {@code forage.<name>.jdbc.pool.warmup.enabled}. Every measured call is a single shot without JMH
+ * warmup, so the percentiles JMH reports (p99 in particular) include the connections opened and
+ * validated on demand; each fork starts a new JVM and a new pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1000, batchSize = 1)
+@Threads(4)
+@Fork(5)
+public class PoolWarmupBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+
+    @Param({"h2", "hsqldb"})
+    public String kind;
+
+    @Param({"false", "true"})
+    public boolean warmup;
+
+    private Path configDir;
+    private AgroalDataSource dataSource;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        String url = kind.equals("h2") ? "jdbc:h2:mem:warmup" : "jdbc:hsqldb:mem:warmup";
+        query = kind.equals("h2") ? "SELECT 1" : "SELECT 1 FROM (VALUES(0))";
+
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=%s
+                forage.bench.jdbc.url=%s
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.pool.initial.size=0
+                forage.bench.jdbc.pool.min.size=4
+                forage.bench.jdbc.pool.max.size=8
+                forage.bench.jdbc.pool.warmup.enabled=%s
+                """.formatted(kind, url, warmup));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public int query() throws SQLException {
+        return query(dataSource, query);
+    }
+
+    private static int query(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
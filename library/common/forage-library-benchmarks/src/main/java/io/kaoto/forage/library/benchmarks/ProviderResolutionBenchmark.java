@@ -0,0 +1,103 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.core.common.ForageBeanIndex;
+import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.jdbc.DataSourceProvider;
+import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
+
+/**
+ * Resolving a provider by class name, as the bean factories do for every bean they create, and by
+ * bean name, as the agent factory does for models, memories and guardrails: through a
+ * {@link ServiceLoader} scan or through the build-time {@link ForageBeanIndex}.
+ *
+ * <p>The {@code cold} variants resolve from a new class loader each time, so they include reading
+ * the {@code META-INF} resources of the whole benchmark classpath, as on the first lookup after
+ * startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderResolutionBenchmark {
+
+    private static final String H2_PROVIDER = "io.kaoto.forage.jdbc.h2.H2Jdbc";
+
+    private final ClassLoader classLoader = ProviderResolutionBenchmark.class.getClassLoader();
+
+    @Benchmark
+    public Object serviceLoaderByClassName() {
+        return ServiceLoaderHelper.findProviderByClassName(
+                ServiceLoader.load(DataSourceProvider.class, classLoader).stream().toList(), H2_PROVIDER);
+    }
+
+    @Benchmark
+    public Object indexByClassName() {
+        return ForageBeanIndex.findByClassName(classLoader, DataSourceProvider.class, H2_PROVIDER);
+    }
+
+    @Benchmark
+    public Object serviceLoaderByBeanName() {
+        return ServiceLoader.load(ConnectionFactoryProvider.class, classLoader).stream()
+                .filter(p -> {
+                    ForageBean annotation = p.type().getAnnotation(ForageBean.class);
+                    return annotation != null && annotation.value().equals("artemis");
+                })
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public Object indexByBeanName() {
+        return ForageBeanIndex.findByBeanName(classLoader, ConnectionFactoryProvider.class, "artemis");
+    }
+
+    @Benchmark
+    public Object coldServiceLoaderByClassName(FreshClassLoader fresh) {
+        return ServiceLoaderHelper.findProviderByClassName(
+                ServiceLoader.load(DataSourceProvider.class, fresh.classLoader).stream().toList(), H2_PROVIDER);
+    }
+
+    @Benchmark
+    public Object coldIndexByClassName(FreshClassLoader fresh) {
+        return ForageBeanIndex.findByClassName(fresh.classLoader, DataSourceProvider.class, H2_PROVIDER);
+    }
+
+    /**
+     * An empty class loader delegating to the application one, created before each invocation so the
+     * index is read again; classes are still loaded once, by the parent.
+     */
+    @State(Scope.Thread)
+    public static class FreshClassLoader {
+
+        URLClassLoader classLoader;
+
+        @Setup(Level.Invocation)
+        public void create() {
+            classLoader = new URLClassLoader(new URL[0], ProviderResolutionBenchmark.class.getClassLoader());
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() throws Exception {
+            classLoader.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Time per primary key lookup on an in-memory H2 table, including connection checkout, with and without
+ * {@code forage.<name>.jdbc.instrumentation.enabled}, publishing to a {@link SimpleMeterRegistry}.
+ *
+ * <p>The budget for instrumentation is 2 µs per lookup over the uninstrumented run: the statement timer,
+ * the row summary and the hold timer are each recorded once per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(2)
+public class QueryInstrumentationBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final int ROWS = 10_000;
+
+    @Param({"false", "true"})
+    public boolean instrumentation;
+
+    private Path configDir;
+    private CamelContext camelContext;
+    private AgroalDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=h2
+                forage.bench.jdbc.url=jdbc:h2:mem:instrumentation
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.pool.initial.size=4
+                forage.bench.jdbc.pool.min.size=4
+                forage.bench.jdbc.pool.max.size=4
+                forage.bench.jdbc.instrumentation.enabled=%s
+                """.formatted(instrumentation));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        camelContext.getRegistry().bind("meterRegistry", new SimpleMeterRegistry());
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(32))");
+            statement.execute("INSERT INTO item SELECT x, 'item-' || x FROM SYSTEM_RANGE(0, " + (ROWS - 1) + ")");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        camelContext.close();
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public String lookup() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+            statement.setInt(1, ThreadLocalRandom.current().nextInt(ROWS));
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getString(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.ForageContextServicePlugin;
+import io.kaoto.forage.core.RecordedBeanFactories;
+import io.kaoto.forage.core.common.BeanFactory;
+import io.kaoto.forage.core.common.ForageBeanIndex;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+import io.kaoto.forage.jms.ConnectionFactoryBeanFactory;
+
+/**
+ * Wall time of binding Forage beans into a fresh CamelContext, with {@code instances} H2 DataSources
+ * and {@code instances} Artemis ConnectionFactories pointing at an in-VM embedded broker.
+ *
+ * <p>{@code allFactories} goes through {@link ForageContextServicePlugin#load}, serially or with
+ * {@code forage.startup.parallel} depending on {@code parallel}; {@code dataSources} and
+ * {@code connectionFactories} configure a single factory on the calling thread, giving the share of
+ * each factory in the total.
+ *
+ * <p>With {@code recorded}, the factory classes and the providers of the bean index are resolved in the
+ * setup and recorded, as the forage-quarkus-common extension does at build time, so the invocations
+ * measure what a Quarkus application still does when the CamelContext starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final String CONNECTIONFACTORY_FILE = "forage-connectionfactory.properties";
+
+    @Param({"4"})
+    public int instances;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"false", "true"})
+    public boolean recorded;
+
+    private Path configDir;
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        configDir = Files.createTempDirectory("forage-bench");
+        writeConfig();
+        System.setProperty("forage.config.dir", configDir.toString());
+        System.setProperty("forage.startup.parallel", String.valueOf(parallel));
+        ConfigStore.getInstance().reload();
+        if (recorded) {
+            record();
+        }
+    }
+
+    /**
+     * Records what the Quarkus build step records. Nothing is cleared afterwards, JMH forking a JVM for
+     * every combination of parameters.
+     */
+    private static void record() throws ClassNotFoundException {
+        ClassLoader classLoader = StartupBenchmark.class.getClassLoader();
+        Map<String, Set<String>> registrations = ForageBeanIndex.registeredServices(classLoader);
+        Map<String, Class<?>> classes = new HashMap<>();
+        for (String className : registrations.keySet()) {
+            classes.put(className, Class.forName(className, false, classLoader));
+        }
+        ForageBeanIndex.record(classes, ForageBeanIndex.indexedBeans(classLoader), registrations);
+
+        List<Class<? extends BeanFactory>> factories = new ArrayList<>();
+        ServiceLoader.load(BeanFactory.class, classLoader).stream()
+                .map(ServiceLoader.Provider::type)
+                .forEach(factories::add);
+        RecordedBeanFactories.record(factories);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.clearProperty("forage.config.dir");
+        System.clearProperty("forage.startup.parallel");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir.resolve(CONNECTIONFACTORY_FILE));
+        Files.deleteIfExists(configDir);
+        broker.stop();
+    }
+
+    @Setup(Level.Invocation)
+    public void newContext() {
+        camelContext = new DefaultCamelContext();
+    }
+
+    /**
+     * Closes the pools bound by the last invocation, so every invocation opens its own.
+     */
+    @TearDown(Level.Invocation)
+    public void closePools() {
+        for (int i = 0; i < instances; i++) {
+            if (camelContext.getRegistry().lookupByName("ds" + i) instanceof AgroalDataSource pool) {
+                pool.close();
+            }
+            if (camelContext.getRegistry().lookupByName("mq" + i) instanceof JmsPoolConnectionFactory pool) {
+                pool.stop();
+            }
+        }
+    }
+
+    @Benchmark
+    public void allFactories() {
+        new ForageContextServicePlugin().load(camelContext);
+    }
+
+    @Benchmark
+    public void dataSources() {
+        configure(new DataSourceBeanFactory());
+    }
+
+    @Benchmark
+    public void connectionFactories() {
+        configure(new ConnectionFactoryBeanFactory());
+    }
+
+    private void configure(BeanFactory beanFactory) {
+        beanFactory.setCamelContext(camelContext);
+        beanFactory.configure();
+    }
+
+    private void writeConfig() throws IOException {
+        try (Writer writer = Files.newBufferedWriter(configDir.resolve(DATASOURCE_FILE))) {
+            for (int i = 0; i < instances; i++) {
+                String prefix = "forage.ds" + i + ".jdbc";
+                writer.write(prefix + ".db.kind=h2\n");
+                writer.write(prefix + ".url=jdbc:h2:mem:startup-ds" + i + "\n");
+                writer.write(prefix + ".username=sa\n");
+                writer.write(prefix + ".password=sa\n");
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(configDir.resolve(CONNECTIONFACTORY_FILE))) {
+            for (int i = 0; i < instances; i++) {
+                String prefix = "forage.mq" + i + ".jms";
+                writer.write(prefix + ".kind=artemis\n");
+                writer.write(prefix + ".broker.url=vm://0\n");
+            }
+        }
+    }
+}
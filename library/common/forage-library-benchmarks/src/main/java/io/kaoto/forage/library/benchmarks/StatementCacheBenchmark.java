@@ -0,0 +1,105 @@
+package io.kaoto.forage.library.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.DataSourceBeanFactory;
+
+/**
+ * Queries/s of the same parameterized {@code camel-sql} query against an H2 table, with and without
+ * {@code forage.<name>.jdbc.statement.cache.enabled}. Each query binds a random key, so only the
+ * statement preparation differs between the two runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(2)
+public class StatementCacheBenchmark {
+
+    private static final String DATASOURCE_FILE = "forage-datasource-factory.properties";
+    private static final int ROWS = 10_000;
+    private static final String QUERY =
+            "sql:SELECT name FROM item WHERE id = :#id?dataSource=#bench&outputType=SelectOne";
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private Path configDir;
+    private CamelContext camelContext;
+    private AgroalDataSource dataSource;
+    private ProducerTemplate template;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, SQLException {
+        configDir = Files.createTempDirectory("forage-bench");
+        Files.writeString(configDir.resolve(DATASOURCE_FILE), """
+                forage.bench.jdbc.db.kind=h2
+                forage.bench.jdbc.url=jdbc:h2:mem:statements
+                forage.bench.jdbc.username=sa
+                forage.bench.jdbc.password=
+                forage.bench.jdbc.pool.initial.size=4
+                forage.bench.jdbc.pool.min.size=4
+                forage.bench.jdbc.pool.max.size=4
+                forage.bench.jdbc.statement.cache.enabled=%s
+                """.formatted(cache));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("bench", AgroalDataSource.class);
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(32))");
+            statement.execute("INSERT INTO item SELECT x, 'item-' || x FROM SYSTEM_RANGE(0, " + (ROWS - 1) + ")");
+        }
+        camelContext.start();
+        template = camelContext.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        camelContext.close();
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        Files.deleteIfExists(configDir.resolve(DATASOURCE_FILE));
+        Files.deleteIfExists(configDir);
+    }
+
+    @Benchmark
+    public Object query() {
+        int id = ThreadLocalRandom.current().nextInt(ROWS);
+        return template.requestBodyAndHeader(QUERY, null, "id", id);
+    }
+}
@@ -1,6 +1,5 @@
 package io.kaoto.forage.cxf;
 
-import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
 import org.apache.camel.CamelContext;
@@ -10,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
 import io.kaoto.forage.core.cxf.CxfEndpointProvider;
 import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
@@ -86,10 +84,8 @@ public class CxfBeanFactory implements BeanFactory {
         final String providerClass = CxfCommonExportHelper.transformCxfKindIntoProviderClass(cxfConfig.cxfKind());
         LOG.info("Creating CXF endpoint of type {}", providerClass);
 
-        final List<ServiceLoader.Provider<CxfEndpointProvider>> providers = findProviders(CxfEndpointProvider.class);
-
         final ServiceLoader.Provider<CxfEndpointProvider> provider =
-                ServiceLoaderHelper.findProviderByClassName(providers, providerClass);
+                findProvider(CxfEndpointProvider.class, providerClass);
 
         if (provider == null) {
             LOG.warn(
@@ -0,0 +1,155 @@
+package io.kaoto.forage.jdbc.common;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.agroal.api.configuration.AgroalConnectionPoolConfiguration;
+
+/**
+ * Adjusts the {@code maxSize} of an Agroal pool to its load, between the configured minimum size and an
+ * upper limit.
+ *
+ * <p>The pool is sampled at a fixed interval. A sample is under pressure when threads are waiting for a
+ * connection, or when the acquisitions since the previous sample blocked longer than the threshold on
+ * average; it is idle when less than half of {@code maxSize} is in use. Growing takes
+ * {@value #GROW_SAMPLES} consecutive pressure samples and doubles {@code maxSize}; shrinking takes
+ * {@value #SHRINK_SAMPLES} consecutive idle samples and sets {@code maxSize} to one and a half times the
+ * peak use seen over them, closing the idle connections. Any other sample resets both counts, so a pool
+ * under steady load does not oscillate.
+ *
+ * <p>The sizer only holds the pool weakly and stops once the pool has been garbage collected, since
+ * reloaded DataSources are unbound without being closed.
+ */
+public final class AdaptivePoolSizer {
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    static final int GROW_SAMPLES = 2;
+    static final int SHRINK_SAMPLES = 10;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "forage-pool-sizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String id;
+    private final WeakReference<AgroalDataSource> dataSource;
+    private final int lowerBound;
+    private final int upperBound;
+    private final long thresholdNanos;
+
+    private ScheduledFuture<?> task;
+    private long lastAcquireCount;
+    private long lastBlockingNanos;
+    private int pressureSamples;
+    private int idleSamples;
+    private long peakActive;
+
+    public AdaptivePoolSizer(
+            String id, AgroalDataSource dataSource, int lowerBound, int upperBound, Duration acquisitionThreshold) {
+        this.id = id;
+        this.dataSource = new WeakReference<>(dataSource);
+        this.lowerBound = Math.max(1, lowerBound);
+        this.upperBound = Math.max(this.lowerBound, upperBound);
+        this.thresholdNanos = acquisitionThreshold.toNanos();
+    }
+
+    /**
+     * Starts sampling the pool at the given interval.
+     */
+    public synchronized AdaptivePoolSizer start(Duration interval) {
+        if (task == null) {
+            task = SCHEDULER.scheduleWithFixedDelay(
+                    this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            LOG.info("Adaptive sizing of DataSource {} between {} and {} connections", id, lowerBound, upperBound);
+        }
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    synchronized void sample() {
+        AgroalDataSource pool = dataSource.get();
+        if (pool == null) {
+            LOG.debug("DataSource {} is gone, stopping adaptive sizing", id);
+            stop();
+            return;
+        }
+        try {
+            adjust(pool);
+        } catch (RuntimeException e) {
+            LOG.debug("Adaptive sizing of DataSource {} failed, stopping", id, e);
+            stop();
+        }
+    }
+
+    private void adjust(AgroalDataSource pool) {
+        AgroalDataSourceMetrics metrics = pool.getMetrics();
+        AgroalConnectionPoolConfiguration configuration =
+                pool.getConfiguration().connectionPoolConfiguration();
+        int maxSize = configuration.maxSize();
+        int target = nextMaxSize(
+                maxSize,
+                metrics.acquireCount(),
+                metrics.blockingTimeTotal().toNanos(),
+                metrics.activeCount(),
+                metrics.awaitingCount());
+        if (target != maxSize) {
+            configuration.setMaxSize(target);
+            LOG.debug("Resized DataSource {} from {} to {} connections", id, maxSize, target);
+            if (target < maxSize) {
+                // idle connections above the new maximum would otherwise stay open
+                pool.flush(AgroalDataSource.FlushMode.IDLE);
+            }
+        }
+    }
+
+    /**
+     * Takes a sample of the pool statistics, the acquisition counters being totals since the pool started,
+     * and returns the {@code maxSize} the pool should have after it.
+     */
+    int nextMaxSize(int maxSize, long acquireCount, long blockingNanos, long active, long awaiting) {
+        long acquired = acquireCount - lastAcquireCount;
+        long averageBlocking = acquired > 0 ? (blockingNanos - lastBlockingNanos) / acquired : 0;
+        lastAcquireCount = acquireCount;
+        lastBlockingNanos = blockingNanos;
+
+        boolean pressure = awaiting > 0 || averageBlocking > thresholdNanos;
+        boolean idle = !pressure && active * 2 < maxSize;
+
+        if (pressure) {
+            idleSamples = 0;
+            peakActive = 0;
+            if (++pressureSamples >= GROW_SAMPLES && maxSize < upperBound) {
+                pressureSamples = 0;
+                return Math.min(upperBound, maxSize * 2);
+            }
+        } else if (idle) {
+            pressureSamples = 0;
+            peakActive = Math.max(peakActive, active);
+            if (++idleSamples >= SHRINK_SAMPLES) {
+                int target = (int) Math.max(lowerBound, Math.ceil(peakActive * 1.5));
+                idleSamples = 0;
+                peakActive = 0;
+                return Math.min(target, maxSize);
+            }
+        } else {
+            pressureSamples = 0;
+            idleSamples = 0;
+            peakActive = 0;
+        }
+        return maxSize;
+    }
+}
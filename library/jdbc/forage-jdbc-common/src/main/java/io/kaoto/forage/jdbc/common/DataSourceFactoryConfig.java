@@ -1,10 +1,14 @@
 package io.kaoto.forage.jdbc.common;
 
+import java.util.Arrays;
+import java.util.List;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
 
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.ACQUISITION_TIMEOUT_SECONDS;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_ALLOW_SERIALIZED_HEADERS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_CODEC;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_CODEC_COMPRESSION;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_DEAD_LETTER_URI;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_ENABLED;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_HEADERS_TO_STORE;
@@ -14,17 +18,42 @@ import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGA
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_STORE_BODY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.AGGREGATION_REPOSITORY_USE_RECOVERY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.DB_KIND;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.DRIVER_DEFAULTS_ENABLED;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.ENABLE_IDEMPOTENT_REPOSITORY;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_CACHE_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_CACHE_EXPECTED_KEYS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_CACHE_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_PROCESSOR_NAME;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_TABLE_IF_NOT_EXISTS;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_TABLE_NAME;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_WRITE_BEHIND_BATCH_SIZE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_WRITE_BEHIND_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDEMPOTENT_REPOSITORY_WRITE_BEHIND_INTERVAL_MILLIS;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.IDLE_VALIDATION_TIMEOUT_MINUTES;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.INITIAL_SIZE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.INSTRUMENTATION_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.INSTRUMENTATION_SLOW_QUERY_THRESHOLD_MILLIS;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.JDBC_URL;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.LAZY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.LEAK_TIMEOUT_MINUTES;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MAX_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MIN_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.PASSWORD;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_ADAPTIVE_ACQUISITION_THRESHOLD_MILLIS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_ADAPTIVE_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_ADAPTIVE_INTERVAL_MILLIS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_ADAPTIVE_MAX_SIZE_LIMIT;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_CIRCUIT_BREAKER_COOL_DOWN_MILLIS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_CIRCUIT_BREAKER_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_VALIDATE_ON_BORROW;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_WARMUP_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_WARMUP_SQL;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.POOL_WARMUP_TIMEOUT_SECONDS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.REPLICAS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.REPLICAS_BALANCING;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_ENABLED;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_ENABLED;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_ENABLE_RECOVERY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_EXPIRY_SCANNERS;
@@ -116,6 +145,116 @@ public class DataSourceFactoryConfig extends AbstractConfig {
                 .orElse(Integer.parseInt(IDLE_VALIDATION_TIMEOUT_MINUTES.defaultValue()));
     }
 
+    public boolean poolValidateOnBorrow() {
+        return get(POOL_VALIDATE_ON_BORROW)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(POOL_VALIDATE_ON_BORROW.defaultValue()));
+    }
+
+    public boolean poolCircuitBreakerEnabled() {
+        return get(POOL_CIRCUIT_BREAKER_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(POOL_CIRCUIT_BREAKER_ENABLED.defaultValue()));
+    }
+
+    public int poolCircuitBreakerFailureThreshold() {
+        return get(POOL_CIRCUIT_BREAKER_FAILURE_THRESHOLD)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_CIRCUIT_BREAKER_FAILURE_THRESHOLD.defaultValue()));
+    }
+
+    public int poolCircuitBreakerCoolDownMillis() {
+        return get(POOL_CIRCUIT_BREAKER_COOL_DOWN_MILLIS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_CIRCUIT_BREAKER_COOL_DOWN_MILLIS.defaultValue()));
+    }
+
+    public boolean poolWarmupEnabled() {
+        return get(POOL_WARMUP_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(POOL_WARMUP_ENABLED.defaultValue()));
+    }
+
+    public String poolWarmupSql() {
+        return get(POOL_WARMUP_SQL).orElse(null);
+    }
+
+    public int poolWarmupTimeoutSeconds() {
+        return get(POOL_WARMUP_TIMEOUT_SECONDS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_WARMUP_TIMEOUT_SECONDS.defaultValue()));
+    }
+
+    public boolean poolAdaptiveEnabled() {
+        return get(POOL_ADAPTIVE_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(POOL_ADAPTIVE_ENABLED.defaultValue()));
+    }
+
+    public int poolAdaptiveMaxSizeLimit() {
+        return get(POOL_ADAPTIVE_MAX_SIZE_LIMIT)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_ADAPTIVE_MAX_SIZE_LIMIT.defaultValue()));
+    }
+
+    public int poolAdaptiveIntervalMillis() {
+        return get(POOL_ADAPTIVE_INTERVAL_MILLIS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_ADAPTIVE_INTERVAL_MILLIS.defaultValue()));
+    }
+
+    public int poolAdaptiveAcquisitionThresholdMillis() {
+        return get(POOL_ADAPTIVE_ACQUISITION_THRESHOLD_MILLIS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(POOL_ADAPTIVE_ACQUISITION_THRESHOLD_MILLIS.defaultValue()));
+    }
+
+    public boolean statementCacheEnabled() {
+        return get(STATEMENT_CACHE_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(STATEMENT_CACHE_ENABLED.defaultValue()));
+    }
+
+    public int statementCacheSize() {
+        return get(STATEMENT_CACHE_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(STATEMENT_CACHE_SIZE.defaultValue()));
+    }
+
+    public boolean driverDefaultsEnabled() {
+        return get(DRIVER_DEFAULTS_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(DRIVER_DEFAULTS_ENABLED.defaultValue()));
+    }
+
+    public boolean instrumentationEnabled() {
+        return get(INSTRUMENTATION_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(INSTRUMENTATION_ENABLED.defaultValue()));
+    }
+
+    public int instrumentationSlowQueryThresholdMillis() {
+        return get(INSTRUMENTATION_SLOW_QUERY_THRESHOLD_MILLIS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(INSTRUMENTATION_SLOW_QUERY_THRESHOLD_MILLIS.defaultValue()));
+    }
+
+    public boolean lazy() {
+        return get(LAZY).map(Boolean::parseBoolean).orElse(Boolean.parseBoolean(LAZY.defaultValue()));
+    }
+
+    public List<String> replicas() {
+        return get(REPLICAS).map(value -> Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .toList())
+                .orElse(List.of());
+    }
+
+    public String replicasBalancing() {
+        return get(REPLICAS_BALANCING).orElse(REPLICAS_BALANCING.defaultValue());
+    }
+
     // Transaction configuration methods
     public int transactionTimeoutSeconds() {
         return get(TRANSACTION_TIMEOUT_SECONDS)
@@ -204,6 +343,15 @@ public class DataSourceFactoryConfig extends AbstractConfig {
         return get(AGGREGATION_REPOSITORY_HEADERS_TO_STORE).orElse(null);
     }
 
+    public String aggregationRepositoryCodec() {
+        return get(AGGREGATION_REPOSITORY_CODEC).orElse(AGGREGATION_REPOSITORY_CODEC.defaultValue());
+    }
+
+    public String aggregationRepositoryCodecCompression() {
+        return get(AGGREGATION_REPOSITORY_CODEC_COMPRESSION)
+                .orElse(AGGREGATION_REPOSITORY_CODEC_COMPRESSION.defaultValue());
+    }
+
     public Boolean aggregationRepositoryStoreBody() {
         return get(AGGREGATION_REPOSITORY_STORE_BODY).map(Boolean::parseBoolean).orElse(null);
     }
@@ -259,4 +407,40 @@ public class DataSourceFactoryConfig extends AbstractConfig {
     public String idempotentRepositoryProcessorName() {
         return get(IDEMPOTENT_REPOSITORY_PROCESSOR_NAME).orElse("FORAGE_PROCESSOR_" + idempotentRepositoryTableName());
     }
+
+    public boolean idempotentRepositoryCacheEnabled() {
+        return get(IDEMPOTENT_REPOSITORY_CACHE_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(IDEMPOTENT_REPOSITORY_CACHE_ENABLED.defaultValue()));
+    }
+
+    public int idempotentRepositoryCacheSize() {
+        return get(IDEMPOTENT_REPOSITORY_CACHE_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(IDEMPOTENT_REPOSITORY_CACHE_SIZE.defaultValue()));
+    }
+
+    public int idempotentRepositoryCacheExpectedKeys() {
+        return get(IDEMPOTENT_REPOSITORY_CACHE_EXPECTED_KEYS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(IDEMPOTENT_REPOSITORY_CACHE_EXPECTED_KEYS.defaultValue()));
+    }
+
+    public boolean idempotentRepositoryWriteBehindEnabled() {
+        return get(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_ENABLED.defaultValue()));
+    }
+
+    public int idempotentRepositoryWriteBehindBatchSize() {
+        return get(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_BATCH_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_BATCH_SIZE.defaultValue()));
+    }
+
+    public int idempotentRepositoryWriteBehindIntervalMillis() {
+        return get(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_INTERVAL_MILLIS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(IDEMPOTENT_REPOSITORY_WRITE_BEHIND_INTERVAL_MILLIS.defaultValue()));
+    }
 }
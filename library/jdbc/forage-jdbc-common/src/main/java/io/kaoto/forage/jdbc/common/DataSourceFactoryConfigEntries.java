@@ -117,6 +117,196 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule POOL_VALIDATE_ON_BORROW = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.validate.on.borrow",
+            "Validate every connection before handing it out of the pool",
+            "Validate On Borrow",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_CIRCUIT_BREAKER_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.circuit.breaker.enabled",
+            "Reject connection requests immediately after consecutive connection failures, until a probe succeeds",
+            "Circuit Breaker",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_CIRCUIT_BREAKER_FAILURE_THRESHOLD = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.circuit.breaker.failure.threshold",
+            "Consecutive failed connection requests opening the circuit breaker",
+            "Circuit Breaker Failure Threshold",
+            "5",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_CIRCUIT_BREAKER_COOL_DOWN_MILLIS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.circuit.breaker.cool.down.millis",
+            "Time the circuit breaker rejects connection requests before probing the database (milliseconds)",
+            "Circuit Breaker Cool Down",
+            "10000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_WARMUP_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.warmup.enabled",
+            "Open and validate the minimum number of connections before the DataSource is bound",
+            "Pool Warmup",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_WARMUP_SQL = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.warmup.sql",
+            "Semicolon-separated SQL statements executed on every connection opened by the warmup",
+            "Warmup SQL",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_WARMUP_TIMEOUT_SECONDS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.warmup.timeout.seconds",
+            "Maximum time to wait for the pool warmup (seconds)",
+            "Warmup Timeout",
+            "30",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_ADAPTIVE_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.adaptive.enabled",
+            "Grow and shrink the maximum pool size with the load, starting from pool.max.size",
+            "Adaptive Pool Sizing",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_ADAPTIVE_MAX_SIZE_LIMIT = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.adaptive.max.size.limit",
+            "Largest maximum pool size adaptive sizing may grow to",
+            "Adaptive Max Size Limit",
+            "50",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_ADAPTIVE_INTERVAL_MILLIS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.adaptive.interval.millis",
+            "Interval between two samples of the pool load (milliseconds)",
+            "Adaptive Sampling Interval",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule POOL_ADAPTIVE_ACQUISITION_THRESHOLD_MILLIS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.pool.adaptive.acquisition.threshold.millis",
+            "Average connection acquisition time above which the pool grows (milliseconds)",
+            "Adaptive Acquisition Threshold",
+            "10",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STATEMENT_CACHE_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.enabled",
+            "Keep prepared statements open per connection and reuse them for the same SQL",
+            "Statement Cache",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STATEMENT_CACHE_SIZE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.size",
+            "Maximum number of idle prepared statements kept open per connection",
+            "Statement Cache Size",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule DRIVER_DEFAULTS_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.driver.defaults.enabled",
+            "Pass the recommended driver properties of the database kind, unless set in the JDBC URL",
+            "Driver Defaults",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule INSTRUMENTATION_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.instrumentation.enabled",
+            "Record statement execution time, rows fetched and connection hold time per route",
+            "Query Instrumentation",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule INSTRUMENTATION_SLOW_QUERY_THRESHOLD_MILLIS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.instrumentation.slow.query.threshold.millis",
+            "Log statements running at least this long when instrumentation is enabled, 0 to log none",
+            "Slow Query Threshold",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LAZY = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.lazy",
+            "Create the connection pool on first lookup instead of at startup, unless transactions are enabled",
+            "Lazy Initialization",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule REPLICAS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.replicas",
+            "Comma-separated names of the datasources serving read-only connections for this one",
+            "Read Replicas",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule REPLICAS_BALANCING = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.replicas.balancing",
+            "How read-only connections are spread over the replicas: least-outstanding or round-robin",
+            "Replica Balancing",
+            "least-outstanding",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
     // Transaction configuration
     public static final ConfigModule TRANSACTION_ENABLED = ConfigModule.of(
             DataSourceFactoryConfig.class,
@@ -264,7 +454,7 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
     public static final ConfigModule TRANSACTION_OBJECT_STORE_DROP_TABLE = ConfigModule.of(
             DataSourceFactoryConfig.class,
             "forage.jdbc.transaction.object.store.drop.table",
-            "Drop object store table on shutdown",
+            "Drop the object store tables when the store starts, discarding the transaction log",
             "Drop Table",
             "false",
             "boolean",
@@ -301,6 +491,26 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule AGGREGATION_REPOSITORY_CODEC = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.aggregation.repository.codec",
+            "How exchanges are stored: java, binary or the class name of an AggregationCodec",
+            "Aggregation Codec",
+            "java",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule AGGREGATION_REPOSITORY_CODEC_COMPRESSION = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.aggregation.repository.codec.compression",
+            "Compression of message bodies by the binary codec: none or deflate",
+            "Aggregation Body Compression",
+            "none",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule AGGREGATION_REPOSITORY_STORE_BODY = ConfigModule.of(
             DataSourceFactoryConfig.class,
             "forage.jdbc.aggregation.repository.store.body",
@@ -411,6 +621,66 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_CACHE_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.cache.enabled",
+            "Keep an in-process cache of stored message IDs to skip most database lookups",
+            "Idempotent Near Cache",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_CACHE_SIZE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.cache.size",
+            "Number of recently stored message IDs kept to answer duplicates without a database lookup",
+            "Idempotent Cache Size",
+            "10000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_CACHE_EXPECTED_KEYS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.cache.expected.keys",
+            "Number of message IDs the Bloom filter is sized for at a 1% false positive rate",
+            "Idempotent Cache Expected Keys",
+            "1000000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_WRITE_BEHIND_ENABLED = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.write.behind.enabled",
+            "Store message IDs in batches after accepting them; unwritten IDs are lost if the JVM stops abruptly",
+            "Idempotent Write Behind",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_WRITE_BEHIND_BATCH_SIZE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.write.behind.batch.size",
+            "Number of message IDs stored per batch and transaction",
+            "Write Behind Batch Size",
+            "50",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule IDEMPOTENT_REPOSITORY_WRITE_BEHIND_INTERVAL_MILLIS = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.idempotent.repository.write.behind.interval.millis",
+            "Longest time an accepted message ID waits to be stored (milliseconds)",
+            "Write Behind Interval",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     static {
         initModules(
                 DataSourceFactoryConfigEntries.class,
@@ -425,6 +695,25 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
                 VALIDATION_TIMEOUT_SECONDS,
                 LEAK_TIMEOUT_MINUTES,
                 IDLE_VALIDATION_TIMEOUT_MINUTES,
+                POOL_VALIDATE_ON_BORROW,
+                POOL_CIRCUIT_BREAKER_ENABLED,
+                POOL_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                POOL_CIRCUIT_BREAKER_COOL_DOWN_MILLIS,
+                POOL_WARMUP_ENABLED,
+                POOL_WARMUP_SQL,
+                POOL_WARMUP_TIMEOUT_SECONDS,
+                POOL_ADAPTIVE_ENABLED,
+                POOL_ADAPTIVE_MAX_SIZE_LIMIT,
+                POOL_ADAPTIVE_INTERVAL_MILLIS,
+                POOL_ADAPTIVE_ACQUISITION_THRESHOLD_MILLIS,
+                STATEMENT_CACHE_ENABLED,
+                STATEMENT_CACHE_SIZE,
+                DRIVER_DEFAULTS_ENABLED,
+                INSTRUMENTATION_ENABLED,
+                INSTRUMENTATION_SLOW_QUERY_THRESHOLD_MILLIS,
+                LAZY,
+                REPLICAS,
+                REPLICAS_BALANCING,
                 TRANSACTION_TIMEOUT_SECONDS,
                 TRANSACTION_ENABLED,
                 TRANSACTION_NODE_ID,
@@ -443,6 +732,8 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
                 TRANSACTION_OBJECT_STORE_TABLE_PREFIX,
                 AGGREGATION_REPOSITORY_NAME,
                 AGGREGATION_REPOSITORY_HEADERS_TO_STORE,
+                AGGREGATION_REPOSITORY_CODEC,
+                AGGREGATION_REPOSITORY_CODEC_COMPRESSION,
                 AGGREGATION_REPOSITORY_STORE_BODY,
                 AGGREGATION_REPOSITORY_DEAD_LETTER_URI,
                 AGGREGATION_REPOSITORY_ALLOW_SERIALIZED_HEADERS,
@@ -453,6 +744,12 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
                 ENABLE_IDEMPOTENT_REPOSITORY,
                 IDEMPOTENT_REPOSITORY_TABLE_NAME,
                 IDEMPOTENT_REPOSITORY_TABLE_IF_NOT_EXISTS,
-                IDEMPOTENT_REPOSITORY_PROCESSOR_NAME);
+                IDEMPOTENT_REPOSITORY_PROCESSOR_NAME,
+                IDEMPOTENT_REPOSITORY_CACHE_ENABLED,
+                IDEMPOTENT_REPOSITORY_CACHE_SIZE,
+                IDEMPOTENT_REPOSITORY_CACHE_EXPECTED_KEYS,
+                IDEMPOTENT_REPOSITORY_WRITE_BEHIND_ENABLED,
+                IDEMPOTENT_REPOSITORY_WRITE_BEHIND_BATCH_SIZE,
+                IDEMPOTENT_REPOSITORY_WRITE_BEHIND_INTERVAL_MILLIS);
     }
 }
@@ -0,0 +1,130 @@
+package io.kaoto.forage.jdbc.common;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fills a new pool before it is handed out, so the first requests after startup do not pay for
+ * opening and validating connections.
+ *
+ * <p>The connections are opened in parallel and all held until every one is open, so the pool really
+ * contains that many distinct connections afterwards. Each one runs the test query of the database
+ * kind, then the configured warmup SQL, e.g. to fill the server-side statement cache. Failures are
+ * logged and leave the pool to open connections on demand as without warmup.
+ */
+public final class PoolWarmup {
+    private static final Logger LOG = LoggerFactory.getLogger(PoolWarmup.class);
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final String id;
+    private final String testQuery;
+    private final List<String> warmupSql;
+    private final Duration timeout;
+
+    public PoolWarmup(String id, String testQuery, String warmupSql, Duration timeout) {
+        this.id = id;
+        this.testQuery = testQuery;
+        this.warmupSql = warmupSql == null
+                ? List.of()
+                : Arrays.stream(warmupSql.split(";"))
+                        .map(String::trim)
+                        .filter(sql -> !sql.isEmpty())
+                        .toList();
+        this.timeout = timeout;
+    }
+
+    /**
+     * Opens and warms up {@code connections} connections, blocking until they are all back in the pool.
+     *
+     * @return the number of connections that were warmed up
+     */
+    public int run(DataSource dataSource, int connections) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(connections, runnable -> {
+            Thread thread = new Thread(runnable, "forage-warmup-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<Connection>> opened = new ArrayList<>(connections);
+        List<Connection> warmed = new ArrayList<>(connections);
+        int collected = 0;
+        try {
+            for (int i = 0; i < connections; i++) {
+                opened.add(CompletableFuture.supplyAsync(() -> warmUp(dataSource), executor));
+            }
+            long deadline = start + timeout.toNanos();
+            for (; collected < opened.size(); collected++) {
+                try {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    warmed.add(opened.get(collected).get(remaining, TimeUnit.NANOSECONDS));
+                } catch (ExecutionException e) {
+                    LOG.warn("Warmup of a connection of DataSource {} failed: {}", id, e.getCause().getMessage());
+                } catch (TimeoutException e) {
+                    LOG.warn("Warmup of DataSource {} did not complete within {}", id, timeout);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            warmed.forEach(PoolWarmup::release);
+            // connections not collected before the timeout go back to the pool once they are open
+            opened.subList(collected, opened.size()).forEach(f -> f.thenAccept(PoolWarmup::release));
+            executor.shutdown();
+        }
+        LOG.info(
+                "Warmed up {} of {} connections of DataSource {} in {} ms",
+                warmed.size(),
+                connections,
+                id,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return warmed.size();
+    }
+
+    private Connection warmUp(DataSource dataSource) {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            try (Statement statement = connection.createStatement()) {
+                if (testQuery != null) {
+                    statement.execute(testQuery);
+                }
+                for (String sql : warmupSql) {
+                    statement.execute(sql);
+                }
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            if (connection != null) {
+                release(connection);
+            }
+            throw new CompletionException(e);
+        }
+    }
+
+    private static void release(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.debug("Failed to return warmed up connection to the pool", e);
+        }
+    }
+}
@@ -2,7 +2,13 @@ package io.kaoto.forage.jdbc.common;
 
 import javax.sql.DataSource;
 
+import java.sql.Driver;
 import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.agroal.api.AgroalDataSource;
@@ -17,7 +23,11 @@ import io.agroal.api.transaction.TransactionIntegration;
 import io.agroal.narayana.NarayanaTransactionIntegration;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
 import io.kaoto.forage.core.jta.recovery.ForageRecoveryService;
+import io.kaoto.forage.jdbc.common.breaker.CircuitBreakerDataSource;
 import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.instrumentation.InstrumentedDriver;
+import io.kaoto.forage.jdbc.common.instrumentation.QueryInstrumentation;
+import io.kaoto.forage.jdbc.common.statement.StatementCachingDriver;
 import io.kaoto.forage.jdbc.common.transactions.TransactionConfiguration;
 
 /**
@@ -27,7 +37,10 @@ import io.kaoto.forage.jdbc.common.transactions.TransactionConfiguration;
 public abstract class PooledDataSource implements DataSourceProvider, ForageIdRepository {
     private static final Logger LOG = LoggerFactory.getLogger(PooledDataSource.class);
 
+    private static final AtomicLong POOL_SEQUENCE = new AtomicLong();
+
     private DataSourceFactoryConfig config;
+    private String poolKey;
 
     /**
      * Returns the connection provider class name for the specific database implementation.
@@ -36,6 +49,25 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
      */
     protected abstract Class<?> getConnectionProviderClass();
 
+    /**
+     * Returns the driver properties recommended for this database kind, such as its prepared statement
+     * caching settings. They are only passed to non-XA drivers with {@code driver.defaults.enabled=true}, and
+     * a property also set in the JDBC URL is left to the URL.
+     *
+     * @return driver property names and values, empty by default
+     */
+    protected Map<String, String> getDriverDefaults() {
+        return Map.of();
+    }
+
+    private static Driver newDriver(Class<?> driverClass) {
+        try {
+            return (Driver) driverClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to create DataSource", e);
+        }
+    }
+
     @Override
     public DataSource create(String id) {
         LOG.info("Creating DataSource with id: {}", id);
@@ -74,12 +106,54 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
         AgroalConnectionFactoryConfigurationSupplier connectionFactoryConfig =
                 configSupplier.connectionPoolConfiguration().connectionFactoryConfiguration();
 
+        Class<?> connectionProviderClass = getConnectionProviderClass();
         connectionFactoryConfig
                 .jdbcUrl(config.jdbcUrl())
-                .connectionProviderClass(getConnectionProviderClass())
+                .connectionProviderClass(connectionProviderClass)
                 .principal(new NamePrincipal(config.username()))
                 .credential(new SimplePassword(config.password()));
 
+        boolean driverProvider = Driver.class.isAssignableFrom(connectionProviderClass);
+        if (driverProvider && config.driverDefaultsEnabled()) {
+            String url = Objects.toString(config.jdbcUrl(), "").toLowerCase(Locale.ROOT);
+            getDriverDefaults().forEach((name, value) -> {
+                if (!url.contains(name.toLowerCase(Locale.ROOT) + "=")) {
+                    connectionFactoryConfig.jdbcProperty(name, value);
+                }
+            });
+        }
+
+        String poolName = id == null ? "dataSource" : id;
+        // the same bean name may be used by several contexts, or by a pool replacing one still in use
+        poolKey = poolName + "#" + POOL_SEQUENCE.incrementAndGet();
+        if (config.statementCacheEnabled() && driverProvider) {
+            StatementCachingDriver.register(
+                    poolKey, newDriver(connectionProviderClass), config.statementCacheSize());
+            connectionFactoryConfig
+                    .connectionProviderClass(StatementCachingDriver.class)
+                    .jdbcProperty(StatementCachingDriver.POOL_PROPERTY, poolKey);
+        } else if (config.statementCacheEnabled()) {
+            LOG.warn("Statement cache is not available for XA DataSource {}, configure the driver instead", id);
+        }
+
+        QueryInstrumentation instrumentation = null;
+        if (config.instrumentationEnabled()) {
+            instrumentation = QueryInstrumentation.register(
+                    poolKey, poolName, Duration.ofMillis(config.instrumentationSlowQueryThresholdMillis()));
+            if (driverProvider) {
+                // wraps the statement cache when there is one, so cache hits are timed too
+                Driver driver = config.statementCacheEnabled()
+                        ? new StatementCachingDriver()
+                        : newDriver(connectionProviderClass);
+                InstrumentedDriver.register(poolKey, driver, instrumentation);
+                connectionFactoryConfig
+                        .connectionProviderClass(InstrumentedDriver.class)
+                        .jdbcProperty(InstrumentedDriver.POOL_PROPERTY, poolKey);
+            } else {
+                LOG.warn("Statement timing is not available for XA DataSource {}, only hold time is recorded", id);
+            }
+        }
+
         // Configure connection pool settings
         AgroalConnectionPoolConfigurationSupplier poolConfig = configSupplier.connectionPoolConfiguration();
 
@@ -91,6 +165,7 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
                 .validationTimeout(Duration.ofSeconds(config.validationTimeoutSeconds()))
                 .leakTimeout(Duration.ofMinutes(config.leakTimeoutMinutes()))
                 .idleValidationTimeout(Duration.ofMinutes(config.idleValidationTimeoutMinutes()))
+                .validateOnBorrow(config.poolValidateOnBorrow())
                 .connectionValidator(ConnectionValidator.defaultValidator());
 
         if (config.transactionEnabled()) {
@@ -122,13 +197,49 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
         // Build the configuration
         AgroalDataSourceConfiguration dsConfig = configSupplier.get();
 
-        LOG.info("Pooled DataSource initialized successfully for id: {}", id);
+        AgroalDataSource dataSource;
         try {
-            return AgroalDataSource.from(dsConfig);
+            dataSource = AgroalDataSource.from(dsConfig);
         } catch (Exception e) {
             LOG.error("Failed to create DataSource for id: {}", id, e);
             throw new RuntimeException("Failed to create DataSource", e);
         }
+
+        if (instrumentation != null) {
+            dataSource.setPoolInterceptors(List.of(instrumentation.poolInterceptor()));
+        }
+
+        if (config.poolWarmupEnabled()) {
+            new PoolWarmup(
+                            id == null ? "dataSource" : id,
+                            getTestQuery(),
+                            config.poolWarmupSql(),
+                            Duration.ofSeconds(config.poolWarmupTimeoutSeconds()))
+                    .run(dataSource, Math.max(1, config.minSize()));
+        }
+
+        if (config.poolAdaptiveEnabled()) {
+            new AdaptivePoolSizer(
+                            id == null ? "dataSource" : id,
+                            dataSource,
+                            config.minSize(),
+                            config.poolAdaptiveMaxSizeLimit(),
+                            Duration.ofMillis(config.poolAdaptiveAcquisitionThresholdMillis()))
+                    .start(Duration.ofMillis(config.poolAdaptiveIntervalMillis()));
+        }
+
+        if (config.poolCircuitBreakerEnabled()) {
+            dataSource = new CircuitBreakerDataSource(
+                    poolName,
+                    dataSource,
+                    getTestQuery(),
+                    !config.poolValidateOnBorrow(),
+                    config.poolCircuitBreakerFailureThreshold(),
+                    Duration.ofMillis(config.poolCircuitBreakerCoolDownMillis()));
+        }
+
+        LOG.info("Pooled DataSource initialized successfully for id: {}", id);
+        return dataSource;
     }
 
     /**
@@ -139,6 +250,25 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
         return "jdbc:" + instanceId;
     }
 
+    /**
+     * Key under which the last DataSource created by this provider registered its statement cache and query
+     * instrumentation. The bean factories {@link #release(String) release} it once they discard the
+     * DataSource.
+     */
+    public String getPoolKey() {
+        return poolKey;
+    }
+
+    /**
+     * Drops the driver registrations of the pool with the given {@link #getPoolKey() key}. The pool cannot
+     * open connections anymore afterwards.
+     */
+    public static void release(String poolKey) {
+        StatementCachingDriver.unregister(poolKey);
+        InstrumentedDriver.unregister(poolKey);
+        QueryInstrumentation.unregister(poolKey);
+    }
+
     protected DataSourceFactoryConfig getConfig() {
         return config;
     }
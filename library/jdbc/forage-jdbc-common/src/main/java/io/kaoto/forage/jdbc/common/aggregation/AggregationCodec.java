@@ -0,0 +1,35 @@
+package io.kaoto.forage.jdbc.common.aggregation;
+
+import java.io.IOException;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+
+/**
+ * Converts the exchanges held by a {@link ForageAggregationRepository} to and from the bytes stored in its
+ * tables.
+ *
+ * <p>Select an implementation with {@code forage.<name>.jdbc.aggregation.repository.codec}: {@code java}
+ * keeps the Java serialization of Camel, {@code binary} uses {@link BinaryAggregationCodec}, and any other
+ * value is the name of an implementation with a public no-argument constructor.
+ *
+ * @since 1.4
+ */
+public interface AggregationCodec {
+
+    /**
+     * Encodes the body, headers and properties of an exchange.
+     *
+     * @param allowSerializedHeaders whether header and property values that are neither primitives nor
+     *        strings are kept, using Java serialization
+     */
+    byte[] encode(Exchange exchange, boolean allowSerializedHeaders) throws IOException;
+
+    /**
+     * Decodes an exchange written by {@link #encode(Exchange, boolean)}.
+     *
+     * @param deserializationFilter the {@link java.io.ObjectInputFilter} pattern applied to Java-serialized
+     *        values, or {@code null}
+     */
+    Exchange decode(CamelContext camelContext, byte[] data, String deserializationFilter)
+            throws IOException, ClassNotFoundException;
+}
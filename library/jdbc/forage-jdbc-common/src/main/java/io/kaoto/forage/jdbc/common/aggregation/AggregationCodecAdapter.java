@@ -0,0 +1,41 @@
+package io.kaoto.forage.jdbc.common.aggregation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.processor.aggregate.jdbc.JdbcCamelCodec;
+
+/**
+ * Plugs an {@link AggregationCodec} into {@code JdbcAggregationRepository}, which only accepts a
+ * {@link JdbcCamelCodec}.
+ */
+class AggregationCodecAdapter extends JdbcCamelCodec {
+
+    private final AggregationCodec codec;
+
+    AggregationCodecAdapter(AggregationCodec codec) {
+        this.codec = codec;
+    }
+
+    AggregationCodec codec() {
+        return codec;
+    }
+
+    @Override
+    public byte[] marshallExchange(Exchange exchange, boolean allowSerializedHeaders) throws IOException {
+        return codec.encode(exchange, allowSerializedHeaders);
+    }
+
+    @Override
+    public Exchange unmarshallExchange(CamelContext camelContext, byte[] buffer, String deserializationFilter)
+            throws IOException, ClassNotFoundException {
+        return codec.decode(camelContext, buffer, deserializationFilter);
+    }
+
+    @Override
+    public Exchange unmarshallExchange(CamelContext camelContext, InputStream stream, String deserializationFilter)
+            throws IOException, ClassNotFoundException {
+        return codec.decode(camelContext, stream.readAllBytes(), deserializationFilter);
+    }
+}
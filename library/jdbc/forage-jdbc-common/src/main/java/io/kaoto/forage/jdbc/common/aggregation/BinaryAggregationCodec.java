@@ -0,0 +1,401 @@
+package io.kaoto.forage.jdbc.common.aggregation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Message;
+import org.apache.camel.processor.aggregate.jdbc.JdbcCamelCodec;
+import org.apache.camel.support.DefaultExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AggregationCodec} writing a compact binary format instead of a serialized
+ * {@code DefaultExchangeHolder}.
+ *
+ * <p>Strings, byte arrays, primitives, dates and big numbers are written with a one-byte type tag and no
+ * class descriptors; only other {@link Serializable} bodies, and other header and property values when
+ * serialized headers are allowed, fall back to Java serialization. Like the codec of Camel it keeps the
+ * exchange id, the from endpoint, the message body and headers, the custom exchange properties and the
+ * aggregation properties. Header and property values it cannot store are skipped.
+ *
+ * <p>With {@link Compression#DEFLATE} bodies of at least {@value #COMPRESSION_THRESHOLD} bytes are
+ * compressed.
+ *
+ * <p>Exchanges stored before the codec was switched to {@code binary} are Java-serialized, which their
+ * stream header tells apart, and are still decoded with the {@link JdbcCamelCodec} of Camel.
+ */
+public class BinaryAggregationCodec implements AggregationCodec {
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryAggregationCodec.class);
+
+    static final int COMPRESSION_THRESHOLD = 512;
+
+    private static final int MAGIC = 0xFA;
+    private static final int VERSION = 1;
+    private static final int FLAG_BODY_DEFLATED = 1;
+    // first bytes of a Java serialization stream
+    private static final int SERIALIZATION_MAGIC = 0xACED;
+
+    private static final List<ExchangePropertyKey> AGGREGATION_PROPERTIES = List.of(
+            ExchangePropertyKey.AGGREGATED_SIZE,
+            ExchangePropertyKey.AGGREGATED_TIMEOUT,
+            ExchangePropertyKey.AGGREGATED_COMPLETED_BY,
+            ExchangePropertyKey.AGGREGATED_CORRELATION_KEY);
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int BYTES = 2;
+    private static final int INTEGER = 3;
+    private static final int LONG = 4;
+    private static final int BOOLEAN = 5;
+    private static final int DOUBLE = 6;
+    private static final int FLOAT = 7;
+    private static final int SHORT = 8;
+    private static final int BYTE = 9;
+    private static final int CHARACTER = 10;
+    private static final int DATE = 11;
+    private static final int BIG_DECIMAL = 12;
+    private static final int BIG_INTEGER = 13;
+    private static final int SERIALIZED = 14;
+
+    /**
+     * Compression applied to message bodies.
+     */
+    public enum Compression {
+        NONE,
+        DEFLATE
+    }
+
+    private final Compression compression;
+    private final JdbcCamelCodec serialization = new JdbcCamelCodec();
+
+    public BinaryAggregationCodec() {
+        this(Compression.NONE);
+    }
+
+    public BinaryAggregationCodec(Compression compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    public byte[] encode(Exchange exchange, boolean allowSerializedHeaders) throws IOException {
+        Message message = exchange.getMessage();
+        byte[] body = encodeBody(message.getBody());
+        boolean deflate = compression == Compression.DEFLATE && body.length >= COMPRESSION_THRESHOLD;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(deflate ? FLAG_BODY_DEFLATED : 0);
+        writeString(out, exchange.getExchangeId());
+        Endpoint from = exchange.getFromEndpoint();
+        writeString(out, from != null ? from.getEndpointUri() : null);
+        if (deflate) {
+            writeVarInt(out, body.length);
+            body = deflate(body);
+        }
+        writeVarInt(out, body.length);
+        out.write(body);
+
+        writeEntries(out, message.getHeaders(), allowSerializedHeaders, "header");
+        Map<String, Object> properties = new LinkedHashMap<>(exchange.getProperties());
+        for (ExchangePropertyKey key : AGGREGATION_PROPERTIES) {
+            Object value = exchange.getProperty(key);
+            if (value != null) {
+                properties.put(key.getName(), value);
+            }
+        }
+        writeEntries(out, properties, allowSerializedHeaders, "property");
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Exchange decode(CamelContext camelContext, byte[] data, String deserializationFilter)
+            throws IOException, ClassNotFoundException {
+        if (data.length >= 2 && ((data[0] & 0xFF) << 8 | data[1] & 0xFF) == SERIALIZATION_MAGIC) {
+            return serialization.unmarshallExchange(camelContext, data, deserializationFilter);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readUnsignedByte() != MAGIC) {
+            throw new IOException("Not an exchange written by " + getClass().getSimpleName());
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported exchange format version " + version);
+        }
+        int flags = in.readUnsignedByte();
+
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.setExchangeId(readString(in));
+        String from = readString(in);
+        if (from != null) {
+            Endpoint endpoint = camelContext.hasEndpoint(from);
+            if (endpoint != null) {
+                exchange.getExchangeExtension().setFromEndpoint(endpoint);
+            }
+        }
+
+        int inflatedLength = (flags & FLAG_BODY_DEFLATED) != 0 ? readVarInt(in) : -1;
+        byte[] body = in.readNBytes(readVarInt(in));
+        if (inflatedLength >= 0) {
+            body = inflate(body, inflatedLength);
+        }
+        DataInputStream bodyIn = new DataInputStream(new ByteArrayInputStream(body));
+        exchange.getMessage().setBody(readValue(bodyIn, camelContext, deserializationFilter));
+
+        int headers = readVarInt(in);
+        for (int i = 0; i < headers; i++) {
+            exchange.getMessage().setHeader(readString(in), readValue(in, camelContext, deserializationFilter));
+        }
+        int properties = readVarInt(in);
+        for (int i = 0; i < properties; i++) {
+            exchange.setProperty(readString(in), readValue(in, camelContext, deserializationFilter));
+        }
+        return exchange;
+    }
+
+    private static byte[] encodeBody(Object body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (!writeValue(out, body, true)) {
+            throw new IOException("Cannot store a message body of type "
+                    + body.getClass().getName() + " as it is not Serializable");
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeEntries(
+            DataOutputStream out, Map<String, Object> entries, boolean allowSerialized, String kind)
+            throws IOException {
+        List<Map.Entry<String, byte[]>> encoded = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream value = new DataOutputStream(bytes);
+            if (writeValue(value, entry.getValue(), allowSerialized)) {
+                value.flush();
+                encoded.add(Map.entry(entry.getKey(), bytes.toByteArray()));
+            } else {
+                LOG.debug(
+                        "Skipping {} {} of type {} which cannot be stored",
+                        kind,
+                        entry.getKey(),
+                        entry.getValue().getClass().getName());
+            }
+        }
+        writeVarInt(out, encoded.size());
+        for (Map.Entry<String, byte[]> entry : encoded) {
+            writeString(out, entry.getKey());
+            out.write(entry.getValue());
+        }
+    }
+
+    /**
+     * Writes a tagged value, returning {@code false} without writing anything if it cannot be stored.
+     */
+    private static boolean writeValue(DataOutputStream out, Object value, boolean allowSerialized)
+            throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof byte[] array) {
+            out.writeByte(BYTES);
+            writeVarInt(out, array.length);
+            out.write(array);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(FLOAT);
+            out.writeFloat(number);
+        } else if (value instanceof Short number) {
+            out.writeByte(SHORT);
+            out.writeShort(number);
+        } else if (value instanceof Byte number) {
+            out.writeByte(BYTE);
+            out.writeByte(number);
+        } else if (value instanceof Character character) {
+            out.writeByte(CHARACTER);
+            out.writeChar(character);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof BigDecimal number) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, number.toString());
+        } else if (value instanceof BigInteger number) {
+            out.writeByte(BIG_INTEGER);
+            byte[] array = number.toByteArray();
+            writeVarInt(out, array.length);
+            out.write(array);
+        } else if (allowSerialized && value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+                objects.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            writeVarInt(out, bytes.size());
+            bytes.writeTo(out);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Object readValue(DataInputStream in, CamelContext camelContext, String deserializationFilter)
+            throws IOException, ClassNotFoundException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case BYTES -> in.readNBytes(readVarInt(in));
+            case INTEGER -> in.readInt();
+            case LONG -> in.readLong();
+            case BOOLEAN -> in.readBoolean();
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case SHORT -> in.readShort();
+            case BYTE -> in.readByte();
+            case CHARACTER -> in.readChar();
+            case DATE -> new Date(in.readLong());
+            case BIG_DECIMAL -> new BigDecimal(readString(in));
+            case BIG_INTEGER -> new BigInteger(in.readNBytes(readVarInt(in)));
+            case SERIALIZED -> deserialize(in.readNBytes(readVarInt(in)), camelContext, deserializationFilter);
+            default -> throw new IOException("Unknown value type " + tag);
+        };
+    }
+
+    private static Object deserialize(byte[] data, CamelContext camelContext, String deserializationFilter)
+            throws IOException, ClassNotFoundException {
+        ClassLoader classLoader = camelContext.getApplicationContextClassLoader();
+        try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(data)) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+                if (classLoader != null) {
+                    try {
+                        return Class.forName(descriptor.getName(), false, classLoader);
+                    } catch (ClassNotFoundException e) {
+                        // fall back to the default resolution
+                    }
+                }
+                return super.resolveClass(descriptor);
+            }
+        }) {
+            if (deserializationFilter != null) {
+                objects.setObjectInputFilter(ObjectInputFilter.Config.createFilter(deserializationFilter));
+            }
+            return objects.readObject();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        return length == 0 ? null : new String(in.readNBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated exchange data");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed exchange data");
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(result, read, length - read);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated compressed body");
+                }
+                read += n;
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
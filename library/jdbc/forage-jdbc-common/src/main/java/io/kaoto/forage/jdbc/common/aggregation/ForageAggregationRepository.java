@@ -3,11 +3,16 @@ package io.kaoto.forage.jdbc.common.aggregation;
 import jakarta.transaction.TransactionManager;
 import javax.sql.DataSource;
 
+import java.util.Locale;
 import java.util.function.Consumer;
 import org.apache.camel.processor.aggregate.jdbc.JdbcAggregationRepository;
 import org.springframework.transaction.jta.JtaTransactionManager;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 
+/**
+ * {@link JdbcAggregationRepository} configured from a {@link DataSourceFactoryConfig}, storing exchanges
+ * with the {@link AggregationCodec} selected by {@code forage.<name>.jdbc.aggregation.repository.codec}.
+ */
 public class ForageAggregationRepository extends JdbcAggregationRepository {
 
     public ForageAggregationRepository(
@@ -31,6 +36,31 @@ public class ForageAggregationRepository extends JdbcAggregationRepository {
                 dataSourceFactoryConfig.aggregationRepositoryPropagationBehaviourName(),
                 this::setPropagationBehaviorName);
         setIfNotNull(dataSourceFactoryConfig.aggregationRepositoryHeadersToStore(), this::setHeadersToStoreAsText);
+        setIfNotNull(
+                createCodec(dataSourceFactoryConfig), codec -> setJdbcCamelCodec(new AggregationCodecAdapter(codec)));
+    }
+
+    /**
+     * Returns the configured codec, or {@code null} to keep the Java serialization of Camel.
+     */
+    static AggregationCodec createCodec(DataSourceFactoryConfig config) {
+        String codec = config.aggregationRepositoryCodec();
+        if (codec == null || codec.isBlank() || codec.equalsIgnoreCase("java")) {
+            return null;
+        }
+        if (codec.equalsIgnoreCase("binary")) {
+            return new BinaryAggregationCodec(BinaryAggregationCodec.Compression.valueOf(
+                    config.aggregationRepositoryCodecCompression().trim().toUpperCase(Locale.ROOT)));
+        }
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            return Class.forName(codec.trim(), true, classLoader)
+                    .asSubclass(AggregationCodec.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Cannot create aggregation codec " + codec, e);
+        }
     }
 
     private <T> void setIfNotNull(T value, Consumer<T> setter) {
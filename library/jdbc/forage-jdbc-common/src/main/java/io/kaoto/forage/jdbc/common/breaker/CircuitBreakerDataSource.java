@@ -0,0 +1,253 @@
+package io.kaoto.forage.jdbc.common.breaker;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+
+/**
+ * Agroal pool failing connection requests immediately while its database looks down, instead of keeping
+ * every caller blocked for the acquisition timeout.
+ *
+ * <p>After {@code failureThreshold} consecutive failed acquisitions the breaker opens and rejects
+ * requests with a {@link SQLTransientConnectionException}. Once the cool-down has passed, the next request
+ * probes the database with a connection validated by the test query of the DB kind, while the others are
+ * still rejected: a successful probe closes the breaker and is handed to its caller, a failed one opens it
+ * for another cool-down.
+ *
+ * <p>With {@code validate}, for pools that do not validate on borrow themselves, the closed breaker runs
+ * the test query on every connection before handing it out, and a connection failing it counts as a
+ * failed acquisition. A connection failing the test query, here or in a probe, is evicted from the pool
+ * together with the other idle connections the pool finds invalid, so that later probes do not borrow them
+ * again.
+ */
+public class CircuitBreakerDataSource implements AgroalDataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreakerDataSource.class);
+
+    /**
+     * Breaker states, published as the ordinal of the {@code forage.jdbc.pool.circuit.state} gauge.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String id;
+    private final AgroalDataSource delegate;
+    private final String testQuery;
+    private final boolean validate;
+    private final int failureThreshold;
+    private final long coolDownNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger failures = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile long openedAt;
+
+    public CircuitBreakerDataSource(
+            String id,
+            AgroalDataSource delegate,
+            String testQuery,
+            boolean validate,
+            int failureThreshold,
+            Duration coolDown) {
+        this.id = id;
+        this.delegate = delegate;
+        this.testQuery = testQuery;
+        this.validate = validate;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.coolDownNanos = coolDown.toNanos();
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * Returns the number of connection requests rejected while the breaker was open.
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(delegate::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire(() -> delegate.getConnection(username, password));
+    }
+
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        switch (state.get()) {
+            case OPEN:
+                if (System.nanoTime() - openedAt >= coolDownNanos
+                        && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                    return probe(supplier);
+                }
+                throw reject();
+            case HALF_OPEN:
+                throw reject();
+            default:
+                break;
+        }
+        Connection connection;
+        try {
+            connection = validate ? validated(supplier) : supplier.get();
+        } catch (SQLException e) {
+            if (failures.incrementAndGet() >= failureThreshold) {
+                openedAt = System.nanoTime();
+                if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+                    LOG.warn(
+                            "Circuit breaker of DataSource {} opened after {} consecutive connection failures: {}",
+                            id,
+                            failureThreshold,
+                            e.getMessage());
+                }
+            }
+            throw e;
+        }
+        failures.set(0);
+        return connection;
+    }
+
+    private Connection probe(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = validated(supplier);
+        } catch (SQLException | RuntimeException e) {
+            openedAt = System.nanoTime();
+            state.set(State.OPEN);
+            LOG.warn("Circuit breaker of DataSource {} stays open, the probe failed: {}", id, e.getMessage());
+            throw e;
+        }
+        failures.set(0);
+        state.set(State.CLOSED);
+        LOG.info("Circuit breaker of DataSource {} closed, the probe connection is valid", id);
+        return connection;
+    }
+
+    /**
+     * Acquires a connection and runs the test query on it. If the query fails the connection is returned
+     * and the pool flushes its invalid connections, as closing it alone would keep it pooled.
+     */
+    private Connection validated(ConnectionSupplier supplier) throws SQLException {
+        Connection connection = supplier.get();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(testQuery);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection);
+            delegate.flush(FlushMode.INVALID);
+            throw e;
+        }
+        return connection;
+    }
+
+    private SQLException reject() {
+        rejected.increment();
+        return new SQLTransientConnectionException(
+                "Circuit breaker of DataSource " + id + " is open, the database is considered unavailable");
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOG.debug("Failed to close invalid connection", e);
+        }
+    }
+
+    @Override
+    public AgroalDataSourceConfiguration getConfiguration() {
+        return delegate.getConfiguration();
+    }
+
+    @Override
+    public AgroalDataSourceMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void flush(FlushMode mode) {
+        delegate.flush(mode);
+    }
+
+    @Override
+    public boolean isHealthy(boolean newConnection) throws SQLException {
+        return delegate.isHealthy(newConnection);
+    }
+
+    @Override
+    public void setPoolInterceptors(Collection<? extends AgroalPoolInterceptor> interceptors) {
+        delegate.setPoolInterceptors(interceptors);
+    }
+
+    @Override
+    public List<AgroalPoolInterceptor> getPoolInterceptors() {
+        return delegate.getPoolInterceptors();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
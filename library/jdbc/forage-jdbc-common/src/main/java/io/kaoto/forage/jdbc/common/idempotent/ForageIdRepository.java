@@ -25,4 +25,11 @@ public interface ForageIdRepository {
     default String clearString() {
         return ForageJdbcMessageIdRepository.DEFAULT_CLEAR_STRING;
     }
+
+    /**
+     * Selects the message IDs of a processor, to load the near cache on start.
+     */
+    default String loadString() {
+        return ForageJdbcMessageIdRepository.DEFAULT_LOAD_STRING;
+    }
 }
@@ -2,14 +2,40 @@ package io.kaoto.forage.jdbc.common.idempotent;
 
 import javax.sql.DataSource;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.camel.processor.idempotent.jdbc.JdbcMessageIdRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.transaction.jta.JtaTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 
+/**
+ * {@link JdbcMessageIdRepository} configured from a {@link DataSourceFactoryConfig}.
+ *
+ * <p>With {@code forage.<name>.jdbc.idempotent.repository.cache.enabled} the repository keeps an
+ * {@link IdNearCache} of the IDs stored for its processor, loaded from the table on start. IDs the cache
+ * has confirmed are duplicates without a query. IDs it has never seen are inserted without querying
+ * first, and the unique key of the table still rejects an ID stored meanwhile by another node, so
+ * duplicates are detected exactly as without the cache. {@link #contains(String)} queries the table for
+ * every ID the cache has not confirmed, since another node may have stored it. IDs are only cached once
+ * their transaction commits.
+ *
+ * <p>With {@code forage.<name>.jdbc.idempotent.repository.write.behind.enabled} accepted IDs are held in a
+ * {@link WriteBehindBuffer} and stored in batches, one transaction per batch. Pending IDs count as
+ * duplicates on this node, but are lost if the JVM stops abruptly and are not seen by other nodes until
+ * they are written.
+ */
 public class ForageJdbcMessageIdRepository extends JdbcMessageIdRepository {
+    private static final Logger LOG = LoggerFactory.getLogger(ForageJdbcMessageIdRepository.class);
 
     public static final String DEFAULT_TABLENAME = JdbcMessageIdRepository.DEFAULT_TABLENAME;
     public static final String DEFAULT_TABLE_EXISTS_STRING = JdbcMessageIdRepository.DEFAULT_TABLE_EXISTS_STRING;
@@ -18,6 +44,14 @@ public class ForageJdbcMessageIdRepository extends JdbcMessageIdRepository {
     public static final String DEFAULT_INSERT_STRING = JdbcMessageIdRepository.DEFAULT_INSERT_STRING;
     public static final String DEFAULT_DELETE_STRING = JdbcMessageIdRepository.DEFAULT_DELETE_STRING;
     public static final String DEFAULT_CLEAR_STRING = JdbcMessageIdRepository.DEFAULT_CLEAR_STRING;
+    public static final String DEFAULT_LOAD_STRING =
+            "SELECT messageId FROM " + DEFAULT_TABLENAME + " WHERE processorName = ?";
+
+    private final IdNearCache nearCache;
+    private final String loadString;
+    private final boolean insertFirst;
+    private final WriteBehindBuffer writeBehind;
+    private final Duration writeBehindInterval;
 
     public ForageJdbcMessageIdRepository(
             DataSourceFactoryConfig config, DataSource dataSource, ForageIdRepository forageIdRepository) {
@@ -31,6 +65,7 @@ public class ForageJdbcMessageIdRepository extends JdbcMessageIdRepository {
         setInsertString(forageIdRepository.insertString());
         setQueryString(forageIdRepository.queryString());
         setTableExistsString(forageIdRepository.tableExistsString());
+        this.loadString = forageIdRepository.loadString().replace(DEFAULT_TABLENAME, getTableName());
 
         setProcessorName(config.idempotentRepositoryProcessorName());
 
@@ -43,5 +78,154 @@ public class ForageJdbcMessageIdRepository extends JdbcMessageIdRepository {
         } else {
             setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
         }
+
+        this.nearCache = config.idempotentRepositoryCacheEnabled()
+                ? new IdNearCache(
+                        config.idempotentRepositoryCacheSize(), config.idempotentRepositoryCacheExpectedKeys())
+                : null;
+        // a failed insert would mark an enclosing JTA transaction rollback-only
+        this.insertFirst = !config.transactionEnabled();
+
+        this.writeBehind = config.idempotentRepositoryWriteBehindEnabled()
+                ? new WriteBehindBuffer(
+                        getProcessorName(), config.idempotentRepositoryWriteBehindBatchSize(), this::write)
+                : null;
+        this.writeBehindInterval = Duration.ofMillis(config.idempotentRepositoryWriteBehindIntervalMillis());
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (nearCache != null) {
+            nearCache.clear();
+            long[] loaded = new long[1];
+            getJdbcTemplate()
+                    .query(
+                            loadString,
+                            rows -> {
+                                nearCache.remember(rows.getString(1));
+                                loaded[0]++;
+                            },
+                            getProcessorName());
+            LOG.debug("Loaded {} message IDs of processor {} into the near cache", loaded[0], getProcessorName());
+        }
+        if (writeBehind != null) {
+            writeBehind.start(writeBehindInterval);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+        super.doStop();
+    }
+
+    @Override
+    public boolean add(String key) {
+        if (writeBehind != null) {
+            return !writeBehind.isPending(key) && !stored(key) && writeBehind.offer(key);
+        }
+        if (nearCache == null) {
+            return super.add(key);
+        }
+        if (nearCache.isConfirmed(key)) {
+            return false;
+        }
+        if (!insertFirst
+                || nearCache.mightContain(key)
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return super.add(key);
+        }
+        try {
+            getTransactionTemplate().executeWithoutResult(status -> insert(key));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // stored by another node since the cache was loaded
+            nearCache.remember(key);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return (writeBehind != null && writeBehind.isPending(key)) || stored(key);
+    }
+
+    @Override
+    public boolean remove(String key) {
+        if (nearCache != null) {
+            nearCache.forget(key);
+        }
+        boolean pending = writeBehind != null && writeBehind.remove(key);
+        return super.remove(key) || pending;
+    }
+
+    @Override
+    public void clear() {
+        if (writeBehind != null) {
+            writeBehind.clear();
+        }
+        super.clear();
+        if (nearCache != null) {
+            nearCache.clear();
+        }
+    }
+
+    private boolean stored(String key) {
+        // a miss of the near cache proves nothing, the ID may have been stored by another node
+        return (nearCache != null && nearCache.isConfirmed(key)) || super.contains(key);
+    }
+
+    /**
+     * Stores a write-behind batch in one transaction. If an ID of the batch was stored meanwhile by another
+     * node, the batch is stored again one ID at a time, skipping the duplicates.
+     */
+    private void write(List<String> keys) {
+        try {
+            getTransactionTemplate().executeWithoutResult(status -> {
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                List<Object[]> rows = new ArrayList<>(keys.size());
+                for (String key : keys) {
+                    rows.add(new Object[] {getProcessorName(), key, now});
+                }
+                getJdbcTemplate().batchUpdate(getInsertString(), rows);
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (String key : keys) {
+                try {
+                    getTransactionTemplate().executeWithoutResult(status -> super.insert(key));
+                } catch (DataIntegrityViolationException duplicate) {
+                    LOG.warn(
+                            "Message ID {} of processor {} was also accepted by another node",
+                            key,
+                            getProcessorName());
+                }
+            }
+        }
+        if (nearCache != null) {
+            keys.forEach(nearCache::remember);
+        }
+    }
+
+    @Override
+    protected int insert(String key) {
+        int rows = super.insert(key);
+        if (nearCache != null) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED) {
+                            nearCache.remember(key);
+                        }
+                    }
+                });
+            } else {
+                nearCache.remember(key);
+            }
+        }
+        return rows;
     }
 }
@@ -0,0 +1,119 @@
+package io.kaoto.forage.jdbc.common.idempotent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process knowledge of the message IDs stored by an idempotent repository: a bounded LRU of IDs
+ * known to be stored, and a Bloom filter of every ID stored so far.
+ *
+ * <p>The LRU answers "seen" for hot duplicates, and the Bloom filter answers "not seen" for new IDs,
+ * which it can do with certainty because a Bloom filter has no false negatives. IDs in neither are
+ * looked up in the database. The filter is sized for {@code expectedKeys} IDs at a 1% false positive
+ * rate; past that it simply sends more lookups to the database.
+ */
+class IdNearCache {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final Map<String, Boolean> confirmed;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+
+    IdNearCache(int lruSize, long expectedKeys) {
+        this.confirmed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > lruSize;
+            }
+        };
+        long n = Math.max(1, expectedKeys);
+        long m = (long) Math.ceil(-n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Returns {@code true} if the ID is known to be stored.
+     */
+    boolean isConfirmed(String key) {
+        synchronized (confirmed) {
+            return confirmed.get(key) != null;
+        }
+    }
+
+    /**
+     * Returns {@code false} only if the ID was certainly never {@link #remember(String) remembered}.
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records an ID that is stored in the database.
+     */
+    void remember(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        synchronized (confirmed) {
+            confirmed.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets a removed ID. It stays in the Bloom filter, which only costs a database lookup.
+     */
+    void forget(String key) {
+        synchronized (confirmed) {
+            confirmed.remove(key);
+        }
+    }
+
+    void clear() {
+        synchronized (confirmed) {
+            confirmed.clear();
+        }
+        for (int i = 0; i < bits.length(); i++) {
+            bits.set(i, 0);
+        }
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
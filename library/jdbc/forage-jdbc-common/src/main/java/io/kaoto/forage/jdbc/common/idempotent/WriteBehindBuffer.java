@@ -0,0 +1,209 @@
+package io.kaoto.forage.jdbc.common.idempotent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Message IDs accepted by an idempotent repository but not written yet.
+ *
+ * <p>IDs are queued without locking and written in batches by a {@code writer}, which stores a whole
+ * batch in one transaction. A batch is written by the thread that fills it, and whatever is queued is
+ * written every {@code interval} by a shared daemon thread. Until its batch is written an ID is
+ * {@link #isPending(String) pending}, so the repository can report it as a duplicate.
+ *
+ * <p>A batch that fails is queued again for the next flush. IDs whose batch failed {@value #MAX_ATTEMPTS}
+ * times are dropped and logged as errors, and once {@value #MAX_PENDING_BATCHES} batches are pending
+ * {@link #offer(String)} writes them itself and fails with the last write error if they are still pending.
+ */
+class WriteBehindBuffer {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    static final int MAX_ATTEMPTS = 3;
+    static final int MAX_PENDING_BATCHES = 20;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "forage-idempotent-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String id;
+    private final int batchSize;
+    private final int maxPending;
+    private final Consumer<List<String>> writer;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // failed attempts per ID, guarded by flushLock
+    private final Map<String, Integer> attempts = new HashMap<>();
+
+    private volatile RuntimeException failure;
+    private ScheduledFuture<?> task;
+
+    WriteBehindBuffer(String id, int batchSize, Consumer<List<String>> writer) {
+        this.id = id;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = this.batchSize * MAX_PENDING_BATCHES;
+        this.writer = writer;
+    }
+
+    synchronized void start(Duration interval) {
+        if (task == null) {
+            long millis = Math.max(1, interval.toMillis());
+            task = SCHEDULER.scheduleWithFixedDelay(() -> flush(true), millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes everything still queued.
+     */
+    synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        flush(true);
+    }
+
+    /**
+     * Queues an ID, returning {@code false} if it is already pending.
+     *
+     * @throws IllegalStateException if too many IDs are still pending after writing them
+     */
+    boolean offer(String key) {
+        if (pending.size() >= maxPending) {
+            flush(true);
+            if (pending.size() >= maxPending) {
+                throw new IllegalStateException(
+                        "%d message IDs of %s are waiting to be written".formatted(pending.size(), id), failure);
+            }
+        }
+        if (!pending.add(key)) {
+            return false;
+        }
+        queue.offer(key);
+        if (queued.incrementAndGet() >= batchSize) {
+            flush(false);
+        }
+        return true;
+    }
+
+    boolean isPending(String key) {
+        return pending.contains(key);
+    }
+
+    /**
+     * Drops a pending ID, returning {@code true} if it was pending. This waits for a batch being written,
+     * which may hold the ID, so that an ID not pending anymore is stored.
+     */
+    boolean remove(String key) {
+        flushLock.lock();
+        try {
+            attempts.remove(key);
+            return pending.remove(key);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void clear() {
+        flushLock.lock();
+        try {
+            pending.clear();
+            queue.clear();
+            queued.set(0);
+            attempts.clear();
+            failure = null;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes full batches, and with {@code all} the last partial one too. Without {@code all} this returns
+     * at once if another thread is flushing, which will pick up the full batches.
+     */
+    void flush(boolean all) {
+        if (all) {
+            flushLock.lock();
+        } else if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            while (queued.get() > 0 && (all || queued.get() >= batchSize)) {
+                if (!writeBatch()) {
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean writeBatch() {
+        Set<String> batch = new LinkedHashSet<>();
+        String key;
+        while (batch.size() < batchSize && (key = queue.poll()) != null) {
+            queued.decrementAndGet();
+            // removed while queued
+            if (pending.contains(key)) {
+                batch.add(key);
+            }
+        }
+        if (batch.isEmpty()) {
+            return true;
+        }
+        List<String> keys = new ArrayList<>(batch);
+        try {
+            writer.accept(keys);
+            pending.removeAll(keys);
+            if (!attempts.isEmpty()) {
+                attempts.keySet().removeAll(keys);
+            }
+            failure = null;
+            return true;
+        } catch (RuntimeException e) {
+            failure = e;
+            List<String> dropped = new ArrayList<>();
+            for (String failed : keys) {
+                if (attempts.merge(failed, 1, Integer::sum) < MAX_ATTEMPTS) {
+                    queue.offer(failed);
+                    queued.incrementAndGet();
+                } else {
+                    attempts.remove(failed);
+                    pending.remove(failed);
+                    dropped.add(failed);
+                }
+            }
+            if (dropped.isEmpty()) {
+                LOG.warn("Writing {} message IDs of {} failed, retrying on the next flush", keys.size(), id, e);
+            } else {
+                LOG.error(
+                        "Writing message IDs of {} failed {} times, dropping {} IDs that are not stored: {}",
+                        id,
+                        MAX_ATTEMPTS,
+                        dropped.size(),
+                        dropped,
+                        e);
+            }
+            return false;
+        }
+    }
+}
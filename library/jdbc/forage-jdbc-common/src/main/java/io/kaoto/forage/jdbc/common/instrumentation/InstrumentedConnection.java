@@ -0,0 +1,173 @@
+package io.kaoto.forage.jdbc.common.instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Physical connection handing out statements that time their executions and count the rows read from
+ * their result sets.
+ *
+ * <p>Rows are recorded when the result set is closed, either directly or by closing or re-executing its
+ * statement.
+ */
+class InstrumentedConnection implements InvocationHandler {
+
+    private final Connection target;
+    private final QueryInstrumentation instrumentation;
+
+    InstrumentedConnection(Connection target, QueryInstrumentation instrumentation) {
+        this.target = target;
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "createStatement":
+                return statement(proxy, method, invoke(target, method, args), null);
+            case "prepareStatement":
+            case "prepareCall":
+                return statement(proxy, method, invoke(target, method, args), (String) args[0]);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return invoke(target, method, args);
+        }
+    }
+
+    private Object statement(Object connection, Method method, Object statement, String sql) {
+        // the return type is Statement, PreparedStatement or CallableStatement
+        Class<?> type = method.getReturnType();
+        return Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[] {type},
+                new InstrumentedStatement((Statement) statement, sql, (Connection) connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class InstrumentedStatement implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final Connection connection;
+        private CountingResultSet current;
+
+        InstrumentedStatement(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "getResultSet":
+                case "getGeneratedKeys":
+                    return resultSet(proxy, (ResultSet) InstrumentedConnection.invoke(target, method, args));
+                case "close":
+                    finishResultSet();
+                    return InstrumentedConnection.invoke(target, method, args);
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (!name.startsWith("execute")) {
+                return InstrumentedConnection.invoke(target, method, args);
+            }
+            finishResultSet();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedConnection.invoke(target, method, args);
+            } finally {
+                instrumentation.statementExecuted(sql(args), System.nanoTime() - start);
+            }
+            return result instanceof ResultSet resultSet ? resultSet(proxy, resultSet) : result;
+        }
+
+        private String sql(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                return statementSql;
+            }
+            return sql == null ? "<batch>" : sql;
+        }
+
+        private Object resultSet(Object statement, ResultSet resultSet) {
+            if (resultSet == null) {
+                return null;
+            }
+            finishResultSet();
+            current = new CountingResultSet(resultSet, (Statement) statement);
+            return Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(), new Class<?>[] {ResultSet.class}, current);
+        }
+
+        private void finishResultSet() {
+            if (current != null) {
+                current.finish();
+                current = null;
+            }
+        }
+    }
+
+    private final class CountingResultSet implements InvocationHandler {
+        private final ResultSet target;
+        private final Statement statement;
+        private long rows;
+        private boolean finished;
+
+        CountingResultSet(ResultSet target, Statement statement) {
+            this.target = target;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    Object next = InstrumentedConnection.invoke(target, method, args);
+                    if (Boolean.TRUE.equals(next)) {
+                        rows++;
+                    }
+                    return next;
+                case "close":
+                    finish();
+                    return InstrumentedConnection.invoke(target, method, args);
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return InstrumentedConnection.invoke(target, method, args);
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                instrumentation.rowsFetched(rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.kaoto.forage.jdbc.common.instrumentation;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * JDBC driver timing the statements run on the connections of another driver.
+ *
+ * <p>Like {@link io.kaoto.forage.jdbc.common.statement.StatementCachingDriver}, a pool uses this class as
+ * its connection provider and passes a key of its own in the {@link #POOL_PROPERTY} connection property,
+ * after {@link #register(String, Driver, QueryInstrumentation) registering} the driver to delegate to under
+ * that key. The registration is {@link #unregister(String) removed} once the pool is discarded.
+ */
+public class InstrumentedDriver implements Driver {
+
+    /**
+     * Connection property holding the key of the pool, removed before the properties reach the delegate
+     * driver.
+     */
+    public static final String POOL_PROPERTY = "forage.instrumentation.pool";
+
+    private static final Map<String, Registration> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the delegate driver and instrumentation of a pool, replacing an earlier registration.
+     */
+    public static void register(String pool, Driver driver, QueryInstrumentation instrumentation) {
+        POOLS.put(pool, new Registration(driver, instrumentation));
+    }
+
+    public static void unregister(String pool) {
+        POOLS.remove(pool);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        String pool = info.getProperty(POOL_PROPERTY);
+        Registration registration = pool == null ? null : POOLS.get(pool);
+        if (registration == null) {
+            throw new SQLException("No instrumentation registered for pool " + pool);
+        }
+        Properties driverInfo = new Properties();
+        for (String name : info.stringPropertyNames()) {
+            if (!POOL_PROPERTY.equals(name)) {
+                driverInfo.setProperty(name, info.getProperty(name));
+            }
+        }
+        Connection connection = registration.driver().connect(url, driverInfo);
+        if (connection == null) {
+            return null;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new InstrumentedConnection(connection, registration.instrumentation()));
+    }
+
+    // the real driver is only known once a pool connects, which is the only way this driver is used
+    @Override
+    public boolean acceptsURL(String url) {
+        return true;
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private record Registration(Driver driver, QueryInstrumentation instrumentation) {}
+}
@@ -0,0 +1,184 @@
+package io.kaoto.forage.jdbc.common.instrumentation;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.agroal.api.AgroalPoolInterceptor;
+
+/**
+ * Statement execution time, rows fetched and connection hold time of one pool, attributed to the Camel
+ * route running on the calling thread.
+ *
+ * <p>Measurements go to the {@link QueryRecorder recorders} added by metrics binders; statements running
+ * longer than the slow query threshold are also logged. Pools
+ * {@link #register(String, String, Duration) register} their instrumentation under a key of their own
+ * before they are built, so {@link InstrumentedDriver} and binders created later find it, and
+ * {@link #unregister(String) unregister} it once they are discarded.
+ */
+public class QueryInstrumentation {
+    private static final Logger LOG = LoggerFactory.getLogger(QueryInstrumentation.class);
+
+    /**
+     * Route reported for work done outside of a Camel route.
+     */
+    public static final String NO_ROUTE = "none";
+
+    private static final ThreadLocal<String> ROUTE = new ThreadLocal<>();
+    private static final Map<String, QueryInstrumentation> POOLS = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final long slowQueryNanos;
+    private final List<QueryRecorder> recorders = new CopyOnWriteArrayList<>();
+    private final Map<Connection, Held> held = new IdentityHashMap<>();
+
+    QueryInstrumentation(String name, Duration slowQueryThreshold) {
+        this.name = name;
+        this.slowQueryNanos = slowQueryThreshold.isZero() ? Long.MAX_VALUE : slowQueryThreshold.toNanos();
+    }
+
+    /**
+     * Registers the instrumentation of a pool, replacing an earlier registration under that key.
+     *
+     * @param name the DataSource name logged with slow queries
+     * @param slowQueryThreshold shortest execution time logged, {@link Duration#ZERO} to log none
+     */
+    public static QueryInstrumentation register(String pool, String name, Duration slowQueryThreshold) {
+        QueryInstrumentation instrumentation = new QueryInstrumentation(name, slowQueryThreshold);
+        POOLS.put(pool, instrumentation);
+        return instrumentation;
+    }
+
+    public static void unregister(String pool) {
+        POOLS.remove(pool);
+    }
+
+    /**
+     * Returns the instrumentation of a pool, or {@code null} if it is not instrumented.
+     */
+    public static QueryInstrumentation find(String pool) {
+        return POOLS.get(pool);
+    }
+
+    /**
+     * Attributes the statements and connections of the calling thread to a route until
+     * {@link #restoreRoute(String)}.
+     *
+     * @return the route to restore
+     */
+    public static String enterRoute(String routeId) {
+        String previous = ROUTE.get();
+        ROUTE.set(routeId);
+        return previous;
+    }
+
+    public static void restoreRoute(String previous) {
+        if (previous == null) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(previous);
+        }
+    }
+
+    static String currentRoute() {
+        String route = ROUTE.get();
+        return route == null ? NO_ROUTE : route;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void addRecorder(QueryRecorder recorder) {
+        recorders.add(recorder);
+    }
+
+    public void removeRecorder(QueryRecorder recorder) {
+        recorders.remove(recorder);
+    }
+
+    /**
+     * Returns the pool interceptor measuring how long connections stay checked out of the pool.
+     */
+    public AgroalPoolInterceptor poolInterceptor() {
+        return new AgroalPoolInterceptor() {
+            @Override
+            public void onConnectionAcquire(Connection connection) {
+                connectionAcquired(connection);
+            }
+
+            @Override
+            public void onConnectionReturn(Connection connection) {
+                connectionReturned(connection);
+            }
+        };
+    }
+
+    void statementExecuted(String sql, long nanos) {
+        String route = currentRoute();
+        for (QueryRecorder recorder : recorders) {
+            recorder.statement(route, nanos);
+        }
+        if (nanos >= slowQueryNanos) {
+            LOG.warn(
+                    "Slow query on DataSource {} in route {} took {} ms: {}",
+                    name,
+                    route,
+                    TimeUnit.NANOSECONDS.toMillis(nanos),
+                    sql);
+        }
+    }
+
+    void rowsFetched(long rows) {
+        String route = currentRoute();
+        for (QueryRecorder recorder : recorders) {
+            recorder.rows(route, rows);
+        }
+    }
+
+    // Agroal hands interceptors a different wrapper on return than on acquire, so the physical connection
+    // identifies the checkout
+    private void connectionAcquired(Connection connection) {
+        Connection physical = physical(connection);
+        if (physical != null) {
+            synchronized (held) {
+                held.put(physical, new Held(currentRoute(), System.nanoTime()));
+            }
+        }
+    }
+
+    private void connectionReturned(Connection connection) {
+        Connection physical = physical(connection);
+        if (physical == null) {
+            return;
+        }
+        Held checkout;
+        synchronized (held) {
+            checkout = held.remove(physical);
+        }
+        if (checkout != null) {
+            long nanos = System.nanoTime() - checkout.since();
+            for (QueryRecorder recorder : recorders) {
+                recorder.held(checkout.route(), nanos);
+            }
+        }
+    }
+
+    private static Connection physical(Connection connection) {
+        try {
+            return connection.unwrap(Connection.class);
+        } catch (SQLException e) {
+            LOG.debug("Cannot unwrap connection {}, its hold time is not recorded", connection, e);
+            return null;
+        }
+    }
+
+    private record Held(String route, long since) {}
+}
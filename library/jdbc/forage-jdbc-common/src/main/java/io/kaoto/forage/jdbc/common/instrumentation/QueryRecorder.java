@@ -0,0 +1,13 @@
+package io.kaoto.forage.jdbc.common.instrumentation;
+
+/**
+ * Receives the measurements of a {@link QueryInstrumentation}, on the thread doing the work.
+ */
+public interface QueryRecorder {
+
+    void statement(String route, long nanos);
+
+    void rows(String route, long rows);
+
+    void held(String route, long nanos);
+}
@@ -0,0 +1,40 @@
+package io.kaoto.forage.jdbc.common.instrumentation;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * Attributes the JDBC work done while each processor handles an exchange to the route it belongs to,
+ * for {@link QueryInstrumentation}.
+ */
+public class RouteTrackingInterceptStrategy implements InterceptStrategy {
+
+    @Override
+    public Processor wrapProcessorInInterceptors(
+            CamelContext context, NamedNode definition, Processor target, Processor nextTarget) {
+        return new DelegateAsyncProcessor(target) {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                String previous = QueryInstrumentation.enterRoute(routeId(exchange));
+                try {
+                    return processor.process(exchange, callback);
+                } finally {
+                    QueryInstrumentation.restoreRoute(previous);
+                }
+            }
+        };
+    }
+
+    private static String routeId(Exchange exchange) {
+        UnitOfWork unitOfWork = exchange.getUnitOfWork();
+        Route route = unitOfWork == null ? null : unitOfWork.getRoute();
+        return route != null ? route.getRouteId() : exchange.getFromRouteId();
+    }
+}
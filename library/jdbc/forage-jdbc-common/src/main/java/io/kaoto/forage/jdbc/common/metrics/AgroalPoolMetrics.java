@@ -0,0 +1,178 @@
+package io.kaoto.forage.jdbc.common.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.kaoto.forage.jdbc.common.breaker.CircuitBreakerDataSource;
+import io.kaoto.forage.jdbc.common.instrumentation.QueryInstrumentation;
+import io.kaoto.forage.jdbc.common.statement.StatementCacheStats;
+import io.kaoto.forage.jdbc.common.statement.StatementCachingDriver;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the metrics Agroal collects for a pool, tagged with the DataSource bean name.
+ *
+ * <ul>
+ *   <li>{@code forage.jdbc.pool.active}, {@code .available}, {@code .awaiting} and {@code .max.used}
+ *       gauges</li>
+ *   <li>{@code forage.jdbc.pool.acquire} timer, counting acquisitions and the time spent blocked
+ *       waiting for a connection, with {@code forage.jdbc.pool.acquire.max} holding the longest wait</li>
+ *   <li>{@code forage.jdbc.pool.leak.detection}, {@code .reap}, {@code .destroy} and
+ *       {@code .creation} counters</li>
+ *   <li>{@code forage.jdbc.pool.circuit.state} gauge (0 closed, 1 open, 2 half-open) and
+ *       {@code forage.jdbc.pool.circuit.rejected} counter, when the pool has a circuit breaker</li>
+ *   <li>{@code forage.jdbc.statement.cache.hits}, {@code .misses} and {@code .evictions} counters, when
+ *       the pool caches prepared statements</li>
+ *   <li>{@code forage.jdbc.statement.execution} and {@code forage.jdbc.connection.hold} timers and the
+ *       {@code forage.jdbc.statement.rows} summary, also tagged with the route, when the pool is
+ *       instrumented</li>
+ * </ul>
+ *
+ * <p>Pool meters read the pool when they are published, so binding adds no work to connection acquisition;
+ * only the instrumentation histograms are recorded as the work happens.
+ * {@link #close()} removes the meters from every registry they were bound to.
+ */
+public class AgroalPoolMetrics implements MeterBinder, AutoCloseable {
+
+    static final String PREFIX = "forage.jdbc.pool.";
+    static final String STATEMENT_CACHE_PREFIX = "forage.jdbc.statement.cache.";
+    static final String TAG = "datasource";
+
+    private final AgroalDataSource dataSource;
+    private final String name;
+    private final Tags tags;
+    private final List<Bound> bound = new ArrayList<>();
+    private final QueryInstrumentation instrumentation;
+    private final List<QueryMeters> queryMeters = new ArrayList<>();
+
+    /**
+     * @param poolKey the key the pool registered its instrumentation under, {@code null} if it has none
+     */
+    public AgroalPoolMetrics(AgroalDataSource dataSource, String name, String poolKey) {
+        this.dataSource = dataSource;
+        this.name = name;
+        this.tags = Tags.of(TAG, name);
+        this.instrumentation = poolKey == null ? null : QueryInstrumentation.find(poolKey);
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        gauge(registry, "active", "Connections currently in use", AgroalDataSourceMetrics::activeCount);
+        gauge(registry, "available", "Idle connections in the pool", AgroalDataSourceMetrics::availableCount);
+        gauge(registry, "awaiting", "Threads waiting for a connection", AgroalDataSourceMetrics::awaitingCount);
+        gauge(registry, "max.used", "Most connections in use at once", AgroalDataSourceMetrics::maxUsedCount);
+
+        add(registry, FunctionTimer.builder(
+                        PREFIX + "acquire",
+                        dataSource,
+                        ds -> ds.getMetrics().acquireCount(),
+                        ds -> ds.getMetrics().blockingTimeTotal().toNanos(),
+                        TimeUnit.NANOSECONDS)
+                .description("Connection acquisitions and the time spent blocked waiting for one")
+                .tags(tags)
+                .register(registry));
+        add(registry, TimeGauge.builder(
+                        PREFIX + "acquire.max",
+                        dataSource,
+                        TimeUnit.NANOSECONDS,
+                        ds -> ds.getMetrics().blockingTimeMax().toNanos())
+                .description("Longest time a thread was blocked waiting for a connection")
+                .tags(tags)
+                .register(registry));
+
+        counter(
+                registry,
+                "leak.detection",
+                "Connections held longer than the leak timeout",
+                AgroalDataSourceMetrics::leakDetectionCount);
+        counter(registry, "reap", "Idle connections removed from the pool", AgroalDataSourceMetrics::reapCount);
+        counter(registry, "destroy", "Connections closed by the pool", AgroalDataSourceMetrics::destroyCount);
+        counter(registry, "creation", "Connections opened by the pool", AgroalDataSourceMetrics::creationCount);
+
+        if (dataSource instanceof CircuitBreakerDataSource breaker) {
+            add(registry, Gauge.builder(PREFIX + "circuit.state", breaker, b -> b.state().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                    .tags(tags)
+                    .register(registry));
+            add(registry, FunctionCounter.builder(
+                            PREFIX + "circuit.rejected", breaker, CircuitBreakerDataSource::rejectedCount)
+                    .description("Connection requests rejected by the open circuit breaker")
+                    .tags(tags)
+                    .register(registry));
+        }
+
+        StatementCacheStats statements = StatementCachingDriver.stats(dataSource);
+        if (statements != null) {
+            statementCounter(registry, statements, "hits", "Prepared statements reused", StatementCacheStats::hits);
+            statementCounter(
+                    registry, statements, "misses", "Prepared statements created", StatementCacheStats::misses);
+            statementCounter(
+                    registry,
+                    statements,
+                    "evictions",
+                    "Cached prepared statements closed",
+                    StatementCacheStats::evictions);
+        }
+
+        if (instrumentation != null) {
+            QueryMeters meters = new QueryMeters(registry, tags);
+            instrumentation.addRecorder(meters);
+            queryMeters.add(meters);
+        }
+    }
+
+    private void gauge(
+            MeterRegistry registry, String name, String description, ToDoubleFunction<AgroalDataSourceMetrics> value) {
+        add(registry, Gauge.builder(PREFIX + name, dataSource, ds -> value.applyAsDouble(ds.getMetrics()))
+                .description(description)
+                .tags(tags)
+                .register(registry));
+    }
+
+    private void counter(
+            MeterRegistry registry, String name, String description, ToDoubleFunction<AgroalDataSourceMetrics> value) {
+        add(registry, FunctionCounter.builder(PREFIX + name, dataSource, ds -> value.applyAsDouble(ds.getMetrics()))
+                .description(description)
+                .tags(tags)
+                .register(registry));
+    }
+
+    private void statementCounter(
+            MeterRegistry registry,
+            StatementCacheStats statements,
+            String name,
+            String description,
+            ToDoubleFunction<StatementCacheStats> value) {
+        add(registry, FunctionCounter.builder(STATEMENT_CACHE_PREFIX + name, statements, value)
+                .description(description)
+                .tags(tags)
+                .register(registry));
+    }
+
+    private void add(MeterRegistry registry, Meter meter) {
+        bound.add(new Bound(registry, meter));
+    }
+
+    @Override
+    public synchronized void close() {
+        bound.forEach(b -> b.registry().remove(b.meter()));
+        bound.clear();
+        for (QueryMeters meters : queryMeters) {
+            instrumentation.removeRecorder(meters);
+            meters.close();
+        }
+        queryMeters.clear();
+    }
+
+    private record Bound(MeterRegistry registry, Meter meter) {}
+}
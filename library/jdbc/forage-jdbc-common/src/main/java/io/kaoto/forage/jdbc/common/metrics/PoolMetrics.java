@@ -0,0 +1,64 @@
+package io.kaoto.forage.jdbc.common.metrics;
+
+import javax.sql.DataSource;
+
+import java.util.Set;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Binds {@link AgroalPoolMetrics} for a DataSource to every {@code MeterRegistry} of the Camel registry.
+ *
+ * <p>Micrometer is an optional dependency: when it is not on the classpath, or no registry is bound,
+ * nothing is published. Callers only depend on this class, which touches Micrometer types only after
+ * checking that they can be loaded.
+ */
+public final class PoolMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(PoolMetrics.class);
+
+    private static final AutoCloseable NONE = () -> {};
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
+    private PoolMetrics() {}
+
+    /**
+     * Publishes the pool metrics of {@code dataSource} under the given bean name.
+     *
+     * @param poolKey the key the pool registered its instrumentation under, {@code null} if it has none
+     * @return a handle removing the meters again, never {@code null}
+     */
+    public static AutoCloseable bind(CamelContext camelContext, String name, String poolKey, DataSource dataSource) {
+        if (!MICROMETER_PRESENT || !(dataSource instanceof AgroalDataSource agroalDataSource)) {
+            return NONE;
+        }
+        return MicrometerBinding.bind(camelContext, name, poolKey, agroalDataSource);
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.MeterRegistry", false, PoolMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // Nested so that MeterRegistry is only resolved when Micrometer is present
+    private static final class MicrometerBinding {
+
+        static AutoCloseable bind(
+                CamelContext camelContext, String name, String poolKey, AgroalDataSource dataSource) {
+            Set<MeterRegistry> registries = camelContext.getRegistry().findByType(MeterRegistry.class);
+            if (registries.isEmpty()) {
+                return NONE;
+            }
+            AgroalPoolMetrics metrics = new AgroalPoolMetrics(dataSource, name, poolKey);
+            registries.forEach(metrics::bindTo);
+            LOG.debug("Bound pool metrics of DataSource {} to {} meter registries", name, registries.size());
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.kaoto.forage.jdbc.common.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import io.kaoto.forage.jdbc.common.instrumentation.QueryRecorder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the measurements of a pool's query instrumentation in one registry, with one histogram per
+ * route. Histograms are registered the first time a route uses the pool.
+ */
+class QueryMeters implements QueryRecorder, AutoCloseable {
+
+    static final String STATEMENT_PREFIX = "forage.jdbc.statement.";
+    static final String CONNECTION_PREFIX = "forage.jdbc.connection.";
+    static final String ROUTE_TAG = "route";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final Map<String, Timer> executions = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rows = new ConcurrentHashMap<>();
+    private final Map<String, Timer> holds = new ConcurrentHashMap<>();
+
+    QueryMeters(MeterRegistry registry, Tags tags) {
+        this.registry = registry;
+        this.tags = tags;
+    }
+
+    @Override
+    public void statement(String route, long nanos) {
+        executions
+                .computeIfAbsent(route, r -> Timer.builder(STATEMENT_PREFIX + "execution")
+                        .description("Time spent executing statements")
+                        .tags(tags)
+                        .tag(ROUTE_TAG, r)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void rows(String route, long count) {
+        rows.computeIfAbsent(route, r -> DistributionSummary.builder(STATEMENT_PREFIX + "rows")
+                        .description("Rows read from each result set")
+                        .baseUnit("rows")
+                        .tags(tags)
+                        .tag(ROUTE_TAG, r)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(count);
+    }
+
+    @Override
+    public void held(String route, long nanos) {
+        holds.computeIfAbsent(route, r -> Timer.builder(CONNECTION_PREFIX + "hold")
+                        .description("Time connections stay checked out of the pool")
+                        .tags(tags)
+                        .tag(ROUTE_TAG, r)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void close() {
+        executions.values().forEach(registry::remove);
+        rows.values().forEach(registry::remove);
+        holds.values().forEach(registry::remove);
+        executions.clear();
+        rows.clear();
+        holds.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package io.kaoto.forage.jdbc.common.routing;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.processor.DelegateAsyncProcessor;
+
+/**
+ * Applies the {@link ReplicaRoutingDataSource#READ_ONLY_HEADER} of an exchange to the JDBC connections
+ * taken while each processor of the route handles it.
+ */
+public class ReadOnlyHeaderInterceptStrategy implements InterceptStrategy {
+
+    @Override
+    public Processor wrapProcessorInInterceptors(
+            CamelContext context, NamedNode definition, Processor target, Processor nextTarget) {
+        return new DelegateAsyncProcessor(target) {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                Boolean readOnly =
+                        exchange.getMessage().getHeader(ReplicaRoutingDataSource.READ_ONLY_HEADER, Boolean.class);
+                if (readOnly == null) {
+                    return processor.process(exchange, callback);
+                }
+                Boolean previous = ReplicaRoutingDataSource.enterReadOnly(readOnly);
+                try {
+                    return processor.process(exchange, callback);
+                } finally {
+                    ReplicaRoutingDataSource.restoreReadOnly(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,287 @@
+package io.kaoto.forage.jdbc.common.routing;
+
+import javax.sql.DataSource;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DataSource sending read-only work to replica pools and everything else to a primary pool.
+ *
+ * <p>A connection is read-only when {@link #READ_ONLY_HEADER} is set on the exchange being processed (see
+ * {@link ReadOnlyHeaderInterceptStrategy}), or when {@link Connection#setReadOnly(boolean)} is called
+ * before the connection is first used: without a hint, {@link #getConnection()} returns a proxy that only
+ * takes a pooled connection once a statement, transaction setting or metadata is needed. Read-only
+ * connections go to the replica with the fewest connections in use, or to the replicas in turn; if no
+ * replica hands out a connection, the primary is used.
+ */
+public class ReplicaRoutingDataSource implements DataSource {
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * Exchange header routing the JDBC work of the current processor to a replica ({@code true}) or to the
+     * primary ({@code false}).
+     */
+    public static final String READ_ONLY_HEADER = "ForageJdbcReadOnly";
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    /**
+     * How read-only connections are spread over the replicas.
+     */
+    public enum Balancing {
+        LEAST_OUTSTANDING,
+        ROUND_ROBIN;
+
+        public static Balancing of(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final String id;
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Balancing balancing;
+    private final AtomicInteger[] outstanding;
+    private final AtomicLong next = new AtomicLong();
+
+    public ReplicaRoutingDataSource(String id, DataSource primary, List<DataSource> replicas, Balancing balancing) {
+        this.id = id;
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        this.outstanding = new AtomicInteger[this.replicas.size()];
+        for (int i = 0; i < outstanding.length; i++) {
+            outstanding[i] = new AtomicInteger();
+        }
+    }
+
+    /**
+     * Sets the read-only hint of the current thread, returning the previous one for
+     * {@link #restoreReadOnly(Boolean)}.
+     */
+    public static Boolean enterReadOnly(boolean readOnly) {
+        Boolean previous = READ_ONLY.get();
+        READ_ONLY.set(readOnly);
+        return previous;
+    }
+
+    public static void restoreReadOnly(Boolean previous) {
+        if (previous == null) {
+            READ_ONLY.remove();
+        } else {
+            READ_ONLY.set(previous);
+        }
+    }
+
+    public DataSource primary() {
+        return primary;
+    }
+
+    public List<DataSource> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Boolean readOnly = READ_ONLY.get();
+        if (readOnly == null) {
+            return lazyConnection();
+        }
+        return readOnly ? replicaConnection() : primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections of a routing DataSource use the pool credentials");
+    }
+
+    /**
+     * Takes a connection from the next replica, falling back to the primary when none can be obtained.
+     */
+    Connection replicaConnection() throws SQLException {
+        int count = replicas.size();
+        int first = pick();
+        for (int attempt = 0; attempt < count; attempt++) {
+            int index = (first + attempt) % count;
+            outstanding[index].incrementAndGet();
+            try {
+                return tracked(replicas.get(index).getConnection(), index);
+            } catch (SQLException | RuntimeException e) {
+                outstanding[index].decrementAndGet();
+                LOG.debug("Replica {} of DataSource {} refused a connection", index, id, e);
+            }
+        }
+        if (count > 0) {
+            LOG.warn("No replica of DataSource {} is available, reading from the primary", id);
+        }
+        return primary.getConnection();
+    }
+
+    private int pick() {
+        int count = replicas.size();
+        if (count == 0) {
+            return 0;
+        }
+        if (balancing == Balancing.ROUND_ROBIN) {
+            return (int) (next.getAndIncrement() % count);
+        }
+        // start the scan at a rotating offset so ties do not all land on the first replica
+        int start = (int) (next.getAndIncrement() % count);
+        int best = start;
+        for (int i = 1; i < count; i++) {
+            int index = (start + i) % count;
+            if (outstanding[index].get() < outstanding[best].get()) {
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    private Connection tracked(Connection connection, int index) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new TrackedConnection(connection, index));
+    }
+
+    private Connection lazyConnection() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, new LazyConnection());
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Releases the outstanding slot of a replica connection when it is closed.
+     */
+    private final class TrackedConnection implements InvocationHandler {
+        private final Connection target;
+        private final int index;
+        private boolean closed;
+
+        TrackedConnection(Connection target, int index) {
+            this.target = target;
+            this.index = index;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        outstanding[index].decrementAndGet();
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return ReplicaRoutingDataSource.invoke(target, method, args);
+        }
+    }
+
+    /**
+     * Defers taking a pooled connection until it is needed, so that {@code setReadOnly} can still pick
+     * the pool.
+     */
+    private final class LazyConnection implements InvocationHandler {
+        private Connection target;
+        private boolean readOnly;
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (target == null) {
+                switch (method.getName()) {
+                    case "setReadOnly":
+                        readOnly = (Boolean) args[0];
+                        return null;
+                    case "isReadOnly":
+                        return readOnly;
+                    case "close":
+                        closed = true;
+                        return null;
+                    case "isClosed":
+                        return closed;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Unused connection of routing DataSource " + id;
+                    default:
+                        if (closed) {
+                            throw new SQLException("Connection is closed");
+                        }
+                        target = readOnly ? replicaConnection() : primary.getConnection();
+                }
+            }
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> ReplicaRoutingDataSource.invoke(target, method, args);
+            };
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
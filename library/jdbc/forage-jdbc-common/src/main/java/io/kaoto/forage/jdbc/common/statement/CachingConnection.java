@@ -0,0 +1,239 @@
+package io.kaoto.forage.jdbc.common.statement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Physical connection keeping closed prepared statements open in an LRU, keyed by their SQL and result set
+ * options, and handing them out again for the same SQL.
+ *
+ * <p>A statement is checked out of the cache while in use, so it is never shared. When closed it is reset
+ * and returned, unless its execution settings (fetch size, timeouts, row limits...) were changed: those
+ * statements are closed for real, as resetting them portably is not possible.
+ */
+class CachingConnection implements InvocationHandler {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingConnection.class);
+
+    private static final Set<String> SETTINGS = Set.of(
+            "setMaxRows",
+            "setLargeMaxRows",
+            "setMaxFieldSize",
+            "setQueryTimeout",
+            "setFetchSize",
+            "setFetchDirection",
+            "setEscapeProcessing",
+            "setCursorName",
+            "setPoolable",
+            "closeOnCompletion");
+
+    private final Connection target;
+    private final StatementCacheStats stats;
+    private final Map<Key, PreparedStatement> idle;
+    private boolean closed;
+
+    CachingConnection(Connection target, int size, StatementCacheStats stats) {
+        this.target = target;
+        this.stats = stats;
+        this.idle = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > size) {
+                    stats.evict();
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "prepareStatement":
+                Key key = Key.of(method, args);
+                if (key != null) {
+                    return checkOut(proxy, key, method, args);
+                }
+                break;
+            case "close":
+                closeIdle();
+                break;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                break;
+        }
+        return invoke(target, method, args);
+    }
+
+    private PreparedStatement checkOut(Object connection, Key key, Method method, Object[] args) throws Throwable {
+        PreparedStatement statement;
+        synchronized (idle) {
+            statement = idle.remove(key);
+        }
+        if (statement != null) {
+            stats.hit();
+        } else {
+            stats.miss();
+            statement = (PreparedStatement) invoke(target, method, args);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                new CachedStatement(statement, key, (Connection) connection));
+    }
+
+    private void checkIn(Key key, PreparedStatement statement) {
+        synchronized (idle) {
+            if (!closed) {
+                PreparedStatement replaced = idle.put(key, statement);
+                if (replaced != null) {
+                    stats.evict();
+                    closeQuietly(replaced);
+                }
+                return;
+            }
+        }
+        closeQuietly(statement);
+    }
+
+    private void closeIdle() {
+        List<PreparedStatement> statements;
+        synchronized (idle) {
+            closed = true;
+            statements = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        statements.forEach(CachingConnection::closeQuietly);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOG.debug("Failed to close cached statement", e);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A statement checked out of the cache, returned to it on close.
+     */
+    private final class CachedStatement implements InvocationHandler {
+        private final PreparedStatement target;
+        private final Key key;
+        private final Connection connection;
+        private boolean dirty;
+        private boolean batched;
+        private boolean returned;
+
+        CachedStatement(PreparedStatement target, Key key, Connection connection) {
+            this.target = target;
+            this.key = key;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || target.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Statement is closed");
+            }
+            if (SETTINGS.contains(name)) {
+                dirty = true;
+            } else if (name.equals("addBatch")) {
+                batched = true;
+            }
+            return CachingConnection.invoke(target, method, args);
+        }
+
+        private void release() throws SQLException {
+            if (dirty || target.isClosed()) {
+                target.close();
+                return;
+            }
+            try {
+                ResultSet resultSet = target.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                target.clearParameters();
+                if (batched) {
+                    target.clearBatch();
+                }
+                target.clearWarnings();
+            } catch (SQLException e) {
+                LOG.debug("Failed to reset statement, closing it instead of caching it", e);
+                target.close();
+                return;
+            }
+            checkIn(key, target);
+        }
+    }
+
+    /**
+     * SQL and result set options of a cacheable statement; {@code -1} marks options left to the driver.
+     */
+    private record Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+
+        /**
+         * Returns the key of a {@code prepareStatement} call, or {@code null} for the variants that are not
+         * cached: those taking a holdability or generated key columns.
+         */
+        static Key of(Method method, Object[] args) {
+            Class<?>[] types = method.getParameterTypes();
+            String sql = (String) args[0];
+            if (types.length == 1) {
+                return new Key(sql, -1, -1, -1);
+            }
+            if (types.length == 2 && types[1] == int.class) {
+                return new Key(sql, -1, -1, (Integer) args[1]);
+            }
+            if (types.length == 3) {
+                return new Key(sql, (Integer) args[1], (Integer) args[2], -1);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.kaoto.forage.jdbc.common.statement;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the statement cache of one pool, summed over all of its connections.
+ */
+public class StatementCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Prepared statements reused from the cache.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Prepared statements created because none was cached for the SQL.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Cached statements closed to make room for others, or replaced by another statement of the same SQL.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void evict() {
+        evictions.increment();
+    }
+}
@@ -0,0 +1,126 @@
+package io.kaoto.forage.jdbc.common.statement;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import io.agroal.api.AgroalDataSource;
+
+/**
+ * JDBC driver wrapping the connections of another driver in a prepared statement cache.
+ *
+ * <p>Agroal instantiates connection providers by class, so a pool uses this class as its provider and
+ * passes a key of its own in the {@link #POOL_PROPERTY} connection property. The real driver and the cache
+ * size of each pool are {@link #register(String, Driver, int) registered} under that key before the pool is
+ * built, and {@link #unregister(String) unregistered} once it is discarded. Statements
+ * are cached on the physical connections, below the pool, so they outlive the logical connections handed
+ * out by Agroal.
+ */
+public class StatementCachingDriver implements Driver {
+
+    /**
+     * Connection property holding the key of the pool, removed before the properties reach the real driver.
+     */
+    public static final String POOL_PROPERTY = "forage.statement.cache.pool";
+
+    private static final Map<String, Registration> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the driver and cache size of a pool, replacing an earlier registration under that key.
+     *
+     * @return the counters of the pool's statement cache
+     */
+    public static StatementCacheStats register(String pool, Driver driver, int size) {
+        Registration registration = new Registration(driver, Math.max(1, size), new StatementCacheStats());
+        POOLS.put(pool, registration);
+        return registration.stats();
+    }
+
+    public static void unregister(String pool) {
+        POOLS.remove(pool);
+    }
+
+    /**
+     * Returns the statement cache counters of a pool, or {@code null} if it does not cache statements.
+     */
+    public static StatementCacheStats stats(String pool) {
+        Registration registration = POOLS.get(pool);
+        return registration == null ? null : registration.stats();
+    }
+
+    /**
+     * Returns the statement cache counters of a pool using this driver, or {@code null} if it does not cache
+     * statements.
+     */
+    public static StatementCacheStats stats(AgroalDataSource dataSource) {
+        String pool = dataSource
+                .getConfiguration()
+                .connectionPoolConfiguration()
+                .connectionFactoryConfiguration()
+                .jdbcProperties()
+                .getProperty(POOL_PROPERTY);
+        return pool == null ? null : stats(pool);
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        String pool = info.getProperty(POOL_PROPERTY);
+        Registration registration = pool == null ? null : POOLS.get(pool);
+        if (registration == null) {
+            throw new SQLException("No statement cache registered for pool " + pool);
+        }
+        Properties driverInfo = new Properties();
+        for (String name : info.stringPropertyNames()) {
+            if (!POOL_PROPERTY.equals(name)) {
+                driverInfo.setProperty(name, info.getProperty(name));
+            }
+        }
+        Connection connection = registration.driver().connect(url, driverInfo);
+        if (connection == null) {
+            return null;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new CachingConnection(connection, registration.size(), registration.stats()));
+    }
+
+    // the real driver is only known once a pool connects, which is the only way this driver is used
+    @Override
+    public boolean acceptsURL(String url) {
+        return true;
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private record Registration(Driver driver, int size, StatementCacheStats stats) {}
+}
@@ -0,0 +1,103 @@
+package io.kaoto.forage.jdbc.common.transactions;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.jdbc.DataSourceProvider;
+import io.kaoto.forage.jdbc.common.DataSourceCommonExportHelper;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import com.arjuna.ats.arjuna.objectstore.jdbc.JDBCAccess;
+
+/**
+ * Gives the Narayana JDBC object store connections of a named Forage DataSource.
+ *
+ * <p>Narayana builds its {@link JDBCAccess} from a class name followed by {@code ;key=value} options, so the
+ * DataSource is named with a {@code datasource=<name>} option and looked up here. Bean factories
+ * {@link #register(String, DataSource) register} the DataSources they bind and
+ * {@link #unregister(String) unregister} them when they discard them; a DataSource nobody registered is
+ * created from its {@code forage.<name>.jdbc.*} configuration on first use. Object store DataSources
+ * must not have transactions enabled: the log is written outside the transactions it records.
+ */
+public class ObjectStoreJdbcAccess implements JDBCAccess {
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectStoreJdbcAccess.class);
+
+    private static final String DATASOURCE_OPTION = "datasource=";
+    private static final Map<String, DataSource> DATA_SOURCES = new ConcurrentHashMap<>();
+
+    private String dataSourceName;
+
+    /**
+     * Returns the Narayana {@code jdbcAccess} setting reading the object store through the given DataSource.
+     */
+    public static String jdbcAccess(String dataSourceName) {
+        return ObjectStoreJdbcAccess.class.getName() + ";" + DATASOURCE_OPTION + dataSourceName;
+    }
+
+    /**
+     * Makes a DataSource bound by a bean factory the one holding the object store of that name.
+     */
+    public static void register(String name, DataSource dataSource) {
+        DATA_SOURCES.put(name, dataSource);
+    }
+
+    /**
+     * Forgets the object store DataSource of that name, so the next transaction log access uses the one
+     * registered next.
+     */
+    public static void unregister(String name) {
+        DATA_SOURCES.remove(name);
+    }
+
+    /**
+     * Returns the object store DataSource of the given name, creating it if no bean factory registered one.
+     */
+    public static DataSource dataSource(String name) {
+        return DATA_SOURCES.computeIfAbsent(name, ObjectStoreJdbcAccess::create);
+    }
+
+    private static DataSource create(String name) {
+        DataSourceFactoryConfig config = new DataSourceFactoryConfig(name);
+        if (config.transactionEnabled()) {
+            throw new IllegalArgumentException(
+                    "Object store DataSource '%s' must not have transactions enabled".formatted(name));
+        }
+        String providerClass = DataSourceCommonExportHelper.transformDbKindIntoProviderClass(config.dbKind());
+        ServiceLoader.Provider<DataSourceProvider> provider = ServiceLoaderHelper.findProviderByClassName(
+                ServiceLoader.load(DataSourceProvider.class, Thread.currentThread().getContextClassLoader())
+                        .stream()
+                        .toList(),
+                providerClass);
+        if (provider == null) {
+            throw new IllegalStateException("No DataSourceProvider found for object store DataSource '%s' (expected %s)"
+                    .formatted(name, providerClass));
+        }
+        LOG.info("Creating object store DataSource {}", name);
+        return provider.get().create(name);
+    }
+
+    @Override
+    public void initialise(StringTokenizer tokenizer) {
+        while (tokenizer.hasMoreTokens()) {
+            String option = tokenizer.nextToken().trim();
+            if (option.startsWith(DATASOURCE_OPTION)) {
+                dataSourceName = option.substring(DATASOURCE_OPTION.length());
+            }
+        }
+        if (dataSourceName == null || dataSourceName.isEmpty()) {
+            throw new IllegalArgumentException("The JDBC object store needs a " + DATASOURCE_OPTION + " option");
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return dataSource(dataSourceName).getConnection();
+    }
+}
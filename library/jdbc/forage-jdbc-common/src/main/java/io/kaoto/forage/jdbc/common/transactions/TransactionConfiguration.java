@@ -13,6 +13,7 @@ import com.arjuna.ats.arjuna.common.CoreEnvironmentBeanException;
 import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
 import com.arjuna.ats.arjuna.common.RecoveryEnvironmentBean;
 import com.arjuna.ats.internal.arjuna.objectstore.VolatileStore;
+import com.arjuna.ats.internal.arjuna.objectstore.jdbc.JDBCStore;
 import com.arjuna.ats.jta.common.JTAEnvironmentBean;
 import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
 
@@ -20,6 +21,9 @@ public class TransactionConfiguration {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionConfiguration.class);
 
+    /** Object stores configured by Forage: the default (action) store and the two named ones. */
+    private static final String[] STORE_NAMES = {null, "stateStore", "communicationStore"};
+
     /** Narayana's out-of-the-box node identifier, treated as "not yet configured by Forage". */
     private static final String NARAYANA_DEFAULT_NODE_IDENTIFIER = "1";
 
@@ -80,12 +84,11 @@ public class TransactionConfiguration {
         log.debug("Configuring object store with type: {} and directory: {}", objectStoreType, objectStoreDir);
 
         if ("volatile".equalsIgnoreCase(objectStoreType)) {
-            for (String storeName : new String[] {null, "stateStore", "communicationStore"}) {
-                ObjectStoreEnvironmentBean bean = storeName == null
-                        ? BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class)
-                        : BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, storeName);
-                bean.setObjectStoreType(VolatileStore.class.getName());
+            for (String storeName : STORE_NAMES) {
+                objectStoreBean(storeName).setObjectStoreType(VolatileStore.class.getName());
             }
+        } else if ("jdbc".equalsIgnoreCase(objectStoreType)) {
+            configureJdbcObjectStore();
         } else {
             BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class).setObjectStoreDir(objectStoreDir);
             BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, "stateStore")
@@ -94,10 +97,40 @@ public class TransactionConfiguration {
                     .setObjectStoreDir(objectStoreDir);
         }
 
-        // TODO Handle jdbc case, a datasource has to be created for this use case
         log.debug("Object store configured successfully");
     }
 
+    /**
+     * Points the three Narayana stores at tables of the object store DataSource, one table per store,
+     * named after the table prefix and the store.
+     */
+    private void configureJdbcObjectStore() {
+        String dataSourceName = config.transactionObjectStoreDataSource();
+        if (dataSourceName == null || dataSourceName.isBlank()) {
+            throw new IllegalArgumentException(
+                    "The jdbc object store needs forage.jdbc.transaction.object.store.datasource to name a DataSource");
+        }
+        // fail at startup rather than on the first transaction when the DataSource cannot be built
+        ObjectStoreJdbcAccess.dataSource(dataSourceName);
+
+        for (String storeName : STORE_NAMES) {
+            ObjectStoreEnvironmentBean bean = objectStoreBean(storeName);
+            bean.setObjectStoreType(JDBCStore.class.getName());
+            bean.setJdbcAccess(ObjectStoreJdbcAccess.jdbcAccess(dataSourceName));
+            bean.setTablePrefix(
+                    config.transactionObjectStoreTablePrefix() + (storeName == null ? "action" : storeName) + "_");
+            bean.setCreateTable(config.transactionObjectStoreCreateTable());
+            bean.setDropTable(config.transactionObjectStoreDropTable());
+        }
+        log.debug("JDBC object store configured on DataSource {}", dataSourceName);
+    }
+
+    private static ObjectStoreEnvironmentBean objectStoreBean(String storeName) {
+        return storeName == null
+                ? BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class)
+                : BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, storeName);
+    }
+
     private void configureCoordinator() {
         log.debug("Configuring coordinator with timeout: {} seconds", config.transactionTimeoutSeconds());
         BeanPopulator.getDefaultInstance(CoordinatorEnvironmentBean.class)
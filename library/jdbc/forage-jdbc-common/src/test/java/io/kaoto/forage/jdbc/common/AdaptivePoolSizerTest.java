@@ -0,0 +1,102 @@
+package io.kaoto.forage.jdbc.common;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link AdaptivePoolSizer#nextMaxSize} with synthetic pool statistics, between 4 and 64 connections
+ * and with an acquisition threshold of 1 ms.
+ */
+class AdaptivePoolSizerTest {
+
+    private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+    private AdaptivePoolSizer sizer;
+    private long acquireCount;
+    private long blockingNanos;
+
+    @BeforeEach
+    void setUp() {
+        sizer = new AdaptivePoolSizer("test", null, 4, 64, Duration.ofMillis(1));
+    }
+
+    @Test
+    void doublesAfterConsecutiveSamplesWithWaitingThreads() {
+        assertThat(sample(4, 4, 3)).isEqualTo(4);
+        assertThat(sample(4, 4, 3)).isEqualTo(8);
+        assertThat(sample(8, 8, 3)).isEqualTo(8);
+        assertThat(sample(8, 8, 3)).isEqualTo(16);
+    }
+
+    @Test
+    void slowAcquisitionsCountAsPressure() {
+        assertThat(sampleBlocking(4, 10, 2 * MILLI)).isEqualTo(4);
+        assertThat(sampleBlocking(4, 10, 2 * MILLI)).isEqualTo(8);
+    }
+
+    @Test
+    void fastAcquisitionsAreNoPressure() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(sampleBlocking(4, 10, MILLI / 2)).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void growthStopsAtTheLimit() {
+        sample(48, 48, 10);
+        assertThat(sample(48, 48, 10)).isEqualTo(64);
+        sample(64, 64, 10);
+        assertThat(sample(64, 64, 10)).isEqualTo(64);
+    }
+
+    @Test
+    void shrinksToOneAndAHalfThePeakAfterConsecutiveIdleSamples() {
+        for (int i = 1; i < AdaptivePoolSizer.SHRINK_SAMPLES; i++) {
+            assertThat(sample(32, i == 3 ? 6 : 2, 0)).isEqualTo(32);
+        }
+        assertThat(sample(32, 2, 0)).isEqualTo(9);
+    }
+
+    @Test
+    void doesNotShrinkBelowTheLowerBound() {
+        for (int i = 1; i < AdaptivePoolSizer.SHRINK_SAMPLES; i++) {
+            sample(16, 1, 0);
+        }
+        assertThat(sample(16, 1, 0)).isEqualTo(4);
+    }
+
+    @Test
+    void busySampleResetsTheCounts() {
+        assertThat(sample(4, 4, 3)).isEqualTo(4);
+        // half of the pool or more in use, nobody waiting: neither pressure nor idle
+        assertThat(sample(4, 3, 0)).isEqualTo(4);
+        assertThat(sample(4, 4, 3)).isEqualTo(4);
+        assertThat(sample(4, 4, 3)).isEqualTo(8);
+
+        for (int i = 1; i < AdaptivePoolSizer.SHRINK_SAMPLES; i++) {
+            sample(32, 1, 0);
+        }
+        sample(32, 16, 0);
+        assertThat(sample(32, 1, 0)).isEqualTo(32);
+    }
+
+    /**
+     * A sample with ten fast acquisitions since the previous one.
+     */
+    private int sample(int maxSize, long active, long awaiting) {
+        acquireCount += 10;
+        return sizer.nextMaxSize(maxSize, acquireCount, blockingNanos, active, awaiting);
+    }
+
+    /**
+     * A sample with {@code acquired} acquisitions since the previous one, each blocked for {@code nanos}.
+     */
+    private int sampleBlocking(int maxSize, long acquired, long nanos) {
+        acquireCount += acquired;
+        blockingNanos += acquired * nanos;
+        return sizer.nextMaxSize(maxSize, acquireCount, blockingNanos, 1, 0);
+    }
+}
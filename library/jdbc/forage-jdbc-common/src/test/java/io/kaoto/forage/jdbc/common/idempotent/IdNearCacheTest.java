@@ -0,0 +1,67 @@
+package io.kaoto.forage.jdbc.common.idempotent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IdNearCache Tests")
+class IdNearCacheTest {
+
+    @Test
+    @DisplayName("Remembered IDs are never reported as unseen")
+    void rememberedIdsAreNeverReportedAsUnseen() {
+        IdNearCache cache = new IdNearCache(100, 10_000);
+        for (int i = 0; i < 20_000; i++) {
+            cache.remember("id-" + i);
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            assertThat(cache.mightContain("id-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("The Bloom filter keeps close to its false positive rate")
+    void falsePositiveRateIsCloseToOnePercent() {
+        IdNearCache cache = new IdNearCache(100, 100_000);
+        for (int i = 0; i < 100_000; i++) {
+            cache.remember("seen-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (cache.mightContain("unseen-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Only the most recently used IDs stay confirmed")
+    void leastRecentlyUsedIdsAreEvicted() {
+        IdNearCache cache = new IdNearCache(2, 100);
+        cache.remember("a");
+        cache.remember("b");
+        cache.isConfirmed("a");
+        cache.remember("c");
+
+        assertThat(cache.isConfirmed("a")).isTrue();
+        assertThat(cache.isConfirmed("b")).isFalse();
+        assertThat(cache.isConfirmed("c")).isTrue();
+        assertThat(cache.mightContain("b")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Forgotten IDs are no longer confirmed and clear empties both structures")
+    void forgetAndClear() {
+        IdNearCache cache = new IdNearCache(10, 100);
+        cache.remember("a");
+        cache.forget("a");
+        assertThat(cache.isConfirmed("a")).isFalse();
+        assertThat(cache.mightContain("a")).isTrue();
+
+        cache.clear();
+        assertThat(cache.mightContain("a")).isFalse();
+    }
+}
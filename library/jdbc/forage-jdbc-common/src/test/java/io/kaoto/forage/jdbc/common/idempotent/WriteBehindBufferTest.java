@@ -0,0 +1,146 @@
+package io.kaoto.forage.jdbc.common.idempotent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WriteBehindBuffer Tests")
+class WriteBehindBufferTest {
+
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Full batches are written by the thread that fills them")
+    void fullBatchesAreWrittenOnOffer() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 3, batches::add);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("a")).isFalse();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(batches).isEmpty();
+        assertThat(buffer.isPending("a")).isTrue();
+
+        buffer.offer("c");
+        assertThat(batches).containsExactly(List.of("a", "b", "c"));
+        assertThat(buffer.isPending("a")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Stopping writes the partial batch, without the removed IDs")
+    void stopWritesPartialBatch() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 10, batches::add);
+        buffer.start(Duration.ofHours(1));
+        buffer.offer("a");
+        buffer.offer("b");
+        assertThat(buffer.remove("a")).isTrue();
+
+        buffer.stop();
+        assertThat(batches).containsExactly(List.of("b"));
+    }
+
+    @Test
+    @DisplayName("Queued IDs are written periodically")
+    void queuedIdsAreWrittenPeriodically() throws InterruptedException {
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 10, batches::add);
+        buffer.start(Duration.ofMillis(10));
+        buffer.offer("a");
+
+        for (int i = 0; i < 500 && batches.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        buffer.stop();
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+
+    @Test
+    @DisplayName("A failed batch stays pending and is written on the next flush")
+    void failedBatchIsRetried() {
+        boolean[] fail = {true};
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 2, keys -> {
+            if (fail[0]) {
+                throw new IllegalStateException("database down");
+            }
+            batches.add(keys);
+        });
+
+        buffer.offer("a");
+        buffer.offer("b");
+        assertThat(batches).isEmpty();
+        assertThat(buffer.isPending("a")).isTrue();
+
+        fail[0] = false;
+        buffer.flush(true);
+        assertThat(batches).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    @DisplayName("IDs whose batch keeps failing are dropped")
+    void failingBatchIsDropped() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 2, keys -> {
+            throw new IllegalStateException("database down");
+        });
+
+        buffer.offer("a");
+        buffer.offer("b");
+        for (int attempt = 1; attempt < WriteBehindBuffer.MAX_ATTEMPTS; attempt++) {
+            assertThat(buffer.isPending("a")).isTrue();
+            buffer.flush(true);
+        }
+        assertThat(buffer.isPending("a")).isFalse();
+        assertThat(buffer.isPending("b")).isFalse();
+        assertThat(buffer.offer("a")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Offers fail with the write error once too many IDs are pending")
+    void offerFailsWhenTooManyIdsArePending() {
+        IllegalStateException down = new IllegalStateException("database down");
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 1, keys -> {
+            throw down;
+        });
+
+        assertThatThrownBy(() -> {
+                    for (int i = 0; i < 100 * WriteBehindBuffer.MAX_PENDING_BATCHES; i++) {
+                        buffer.offer("id" + i);
+                    }
+                })
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("waiting to be written")
+                .hasCause(down);
+    }
+
+    @Test
+    @DisplayName("Removing an ID waits for the batch being written")
+    void removeWaitsForTheBatchBeingWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindBuffer buffer = new WriteBehindBuffer("test", 1, keys -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(keys);
+        });
+
+        CompletableFuture<Boolean> offer = CompletableFuture.supplyAsync(() -> buffer.offer("a"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> removal = CompletableFuture.supplyAsync(() -> buffer.remove("a"));
+        assertThatThrownBy(() -> removal.get(100, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        release.countDown();
+        assertThat(offer.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(removal.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(batches).containsExactly(List.of("a"));
+    }
+}
@@ -1,5 +1,6 @@
 package io.kaoto.forage.jdbc.mariadb;
 
+import java.util.Map;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.MariaDbDataSource;
 import io.kaoto.forage.core.annotations.ForageBean;
@@ -30,4 +31,13 @@ public class MariadbJdbc extends PooledDataSource {
     public String getTestQuery() {
         return "SELECT VERSION(), DATABASE(), USER()";
     }
+
+    @Override
+    protected Map<String, String> getDriverDefaults() {
+        // cache server-side prepared statements in the driver
+        return Map.of(
+                "useServerPrepStmts", "true",
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", "250");
+    }
 }
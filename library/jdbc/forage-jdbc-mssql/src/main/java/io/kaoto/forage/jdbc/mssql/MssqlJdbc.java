@@ -1,5 +1,6 @@
 package io.kaoto.forage.jdbc.mssql;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import com.microsoft.sqlserver.jdbc.SQLServerDriver;
@@ -34,4 +35,12 @@ public class MssqlJdbc extends PooledDataSource {
     public String createString() {
         return "CREATE TABLE CAMEL_MESSAGEPROCESSED (processorName VARCHAR(255), messageId VARCHAR(100), createdAt DATETIME, PRIMARY KEY (processorName, messageId))";
     }
+
+    @Override
+    protected Map<String, String> getDriverDefaults() {
+        // reuse prepared statement handles instead of unpreparing them on close
+        return Map.of(
+                "disableStatementPooling", "false",
+                "statementPoolingCacheSize", "100");
+    }
 }
@@ -1,5 +1,6 @@
 package io.kaoto.forage.jdbc.mysql;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import com.mysql.cj.jdbc.Driver;
@@ -30,4 +31,14 @@ public class MysqlJdbc extends PooledDataSource {
     public String getTestQuery() {
         return "SELECT VERSION(), DATABASE(), USER()";
     }
+
+    @Override
+    protected Map<String, String> getDriverDefaults() {
+        // cache server-side prepared statements in the driver
+        return Map.of(
+                "useServerPrepStmts", "true",
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", "250",
+                "prepStmtCacheSqlLimit", "2048");
+    }
 }
@@ -1,5 +1,6 @@
 package io.kaoto.forage.jdbc.oracle;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import oracle.jdbc.OracleDriver;
@@ -34,4 +35,10 @@ public class OracleJdbc extends PooledDataSource {
     public String createString() {
         return "CREATE TABLE CAMEL_MESSAGEPROCESSED (processorName VARCHAR2(255), messageId VARCHAR2(100), createdAt TIMESTAMP, PRIMARY KEY (processorName, messageId))";
     }
+
+    @Override
+    protected Map<String, String> getDriverDefaults() {
+        // keep closed statements open in the driver for reuse
+        return Map.of("oracle.jdbc.implicitStatementCacheSize", "100");
+    }
 }
@@ -1,5 +1,6 @@
 package io.kaoto.forage.jdbc.postgresql;
 
+import java.util.Map;
 import org.postgresql.Driver;
 import org.postgresql.xa.PGXADataSource;
 import io.kaoto.forage.core.annotations.ForageBean;
@@ -30,4 +31,12 @@ public class PostgresqlJdbc extends PooledDataSource {
     public String getTestQuery() {
         return "SELECT version(), current_database(), current_user";
     }
+
+    @Override
+    protected Map<String, String> getDriverDefaults() {
+        // server-side prepare after the third execution, keeping more prepared queries per connection
+        return Map.of(
+                "prepareThreshold", "3",
+                "preparedStatementCacheQueries", "512");
+    }
 }
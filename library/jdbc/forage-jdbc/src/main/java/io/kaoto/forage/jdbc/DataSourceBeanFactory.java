@@ -2,9 +2,13 @@ package io.kaoto.forage.jdbc;
 
 import javax.sql.DataSource;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.camel.CamelContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +17,7 @@ import io.kaoto.forage.core.annotations.ConditionalBeanGroup;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
+import io.kaoto.forage.core.common.LazyBean;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NeverJtaTransactionPolicy;
@@ -22,6 +26,7 @@ import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.recovery.ForageRecoveryService;
+import io.kaoto.forage.core.util.config.ConfigChanges;
 import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jdbc.common.DataSourceCommonExportHelper;
@@ -31,6 +36,11 @@ import io.kaoto.forage.jdbc.common.PooledDataSource;
 import io.kaoto.forage.jdbc.common.aggregation.ForageAggregationRepository;
 import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
 import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+import io.kaoto.forage.jdbc.common.instrumentation.RouteTrackingInterceptStrategy;
+import io.kaoto.forage.jdbc.common.metrics.PoolMetrics;
+import io.kaoto.forage.jdbc.common.routing.ReadOnlyHeaderInterceptStrategy;
+import io.kaoto.forage.jdbc.common.routing.ReplicaRoutingDataSource;
+import io.kaoto.forage.jdbc.common.transactions.ObjectStoreJdbcAccess;
 
 @ForageFactory(
         value = "DataSource",
@@ -99,6 +109,30 @@ public class DataSourceBeanFactory implements BeanFactory {
 
     private CamelContext camelContext;
     private static final String DEFAULT_DATASOURCE = "dataSource";
+    private static final List<String> TRANSACTION_POLICIES =
+            List.of("PROPAGATION_REQUIRED", "MANDATORY", "NEVER", "NOT_SUPPORTED", "REQUIRES_NEW", "SUPPORTS");
+
+    // Repository beans bound next to each DataSource this factory created, keyed by the DataSource
+    // bean name: their names come from configuration, which has already changed when reload() runs
+    private final Map<String, List<String>> boundRepositories = new ConcurrentHashMap<>();
+
+    // DataSources bound with forage.<name>.jdbc.lazy=true, built on their first registry lookup
+    private final Map<String, LazyBean<ForageDataSource>> lazyDataSources = new ConcurrentHashMap<>();
+
+    // Pool meters published to the MeterRegistry beans, keyed by DataSource bean name
+    private final Map<String, AutoCloseable> poolMetrics = new ConcurrentHashMap<>();
+
+    // Driver registrations of the pools this factory created, see PooledDataSource.getPoolKey()
+    private final Map<String, String> poolKeys = new ConcurrentHashMap<>();
+
+    // DataSources this factory registered with ObjectStoreJdbcAccess
+    private final Set<String> registeredObjectStores = ConcurrentHashMap.newKeySet();
+
+    // Replica names of each routing DataSource, which is recreated when one of its replicas changes
+    private final Map<String, List<String>> replicaRoutes = new ConcurrentHashMap<>();
+
+    private boolean readOnlyHeaderSupported;
+    private boolean routeTrackingSupported;
 
     @Override
     public void cleanup() {
@@ -110,6 +144,7 @@ public class DataSourceBeanFactory implements BeanFactory {
             closeAndUnbind(name);
         }
         closeAndUnbind(DEFAULT_DATASOURCE);
+        lazyDataSources.clear();
 
         // Drop stale XA recovery integrations; configure() registers fresh ones right after.
         // Needed here because closeAndUnbind() intentionally does not close the pool, so Agroal
@@ -118,10 +153,7 @@ public class DataSourceBeanFactory implements BeanFactory {
 
         // Unbind JTA transaction policies if they were registered
         if (anyTransactionEnabled(config, prefixes)) {
-            for (String name : List.of(
-                    "PROPAGATION_REQUIRED", "MANDATORY", "NEVER", "NOT_SUPPORTED", "REQUIRES_NEW", "SUPPORTS")) {
-                camelContext.getRegistry().unbind(name);
-            }
+            TRANSACTION_POLICIES.forEach(this::unbind);
         }
 
         // Unbind aggregation and idempotent repositories (root config)
@@ -132,6 +164,68 @@ public class DataSourceBeanFactory implements BeanFactory {
             DataSourceFactoryConfig prefixConfig = new DataSourceFactoryConfig(name);
             unbindRepositories(prefixConfig);
         }
+        boundRepositories.clear();
+        replicaRoutes.clear();
+    }
+
+    /**
+     * DataSources are configured in parallel with other factories unless transactions are enabled, where
+     * the JTA transaction policies and the Narayana transaction manager are shared with other factories.
+     */
+    @Override
+    public boolean supportsParallelConfigure() {
+        DataSourceFactoryConfig config = new DataSourceFactoryConfig();
+        Set<String> prefixes =
+                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
+        return !anyTransactionEnabled(config, prefixes);
+    }
+
+    @Override
+    public boolean supportsIncrementalReload() {
+        return true;
+    }
+
+    /**
+     * Recreates only the DataSources whose {@code forage.<name>.jdbc.*} keys changed, together with
+     * their repositories, and binds the DataSources of added prefixes; the pools of all other DataSources
+     * stay bound with their open connections. A change of the default {@code forage.jdbc.*} configuration
+     * recreates every DataSource.
+     */
+    @Override
+    public void reload(ConfigChanges changes) {
+        Set<String> affected = new HashSet<>(changes.changedPrefixes("jdbc"));
+        affected.addAll(changes.addedPrefixes(
+                "jdbc",
+                ConfigStore.getInstance()
+                        .readPrefixes(new DataSourceFactoryConfig(), ConfigHelper.getNamedPropertyRegexp("jdbc"))));
+        if (changes.defaultChanged("jdbc")) {
+            affected.addAll(boundRepositories.keySet());
+            affected.add(DEFAULT_DATASOURCE);
+        }
+        replicaRoutes.forEach((name, replicas) -> {
+            if (replicas.stream().anyMatch(affected::contains)) {
+                affected.add(name);
+            }
+        });
+        if (affected.isEmpty()) {
+            LOG.debug("No JDBC configuration changed, keeping all DataSources");
+            return;
+        }
+
+        LOG.info("Recreating DataSources {} after configuration change", affected);
+        for (String name : affected) {
+            closeAndUnbind(name);
+            replicaRoutes.remove(name);
+            List<String> repositories = boundRepositories.remove(name);
+            if (repositories != null) {
+                repositories.forEach(this::unbind);
+            }
+            ForageRecoveryService.getInstance().deregisterHelpers(PooledDataSource.recoveryKey(name));
+        }
+        // configure() binds the policies again if any remaining configuration enables transactions
+        TRANSACTION_POLICIES.forEach(this::unbind);
+
+        configure();
     }
 
     @Override
@@ -141,6 +235,10 @@ public class DataSourceBeanFactory implements BeanFactory {
                 ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jdbc"));
 
         deregisterRecoveryIntegrations(prefixes);
+        poolKeys.values().forEach(PooledDataSource::release);
+        poolKeys.clear();
+        registeredObjectStores.forEach(ObjectStoreJdbcAccess::unregister);
+        registeredObjectStores.clear();
         // The recovery manager is shared with the JMS module: the last module out terminates it.
         ForageRecoveryService.getInstance().stopIfNoRegistrations();
     }
@@ -153,12 +251,18 @@ public class DataSourceBeanFactory implements BeanFactory {
     }
 
     private void unbindRepositories(DataSourceFactoryConfig dsConfig) {
+        repositoryNames(dsConfig).forEach(this::unbind);
+    }
+
+    private static List<String> repositoryNames(DataSourceFactoryConfig dsConfig) {
+        List<String> names = new ArrayList<>();
         if (dsConfig.aggregationRepositoryName() != null) {
-            camelContext.getRegistry().unbind(dsConfig.aggregationRepositoryName());
+            names.add(dsConfig.aggregationRepositoryName());
         }
         if (dsConfig.enableIdempotentRepository()) {
-            camelContext.getRegistry().unbind(dsConfig.idempotentRepositoryTableName());
+            names.add(dsConfig.idempotentRepositoryTableName());
         }
+        return names;
     }
 
     private void closeAndUnbind(String name) {
@@ -166,7 +270,23 @@ public class DataSourceBeanFactory implements BeanFactory {
         // Camel components (e.g., SqlComponent) cache DataSource references at the component level.
         // Closing the pool before the component is reset would break in-flight requests.
         // The old DataSource is unbound and will be GC'd after the component is reset and routes reloaded.
-        camelContext.getRegistry().unbind(name);
+        unbind(name);
+        lazyDataSources.remove(name);
+        String poolKey = poolKeys.remove(name);
+        if (poolKey != null) {
+            PooledDataSource.release(poolKey);
+        }
+        if (registeredObjectStores.remove(name)) {
+            ObjectStoreJdbcAccess.unregister(name);
+        }
+        AutoCloseable metrics = poolMetrics.remove(name);
+        if (metrics != null) {
+            try {
+                metrics.close();
+            } catch (Exception e) {
+                LOG.debug("Failed to remove pool metrics of DataSource {}", name, e);
+            }
+        }
     }
 
     @Override
@@ -179,36 +299,69 @@ public class DataSourceBeanFactory implements BeanFactory {
         // Bind JTA policies when the default config OR any discovered prefixed config
         // has transactions enabled (e.g., forage.ds1.jdbc.transaction.enabled=true)
         if (anyTransactionEnabled(config, prefixes)) {
-            camelContext.getRegistry().bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
-            camelContext.getRegistry().bind("MANDATORY", new MandatoryJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NEVER", new NeverJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
-            camelContext.getRegistry().bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
-            camelContext.getRegistry().bind("SUPPORTS", new SupportsJtaTransactionPolicy());
+            bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
+            bind("MANDATORY", new MandatoryJtaTransactionPolicy());
+            bind("NEVER", new NeverJtaTransactionPolicy());
+            bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
+            bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
+            bind("SUPPORTS", new SupportsJtaTransactionPolicy());
+        }
+
+        // intercept strategies only apply to routes started after them, so register it before any lazy pool
+        if (!routeTrackingSupported && anyInstrumentationEnabled(config, prefixes)) {
+            // under the registry monitor, like every change to the context, see supportsParallelConfigure()
+            synchronized (camelContext.getRegistry()) {
+                camelContext.getCamelContextExtension().addInterceptStrategy(new RouteTrackingInterceptStrategy());
+            }
+            routeTrackingSupported = true;
         }
 
         if (!prefixes.isEmpty()) {
-            for (String name : prefixes) {
-                if (camelContext.getRegistry().lookupByNameAndType(name, DataSource.class) == null) {
+            // object store DataSources first, so the transaction manager of XA DataSources finds them
+            Set<String> objectStores = objectStoreDataSources(config, prefixes);
+            List<String> ordered =
+                    new ArrayList<>(prefixes.stream().filter(objectStores::contains).toList());
+            prefixes.stream().filter(name -> !objectStores.contains(name)).forEach(ordered::add);
+            for (String name : ordered) {
+                // a lookup would build a lazy DataSource that is still bound, so check those first
+                if (!lazyDataSources.containsKey(name)
+                        && lookup(name, DataSource.class) == null) {
                     DataSourceFactoryConfig dsFactoryConfig = new DataSourceFactoryConfig(name);
+                    if (dsFactoryConfig.lazy()
+                            && !dsFactoryConfig.transactionEnabled()
+                            && dsFactoryConfig.replicas().isEmpty()
+                            && !objectStores.contains(name)) {
+                        bindLazy(dsFactoryConfig, name);
+                        continue;
+                    }
                     ForageDataSource forageDataSource = newDataSource(dsFactoryConfig, name);
-                    camelContext.getRegistry().bind(name, forageDataSource.dataSource());
+                    if (objectStores.contains(name)) {
+                        if (dsFactoryConfig.transactionEnabled()) {
+                            throw new IllegalArgumentException(
+                                    "Object store DataSource '%s' must not have transactions enabled".formatted(name));
+                        }
+                        ObjectStoreJdbcAccess.register(name, forageDataSource.dataSource());
+                        registeredObjectStores.add(name);
+                    }
+                    bind(name, withReplicas(dsFactoryConfig, name, forageDataSource.dataSource()));
                     createAggregationRepository(dsFactoryConfig, forageDataSource.dataSource());
                     createIdempotentRepository(
                             dsFactoryConfig, forageDataSource.dataSource(), forageDataSource.forageIdRepository());
+                    boundRepositories.put(name, repositoryNames(dsFactoryConfig));
                 }
             }
         } else {
             try {
-                if (camelContext.getRegistry().lookupByNameAndType("dataSource", DataSource.class) == null) {
+                if (lookup("dataSource", DataSource.class) == null) {
                     final List<ServiceLoader.Provider<DataSourceProvider>> providers =
                             findProviders(DataSourceProvider.class);
                     if (providers.size() == 1) {
                         ForageDataSource forageDataSource = doCreateDataSource(providers.get(0), null);
-                        camelContext.getRegistry().bind(DEFAULT_DATASOURCE, forageDataSource.dataSource());
+                        bind(DEFAULT_DATASOURCE, forageDataSource.dataSource());
                         createAggregationRepository(config, forageDataSource.dataSource());
                         createIdempotentRepository(
                                 config, forageDataSource.dataSource(), forageDataSource.forageIdRepository());
+                        boundRepositories.put(DEFAULT_DATASOURCE, repositoryNames(config));
                     } else {
                         throw new IllegalArgumentException("No dataSource implementation is present in the classpath");
                     }
@@ -219,6 +372,85 @@ public class DataSourceBeanFactory implements BeanFactory {
         }
     }
 
+    /**
+     * Wraps the pool of a DataSource declaring {@code forage.<name>.jdbc.replicas} in a
+     * {@link ReplicaRoutingDataSource}. Replicas are the DataSources of those names, created here if they
+     * are not bound yet; repositories keep using the primary pool.
+     */
+    private DataSource withReplicas(DataSourceFactoryConfig dsFactoryConfig, String name, DataSource primary) {
+        List<String> replicaNames = dsFactoryConfig.replicas();
+        if (replicaNames.isEmpty()) {
+            return primary;
+        }
+        List<DataSource> replicas = new ArrayList<>(replicaNames.size());
+        for (String replica : replicaNames) {
+            DataSource dataSource = lookup(replica, DataSource.class);
+            if (dataSource == null) {
+                dataSource = newDataSource(new DataSourceFactoryConfig(replica), replica)
+                        .dataSource();
+                bind(replica, dataSource);
+                boundRepositories.put(replica, List.of());
+            }
+            replicas.add(dataSource);
+        }
+        replicaRoutes.put(name, replicaNames);
+        if (!readOnlyHeaderSupported) {
+            synchronized (camelContext.getRegistry()) {
+                camelContext.getCamelContextExtension().addInterceptStrategy(new ReadOnlyHeaderInterceptStrategy());
+            }
+            readOnlyHeaderSupported = true;
+        }
+        ReplicaRoutingDataSource.Balancing balancing =
+                ReplicaRoutingDataSource.Balancing.of(dsFactoryConfig.replicasBalancing());
+        LOG.info("Routing read-only connections of DataSource {} to replicas {} ({})", name, replicaNames, balancing);
+        return new ReplicaRoutingDataSource(name, primary, replicas, balancing);
+    }
+
+    /**
+     * Binds a supplier building the DataSource, and its idempotent repository, on first lookup.
+     * XA DataSources are always created eagerly: they must be registered for crash recovery at
+     * startup, and aggregation repositories require transactions.
+     */
+    private void bindLazy(DataSourceFactoryConfig dsFactoryConfig, String name) {
+        LazyBean<ForageDataSource> lazy = new LazyBean<>(() -> newDataSource(dsFactoryConfig, name));
+        lazyDataSources.put(name, lazy);
+        bind(name, DataSource.class, () -> lazy.get().dataSource());
+        if (dsFactoryConfig.enableIdempotentRepository()) {
+            bind(
+                    dsFactoryConfig.idempotentRepositoryTableName(),
+                    ForageJdbcMessageIdRepository.class,
+                    () -> new ForageJdbcMessageIdRepository(
+                            dsFactoryConfig, lazy.get().dataSource(), lazy.get().forageIdRepository()));
+        }
+        boundRepositories.put(name, repositoryNames(dsFactoryConfig));
+        LOG.debug("Bound lazy DataSource {}", name);
+    }
+
+    /**
+     * Returns the names of the DataSources holding the JDBC object store of a transactional DataSource.
+     */
+    private static Set<String> objectStoreDataSources(DataSourceFactoryConfig defaultConfig, Set<String> prefixes) {
+        Set<String> names = new HashSet<>();
+        List<DataSourceFactoryConfig> configs = new ArrayList<>();
+        configs.add(defaultConfig);
+        prefixes.forEach(prefix -> configs.add(new DataSourceFactoryConfig(prefix)));
+        for (DataSourceFactoryConfig dsFactoryConfig : configs) {
+            if (dsFactoryConfig.transactionEnabled()
+                    && "jdbc".equalsIgnoreCase(dsFactoryConfig.transactionObjectStoreType())
+                    && dsFactoryConfig.transactionObjectStoreDataSource() != null) {
+                names.add(dsFactoryConfig.transactionObjectStoreDataSource());
+            }
+        }
+        return names;
+    }
+
+    private static boolean anyInstrumentationEnabled(DataSourceFactoryConfig defaultConfig, Set<String> prefixes) {
+        if (defaultConfig.instrumentationEnabled()) {
+            return true;
+        }
+        return prefixes.stream().anyMatch(p -> new DataSourceFactoryConfig(p).instrumentationEnabled());
+    }
+
     private static boolean anyTransactionEnabled(DataSourceFactoryConfig defaultConfig, Set<String> prefixes) {
         if (defaultConfig.transactionEnabled()) {
             return true;
@@ -232,7 +464,7 @@ public class DataSourceBeanFactory implements BeanFactory {
             ForageJdbcMessageIdRepository forageJdbcMessageIdRepository =
                     new ForageJdbcMessageIdRepository(config, agroalDataSource, forageIdRepository);
 
-            camelContext.getRegistry().bind(config.idempotentRepositoryTableName(), forageJdbcMessageIdRepository);
+            bind(config.idempotentRepositoryTableName(), forageJdbcMessageIdRepository);
         }
     }
 
@@ -242,14 +474,12 @@ public class DataSourceBeanFactory implements BeanFactory {
             return;
         }
         if (dsFactoryConfig.aggregationRepositoryName() != null) {
-            camelContext
-                    .getRegistry()
-                    .bind(
-                            dsFactoryConfig.aggregationRepositoryName(),
-                            new ForageAggregationRepository(
-                                    agroalDataSource,
-                                    com.arjuna.ats.jta.TransactionManager.transactionManager(),
-                                    dsFactoryConfig));
+            bind(
+                    dsFactoryConfig.aggregationRepositoryName(),
+                    new ForageAggregationRepository(
+                            agroalDataSource,
+                            com.arjuna.ats.jta.TransactionManager.transactionManager(),
+                            dsFactoryConfig));
         }
     }
 
@@ -258,13 +488,11 @@ public class DataSourceBeanFactory implements BeanFactory {
                 DataSourceCommonExportHelper.transformDbKindIntoProviderClass(dataSourceFactoryConfig.dbKind());
         LOG.info("Creating DataSource of type {}", dataSourceProviderClass);
 
-        final List<ServiceLoader.Provider<DataSourceProvider>> providers = findProviders(DataSourceProvider.class);
-
         final ServiceLoader.Provider<DataSourceProvider> dataSourceProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, dataSourceProviderClass);
+                findProvider(DataSourceProvider.class, dataSourceProviderClass);
 
         if (dataSourceProvider == null) {
-            String available = providers.stream()
+            String available = findProviders(DataSourceProvider.class).stream()
                     .map(p -> p.type().getName())
                     .reduce((a, b) -> a + ", " + b)
                     .orElse("none");
@@ -282,7 +510,17 @@ public class DataSourceBeanFactory implements BeanFactory {
         if (dataSourceProvider instanceof ForageIdRepository forageIdRepo) {
             forageIdRepository = forageIdRepo;
         }
-        return new ForageDataSource(dataSourceProvider.create(name), forageIdRepository);
+        DataSource dataSource = dataSourceProvider.create(name);
+        String beanName = name != null ? name : DEFAULT_DATASOURCE;
+        String poolKey = null;
+        if (dataSourceProvider instanceof PooledDataSource pooled) {
+            poolKey = pooled.getPoolKey();
+            poolKeys.put(beanName, poolKey);
+        }
+        synchronized (camelContext.getRegistry()) {
+            poolMetrics.put(beanName, PoolMetrics.bind(camelContext, beanName, poolKey, dataSource));
+        }
+        return new ForageDataSource(dataSource, forageIdRepository);
     }
 
     @Override
@@ -0,0 +1,137 @@
+package io.kaoto.forage.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.aggregation.ForageAggregationRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aggregates the same messages through H2 aggregation repositories storing exchanges with Java
+ * serialization and with the binary codec. {@code AggregationCodecBenchmark} compares their speed.
+ */
+class AggregationRepositoryCodecTest {
+
+    private static final int GROUPS = 10;
+    private static final int GROUP_SIZE = 10;
+    private static final String BODY = "x".repeat(1024);
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder properties = new StringBuilder();
+        for (String codec : new String[] {"java", "binary"}) {
+            properties.append("""
+                    forage.%1$s.jdbc.db.kind=h2
+                    forage.%1$s.jdbc.url=jdbc:h2:mem:aggregation_%1$s
+                    forage.%1$s.jdbc.username=sa
+                    forage.%1$s.jdbc.password=sa
+                    forage.%1$s.jdbc.aggregation.repository.name=aggregation_%1$s
+                    forage.%1$s.jdbc.aggregation.repository.codec=%1$s
+                    """.formatted(codec));
+        }
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), properties);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+    }
+
+    @AfterEach
+    void tearDown() {
+        AgroalDataSource java = camelContext.getRegistry().lookupByNameAndType("java", AgroalDataSource.class);
+        AgroalDataSource binary = camelContext.getRegistry().lookupByNameAndType("binary", AgroalDataSource.class);
+        camelContext.close();
+        java.close();
+        binary.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void bothCodecsCompleteAggregates() throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                for (String codec : new String[] {"java", "binary"}) {
+                    from("direct:" + codec)
+                            .aggregate(header("group"), concatenate())
+                            .aggregationRepository(repository(codec))
+                            .completionSize(GROUP_SIZE)
+                            .to("mock:" + codec);
+                }
+            }
+        });
+        camelContext.start();
+
+        aggregate("java");
+        aggregate("binary");
+    }
+
+    private void aggregate(String codec) throws InterruptedException {
+        MockEndpoint mock = camelContext.getEndpoint("mock:" + codec, MockEndpoint.class);
+        mock.expectedMessageCount(GROUPS);
+
+        ProducerTemplate producer = camelContext.createProducerTemplate();
+        for (int group = 0; group < GROUPS; group++) {
+            for (int i = 0; i < GROUP_SIZE; i++) {
+                producer.sendBodyAndHeader("direct:" + codec, BODY, "group", codec + "-" + group);
+            }
+        }
+        mock.assertIsSatisfied(TimeUnit.SECONDS.toMillis(30));
+
+        assertThat(mock.getExchanges())
+                .allSatisfy(exchange -> assertThat(exchange.getMessage().getBody(String.class))
+                        .hasSize(BODY.length() * GROUP_SIZE));
+    }
+
+    private ForageAggregationRepository repository(String codec) {
+        AgroalDataSource dataSource = camelContext.getRegistry().lookupByNameAndType(codec, AgroalDataSource.class);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        for (String table : new String[] {"aggregation_" + codec, "aggregation_" + codec + "_completed"}) {
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + table
+                    + " (id VARCHAR(255) NOT NULL, exchange BLOB NOT NULL, version BIGINT NOT NULL,"
+                    + " CONSTRAINT " + table + "_pk PRIMARY KEY (id))");
+        }
+        return new ForageAggregationRepository(
+                dataSource,
+                com.arjuna.ats.jta.TransactionManager.transactionManager(),
+                new DataSourceFactoryConfig(codec));
+    }
+
+    private static AggregationStrategy concatenate() {
+        return (oldExchange, newExchange) -> {
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            oldExchange
+                    .getMessage()
+                    .setBody(oldExchange.getMessage().getBody(String.class)
+                            + newExchange.getMessage().getBody(String.class));
+            return oldExchange;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package io.kaoto.forage.jdbc;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.jdbc.JdbcCamelCodec;
+import org.apache.camel.support.DefaultExchange;
+import io.kaoto.forage.jdbc.common.aggregation.BinaryAggregationCodec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryAggregationCodecTest {
+
+    private final CamelContext camelContext = new DefaultCamelContext();
+
+    @AfterEach
+    void tearDown() {
+        camelContext.close();
+    }
+
+    @Test
+    void bodyHeadersAndPropertiesRoundTrip() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody("payload");
+        exchange.getMessage().setHeader("string", "value");
+        exchange.getMessage().setHeader("int", 42);
+        exchange.getMessage().setHeader("long", 42L);
+        exchange.getMessage().setHeader("decimal", new BigDecimal("1.50"));
+        exchange.getMessage().setHeader("date", new Date(1000));
+        exchange.getMessage().setHeader("bytes", new byte[] {1, 2});
+        exchange.getMessage().setHeader("object", new Object());
+        exchange.setProperty("custom", true);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, 3);
+
+        Exchange decoded = roundTrip(new BinaryAggregationCodec(), exchange, false);
+
+        assertThat(decoded.getExchangeId()).isEqualTo(exchange.getExchangeId());
+        assertThat(decoded.getMessage().getBody()).isEqualTo("payload");
+        assertThat(decoded.getMessage().getHeaders())
+                .containsEntry("string", "value")
+                .containsEntry("int", 42)
+                .containsEntry("long", 42L)
+                .containsEntry("decimal", new BigDecimal("1.50"))
+                .containsEntry("date", new Date(1000))
+                .doesNotContainKey("object");
+        assertThat(decoded.getMessage().getHeader("bytes", byte[].class)).containsExactly(1, 2);
+        assertThat(decoded.getProperty("custom")).isEqualTo(true);
+        assertThat(decoded.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, Integer.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void serializableValuesNeedSerializedHeadersExceptForTheBody() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody(List.of("a", "b"));
+        exchange.getMessage().setHeader("list", List.of(1, 2));
+
+        BinaryAggregationCodec codec = new BinaryAggregationCodec();
+        assertThat(roundTrip(codec, exchange, false).getMessage().getHeaders()).doesNotContainKey("list");
+
+        Exchange decoded = roundTrip(codec, exchange, true);
+        assertThat(decoded.getMessage().getBody()).isEqualTo(List.of("a", "b"));
+        assertThat(decoded.getMessage().getHeader("list")).isEqualTo(List.of(1, 2));
+    }
+
+    @Test
+    void deflateShrinksLargeBodies() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody("0123456789".repeat(6_554));
+
+        byte[] plain = new BinaryAggregationCodec().encode(exchange, false);
+        BinaryAggregationCodec deflating = new BinaryAggregationCodec(BinaryAggregationCodec.Compression.DEFLATE);
+        byte[] deflated = deflating.encode(exchange, false);
+
+        assertThat(deflated.length).isLessThan(plain.length / 10);
+        assertThat(deflating.decode(camelContext, deflated, null).getMessage().getBody())
+                .isEqualTo(exchange.getMessage().getBody());
+    }
+
+    @Test
+    void exchangesWrittenWithJavaSerializationAreDecoded() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getMessage().setBody("payload");
+        exchange.getMessage().setHeader("string", "value");
+        exchange.setProperty(ExchangePropertyKey.AGGREGATED_SIZE, 3);
+        byte[] stored = new JdbcCamelCodec().marshallExchange(exchange, false);
+
+        Exchange decoded = new BinaryAggregationCodec().decode(camelContext, stored, null);
+
+        assertThat(decoded.getExchangeId()).isEqualTo(exchange.getExchangeId());
+        assertThat(decoded.getMessage().getBody()).isEqualTo("payload");
+        assertThat(decoded.getMessage().getHeaders()).containsEntry("string", "value");
+        assertThat(decoded.getProperty(ExchangePropertyKey.AGGREGATED_SIZE, Integer.class))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void foreignDataIsRejected() {
+        assertThatThrownBy(() -> new BinaryAggregationCodec().decode(camelContext, new byte[] {0, 1, 2}, null))
+                .isInstanceOf(IOException.class);
+    }
+
+    private Exchange roundTrip(BinaryAggregationCodec codec, Exchange exchange, boolean allowSerializedHeaders)
+            throws Exception {
+        return codec.decode(camelContext, codec.encode(exchange, allowSerializedHeaders), null);
+    }
+}
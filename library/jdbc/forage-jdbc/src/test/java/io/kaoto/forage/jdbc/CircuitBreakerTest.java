@@ -0,0 +1,213 @@
+package io.kaoto.forage.jdbc;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.hsqldb.server.Server;
+import org.hsqldb.server.ServerConstants;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.breaker.CircuitBreakerDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Queries an HSQLDB server from several threads, stops the server under that load and checks that the
+ * circuit breaker keeps the callers from waiting out the acquisition timeout on every request, then
+ * closes again once the server is back, and that connections failing validation open it too and are
+ * evicted.
+ */
+class CircuitBreakerTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 20;
+    private static final int COOL_DOWN_MILLIS = 1000;
+
+    @TempDir
+    Path configDir;
+
+    private int port;
+    private Server server;
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = startServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (camelContext != null) {
+            AgroalDataSource pool = pool();
+            camelContext.close();
+            pool.close();
+        }
+        if (server.getState() == ServerConstants.SERVER_STATE_ONLINE) {
+            server.stop();
+        }
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void openBreakerBoundsWaitingWhileDatabaseIsDown() throws Exception {
+        configure(true);
+        CircuitBreakerDataSource breaker = pool().unwrap(CircuitBreakerDataSource.class);
+        assertThat(query()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.CLOSED);
+
+        server.stop();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Long>> callers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            callers.add(executor.submit(() -> {
+                long longestWait = 0;
+                for (int request = 0; request < REQUESTS; request++) {
+                    long requested = System.nanoTime();
+                    try {
+                        query();
+                    } catch (SQLException expected) {
+                        // the database is down
+                    }
+                    longestWait = Math.max(longestWait, System.nanoTime() - requested);
+                }
+                return longestWait;
+            }));
+        }
+        for (Future<Long> caller : callers) {
+            // bounded by one acquisition timeout, plus probes once the cool-down has passed
+            assertThat(TimeUnit.NANOSECONDS.toSeconds(caller.get(30, TimeUnit.SECONDS)))
+                    .isLessThanOrEqualTo(3);
+        }
+        executor.shutdown();
+
+        // without the breaker, each caller could wait out the 2 s acquisition timeout on all its requests
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(10);
+        assertThat(breaker.rejectedCount()).isPositive();
+        assertThat(breaker.state()).isNotEqualTo(CircuitBreakerDataSource.State.CLOSED);
+        assertThatThrownBy(this::query).isInstanceOf(SQLException.class);
+    }
+
+    @Test
+    void breakerClosesOnceTheProbeSucceeds() throws Exception {
+        configure(true);
+        CircuitBreakerDataSource breaker = pool().unwrap(CircuitBreakerDataSource.class);
+        server.stop();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(this::query).isInstanceOf(SQLException.class);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.OPEN);
+        assertThatThrownBy(this::query).isInstanceOf(SQLTransientConnectionException.class);
+
+        server = startServer();
+        Thread.sleep(COOL_DOWN_MILLIS + 100);
+
+        assertThat(query()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.CLOSED);
+    }
+
+    @Test
+    void connectionsFailingValidationOpenTheBreaker() throws Exception {
+        configure(false);
+        CircuitBreakerDataSource breaker = pool().unwrap(CircuitBreakerDataSource.class);
+        assertThat(query()).isTrue();
+
+        // the pool keeps handing out its connections to the stopped server, which fail the test query
+        server.stop();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> pool().getConnection()).isInstanceOf(SQLException.class);
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.OPEN);
+        assertThatThrownBy(() -> pool().getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void breakerClosesOnceTheServerIsBackWithoutValidationOnBorrow() throws Exception {
+        configure(false);
+        CircuitBreakerDataSource breaker = pool().unwrap(CircuitBreakerDataSource.class);
+        assertThat(query()).isTrue();
+        server.stop();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> pool().getConnection()).isInstanceOf(SQLException.class);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.OPEN);
+
+        server = startServer();
+        Thread.sleep(COOL_DOWN_MILLIS + 100);
+
+        // the connections to the stopped server were evicted, so the probe borrows a new one
+        assertThat(query()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerDataSource.State.CLOSED);
+    }
+
+    private void configure(boolean validateOnBorrow) throws IOException {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.flaky.jdbc.db.kind=hsqldb
+                forage.flaky.jdbc.url=jdbc:hsqldb:hsql://localhost:%d/flaky
+                forage.flaky.jdbc.username=SA
+                forage.flaky.jdbc.password=
+                forage.flaky.jdbc.pool.initial.size=%2$d
+                forage.flaky.jdbc.pool.min.size=%2$d
+                forage.flaky.jdbc.pool.max.size=%2$d
+                forage.flaky.jdbc.pool.acquisition.timeout.seconds=2
+                forage.flaky.jdbc.pool.validate.on.borrow=%4$b
+                forage.flaky.jdbc.pool.circuit.breaker.enabled=true
+                forage.flaky.jdbc.pool.circuit.breaker.failure.threshold=3
+                forage.flaky.jdbc.pool.circuit.breaker.cool.down.millis=%3$d
+                """.formatted(port, THREADS, COOL_DOWN_MILLIS, validateOnBorrow));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+    }
+
+    private boolean query() throws SQLException {
+        try (Connection connection = pool().getConnection();
+                Statement statement = connection.createStatement()) {
+            return statement.execute("VALUES (1)");
+        }
+    }
+
+    private AgroalDataSource pool() {
+        return camelContext.getRegistry().lookupByNameAndType("flaky", AgroalDataSource.class);
+    }
+
+    private Server startServer() {
+        Server hsqldb = new Server();
+        hsqldb.setDatabaseName(0, "flaky");
+        hsqldb.setDatabasePath(0, "mem:flaky");
+        hsqldb.setPort(port);
+        hsqldb.setSilent(true);
+        hsqldb.setLogWriter(null);
+        hsqldb.setErrWriter(null);
+        hsqldb.start();
+        return hsqldb;
+    }
+}
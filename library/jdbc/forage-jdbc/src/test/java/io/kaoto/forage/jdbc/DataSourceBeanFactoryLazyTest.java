@@ -0,0 +1,144 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that with {@code forage.<name>.jdbc.lazy=true} the Agroal pools are only created for the
+ * DataSources a route actually looks up. Every DataSource connects to the same H2 database, whose
+ * {@code INIT} records the DataSource name on each physical connection opened.
+ */
+class DataSourceBeanFactoryLazyTest {
+
+    private static final int DATASOURCES = 200;
+    private static final String DATABASE = "jdbc:h2:mem:lazy;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path configDir;
+
+    private Connection database;
+    private CamelContext camelContext;
+    private DataSourceBeanFactory factory;
+    private final List<DataSource> lookedUp = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        database = DriverManager.getConnection(DATABASE, "sa", "sa");
+        try (Statement statement = database.createStatement()) {
+            statement.execute("CREATE TABLE opened (name VARCHAR(32))");
+        }
+
+        StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < DATASOURCES; i++) {
+            String prefix = "forage.lazy" + i + ".jdbc";
+            properties.append(prefix).append(".db.kind=h2\n");
+            properties
+                    .append(prefix)
+                    .append(".url=")
+                    .append(DATABASE)
+                    .append(";INIT=INSERT INTO opened VALUES('lazy")
+                    .append(i)
+                    .append("')\n");
+            properties.append(prefix).append(".username=sa\n");
+            properties.append(prefix).append(".password=sa\n");
+            properties.append(prefix).append(".lazy=true\n");
+        }
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), properties);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (DataSource dataSource : lookedUp) {
+            if (dataSource instanceof AgroalDataSource pool) {
+                pool.close();
+            }
+        }
+        try (Statement statement = database.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        database.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void onlyLookedUpDataSourcesArePooled() throws SQLException {
+        factory.configure();
+        assertThat(openedBy()).isEmpty();
+
+        DataSource first = lookup("lazy7");
+        DataSource second = lookup("lazy42");
+        try (Connection connection = first.getConnection();
+                Connection other = second.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            assertThat(other.isValid(1)).isTrue();
+        }
+
+        assertThat(first).isInstanceOf(AgroalDataSource.class);
+        assertThat(second).isInstanceOf(AgroalDataSource.class);
+        assertThat(lookup("lazy7")).isSameAs(first);
+        assertThat(openedBy()).containsExactlyInAnyOrder("lazy7", "lazy42");
+    }
+
+    @Test
+    void configureAgainKeepsLazyDataSourcesUnbuilt() throws SQLException {
+        factory.configure();
+        DataSource first = lookup("lazy1");
+        try (Connection connection = first.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+
+        factory.configure();
+
+        assertThat(lookup("lazy1")).isSameAs(first);
+        assertThat(openedBy()).containsExactly("lazy1");
+    }
+
+    private DataSource lookup(String name) {
+        DataSource dataSource = camelContext.getRegistry().lookupByNameAndType(name, DataSource.class);
+        lookedUp.add(dataSource);
+        return dataSource;
+    }
+
+    /**
+     * Returns the names of the DataSources that opened a physical connection to the database.
+     */
+    private Set<String> openedBy() throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (Statement statement = database.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT DISTINCT name FROM opened")) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,129 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.ForageContextServicePlugin;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a hot-reload recreates only the DataSources whose configuration changed, so the
+ * Agroal pool of an untouched prefix keeps its identity. The configuration is written to a temporary
+ * {@code forage.config.dir}, which takes precedence over the test classpath's properties file.
+ */
+class DataSourceBeanFactoryReloadTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+    private ForageContextServicePlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+        camelContext = new DefaultCamelContext();
+        plugin = new ForageContextServicePlugin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String name : new String[] {"ds1", "ds2", "ds3"}) {
+            if (camelContext.getRegistry().lookupByName(name) instanceof AgroalDataSource pool) {
+                pool.close();
+            }
+        }
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void unrelatedChangeKeepsAgroalPool() throws IOException {
+        writeConfig(20);
+        plugin.load(camelContext);
+
+        DataSource ds1 = lookup("ds1");
+        DataSource ds2 = lookup("ds2");
+        assertThat(ds1).isInstanceOf(AgroalDataSource.class);
+
+        writeConfig(21);
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("ds1"))
+                .as("ds1 has no changed key and must keep its pool")
+                .isSameAs(ds1);
+        assertThat(lookup("ds2"))
+                .as("ds2 changed its pool size and must be recreated")
+                .isInstanceOf(AgroalDataSource.class)
+                .isNotSameAs(ds2);
+        ((AgroalDataSource) ds2).close();
+    }
+
+    @Test
+    void unchangedConfigurationKeepsAllPools() throws IOException {
+        writeConfig(20);
+        plugin.load(camelContext);
+
+        DataSource ds1 = lookup("ds1");
+        DataSource ds2 = lookup("ds2");
+
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("ds1")).isSameAs(ds1);
+        assertThat(lookup("ds2")).isSameAs(ds2);
+    }
+
+    @Test
+    void addedPrefixIsBound() throws IOException {
+        writeConfig(20);
+        plugin.load(camelContext);
+        DataSource ds1 = lookup("ds1");
+        assertThat(lookup("ds3")).isNull();
+
+        Files.writeString(
+                configDir.resolve("forage-datasource-factory.properties"),
+                """
+                forage.ds3.jdbc.db.kind=h2
+                forage.ds3.jdbc.url=jdbc:h2:mem:reload-ds3
+                forage.ds3.jdbc.username=sa
+                forage.ds3.jdbc.password=sa
+                """,
+                StandardOpenOption.APPEND);
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("ds3")).isInstanceOf(AgroalDataSource.class);
+        assertThat(lookup("ds1")).isSameAs(ds1);
+    }
+
+    private DataSource lookup(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, DataSource.class);
+    }
+
+    private void writeConfig(int ds2MaxSize) throws IOException {
+        String properties = """
+                forage.ds1.jdbc.db.kind=h2
+                forage.ds1.jdbc.url=jdbc:h2:mem:reload-ds1
+                forage.ds1.jdbc.username=sa
+                forage.ds1.jdbc.password=sa
+                forage.ds2.jdbc.db.kind=h2
+                forage.ds2.jdbc.url=jdbc:h2:mem:reload-ds2
+                forage.ds2.jdbc.username=sa
+                forage.ds2.jdbc.password=sa
+                forage.ds2.jdbc.pool.max.size=%d
+                """.formatted(ds2MaxSize);
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), properties);
+    }
+}
@@ -0,0 +1,129 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saturates a two-connection H2 pool and checks that its Agroal metrics are published to the
+ * {@link MeterRegistry} found in the Camel registry.
+ */
+class DataSourcePoolMetricsTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+    private MeterRegistry meterRegistry;
+    private DataSourceBeanFactory factory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.pool1.jdbc.db.kind=h2
+                forage.pool1.jdbc.url=jdbc:h2:mem:pool1
+                forage.pool1.jdbc.username=sa
+                forage.pool1.jdbc.password=sa
+                forage.pool1.jdbc.pool.initial.size=0
+                forage.pool1.jdbc.pool.min.size=0
+                forage.pool1.jdbc.pool.max.size=2
+                forage.pool1.jdbc.pool.acquisition.timeout.seconds=10
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        meterRegistry = new SimpleMeterRegistry();
+        camelContext.getRegistry().bind("meterRegistry", meterRegistry);
+        factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (camelContext.getRegistry().lookupByName("pool1") instanceof AgroalDataSource pool) {
+            pool.close();
+        }
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void awaitingGaugeAndBlockingTimerMoveWhenPoolIsSaturated() throws Exception {
+        DataSource dataSource = camelContext.getRegistry().lookupByNameAndType("pool1", DataSource.class);
+
+        CompletableFuture<Void> waiter;
+        try (Connection first = dataSource.getConnection();
+                Connection second = dataSource.getConnection()) {
+            assertThat(gauge("active")).isEqualTo(2);
+
+            waiter = CompletableFuture.runAsync(() -> {
+                try (Connection third = dataSource.getConnection()) {
+                    third.isValid(1);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (gauge("awaiting") < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(gauge("awaiting")).isEqualTo(1);
+            Thread.sleep(100);
+        }
+        waiter.get(5, TimeUnit.SECONDS);
+
+        FunctionTimer acquire = meterRegistry
+                .get("forage.jdbc.pool.acquire")
+                .tag("datasource", "pool1")
+                .functionTimer();
+        assertThat(acquire.count()).isGreaterThanOrEqualTo(3);
+        assertThat(acquire.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+        assertThat(gauge("awaiting")).isZero();
+        assertThat(gauge("max.used")).isEqualTo(2);
+        assertThat(meterRegistry
+                        .get("forage.jdbc.pool.acquire.max")
+                        .tag("datasource", "pool1")
+                        .timeGauge()
+                        .value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void metersAreRemovedWhenDataSourceIsUnbound() {
+        AgroalDataSource pool = camelContext.getRegistry().lookupByNameAndType("pool1", AgroalDataSource.class);
+        assertThat(meterRegistry.find("forage.jdbc.pool.active").gauges()).hasSize(1);
+
+        factory.cleanup();
+        pool.close();
+
+        assertThat(meterRegistry.find("forage.jdbc.pool.active").gauges()).isEmpty();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry
+                .get("forage.jdbc.pool." + name)
+                .tag("datasource", "pool1")
+                .gauge()
+                .value();
+    }
+}
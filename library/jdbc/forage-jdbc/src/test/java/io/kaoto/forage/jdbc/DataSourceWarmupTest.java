@@ -0,0 +1,89 @@
+package io.kaoto.forage.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that with {@code forage.<name>.jdbc.pool.warmup.enabled=true} the pool holds
+ * {@code min.size} validated connections when the DataSource is bound.
+ */
+class DataSourceWarmupTest {
+
+    @TempDir
+    Path configDir;
+
+    private AgroalDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void poolIsFilledWithWarmedUpConnections() throws IOException, SQLException {
+        configure("""
+                forage.warm.jdbc.pool.warmup.enabled=true
+                forage.warm.jdbc.pool.warmup.sql=CREATE TABLE IF NOT EXISTS warmup(id INT); INSERT INTO warmup VALUES (1)
+                """);
+
+        assertThat(dataSource.getMetrics().availableCount()).isEqualTo(4);
+        assertThat(dataSource.getMetrics().activeCount()).isZero();
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM warmup")) {
+            rows.next();
+            assertThat(rows.getInt(1)).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void failingWarmupSqlLeavesPoolUsable() throws IOException, SQLException {
+        configure("""
+                forage.warm.jdbc.pool.warmup.enabled=true
+                forage.warm.jdbc.pool.warmup.sql=SELECT * FROM missing_table
+                """);
+
+        assertThat(dataSource.getMetrics().activeCount()).isZero();
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+
+    private void configure(String warmup) throws IOException {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.warm.jdbc.db.kind=h2
+                forage.warm.jdbc.url=jdbc:h2:mem:warm
+                forage.warm.jdbc.username=sa
+                forage.warm.jdbc.password=sa
+                forage.warm.jdbc.pool.initial.size=0
+                forage.warm.jdbc.pool.min.size=4
+                forage.warm.jdbc.pool.max.size=8
+                """ + warmup);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("warm", AgroalDataSource.class);
+    }
+}
@@ -0,0 +1,124 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two near-cached idempotent repositories against one H2 table, as two nodes would, and checks
+ * that each message ID is accepted exactly once.
+ */
+class IdempotentNearCacheTest {
+
+    @TempDir
+    Path configDir;
+
+    private AgroalDataSource dataSource;
+    private DataSourceFactoryConfig config;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.ids.jdbc.db.kind=h2
+                forage.ids.jdbc.url=jdbc:h2:mem:ids
+                forage.ids.jdbc.username=sa
+                forage.ids.jdbc.password=sa
+                forage.ids.jdbc.idempotent.repository.cache.enabled=true
+                forage.ids.jdbc.idempotent.repository.cache.size=2
+                forage.ids.jdbc.idempotent.repository.cache.expected.keys=1000
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("ids", AgroalDataSource.class);
+        config = new DataSourceFactoryConfig("ids");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void idStoredByOneNodeIsRejectedByTheOther() {
+        ForageJdbcMessageIdRepository first = start(dataSource);
+        ForageJdbcMessageIdRepository second = start(dataSource);
+
+        assertThat(first.add("a")).isTrue();
+        assertThat(first.add("a")).isFalse();
+        assertThat(first.contains("a")).isTrue();
+
+        assertThat(second.add("a")).isFalse();
+        assertThat(second.contains("a")).isTrue();
+        assertThat(second.add("b")).isTrue();
+        assertThat(first.add("b")).isFalse();
+    }
+
+    @Test
+    void containsSeesIdsStoredByTheOtherNodeAfterStart() {
+        ForageJdbcMessageIdRepository first = start(dataSource);
+        ForageJdbcMessageIdRepository second = start(dataSource);
+
+        assertThat(first.add("c")).isTrue();
+
+        assertThat(second.contains("c")).isTrue();
+        assertThat(second.contains("d")).isFalse();
+    }
+
+    @Test
+    void idsStoredBeforeStartAreLoaded() {
+        ForageJdbcMessageIdRepository first = start(dataSource);
+        for (String id : new String[] {"a", "b", "c"}) {
+            first.add(id);
+        }
+
+        ForageJdbcMessageIdRepository restarted = start(dataSource);
+        assertThat(restarted.contains("a")).isTrue();
+        assertThat(restarted.contains("c")).isTrue();
+        assertThat(restarted.contains("d")).isFalse();
+        assertThat(restarted.add("a")).isFalse();
+    }
+
+    @Test
+    void removedAndClearedIdsCanBeAddedAgain() {
+        ForageJdbcMessageIdRepository repository = start(dataSource);
+        repository.add("a");
+        repository.add("b");
+
+        assertThat(repository.remove("a")).isTrue();
+        assertThat(repository.contains("a")).isFalse();
+        assertThat(repository.add("a")).isTrue();
+
+        repository.clear();
+        assertThat(repository.contains("b")).isFalse();
+        assertThat(repository.add("b")).isTrue();
+    }
+
+    private ForageJdbcMessageIdRepository start(DataSource dataSource) {
+        ForageJdbcMessageIdRepository repository =
+                new ForageJdbcMessageIdRepository(config, dataSource, new ForageIdRepository() {});
+        repository.start();
+        return repository;
+    }
+}
@@ -0,0 +1,96 @@
+package io.kaoto.forage.jdbc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a write-behind idempotent repository reports pending IDs as duplicates and stores them in
+ * batches on H2.
+ */
+class IdempotentWriteBehindTest {
+
+    @TempDir
+    Path configDir;
+
+    private AgroalDataSource dataSource;
+    private ForageJdbcMessageIdRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.behind.jdbc.db.kind=h2
+                forage.behind.jdbc.url=jdbc:h2:mem:behind
+                forage.behind.jdbc.username=sa
+                forage.behind.jdbc.password=sa
+                forage.behind.jdbc.idempotent.repository.write.behind.enabled=true
+                forage.behind.jdbc.idempotent.repository.write.behind.batch.size=3
+                forage.behind.jdbc.idempotent.repository.write.behind.interval.millis=3600000
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        CamelContext camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        dataSource = camelContext.getRegistry().lookupByNameAndType("behind", AgroalDataSource.class);
+        repository = new ForageJdbcMessageIdRepository(
+                new DataSourceFactoryConfig("behind"), dataSource, new ForageIdRepository() {});
+        repository.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.stop();
+        dataSource.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void pendingIdsAreDuplicatesBeforeTheyAreStored() {
+        assertThat(repository.add("a")).isTrue();
+        assertThat(repository.add("b")).isTrue();
+        assertThat(stored()).isZero();
+
+        assertThat(repository.contains("a")).isTrue();
+        assertThat(repository.add("a")).isFalse();
+
+        assertThat(repository.add("c")).isTrue();
+        assertThat(stored()).isEqualTo(3);
+        assertThat(repository.add("a")).isFalse();
+    }
+
+    @Test
+    void stoppingStoresThePartialBatch() {
+        repository.add("a");
+        repository.add("b");
+        assertThat(repository.remove("b")).isTrue();
+
+        repository.stop();
+        assertThat(stored()).isEqualTo(1);
+        assertThat(repository.contains("a")).isTrue();
+        assertThat(repository.contains("b")).isFalse();
+    }
+
+    private int stored() {
+        return new JdbcTemplate(dataSource)
+                .queryForObject(
+                        "SELECT COUNT(*) FROM " + ForageJdbcMessageIdRepository.DEFAULT_TABLENAME, Integer.class);
+    }
+}
@@ -0,0 +1,176 @@
+package io.kaoto.forage.jdbc;
+
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import com.arjuna.ats.arjuna.recovery.RecoveryManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Commits a two-phase transaction over an H2 XA DataSource and a resource failing its commit, with the
+ * Narayana object store in a second H2 database, then lets recovery finish the commit from the stored log.
+ *
+ * <p>Narayana keeps its object store for the rest of the JVM, so the transaction log pool is left open and
+ * the test runs in a surefire execution of its own, leaving the default store to the other tests.
+ */
+class JdbcObjectStoreRecoveryTest {
+
+    private static final String LOG_TABLE = "forage_action_JBossTSTxTable";
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.orders.jdbc.db.kind=h2
+                forage.orders.jdbc.url=jdbc:h2:mem:object_store_orders;DB_CLOSE_DELAY=-1
+                forage.orders.jdbc.username=sa
+                forage.orders.jdbc.password=sa
+                forage.orders.jdbc.transaction.enabled=true
+                forage.orders.jdbc.transaction.enable.recovery=true
+                forage.orders.jdbc.transaction.recovery.period.seconds=3600
+                forage.orders.jdbc.transaction.recovery.backoff.seconds=1
+                forage.orders.jdbc.transaction.object.store.type=jdbc
+                forage.orders.jdbc.transaction.object.store.datasource=txlog
+                forage.orders.jdbc.transaction.object.store.create.table=true
+                forage.txlog.jdbc.db.kind=h2
+                forage.txlog.jdbc.url=jdbc:h2:mem:object_store_log;DB_CLOSE_DELAY=-1
+                forage.txlog.jdbc.username=sa
+                forage.txlog.jdbc.password=sa
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+
+        try (Connection connection = pool("orders").getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (id INT PRIMARY KEY)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        AgroalDataSource orders = pool("orders");
+        camelContext.close();
+        orders.close();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void recoveryCompletesCommitFromJdbcLog() throws Exception {
+        jakarta.transaction.TransactionManager transactionManager =
+                com.arjuna.ats.jta.TransactionManager.transactionManager();
+
+        FailingCommitResource.failCommit = true;
+        transactionManager.begin();
+        try (Connection connection = pool("orders").getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO orders VALUES (1)");
+        }
+        transactionManager.getTransaction().enlistResource(new FailingCommitResource());
+        transactionManager.commit();
+
+        assertThat(count(pool("orders"), "orders")).isEqualTo(1);
+        assertThat(count(pool("txlog"), LOG_TABLE)).isPositive();
+        assertThat(FailingCommitResource.commits).hasValue(0);
+
+        FailingCommitResource.failCommit = false;
+        RecoveryManager.manager().scan();
+
+        assertThat(FailingCommitResource.commits).hasValue(1);
+        assertThat(count(pool("txlog"), LOG_TABLE)).isZero();
+    }
+
+    private AgroalDataSource pool(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, AgroalDataSource.class);
+    }
+
+    private static int count(AgroalDataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    /**
+     * Resource asking for a retry of its commit until {@link #failCommit} is cleared. Narayana stores it
+     * serialized in the log and commits the restored copy during recovery.
+     */
+    static class FailingCommitResource implements XAResource, Serializable {
+        static volatile boolean failCommit;
+        static final AtomicInteger commits = new AtomicInteger();
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) throws XAException {
+            if (failCommit) {
+                throw new XAException(XAException.XA_RETRY);
+            }
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public int prepare(Xid xid) {
+            return XA_OK;
+        }
+
+        @Override
+        public void rollback(Xid xid) {}
+
+        @Override
+        public void start(Xid xid, int flags) {}
+
+        @Override
+        public void end(Xid xid, int flags) {}
+
+        @Override
+        public void forget(Xid xid) {}
+
+        @Override
+        public Xid[] recover(int flag) {
+            return new Xid[0];
+        }
+
+        @Override
+        public boolean isSameRM(XAResource other) {
+            return other == this;
+        }
+
+        @Override
+        public int getTransactionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) {
+            return false;
+        }
+    }
+}
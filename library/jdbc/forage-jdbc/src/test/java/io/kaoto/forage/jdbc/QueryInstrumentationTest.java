@@ -0,0 +1,170 @@
+package io.kaoto.forage.jdbc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.instrumentation.InstrumentedDriver;
+import io.kaoto.forage.jdbc.common.instrumentation.QueryInstrumentation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queries an instrumented H2 pool from a route and from plain JDBC code, and checks the statement, row and
+ * hold time histograms published to the {@link MeterRegistry} found in the Camel registry.
+ */
+class QueryInstrumentationTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+    private MeterRegistry meterRegistry;
+    private DataSourceBeanFactory factory;
+    private List<AgroalDataSource> pools;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.traced.jdbc.db.kind=h2
+                forage.traced.jdbc.url=jdbc:h2:mem:instrumentation_traced
+                forage.traced.jdbc.username=sa
+                forage.traced.jdbc.password=sa
+                forage.traced.jdbc.instrumentation.enabled=true
+                forage.traced.jdbc.instrumentation.slow.query.threshold.millis=0
+                forage.plain.jdbc.db.kind=h2
+                forage.plain.jdbc.url=jdbc:h2:mem:instrumentation_plain
+                forage.plain.jdbc.username=sa
+                forage.plain.jdbc.password=sa
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        meterRegistry = new SimpleMeterRegistry();
+        camelContext.getRegistry().bind("meterRegistry", meterRegistry);
+        factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        pools = List.of(pool("traced"), pool("plain"));
+
+        try (Connection connection = pool("traced").getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(16))");
+            statement.execute("INSERT INTO item VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.close();
+        pools.forEach(AgroalDataSource::close);
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void routeQueriesAreTaggedWithTheRoute() throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:items").routeId("items").to("sql:SELECT name FROM item?dataSource=#traced");
+            }
+        });
+        camelContext.start();
+        ProducerTemplate template = camelContext.createProducerTemplate();
+
+        template.requestBody("direct:items", null);
+        template.requestBody("direct:items", null);
+
+        assertThat(timer("forage.jdbc.statement.execution", "items").count()).isEqualTo(2);
+        DistributionSummary rows = meterRegistry
+                .get("forage.jdbc.statement.rows")
+                .tag("datasource", "traced")
+                .tag("route", "items")
+                .summary();
+        assertThat(rows.count()).isEqualTo(2);
+        assertThat(rows.totalAmount()).isEqualTo(6);
+        assertThat(timer("forage.jdbc.connection.hold", "items").count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void workOutsideRoutesIsTaggedNone() throws Exception {
+        try (Connection connection = pool("traced").getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+            statement.setInt(1, 2);
+            try (ResultSet rows = statement.executeQuery()) {
+                assertThat(rows.next()).isTrue();
+            }
+            Thread.sleep(50);
+        }
+
+        Timer executions = timer("forage.jdbc.statement.execution", "none");
+        // the table setup ran two statements outside of any route as well
+        assertThat(executions.count()).isEqualTo(3);
+        assertThat(timer("forage.jdbc.connection.hold", "none").max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void poolWithoutInstrumentationHasNoQueryMeters() throws Exception {
+        try (Connection connection = pool("plain").getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("SELECT 1");
+        }
+
+        assertThat(meterRegistry
+                        .find("forage.jdbc.statement.execution")
+                        .tag("datasource", "plain")
+                        .timers())
+                .isEmpty();
+        assertThat(meterRegistry.find("forage.jdbc.pool.active").tag("datasource", "plain").gauges())
+                .hasSize(1);
+    }
+
+    @Test
+    void cleanupUnregistersTheInstrumentation() {
+        String poolKey = pool("traced")
+                .getConfiguration()
+                .connectionPoolConfiguration()
+                .connectionFactoryConfiguration()
+                .jdbcProperties()
+                .getProperty(InstrumentedDriver.POOL_PROPERTY);
+        assertThat(poolKey).startsWith("traced#");
+        assertThat(QueryInstrumentation.find(poolKey)).isNotNull();
+
+        factory.cleanup();
+
+        assertThat(QueryInstrumentation.find(poolKey)).isNull();
+    }
+
+    private AgroalDataSource pool(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, AgroalDataSource.class);
+    }
+
+    private Timer timer(String name, String route) {
+        return meterRegistry
+                .get(name)
+                .tag("datasource", "traced")
+                .tag("route", route)
+                .timer();
+    }
+}
@@ -0,0 +1,192 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.routing.ReplicaRoutingDataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes connections of two DataSources over a primary H2 database and two replica pools of a second
+ * H2 database, each database knowing which node it stands for.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.turns.jdbc.db.kind=h2
+                forage.turns.jdbc.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1
+                forage.turns.jdbc.username=sa
+                forage.turns.jdbc.password=sa
+                forage.turns.jdbc.replicas=replica1,replica2
+                forage.turns.jdbc.replicas.balancing=round-robin
+                forage.spread.jdbc.db.kind=h2
+                forage.spread.jdbc.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1
+                forage.spread.jdbc.username=sa
+                forage.spread.jdbc.password=sa
+                forage.spread.jdbc.replicas=replica1,replica2
+                forage.replica1.jdbc.db.kind=h2
+                forage.replica1.jdbc.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1
+                forage.replica1.jdbc.username=sa
+                forage.replica1.jdbc.password=sa
+                forage.replica2.jdbc.db.kind=h2
+                forage.replica2.jdbc.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1
+                forage.replica2.jdbc.username=sa
+                forage.replica2.jdbc.password=sa
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        DataSourceBeanFactory factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+
+        createNode(router("turns").primary(), "primary");
+        createNode(pool("replica1"), "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        List<AgroalDataSource> pools = new ArrayList<>();
+        for (String name : List.of("turns", "spread")) {
+            pools.add((AgroalDataSource) router(name).primary());
+        }
+        pools.add(pool("replica1"));
+        pools.add(pool("replica2"));
+        camelContext.close();
+        pools.forEach(AgroalDataSource::close);
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void connectionsGoToPrimaryUnlessReadOnly() throws SQLException {
+        DataSource turns = camelContext.getRegistry().lookupByNameAndType("turns", DataSource.class);
+
+        try (Connection connection = turns.getConnection()) {
+            assertThat(node(connection)).isEqualTo("primary");
+        }
+        try (Connection connection = turns.getConnection()) {
+            connection.setReadOnly(true);
+            assertThat(node(connection)).isEqualTo("replica");
+        }
+    }
+
+    @Test
+    void roundRobinTakesReplicasInTurn() throws SQLException {
+        long replica1 = pool("replica1").getMetrics().acquireCount();
+        long replica2 = pool("replica2").getMetrics().acquireCount();
+        long primary = ((AgroalDataSource) router("turns").primary()).getMetrics().acquireCount();
+
+        for (int i = 0; i < 100; i++) {
+            try (Connection connection = router("turns").getConnection()) {
+                connection.setReadOnly(true);
+                node(connection);
+            }
+        }
+
+        assertThat(pool("replica1").getMetrics().acquireCount() - replica1).isEqualTo(50);
+        assertThat(pool("replica2").getMetrics().acquireCount() - replica2).isEqualTo(50);
+        assertThat(((AgroalDataSource) router("turns").primary()).getMetrics().acquireCount() - primary)
+                .isZero();
+    }
+
+    @Test
+    void leastOutstandingSpreadsHeldConnections() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                Connection connection = router("spread").getConnection();
+                connection.setReadOnly(true);
+                node(connection);
+                held.add(connection);
+            }
+            assertThat(pool("replica1").getMetrics().activeCount()).isEqualTo(3);
+            assertThat(pool("replica2").getMetrics().activeCount()).isEqualTo(3);
+
+            // free two of the three connections of replica1: the next two reads go there
+            held.remove(0).close();
+            held.remove(1).close();
+            for (int i = 0; i < 2; i++) {
+                Connection connection = router("spread").getConnection();
+                connection.setReadOnly(true);
+                node(connection);
+                held.add(connection);
+            }
+            assertThat(pool("replica1").getMetrics().activeCount()).isEqualTo(3);
+            assertThat(pool("replica2").getMetrics().activeCount()).isEqualTo(3);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    @Test
+    void readOnlyHeaderRoutesSqlEndpointToReplica() throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:node")
+                        .to("sql:SELECT name FROM node?dataSource=#turns&outputType=SelectOne");
+            }
+        });
+        camelContext.start();
+        ProducerTemplate template = camelContext.createProducerTemplate();
+
+        assertThat(template.requestBody("direct:node", null, String.class)).isEqualTo("primary");
+        assertThat(template.requestBodyAndHeader(
+                        "direct:node", null, ReplicaRoutingDataSource.READ_ONLY_HEADER, true, String.class))
+                .isEqualTo("replica");
+    }
+
+    private ReplicaRoutingDataSource router(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, ReplicaRoutingDataSource.class);
+    }
+
+    private AgroalDataSource pool(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, AgroalDataSource.class);
+    }
+
+    private static void createNode(DataSource dataSource, String name) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS node");
+            statement.execute("CREATE TABLE node (name VARCHAR(16))");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+        }
+    }
+
+    private static String node(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT name FROM node")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
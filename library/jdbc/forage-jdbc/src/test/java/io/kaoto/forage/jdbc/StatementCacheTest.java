@@ -0,0 +1,163 @@
+package io.kaoto.forage.jdbc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jdbc.common.statement.StatementCacheStats;
+import io.kaoto.forage.jdbc.common.statement.StatementCachingDriver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Prepares statements through an H2 pool of a single connection caching two statements, and through a
+ * second pool without a cache.
+ */
+class StatementCacheTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+    private DataSourceBeanFactory factory;
+    private List<AgroalDataSource> pools;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(configDir.resolve("forage-datasource-factory.properties"), """
+                forage.cached.jdbc.db.kind=h2
+                forage.cached.jdbc.url=jdbc:h2:mem:statements_cached
+                forage.cached.jdbc.username=sa
+                forage.cached.jdbc.password=sa
+                forage.cached.jdbc.pool.initial.size=1
+                forage.cached.jdbc.pool.min.size=1
+                forage.cached.jdbc.pool.max.size=1
+                forage.cached.jdbc.statement.cache.enabled=true
+                forage.cached.jdbc.statement.cache.size=2
+                forage.plain.jdbc.db.kind=h2
+                forage.plain.jdbc.url=jdbc:h2:mem:statements_plain
+                forage.plain.jdbc.username=sa
+                forage.plain.jdbc.password=sa
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        factory = new DataSourceBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        pools = List.of(pool("cached"), pool("plain"));
+
+        try (Connection connection = pool("cached").getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(16))");
+            statement.execute("INSERT INTO item VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        camelContext.close();
+        pools.forEach(AgroalDataSource::close);
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void repeatedQueriesReuseTheStatement() throws SQLException {
+        StatementCacheStats stats = StatementCachingDriver.stats(pool("cached"));
+
+        for (int id = 1; id <= 3; id++) {
+            assertThat(name(pool("cached"), "SELECT name FROM item WHERE id = ?", id))
+                    .isNotNull();
+        }
+
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.evictions()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        StatementCacheStats stats = StatementCachingDriver.stats(pool("cached"));
+
+        name(pool("cached"), "SELECT name FROM item WHERE id = ?", 1);
+        name(pool("cached"), "SELECT UPPER(name) FROM item WHERE id = ?", 1);
+        name(pool("cached"), "SELECT LOWER(name) FROM item WHERE id = ?", 1);
+        name(pool("cached"), "SELECT name FROM item WHERE id = ?", 1);
+
+        assertThat(stats.misses()).isEqualTo(4);
+        assertThat(stats.evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void statementWithChangedSettingsIsNotCached() throws SQLException {
+        StatementCacheStats stats = StatementCachingDriver.stats(pool("cached"));
+
+        try (Connection connection = pool("cached").getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT name FROM item")) {
+            statement.setFetchSize(1);
+            statement.executeQuery().close();
+        }
+        name(pool("cached"), "SELECT name FROM item", null);
+
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.hits()).isZero();
+    }
+
+    @Test
+    void reusedStatementStartsWithoutParameters() throws SQLException {
+        String sql = "SELECT name FROM item WHERE id = ?";
+        name(pool("cached"), sql, 1);
+
+        try (Connection connection = pool("cached").getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            assertThatThrownBy(statement::executeQuery).isInstanceOf(SQLException.class);
+        }
+        assertThat(StatementCachingDriver.stats(pool("cached")).hits()).isEqualTo(1);
+    }
+
+    @Test
+    void poolWithoutCacheHasNoStats() {
+        assertThat(StatementCachingDriver.stats(pool("plain"))).isNull();
+    }
+
+    @Test
+    void cleanupUnregistersTheCache() {
+        AgroalDataSource cached = pool("cached");
+        assertThat(StatementCachingDriver.stats(cached)).isNotNull();
+
+        factory.cleanup();
+
+        assertThat(StatementCachingDriver.stats(cached)).isNull();
+    }
+
+    private AgroalDataSource pool(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, AgroalDataSource.class);
+    }
+
+    private static String name(AgroalDataSource dataSource, String sql, Integer id) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (id != null) {
+                statement.setInt(1, id);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getString(1) : null;
+            }
+        }
+    }
+}
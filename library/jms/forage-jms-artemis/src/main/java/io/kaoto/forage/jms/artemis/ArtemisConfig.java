@@ -2,8 +2,10 @@ package io.kaoto.forage.jms.artemis;
 
 import io.kaoto.forage.core.util.config.AbstractConfig;
 
+import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CACHE_LARGE_MESSAGES_CLIENT;
 import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CALL_TIMEOUT;
 import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.COMPRESS_LARGE_MESSAGES;
+import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CONFIRMATION_WINDOW_SIZE;
 import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CONNECTION_TTL;
 import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CONSUMER_MAX_RATE;
 import static io.kaoto.forage.jms.artemis.ArtemisConfigEntries.CONSUMER_WINDOW_SIZE;
@@ -57,6 +59,12 @@ public class ArtemisConfig extends AbstractConfig {
                 .orElse(Integer.parseInt(PRODUCER_WINDOW_SIZE.defaultValue()));
     }
 
+    public int confirmationWindowSize() {
+        return get(CONFIRMATION_WINDOW_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONFIRMATION_WINDOW_SIZE.defaultValue()));
+    }
+
     public int consumerMaxRate() {
         return get(CONSUMER_MAX_RATE).map(Integer::parseInt).orElse(Integer.parseInt(CONSUMER_MAX_RATE.defaultValue()));
     }
@@ -77,6 +85,12 @@ public class ArtemisConfig extends AbstractConfig {
                 .orElse(Boolean.parseBoolean(COMPRESS_LARGE_MESSAGES.defaultValue()));
     }
 
+    public boolean cacheLargeMessagesClient() {
+        return get(CACHE_LARGE_MESSAGES_CLIENT)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(CACHE_LARGE_MESSAGES_CLIENT.defaultValue()));
+    }
+
     public int callTimeout() {
         return get(CALL_TIMEOUT).map(Integer::parseInt).orElse(Integer.parseInt(CALL_TIMEOUT.defaultValue()));
     }
@@ -56,6 +56,17 @@ public final class ArtemisConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule CONFIRMATION_WINDOW_SIZE = ConfigModule.of(
+            ArtemisConfig.class,
+            "forage.jms.artemis.confirmation.window.size",
+            "Size in bytes of the commands the broker confirms at once, which a session resends after reconnecting "
+                    + "(-1 disables confirmations)",
+            "Confirmation Window Size",
+            "-1",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule CONSUMER_MAX_RATE = ConfigModule.of(
             ArtemisConfig.class,
             "forage.jms.artemis.consumer.max.rate",
@@ -96,6 +107,16 @@ public final class ArtemisConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule CACHE_LARGE_MESSAGES_CLIENT = ConfigModule.of(
+            ArtemisConfig.class,
+            "forage.jms.artemis.cache.large.messages.client",
+            "Cache the body of received large messages in a temporary file, so it can be read again",
+            "Cache Large Messages Client",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule CALL_TIMEOUT = ConfigModule.of(
             ArtemisConfig.class,
             "forage.jms.artemis.call.timeout",
@@ -124,10 +145,12 @@ public final class ArtemisConfigEntries extends ConfigEntries {
                 RETRY_INTERVAL,
                 CONSUMER_WINDOW_SIZE,
                 PRODUCER_WINDOW_SIZE,
+                CONFIRMATION_WINDOW_SIZE,
                 CONSUMER_MAX_RATE,
                 PRODUCER_MAX_RATE,
                 MIN_LARGE_MESSAGE_SIZE,
                 COMPRESS_LARGE_MESSAGES,
+                CACHE_LARGE_MESSAGES_CLIENT,
                 CALL_TIMEOUT,
                 CONNECTION_TTL);
     }
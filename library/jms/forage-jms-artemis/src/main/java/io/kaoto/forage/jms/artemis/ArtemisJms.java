@@ -13,6 +13,7 @@ import org.apache.activemq.artemis.jms.client.ActiveMQXAConnectionFactory;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import io.kaoto.forage.jms.common.PooledConnectionFactory;
+import io.kaoto.forage.jms.common.autoscaling.QueueDepthProbe;
 
 @ForageBean(
         value = "artemis",
@@ -47,6 +48,11 @@ public class ArtemisJms extends PooledConnectionFactory {
         return xaConnectionFactory;
     }
 
+    @Override
+    public QueueDepthProbe createQueueDepthProbe(String id) {
+        return new ArtemisQueueDepthProbe(createConnectionFactory(new ConnectionFactoryConfig(id)));
+    }
+
     private static void setupConnection(
             ConnectionFactoryConfig config, ArtemisConfig artemisConfig, ActiveMQConnectionFactory connectionFactory) {
         if (config.username() != null) {
@@ -65,11 +71,13 @@ public class ArtemisJms extends PooledConnectionFactory {
 
         connectionFactory.setConsumerWindowSize(artemisConfig.consumerWindowSize());
         connectionFactory.setProducerWindowSize(artemisConfig.producerWindowSize());
+        connectionFactory.setConfirmationWindowSize(artemisConfig.confirmationWindowSize());
         connectionFactory.setConsumerMaxRate(artemisConfig.consumerMaxRate());
         connectionFactory.setProducerMaxRate(artemisConfig.producerMaxRate());
 
         connectionFactory.setMinLargeMessageSize(artemisConfig.minLargeMessageSize());
         connectionFactory.setCompressLargeMessage(artemisConfig.compressLargeMessages());
+        connectionFactory.setCacheLargeMessagesClient(artemisConfig.cacheLargeMessagesClient());
 
         connectionFactory.setCallTimeout(artemisConfig.callTimeout());
         connectionFactory.setConnectionTTL(artemisConfig.connectionTtl());
@@ -0,0 +1,96 @@
+package io.kaoto.forage.jms.artemis;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TemporaryQueue;
+
+import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
+import org.apache.activemq.artemis.api.core.management.ResourceNames;
+import org.apache.activemq.artemis.api.jms.ActiveMQJMSClient;
+import org.apache.activemq.artemis.api.jms.management.JMSManagementHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.jms.common.autoscaling.QueueDepthProbe;
+
+/**
+ * Reads the {@code messageCount} attribute of a queue through the Artemis management address, over a
+ * connection of its own that is opened on first use and reopened after a failure.
+ */
+class ArtemisQueueDepthProbe implements QueueDepthProbe {
+    private static final Logger LOG = LoggerFactory.getLogger(ArtemisQueueDepthProbe.class);
+
+    private static final long REPLY_TIMEOUT_MILLIS = 5000;
+
+    private final ConnectionFactory connectionFactory;
+
+    private Connection connection;
+    private Session session;
+    private MessageProducer requests;
+    private MessageConsumer replies;
+    private TemporaryQueue replyQueue;
+
+    ArtemisQueueDepthProbe(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public synchronized long queueDepth(String queue) {
+        try {
+            if (session == null) {
+                open();
+            }
+            Message request = session.createMessage();
+            JMSManagementHelper.putAttribute(request, ResourceNames.QUEUE + queue, "messageCount");
+            request.setJMSReplyTo(replyQueue);
+            requests.send(request);
+
+            Message reply = replies.receive(REPLY_TIMEOUT_MILLIS);
+            if (reply == null) {
+                // A late reply would be taken for the answer to the next request
+                LOG.debug("No reply from the management address for queue {}", queue);
+                close();
+                return -1;
+            }
+            if (!JMSManagementHelper.hasOperationSucceeded(reply)) {
+                LOG.debug("Failed to read the depth of queue {}: {}", queue, JMSManagementHelper.getResult(reply));
+                return -1;
+            }
+            return ((Number) JMSManagementHelper.getResult(reply)).longValue();
+        } catch (Exception e) {
+            LOG.debug("Failed to read the depth of queue {}", queue, e);
+            close();
+            return -1;
+        }
+    }
+
+    private void open() throws JMSException {
+        connection = connectionFactory.createConnection();
+        session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        requests = session.createProducer(ActiveMQJMSClient.createQueue(
+                ActiveMQDefaultConfiguration.getDefaultManagementAddress().toString()));
+        replyQueue = session.createTemporaryQueue();
+        replies = session.createConsumer(replyQueue);
+        connection.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (JMSException e) {
+                LOG.debug("Failed to close the management connection", e);
+            }
+        }
+        connection = null;
+        session = null;
+        requests = null;
+        replies = null;
+        replyQueue = null;
+    }
+}
@@ -7,6 +7,12 @@ import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_IF
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BROKER_URL;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CLIENT_ID;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONNECTION_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_ENABLED;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_INTERVAL_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_MAX_CONSUMERS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_MAX_MESSAGES_PER_TASK;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_MESSAGES_PER_CONSUMER;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_AUTOSCALING_MIN_CONSUMERS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.EXPIRY_TIMEOUT_MILLIS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.IDLE_TIMEOUT_MILLIS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.JMS_KIND;
@@ -14,6 +20,8 @@ import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_CONN
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_SESSIONS_PER_CONNECTION;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PASSWORD;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.POOL_ENABLED;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PRODUCER_BATCH_SIZE;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PRODUCER_BATCH_TIMEOUT_MILLIS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.SSL_CIPHER_SUITES;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.SSL_ENABLED;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.SSL_KEYSTORE_PASSWORD;
@@ -163,6 +171,56 @@ public class ConnectionFactoryConfig extends AbstractConfig {
                 .orElse(Long.parseLong(BLOCK_IF_FULL_TIMEOUT_MILLIS.defaultValue()));
     }
 
+    // Consumer autoscaling configuration methods
+    public boolean consumerAutoscalingEnabled() {
+        return get(CONSUMER_AUTOSCALING_ENABLED)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(CONSUMER_AUTOSCALING_ENABLED.defaultValue()));
+    }
+
+    public int consumerAutoscalingMinConsumers() {
+        return get(CONSUMER_AUTOSCALING_MIN_CONSUMERS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONSUMER_AUTOSCALING_MIN_CONSUMERS.defaultValue()));
+    }
+
+    public int consumerAutoscalingMaxConsumers() {
+        return get(CONSUMER_AUTOSCALING_MAX_CONSUMERS)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONSUMER_AUTOSCALING_MAX_CONSUMERS.defaultValue()));
+    }
+
+    public long consumerAutoscalingIntervalMillis() {
+        return get(CONSUMER_AUTOSCALING_INTERVAL_MILLIS)
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(CONSUMER_AUTOSCALING_INTERVAL_MILLIS.defaultValue()));
+    }
+
+    public int consumerAutoscalingMessagesPerConsumer() {
+        return get(CONSUMER_AUTOSCALING_MESSAGES_PER_CONSUMER)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONSUMER_AUTOSCALING_MESSAGES_PER_CONSUMER.defaultValue()));
+    }
+
+    public int consumerAutoscalingMaxMessagesPerTask() {
+        return get(CONSUMER_AUTOSCALING_MAX_MESSAGES_PER_TASK)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(CONSUMER_AUTOSCALING_MAX_MESSAGES_PER_TASK.defaultValue()));
+    }
+
+    // Producer batching configuration methods
+    public int producerBatchSize() {
+        return get(PRODUCER_BATCH_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(PRODUCER_BATCH_SIZE.defaultValue()));
+    }
+
+    public long producerBatchTimeoutMillis() {
+        return get(PRODUCER_BATCH_TIMEOUT_MILLIS)
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(PRODUCER_BATCH_TIMEOUT_MILLIS.defaultValue()));
+    }
+
     // Transaction configuration methods
     public boolean transactionEnabled() {
         return get(TRANSACTION_ENABLED)
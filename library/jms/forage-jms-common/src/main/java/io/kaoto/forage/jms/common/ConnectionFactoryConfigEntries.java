@@ -228,6 +228,90 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    // Consumer autoscaling configuration
+    public static final ConfigModule CONSUMER_AUTOSCALING_ENABLED = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.enabled",
+            "Adjust the concurrent consumers of the routes consuming through the broker component to the queue "
+                    + "depth and consumer idle ratio",
+            "Consumer Autoscaling",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONSUMER_AUTOSCALING_MIN_CONSUMERS = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.min.consumers",
+            "Concurrent consumers a route keeps when its queue is empty",
+            "Min Consumers",
+            "1",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONSUMER_AUTOSCALING_MAX_CONSUMERS = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.max.consumers",
+            "Concurrent consumers a route scales up to, capped at the max sessions per connection of the pool",
+            "Max Consumers",
+            "10",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONSUMER_AUTOSCALING_INTERVAL_MILLIS = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.interval.millis",
+            "Interval between two reads of the queue depth and consumer idle ratio (milliseconds)",
+            "Autoscaling Interval",
+            "1000",
+            "long",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONSUMER_AUTOSCALING_MESSAGES_PER_CONSUMER = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.messages.per.consumer",
+            "Queue depth per consumer above which consumers are added",
+            "Messages Per Consumer",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONSUMER_AUTOSCALING_MAX_MESSAGES_PER_TASK = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.autoscaling.max.messages.per.task",
+            "Messages a consumer receives before its task ends and it can be removed, -1 for no limit",
+            "Max Messages Per Task",
+            "10",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Producer batching configuration
+    public static final ConfigModule PRODUCER_BATCH_SIZE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.producer.batch.size",
+            "Messages the producers of the broker component send in one transaction commit (1 commits each "
+                    + "message on its own)",
+            "Producer Batch Size",
+            "1",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule PRODUCER_BATCH_TIMEOUT_MILLIS = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.producer.batch.timeout.millis",
+            "Time a batch waits for more messages after its first one (milliseconds)",
+            "Producer Batch Timeout",
+            "5",
+            "long",
+            false,
+            ConfigTag.ADVANCED);
+
     // Transaction configuration
     public static final ConfigModule TRANSACTION_ENABLED = ConfigModule.of(
             ConnectionFactoryConfig.class,
@@ -377,6 +461,14 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
                 CONNECTION_TIMEOUT_MILLIS,
                 BLOCK_IF_FULL,
                 BLOCK_IF_FULL_TIMEOUT_MILLIS,
+                CONSUMER_AUTOSCALING_ENABLED,
+                CONSUMER_AUTOSCALING_MIN_CONSUMERS,
+                CONSUMER_AUTOSCALING_MAX_CONSUMERS,
+                CONSUMER_AUTOSCALING_INTERVAL_MILLIS,
+                CONSUMER_AUTOSCALING_MESSAGES_PER_CONSUMER,
+                CONSUMER_AUTOSCALING_MAX_MESSAGES_PER_TASK,
+                PRODUCER_BATCH_SIZE,
+                PRODUCER_BATCH_TIMEOUT_MILLIS,
                 TRANSACTION_ENABLED,
                 TRANSACTION_TIMEOUT_SECONDS,
                 TRANSACTION_NODE_ID,
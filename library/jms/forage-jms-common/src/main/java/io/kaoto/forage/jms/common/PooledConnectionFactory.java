@@ -9,13 +9,18 @@ import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
 import org.messaginghub.pooled.jms.JmsPoolXAConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.support.destination.DestinationResolver;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
 import io.kaoto.forage.core.jta.recovery.ForageRecoveryService;
+import io.kaoto.forage.jms.common.autoscaling.QueueDepthProbe;
+import io.kaoto.forage.jms.common.pool.TrackingJmsPoolConnectionFactory;
+import io.kaoto.forage.jms.common.pool.TrackingJmsPoolXAConnectionFactory;
 import io.kaoto.forage.jms.common.transactions.TransactionConfiguration;
 
 /**
  * Abstract base class for pooled JMS implementations using pooled-jms connection pooling.
  * Provides broker-agnostic ConnectionFactory configuration with optimized pool settings.
+ * The pools count their connections and sessions, see {@link io.kaoto.forage.jms.common.pool.JmsPoolStats}.
  */
 public abstract class PooledConnectionFactory implements ConnectionFactoryProvider {
     private static final Logger LOG = LoggerFactory.getLogger(PooledConnectionFactory.class);
@@ -122,7 +127,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
 
     private JmsPoolXAConnectionFactory setupPooledXAConnectionFactory(
             XAConnectionFactory xaConnectionFactory, TransactionManager transactionManager) {
-        JmsPoolXAConnectionFactory pooledConnectionFactory = new JmsPoolXAConnectionFactory();
+        JmsPoolXAConnectionFactory pooledConnectionFactory = new TrackingJmsPoolXAConnectionFactory();
         pooledConnectionFactory.setConnectionFactory(xaConnectionFactory);
         pooledConnectionFactory.setTransactionManager(transactionManager);
         applyPoolSettings(pooledConnectionFactory);
@@ -130,7 +135,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
     }
 
     private <T> JmsPoolConnectionFactory setupPooledConnectionFactory(T underlyingConnectionFactory) {
-        JmsPoolConnectionFactory pooledConnectionFactory = new JmsPoolConnectionFactory();
+        JmsPoolConnectionFactory pooledConnectionFactory = new TrackingJmsPoolConnectionFactory();
         pooledConnectionFactory.setConnectionFactory(underlyingConnectionFactory);
         applyPoolSettings(pooledConnectionFactory);
         return pooledConnectionFactory;
@@ -148,6 +153,28 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
         }
     }
 
+    /**
+     * Creates a probe reading queue depths from the broker of the given configuration, used by the consumer
+     * autoscaler. The probe opens its own connection, so that it does not take sessions from the pool.
+     *
+     * @param id the configuration ID
+     * @return the probe, or {@code null} when the provider cannot read queue depths
+     */
+    public QueueDepthProbe createQueueDepthProbe(String id) {
+        return null;
+    }
+
+    /**
+     * Creates the destination resolver of the per-broker JMS component of the given configuration, for
+     * providers whose settings apply to destinations rather than to the ConnectionFactory.
+     *
+     * @param id the configuration ID
+     * @return the destination resolver, or {@code null} to keep the one of the component
+     */
+    public DestinationResolver createDestinationResolver(String id) {
+        return null;
+    }
+
     /**
      * Key under which a broker instance's XA recovery helper is registered with
      * {@link ForageRecoveryService}. Used by the bean factories to deregister on reload/stop.
@@ -0,0 +1,186 @@
+package io.kaoto.forage.jms.common.autoscaling;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Route;
+import org.apache.camel.component.jms.JmsComponent;
+import org.apache.camel.spi.RoutePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
+
+/**
+ * Adjusts the concurrent consumers of the routes consuming from queues through one per-broker
+ * {@link JmsComponent}, within {@code [min.consumers, max.consumers]}.
+ *
+ * <p>Every {@code interval.millis} each route is given enough consumers to bring the queue depth per
+ * consumer under {@code messages.per.consumer}, one more consumer when its consumers were busy for more
+ * than 90% of the interval while messages were waiting, and one less when they were idle for more than half
+ * of it without such a backlog. Without a {@link QueueDepthProbe} the idle ratio alone decides.
+ *
+ * <p>{@code max.consumers} is capped at {@code pool.max.sessions.per.connection}: a listener container
+ * shares one connection between its consumers and each consumer holds a session of it.
+ *
+ * <p>The invokers of a {@link DefaultMessageListenerContainer} only give up their consumer between two
+ * tasks, so unless the component sets {@code maxMessagesPerTask} itself it is set to
+ * {@code max.messages.per.task}, for the consumers to be removed when the routes scale down.
+ */
+public class ConsumerAutoscaler implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConsumerAutoscaler.class);
+
+    static final double SCALE_UP_IDLE_RATIO = 0.1;
+    static final double SCALE_DOWN_IDLE_RATIO = 0.5;
+
+    private final String name;
+    private final JmsComponent component;
+    private final QueueDepthProbe probe;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final long intervalMillis;
+    private final int messagesPerConsumer;
+    private final int maxMessagesPerTask;
+    private final Set<ScaledConsumer> consumers = ConcurrentHashMap.newKeySet();
+
+    private CamelContext camelContext;
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param probe reads the queue depths, or {@code null} to scale on the idle ratio only
+     */
+    public ConsumerAutoscaler(
+            String name, JmsComponent component, ConnectionFactoryConfig config, QueueDepthProbe probe) {
+        this.name = name;
+        this.component = component;
+        this.probe = probe;
+        int max = Math.max(1, config.consumerAutoscalingMaxConsumers());
+        if (config.poolEnabled() && config.maxSessionsPerConnection() > 0) {
+            max = Math.min(max, config.maxSessionsPerConnection());
+        }
+        this.maxConsumers = max;
+        this.minConsumers = Math.max(1, Math.min(config.consumerAutoscalingMinConsumers(), max));
+        this.intervalMillis = Math.max(1, config.consumerAutoscalingIntervalMillis());
+        this.messagesPerConsumer = Math.max(1, config.consumerAutoscalingMessagesPerConsumer());
+        this.maxMessagesPerTask = config.consumerAutoscalingMaxMessagesPerTask();
+    }
+
+    /**
+     * Starts the endpoints of the component at {@code min.consumers} and schedules the scaling. Must be
+     * called before the routes consuming through the component are created; routes already running, which
+     * the autoscaler this one replaces scaled, are taken over.
+     */
+    public void start(CamelContext camelContext) {
+        this.camelContext = camelContext;
+        component.setConcurrentConsumers(minConsumers);
+        component.setMaxConcurrentConsumers(maxConsumers);
+        if (component.getConfiguration().getMaxMessagesPerTask() < 0) {
+            component.setMaxMessagesPerTask(maxMessagesPerTask);
+        }
+
+        executor = camelContext
+                .getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "ForageJmsConsumerAutoscaler-" + name);
+        executor.scheduleWithFixedDelay(this::scale, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        for (Route route : camelContext.getRoutes()) {
+            for (RoutePolicy policy : route.getRoutePolicyList()) {
+                if (policy instanceof ScaledConsumer consumer && consumer.name().equals(name)) {
+                    consumer.attach(this, route);
+                }
+            }
+        }
+        LOG.info(
+                "Scaling the consumers of JMS component {} between {} and {} every {}ms",
+                name,
+                minConsumers,
+                maxConsumers,
+                intervalMillis);
+    }
+
+    /**
+     * Creates the policy to add to a route consuming through the component of the given name, which
+     * registers the route, when it starts, with the autoscaler {@code autoscalers} returns for that name.
+     */
+    public static RoutePolicy routePolicy(String name, Function<String, ConsumerAutoscaler> autoscalers) {
+        return new ScaledConsumer(name, autoscalers);
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(executor);
+            executor = null;
+        }
+        consumers.clear();
+        if (probe != null) {
+            probe.close();
+        }
+    }
+
+    void register(ScaledConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    void unregister(ScaledConsumer consumer) {
+        consumers.remove(consumer);
+    }
+
+    private void scale() {
+        for (ScaledConsumer consumer : consumers) {
+            try {
+                scale(consumer);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to scale the consumers of queue {} on {}", consumer.queue(), name, e);
+            }
+        }
+    }
+
+    private void scale(ScaledConsumer consumer) {
+        DefaultMessageListenerContainer container = consumer.container();
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+        double idleRatio = consumer.idleRatio(Math.max(1, container.getScheduledConsumerCount()));
+        long depth = probe == null ? -1 : probe.queueDepth(consumer.queue());
+        int current = container.getConcurrentConsumers();
+        int target = targetConsumers(current, depth, idleRatio);
+        if (target != current) {
+            LOG.debug(
+                    "Scaling the consumers of queue {} on {} from {} to {} (depth {}, idle ratio {})",
+                    consumer.queue(),
+                    name,
+                    current,
+                    target,
+                    depth,
+                    idleRatio);
+            // Lowering the maximum as well ends the surplus invokers after their current task
+            container.setConcurrentConsumers(target);
+            container.setMaxConcurrentConsumers(target);
+        }
+    }
+
+    /**
+     * Consumers for the next interval.
+     *
+     * @param depth messages on the queue, {@code -1} when unknown
+     * @param idleRatio share of the last interval the consumers spent without a message
+     */
+    int targetConsumers(int current, long depth, double idleRatio) {
+        int target = current;
+        if (depth > (long) current * messagesPerConsumer) {
+            target = (int) Math.min(maxConsumers, Math.max(current + 1L, ceilDiv(depth, messagesPerConsumer)));
+        } else if (idleRatio < SCALE_UP_IDLE_RATIO && (depth < 0 || depth > current)) {
+            target = current + 1;
+        } else if (idleRatio > SCALE_DOWN_IDLE_RATIO) {
+            target = current - 1;
+        }
+        return Math.max(minConsumers, Math.min(maxConsumers, target));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
@@ -0,0 +1,18 @@
+package io.kaoto.forage.jms.common.autoscaling;
+
+/**
+ * Reads the number of messages waiting on a queue of the broker, for the {@link ConsumerAutoscaler}.
+ *
+ * <p>Providers return one from {@link io.kaoto.forage.jms.common.PooledConnectionFactory#createQueueDepthProbe}
+ * when their broker exposes the queue depth; the probe is closed with the autoscaler.
+ */
+public interface QueueDepthProbe extends AutoCloseable {
+
+    /**
+     * Messages on the given queue, or {@code -1} when the broker did not answer.
+     */
+    long queueDepth(String queue);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,127 @@
+package io.kaoto.forage.jms.common.autoscaling;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.apache.camel.Exchange;
+import org.apache.camel.Route;
+import org.apache.camel.component.jms.JmsConsumer;
+import org.apache.camel.component.jms.JmsEndpoint;
+import org.apache.camel.support.RoutePolicySupport;
+import org.apache.camel.util.StringHelper;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+
+/**
+ * Route policy of a route consuming from a queue through the component of a {@link ConsumerAutoscaler},
+ * measuring how long its consumers are busy with an exchange.
+ *
+ * <p>The autoscaler is looked up by component name when the route starts, and a new autoscaler of that
+ * name {@link #attach(ConsumerAutoscaler, Route) takes over} the routes already running, so that routes
+ * keep being scaled after a reload replaced the autoscaler. Routes consuming from topics, or through another
+ * component, are left alone.
+ */
+class ScaledConsumer extends RoutePolicySupport {
+
+    private static final String STARTED = "ForageJmsConsumerStarted";
+
+    private final String name;
+    private final Function<String, ConsumerAutoscaler> autoscalers;
+    private final LongAdder busyNanos = new LongAdder();
+
+    private volatile ConsumerAutoscaler autoscaler;
+    private volatile DefaultMessageListenerContainer container;
+    private volatile String queue;
+    private volatile long measuredSince;
+
+    ScaledConsumer(String name, Function<String, ConsumerAutoscaler> autoscalers) {
+        this.name = name;
+        this.autoscalers = autoscalers;
+    }
+
+    @Override
+    public void onStart(Route route) {
+        ConsumerAutoscaler current = autoscalers.apply(name);
+        if (current != null) {
+            attach(current, route);
+        }
+    }
+
+    /**
+     * Registers the route with the given autoscaler if it consumes from a queue through the component of
+     * this policy, leaving the autoscaler it was registered with before.
+     */
+    synchronized void attach(ConsumerAutoscaler current, Route route) {
+        if (route.getEndpoint() instanceof JmsEndpoint endpoint
+                && name.equals(StringHelper.before(endpoint.getEndpointUri(), ":", ""))
+                && !endpoint.isPubSubDomain()
+                && endpoint.getDestinationName() != null
+                && route.getConsumer() instanceof JmsConsumer consumer
+                && consumer.getListenerContainer() instanceof DefaultMessageListenerContainer listenerContainer) {
+            ConsumerAutoscaler previous = autoscaler;
+            if (previous != null && previous != current) {
+                previous.unregister(this);
+            }
+            queue = endpoint.getDestinationName();
+            measuredSince = System.nanoTime();
+            busyNanos.reset();
+            container = listenerContainer;
+            autoscaler = current;
+            current.register(this);
+        }
+    }
+
+    @Override
+    public synchronized void onStop(Route route) {
+        ConsumerAutoscaler current = autoscaler;
+        if (current != null) {
+            current.unregister(this);
+        }
+        autoscaler = null;
+        container = null;
+    }
+
+    @Override
+    public void onRemove(Route route) {
+        onStop(route);
+    }
+
+    @Override
+    public void onExchangeBegin(Route route, Exchange exchange) {
+        if (container != null) {
+            exchange.setProperty(STARTED, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onExchangeDone(Route route, Exchange exchange) {
+        Long started = exchange.getProperty(STARTED, Long.class);
+        if (started != null) {
+            busyNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    DefaultMessageListenerContainer container() {
+        return container;
+    }
+
+    String queue() {
+        return queue;
+    }
+
+    /**
+     * Share of the time since the last call that the given number of consumers spent without an exchange.
+     */
+    double idleRatio(int consumers) {
+        long now = System.nanoTime();
+        long capacity = (now - measuredSince) * consumers;
+        measuredSince = now;
+        long busy = busyNanos.sumThenReset();
+        if (capacity <= 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - (double) busy / capacity);
+    }
+}
@@ -0,0 +1,120 @@
+package io.kaoto.forage.jms.common.batching;
+
+import java.util.concurrent.ExecutorService;
+import org.apache.camel.Producer;
+import org.apache.camel.component.jms.JmsComponent;
+import org.apache.camel.component.jms.JmsConfiguration;
+import org.apache.camel.component.jms.JmsEndpoint;
+import org.apache.camel.component.jms.JmsProducer;
+import org.apache.camel.component.jms.JmsQueueEndpoint;
+import org.apache.camel.component.jms.QueueBrowseStrategy;
+import org.apache.camel.support.SynchronousDelegateProducer;
+
+/**
+ * JMS component whose producers send InOnly exchanges in batches: these sends of all its endpoints are
+ * queued, and up to {@code batchSize} of them, or what arrived within {@code batchTimeoutMillis} of the first
+ * one, are sent in one transacted session of the pool and committed together. An exchange completes
+ * asynchronously once its batch is committed, so the commit is amortized over concurrent senders rather
+ * than delaying acknowledgement, and a message that cannot be sent fails its exchange alone.
+ *
+ * <p>Only the InOnly template of the producers of queue and topic endpoints is replaced. Request/reply
+ * (InOut) sends and the replies of consumers use the templates Camel creates, with their time to live and
+ * without waiting for a batch. Endpoints with a ConnectionFactory of their own, or a {@code jmsOperations}
+ * set explicitly, send as the plain {@link JmsComponent} does, as do sends within a Spring-managed
+ * transaction. Not meant for components with a JTA transaction manager, where the transaction of the route
+ * decides the commit.
+ */
+public class BatchingJmsComponent extends JmsComponent {
+
+    private final JmsSendBatcher batcher;
+    private ExecutorService executor;
+
+    public BatchingJmsComponent(int batchSize, long batchTimeoutMillis) {
+        this.batcher = new JmsSendBatcher(
+                () -> getConfiguration().getConnectionFactory(), batchSize, Math.max(0, batchTimeoutMillis));
+    }
+
+    @Override
+    protected JmsEndpoint createQueueEndpoint(
+            String uri,
+            JmsComponent component,
+            String subject,
+            JmsConfiguration configuration,
+            QueueBrowseStrategy queueBrowseStrategy) {
+        return new BatchingQueueEndpoint(uri, this, subject, configuration, queueBrowseStrategy);
+    }
+
+    @Override
+    protected JmsEndpoint createTopicEndpoint(
+            String uri, JmsComponent component, String subject, JmsConfiguration configuration) {
+        return new BatchingTopicEndpoint(uri, this, subject, configuration);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        batcher.start();
+        executor =
+                getCamelContext().getExecutorServiceManager().newSingleThreadExecutor(this, "ForageJmsBatchProducer");
+        executor.execute(batcher);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        batcher.stop();
+        if (executor != null) {
+            // The worker commits the batch in progress and fails the sends still queued
+            getCamelContext().getExecutorServiceManager().shutdownGraceful(executor);
+            executor = null;
+        }
+        super.doStop();
+    }
+
+    /**
+     * Creates the producer of an endpoint of this component, as {@link JmsEndpoint#createProducer()} does,
+     * with the InOnly sends going through the batcher.
+     */
+    Producer createProducer(JmsEndpoint endpoint) {
+        JmsConfiguration configuration = endpoint.getConfiguration();
+        JmsProducer producer;
+        if (configuration.getJmsOperations() == null
+                && configuration.getConnectionFactory() == getConfiguration().getConnectionFactory()) {
+            JmsConfiguration.CamelJmsTemplate configured =
+                    (JmsConfiguration.CamelJmsTemplate) endpoint.createInOnlyTemplate();
+            producer = new BatchingJmsProducer(endpoint, new BatchingJmsTemplate(configuration, configured, batcher));
+        } else {
+            producer = new JmsProducer(endpoint);
+        }
+        return endpoint.isSynchronous() ? new SynchronousDelegateProducer(producer) : producer;
+    }
+
+    static class BatchingQueueEndpoint extends JmsQueueEndpoint {
+
+        BatchingQueueEndpoint(
+                String uri,
+                BatchingJmsComponent component,
+                String destination,
+                JmsConfiguration configuration,
+                QueueBrowseStrategy queueBrowseStrategy) {
+            super(uri, component, destination, configuration, queueBrowseStrategy);
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            return ((BatchingJmsComponent) getComponent()).createProducer(this);
+        }
+    }
+
+    static class BatchingTopicEndpoint extends JmsEndpoint {
+
+        BatchingTopicEndpoint(
+                String uri, BatchingJmsComponent component, String destination, JmsConfiguration configuration) {
+            super(uri, component, destination, true, configuration);
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            return ((BatchingJmsComponent) getComponent()).createProducer(this);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.kaoto.forage.jms.common.batching;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.jms.JmsEndpoint;
+import org.apache.camel.component.jms.JmsProducer;
+
+/**
+ * Producer of an endpoint of a {@link BatchingJmsComponent} whose InOnly sends go through the batcher. An
+ * exchange whose message was queued is completed asynchronously once its batch is committed, or with the
+ * error its message failed with, so the calling thread is released as soon as the message is queued.
+ */
+class BatchingJmsProducer extends JmsProducer {
+
+    private final BatchingJmsTemplate template;
+
+    BatchingJmsProducer(JmsEndpoint endpoint, BatchingJmsTemplate template) {
+        super(endpoint);
+        this.template = template;
+        setInOnlyTemplate(template);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        AtomicReference<CompletableFuture<Void>> queued = new AtomicReference<>();
+        // JmsProducer completes InOnly exchanges as soon as the template returns
+        boolean sync = template.deferring(queued, () -> super.process(exchange, doneSync -> {
+            if (queued.get() == null) {
+                callback.done(doneSync);
+            }
+        }));
+        CompletableFuture<Void> completion = queued.get();
+        if (completion == null) {
+            return sync;
+        }
+        completion.whenComplete((result, failure) -> {
+            if (failure != null) {
+                exchange.setException(BatchingJmsTemplate.failure(failure));
+            }
+            callback.done(false);
+        });
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package io.kaoto.forage.jms.common.batching;
+
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.apache.camel.component.jms.JmsConfiguration;
+import org.apache.camel.component.jms.MessageSentCallback;
+import org.springframework.jms.JmsException;
+import org.springframework.jms.UncategorizedJmsException;
+import org.springframework.jms.core.MessageCreator;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * InOnly template of a {@link BatchingJmsProducer}, handing its sends to the {@link JmsSendBatcher}. The send
+ * of an exchange the producer is {@link #deferring(AtomicReference, BooleanSupplier) processing} returns
+ * once queued, other callers wait for the batch to be committed.
+ *
+ * <p>Quality of service and destination resolution are taken from the template Camel configured for the
+ * endpoint, which also sends on its own within a Spring-managed transaction, so that messages sent from a
+ * transacted consumer stay part of its transaction.
+ */
+class BatchingJmsTemplate extends JmsConfiguration.CamelJmsTemplate {
+
+    private final JmsConfiguration configuration;
+    private final JmsConfiguration.CamelJmsTemplate configured;
+    private final JmsSendBatcher batcher;
+    private final ThreadLocal<AtomicReference<CompletableFuture<Void>>> deferrals = new ThreadLocal<>();
+
+    BatchingJmsTemplate(
+            JmsConfiguration configuration, JmsConfiguration.CamelJmsTemplate configured, JmsSendBatcher batcher) {
+        super(configuration, configured.getConnectionFactory());
+        this.configuration = configuration;
+        this.configured = configured;
+        this.batcher = batcher;
+    }
+
+    @Override
+    public void send(String destinationName, MessageCreator messageCreator, MessageSentCallback callback)
+            throws JmsException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            configured.send(destinationName, messageCreator, callback);
+        } else {
+            submit(batcher.submit(this, destinationName, null, messageCreator, callback));
+        }
+    }
+
+    @Override
+    public void send(Destination destination, MessageCreator messageCreator, MessageSentCallback callback)
+            throws JmsException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            configured.send(destination, messageCreator, callback);
+        } else {
+            submit(batcher.submit(this, null, destination, messageCreator, callback));
+        }
+    }
+
+    @Override
+    public void send(String destinationName, MessageCreator messageCreator) throws JmsException {
+        send(destinationName, messageCreator, null);
+    }
+
+    @Override
+    public void send(Destination destination, MessageCreator messageCreator) throws JmsException {
+        send(destination, messageCreator, null);
+    }
+
+    /**
+     * Runs {@code process} with the first send it queues on this thread handed to {@code queued} rather than
+     * waited for.
+     */
+    boolean deferring(AtomicReference<CompletableFuture<Void>> queued, BooleanSupplier process) {
+        deferrals.set(queued);
+        try {
+            return process.getAsBoolean();
+        } finally {
+            deferrals.remove();
+        }
+    }
+
+    Destination resolveDestination(Session session, String destinationName) throws JMSException {
+        return configured
+                .getDestinationResolver()
+                .resolveDestinationName(session, destinationName, configured.isPubSubDomain());
+    }
+
+    /**
+     * Sends with the quality of service of the endpoint, as {@code CamelJmsTemplate} does, through a producer
+     * without a destination of its own.
+     */
+    void send(MessageProducer producer, Destination destination, Message message) throws JMSException {
+        if (configuration.isPreserveMessageQos()) {
+            long ttl = message.getJMSExpiration();
+            if (ttl != 0) {
+                ttl = Math.max(1, ttl - System.currentTimeMillis());
+            }
+            int priority = message.getJMSPriority();
+            if (priority < 0 || priority > 9) {
+                priority = configured.getPriority();
+            }
+            int deliveryMode = message.getJMSDeliveryMode();
+            if (deliveryMode != DeliveryMode.PERSISTENT && deliveryMode != DeliveryMode.NON_PERSISTENT) {
+                deliveryMode = configured.getDeliveryMode();
+            }
+            producer.send(destination, message, deliveryMode, priority, ttl);
+        } else if (configured.isExplicitQosEnabled()) {
+            producer.send(
+                    destination,
+                    message,
+                    configured.getDeliveryMode(),
+                    configured.getPriority(),
+                    configured.getTimeToLive());
+        } else {
+            producer.send(destination, message);
+        }
+    }
+
+    private void submit(CompletableFuture<Void> completion) {
+        AtomicReference<CompletableFuture<Void>> queued = deferrals.get();
+        if (queued == null || !queued.compareAndSet(null, completion)) {
+            await(completion);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> completion) {
+        try {
+            completion.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncategorizedJmsException("Interrupted while waiting for the batch to be committed", e);
+        } catch (ExecutionException e) {
+            throw failure(e.getCause());
+        }
+    }
+
+    /**
+     * Converts the error a send failed with as the template would have thrown it.
+     */
+    static RuntimeException failure(Throwable cause) {
+        if (cause instanceof JMSException jmsException) {
+            return JmsUtils.convertJmsAccessException(jmsException);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new UncategorizedJmsException("Failed to send a batch of messages", cause);
+    }
+}
@@ -0,0 +1,222 @@
+package io.kaoto.forage.jms.common.batching;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.camel.component.jms.MessageSentCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.MessageCreator;
+
+/**
+ * Queue of the sends of all producers of a {@link BatchingJmsComponent}, drained by a single worker that
+ * sends up to {@code batchSize} messages, or what arrived within {@code batchTimeoutMillis} of the first
+ * one, in one transacted session of the pool and commits them together. The worker keeps its connection,
+ * session and producer between batches, and only opens new ones after a batch failed.
+ *
+ * <p>Each send completes once its batch is committed, or fails with the error that rolled the batch back.
+ * A message that cannot be created or sent fails alone, and the rest of its batch is committed without it.
+ * Should that commit fail, the other messages of the batch are sent again one transaction each.
+ */
+class JmsSendBatcher implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(JmsSendBatcher.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Supplier<ConnectionFactory> connectionFactory;
+    private final int batchSize;
+    private final long batchTimeoutNanos;
+    private final BlockingQueue<PendingSend> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+
+    // Used by the worker thread only
+    private Connection connection;
+    private Session session;
+    private MessageProducer producer;
+
+    JmsSendBatcher(Supplier<ConnectionFactory> connectionFactory, int batchSize, long batchTimeoutMillis) {
+        this.connectionFactory = connectionFactory;
+        this.batchSize = batchSize;
+        this.batchTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+    }
+
+    CompletableFuture<Void> submit(
+            BatchingJmsTemplate template,
+            String destinationName,
+            Destination destination,
+            MessageCreator messageCreator,
+            MessageSentCallback callback) {
+        PendingSend send = new PendingSend(
+                template, destinationName, destination, messageCreator, callback, new CompletableFuture<>());
+        queue.add(send);
+        // Sends queued after the worker drained the queue on stop would wait forever
+        if (!running && queue.remove(send)) {
+            send.completion().completeExceptionally(stopped());
+        }
+        return send.completion();
+    }
+
+    void start() {
+        running = true;
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        List<PendingSend> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                PendingSend first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + batchTimeoutNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingSend next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+            queue.drainTo(batch);
+            batch.forEach(send -> send.completion().completeExceptionally(stopped()));
+        }
+    }
+
+    private void send(List<PendingSend> batch) {
+        boolean failed = false;
+        try {
+            open();
+            try {
+                for (PendingSend send : batch) {
+                    failed |= !trySend(send);
+                }
+                session.commit();
+            } catch (JMSException | RuntimeException e) {
+                rollback(session);
+                throw e;
+            }
+        } catch (JMSException | RuntimeException e) {
+            // The session may be broken, the next batch opens a new one
+            close();
+            List<PendingSend> rest = batch.stream().filter(send -> !send.completion().isDone()).toList();
+            if (failed && !rest.isEmpty()) {
+                // A failed send may have doomed the transaction, the others get one of their own
+                LOG.debug("Failed to commit a batch with failed sends, sending {} messages alone", rest.size(), e);
+                rest.forEach(send -> send(List.of(send)));
+            } else {
+                LOG.debug("Failed to send a batch of {} messages", batch.size(), e);
+                rest.forEach(send -> send.completion().completeExceptionally(e));
+            }
+            return;
+        }
+        // Sends that failed are completed already
+        batch.forEach(send -> send.completion().complete(null));
+    }
+
+    /**
+     * Sends one message of a batch, failing its send alone if it cannot be created or sent.
+     */
+    private boolean trySend(PendingSend send) {
+        try {
+            Destination destination = send.destination() != null
+                    ? send.destination()
+                    : send.template().resolveDestination(session, send.destinationName());
+            Message message = send.messageCreator().createMessage(session);
+            send.template().send(producer, destination, message);
+            if (send.callback() != null) {
+                send.callback().sent(session, message, destination);
+            }
+            return true;
+        } catch (JMSException | RuntimeException e) {
+            send.completion().completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private void open() throws JMSException {
+        if (session != null) {
+            return;
+        }
+        try {
+            connection = connectionFactory.get().createConnection();
+            session = connection.createSession(true, Session.SESSION_TRANSACTED);
+            producer = session.createProducer(null);
+        } catch (JMSException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the session and connection to the pool.
+     */
+    private void close() {
+        try {
+            if (session != null) {
+                session.close();
+            }
+        } catch (JMSException e) {
+            LOG.debug("Failed to close the session of the batching producer", e);
+        }
+        try {
+            if (connection != null) {
+                connection.close();
+            }
+        } catch (JMSException e) {
+            LOG.debug("Failed to close the connection of the batching producer", e);
+        }
+        producer = null;
+        session = null;
+        connection = null;
+    }
+
+    private static void rollback(Session session) {
+        try {
+            session.rollback();
+        } catch (JMSException e) {
+            LOG.debug("Failed to roll back a batch", e);
+        }
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("The batching JMS producer is stopped");
+    }
+
+    record PendingSend(
+            BatchingJmsTemplate template,
+            String destinationName,
+            Destination destination,
+            MessageCreator messageCreator,
+            MessageSentCallback callback,
+            CompletableFuture<Void> completion) {}
+}
@@ -0,0 +1,66 @@
+package io.kaoto.forage.jms.common.metrics;
+
+import jakarta.jms.ConnectionFactory;
+
+import java.util.Set;
+import org.apache.camel.CamelContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.jms.common.pool.TrackedConnectionPool;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Binds {@link JmsPoolMetrics} for a pooled ConnectionFactory to every {@code MeterRegistry} of the Camel
+ * registry.
+ *
+ * <p>Micrometer is an optional dependency: when it is not on the classpath, no registry is bound, or the
+ * ConnectionFactory is not pooled, nothing is published. Callers only depend on this class, which touches
+ * Micrometer types only after checking that they can be loaded.
+ */
+public final class ConnectionFactoryMetrics {
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionFactoryMetrics.class);
+
+    private static final AutoCloseable NONE = () -> {};
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
+    private ConnectionFactoryMetrics() {}
+
+    /**
+     * Publishes the pool metrics of {@code connectionFactory} under the given bean name.
+     *
+     * @return a handle removing the meters again, never {@code null}
+     */
+    public static AutoCloseable bind(CamelContext camelContext, String name, ConnectionFactory connectionFactory) {
+        if (!MICROMETER_PRESENT || !(connectionFactory instanceof TrackedConnectionPool pool)) {
+            return NONE;
+        }
+        return MicrometerBinding.bind(camelContext, name, pool);
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName(
+                    "io.micrometer.core.instrument.MeterRegistry",
+                    false,
+                    ConnectionFactoryMetrics.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // Nested so that MeterRegistry is only resolved when Micrometer is present
+    private static final class MicrometerBinding {
+
+        static AutoCloseable bind(CamelContext camelContext, String name, TrackedConnectionPool pool) {
+            Set<MeterRegistry> registries = camelContext.getRegistry().findByType(MeterRegistry.class);
+            if (registries.isEmpty()) {
+                return NONE;
+            }
+            JmsPoolMetrics metrics = new JmsPoolMetrics(pool.poolStats(), name);
+            registries.forEach(metrics::bindTo);
+            LOG.debug("Bound pool metrics of ConnectionFactory {} to {} meter registries", name, registries.size());
+            return metrics;
+        }
+    }
+}
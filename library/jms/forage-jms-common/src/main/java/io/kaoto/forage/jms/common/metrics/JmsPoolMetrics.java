@@ -0,0 +1,109 @@
+package io.kaoto.forage.jms.common.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import io.kaoto.forage.jms.common.pool.JmsPoolStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the {@link JmsPoolStats} of a pooled ConnectionFactory, tagged with its bean name.
+ *
+ * <ul>
+ *   <li>{@code forage.jms.pool.connections.active} and {@code .idle} gauges, counting broker connections
+ *       with and without pooled connections using them</li>
+ *   <li>{@code forage.jms.pool.sessions.active} and {@code .idle} gauges, summed over the session pools of
+ *       all broker connections, and {@code forage.jms.pool.sessions.active.max} holding the sessions
+ *       borrowed from the busiest connection</li>
+ *   <li>{@code forage.jms.pool.sessions.blocked} timer, counting session requests that found the session
+ *       pool of their connection full and the time they waited, with
+ *       {@code forage.jms.pool.sessions.blocked.max} holding the longest wait</li>
+ *   <li>{@code forage.jms.pool.connections.evicted} counter of broker connections closed by the idle
+ *       check or after a failure</li>
+ * </ul>
+ *
+ * <p>Gauges read the pool when they are published; {@link #close()} removes the meters from every registry
+ * they were bound to.
+ */
+public class JmsPoolMetrics implements MeterBinder, AutoCloseable {
+
+    static final String PREFIX = "forage.jms.pool.";
+    static final String TAG = "broker";
+
+    private final JmsPoolStats stats;
+    private final Tags tags;
+    private final List<Bound> bound = new ArrayList<>();
+
+    public JmsPoolMetrics(JmsPoolStats stats, String name) {
+        this.stats = stats;
+        this.tags = Tags.of(TAG, name);
+    }
+
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        gauge(
+                registry,
+                "connections.active",
+                "Broker connections used by pooled connections",
+                JmsPoolStats::connectionsInUse);
+        gauge(
+                registry,
+                "connections.idle",
+                "Broker connections no pooled connection uses",
+                JmsPoolStats::connectionsIdle);
+        gauge(registry, "sessions.active", "Sessions borrowed from the session pools", JmsPoolStats::sessionsBorrowed);
+        gauge(registry, "sessions.idle", "Sessions kept open in the session pools", JmsPoolStats::sessionsIdle);
+        gauge(
+                registry,
+                "sessions.active.max",
+                "Sessions borrowed from the broker connection lending out the most",
+                JmsPoolStats::sessionsBorrowedMax);
+
+        add(registry, FunctionTimer.builder(
+                        PREFIX + "sessions.blocked",
+                        stats,
+                        JmsPoolStats::blockedCount,
+                        JmsPoolStats::blockedNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Session requests that found the session pool full and the time they waited")
+                .tags(tags)
+                .register(registry));
+        add(registry, TimeGauge.builder(
+                        PREFIX + "sessions.blocked.max", stats, TimeUnit.NANOSECONDS, JmsPoolStats::blockedMaxNanos)
+                .description("Longest time a session request waited on a full session pool")
+                .tags(tags)
+                .register(registry));
+
+        add(registry, FunctionCounter.builder(PREFIX + "connections.evicted", stats, JmsPoolStats::evictions)
+                .description("Broker connections closed by the idle check or after a failure")
+                .tags(tags)
+                .register(registry));
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<JmsPoolStats> value) {
+        add(registry, Gauge.builder(PREFIX + name, stats, value)
+                .description(description)
+                .tags(tags)
+                .register(registry));
+    }
+
+    private void add(MeterRegistry registry, Meter meter) {
+        bound.add(new Bound(registry, meter));
+    }
+
+    @Override
+    public synchronized void close() {
+        bound.forEach(b -> b.registry().remove(b.meter()));
+        bound.clear();
+    }
+
+    private record Bound(MeterRegistry registry, Meter meter) {}
+}
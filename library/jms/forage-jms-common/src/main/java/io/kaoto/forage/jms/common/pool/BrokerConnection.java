@@ -0,0 +1,120 @@
+package io.kaoto.forage.jms.common.pool;
+
+import jakarta.jms.Session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection opened to the broker by the pool, counting the pooled connections sharing it and the sessions
+ * it keeps open and lends out.
+ */
+class BrokerConnection implements InvocationHandler {
+
+    private final Object target;
+    private final JmsPoolStats stats;
+    private final Set<BrokerSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger users = new AtomicInteger();
+    private final AtomicInteger borrowed = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    BrokerConnection(Object target, JmsPoolStats stats) {
+        this.target = target;
+        this.stats = stats;
+        stats.opened(this);
+    }
+
+    /**
+     * Pooled connections handed out on top of this connection and not closed yet.
+     */
+    int users() {
+        return users.get();
+    }
+
+    /**
+     * Sessions of this connection currently borrowed from its session pool.
+     */
+    int borrowed() {
+        return borrowed.get();
+    }
+
+    /**
+     * Sessions of this connection kept open in its session pool.
+     */
+    int idle() {
+        return Math.max(0, sessions.size() - borrowed.get());
+    }
+
+    void acquire() {
+        users.incrementAndGet();
+    }
+
+    void release() {
+        users.decrementAndGet();
+    }
+
+    void borrow() {
+        borrowed.incrementAndGet();
+    }
+
+    void giveBack() {
+        borrowed.decrementAndGet();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                try {
+                    return JmsProxies.invoke(target, method, args);
+                } finally {
+                    if (closed.compareAndSet(false, true)) {
+                        sessions.clear();
+                        stats.closed(this);
+                    }
+                }
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                Object result = JmsProxies.invoke(target, method, args);
+                if (result instanceof Session session) {
+                    BrokerSession tracked = new BrokerSession(session);
+                    sessions.add(tracked);
+                    return JmsProxies.proxy(session, tracked);
+                }
+                return result;
+        }
+    }
+
+    private final class BrokerSession implements InvocationHandler {
+        private final Session target;
+
+        BrokerSession(Session target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    try {
+                        return JmsProxies.invoke(target, method, args);
+                    } finally {
+                        sessions.remove(this);
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return JmsProxies.invoke(target, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.kaoto.forage.jms.common.pool;
+
+import jakarta.jms.Connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * Provider ConnectionFactory the pool opens its broker connections from, handing them out as
+ * {@link BrokerConnection}s.
+ */
+class BrokerConnectionFactory implements InvocationHandler {
+
+    private final Object target;
+    private final JmsPoolStats stats;
+
+    BrokerConnectionFactory(Object target, JmsPoolStats stats) {
+        this.target = target;
+        this.stats = stats;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                Object result = JmsProxies.invoke(target, method, args);
+                if (result instanceof Connection connection) {
+                    return JmsProxies.proxy(connection, new BrokerConnection(connection, stats));
+                }
+                return result;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.kaoto.forage.jms.common.pool;
+
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import org.messaginghub.pooled.jms.JmsPoolConnection;
+
+/**
+ * Utilisation of one pooled-jms pool, seen from the broker connections and sessions it opens and the
+ * pooled connections and sessions it hands out.
+ *
+ * <p>The gauges read the broker connections when called, the counters are summed as the work happens.
+ */
+public class JmsPoolStats {
+
+    private final Set<BrokerConnection> connections = ConcurrentHashMap.newKeySet();
+    private final IntSupplier maxSessionsPerConnection;
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder blockedCount = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final AtomicLong blockedMaxNanos = new AtomicLong();
+    private volatile boolean stopping;
+
+    JmsPoolStats(IntSupplier maxSessionsPerConnection) {
+        this.maxSessionsPerConnection = maxSessionsPerConnection;
+    }
+
+    /**
+     * Broker connections used by at least one pooled connection that has not been closed.
+     */
+    public int connectionsInUse() {
+        return (int) connections.stream().filter(c -> c.users() > 0).count();
+    }
+
+    /**
+     * Broker connections kept open by the pool without any pooled connection using them.
+     */
+    public int connectionsIdle() {
+        return (int) connections.stream().filter(c -> c.users() <= 0).count();
+    }
+
+    /**
+     * Sessions borrowed from the session pools of all broker connections.
+     */
+    public int sessionsBorrowed() {
+        return connections.stream().mapToInt(BrokerConnection::borrowed).sum();
+    }
+
+    /**
+     * Sessions kept open in the session pools of all broker connections, ready to be borrowed.
+     */
+    public int sessionsIdle() {
+        return connections.stream().mapToInt(BrokerConnection::idle).sum();
+    }
+
+    /**
+     * Sessions borrowed from the broker connection lending out the most, to compare with the
+     * {@code max.sessions.per.connection} limit.
+     */
+    public int sessionsBorrowedMax() {
+        return connections.stream().mapToInt(BrokerConnection::borrowed).max().orElse(0);
+    }
+
+    /**
+     * Broker connections closed by the pool before it was stopped: idle or expired connections removed by
+     * the idle check, and connections that failed.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Session requests that found the session pool of their connection full.
+     */
+    public long blockedCount() {
+        return blockedCount.sum();
+    }
+
+    /**
+     * Time the session requests counted by {@link #blockedCount()} spent waiting, until they got a session
+     * or gave up.
+     */
+    public long blockedNanos() {
+        return blockedNanos.sum();
+    }
+
+    /**
+     * Longest time a session request waited on a full session pool.
+     */
+    public long blockedMaxNanos() {
+        return blockedMaxNanos.get();
+    }
+
+    /**
+     * Wraps the provider ConnectionFactory given to the pool, so that its connections and sessions are
+     * counted.
+     */
+    Object trackBroker(Object connectionFactory) {
+        return JmsProxies.proxy(connectionFactory, new BrokerConnectionFactory(connectionFactory, this));
+    }
+
+    /**
+     * Wraps a connection handed out by the pool, so that its sessions are counted against its broker
+     * connection.
+     */
+    Connection track(Connection connection) throws JMSException {
+        if (connection instanceof JmsPoolConnection pooled) {
+            BrokerConnection broker = JmsProxies.handler(pooled.getConnection(), BrokerConnection.class);
+            if (broker != null) {
+                return JmsProxies.proxy(connection, new TrackedConnection(connection, broker, this));
+            }
+        }
+        return connection;
+    }
+
+    /**
+     * Marks the closing of all broker connections that follows as a shutdown, not as evictions.
+     */
+    void stopping() {
+        stopping = true;
+    }
+
+    boolean isFull(BrokerConnection connection) {
+        int max = maxSessionsPerConnection.getAsInt();
+        return max > 0 && connection.borrowed() >= max;
+    }
+
+    void opened(BrokerConnection connection) {
+        connections.add(connection);
+    }
+
+    void closed(BrokerConnection connection) {
+        if (connections.remove(connection) && !stopping) {
+            evictions.increment();
+        }
+    }
+
+    void blocked(long nanos) {
+        blockedCount.increment();
+        blockedNanos.add(nanos);
+        blockedMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
@@ -0,0 +1,72 @@
+package io.kaoto.forage.jms.common.pool;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Proxies exposing exactly the {@code jakarta.jms} interfaces of the object they wrap, so that callers
+ * checking for {@code XAConnection}, {@code QueueSession} and the like see the same types as without
+ * tracking. Provider specific interfaces are left out, as they may not be visible from this class loader.
+ */
+final class JmsProxies {
+
+    private static final String JMS_PACKAGE = "jakarta.jms.";
+
+    private static final ClassValue<Class<?>[]> INTERFACES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Class<?> candidate : c.getInterfaces()) {
+                    collect(candidate, interfaces);
+                }
+            }
+            return interfaces.toArray(Class<?>[]::new);
+        }
+    };
+
+    private JmsProxies() {}
+
+    static <T> T proxy(Object target, InvocationHandler handler) {
+        @SuppressWarnings("unchecked")
+        T proxy = (T) Proxy.newProxyInstance(
+                JmsProxies.class.getClassLoader(), INTERFACES.get(target.getClass()), handler);
+        return proxy;
+    }
+
+    static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns the handler of {@code object} when it is a proxy created with a handler of {@code type}.
+     */
+    static <T extends InvocationHandler> T handler(Object object, Class<T> type) {
+        if (object != null && Proxy.isProxyClass(object.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(object);
+            if (type.isInstance(handler)) {
+                return type.cast(handler);
+            }
+        }
+        return null;
+    }
+
+    // provider interfaces such as IBM MQ's JmsConnection extend the JMS ones
+    private static void collect(Class<?> candidate, Set<Class<?>> interfaces) {
+        if (candidate.getName().startsWith(JMS_PACKAGE)) {
+            interfaces.add(candidate);
+            return;
+        }
+        for (Class<?> parent : candidate.getInterfaces()) {
+            collect(parent, interfaces);
+        }
+    }
+}
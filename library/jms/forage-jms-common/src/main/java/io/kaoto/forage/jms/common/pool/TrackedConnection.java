@@ -0,0 +1,108 @@
+package io.kaoto.forage.jms.common.pool;
+
+import jakarta.jms.Session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pooled connection handed out to a caller, counting the sessions it borrows on its broker connection and
+ * timing the requests that find the session pool of that connection full.
+ *
+ * <p>Closing the connection returns its open sessions to the pool, so they are given back here as well.
+ */
+class TrackedConnection implements InvocationHandler {
+
+    private final Object target;
+    private final BrokerConnection broker;
+    private final JmsPoolStats stats;
+    private final Set<TrackedSession> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    TrackedConnection(Object target, BrokerConnection broker, JmsPoolStats stats) {
+        this.target = target;
+        this.broker = broker;
+        this.stats = stats;
+        broker.acquire();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                try {
+                    return JmsProxies.invoke(target, method, args);
+                } finally {
+                    if (closed.compareAndSet(false, true)) {
+                        sessions.forEach(TrackedSession::release);
+                        sessions.clear();
+                        broker.release();
+                    }
+                }
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                if (Session.class.isAssignableFrom(method.getReturnType())) {
+                    return borrow(method, args);
+                }
+                return JmsProxies.invoke(target, method, args);
+        }
+    }
+
+    private Object borrow(Method method, Object[] args) throws Throwable {
+        // a snapshot: another thread may give a session back right after
+        boolean full = stats.isFull(broker);
+        long start = System.nanoTime();
+        Session session;
+        try {
+            session = (Session) JmsProxies.invoke(target, method, args);
+        } finally {
+            if (full) {
+                stats.blocked(System.nanoTime() - start);
+            }
+        }
+        TrackedSession tracked = new TrackedSession(session);
+        sessions.add(tracked);
+        broker.borrow();
+        return JmsProxies.proxy(session, tracked);
+    }
+
+    private final class TrackedSession implements InvocationHandler {
+        private final Session target;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        TrackedSession(Session target) {
+            this.target = target;
+        }
+
+        void release() {
+            if (returned.compareAndSet(false, true)) {
+                broker.giveBack();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    try {
+                        return JmsProxies.invoke(target, method, args);
+                    } finally {
+                        release();
+                        sessions.remove(this);
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return JmsProxies.invoke(target, method, args);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.kaoto.forage.jms.common.pool;
+
+/**
+ * pooled-jms ConnectionFactory collecting {@link JmsPoolStats} about its pool.
+ */
+public interface TrackedConnectionPool {
+
+    JmsPoolStats poolStats();
+}
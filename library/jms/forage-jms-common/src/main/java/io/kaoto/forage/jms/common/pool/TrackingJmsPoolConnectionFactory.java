@@ -0,0 +1,43 @@
+package io.kaoto.forage.jms.common.pool;
+
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+
+/**
+ * {@link JmsPoolConnectionFactory} counting the broker connections and sessions of its pool.
+ *
+ * <p>Only connections obtained through {@code createConnection} are tracked, which is how Camel and Spring
+ * use the pool; {@code JMSContext}s and queue or topic connections are pooled as usual but not counted.
+ */
+public class TrackingJmsPoolConnectionFactory extends JmsPoolConnectionFactory implements TrackedConnectionPool {
+
+    private final JmsPoolStats stats = new JmsPoolStats(this::getMaxSessionsPerConnection);
+
+    @Override
+    public JmsPoolStats poolStats() {
+        return stats;
+    }
+
+    @Override
+    public void setConnectionFactory(Object factory) {
+        super.setConnectionFactory(stats.trackBroker(factory));
+    }
+
+    @Override
+    public Connection createConnection() throws JMSException {
+        return createConnection(null, null);
+    }
+
+    @Override
+    public Connection createConnection(String userName, String password) throws JMSException {
+        return stats.track(super.createConnection(userName, password));
+    }
+
+    @Override
+    public void stop() {
+        stats.stopping();
+        super.stop();
+    }
+}
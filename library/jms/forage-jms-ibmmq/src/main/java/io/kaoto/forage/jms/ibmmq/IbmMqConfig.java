@@ -3,6 +3,8 @@ package io.kaoto.forage.jms.ibmmq;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 
 import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.CCDT_URL;
+import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.READ_AHEAD_ALLOWED;
+import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.READ_AHEAD_CLOSE_POLICY;
 import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.RECONNECT_OPTION;
 import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.RECONNECT_TIMEOUT;
 import static io.kaoto.forage.jms.ibmmq.IbmMqConfigEntries.SHARE_CONVERSATIONS;
@@ -40,6 +42,14 @@ public class IbmMqConfig extends AbstractConfig {
         return get(SHARE_CONVERSATIONS).map(Integer::parseInt).orElse(null);
     }
 
+    public String readAheadAllowed() {
+        return get(READ_AHEAD_ALLOWED).orElse(READ_AHEAD_ALLOWED.defaultValue());
+    }
+
+    public String readAheadClosePolicy() {
+        return get(READ_AHEAD_CLOSE_POLICY).orElse(READ_AHEAD_CLOSE_POLICY.defaultValue());
+    }
+
     public String sslCipherSuite() {
         return get(SSL_CIPHER_SUITE).orElse(null);
     }
@@ -46,6 +46,26 @@ public final class IbmMqConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule READ_AHEAD_ALLOWED = ConfigModule.of(
+            IbmMqConfig.class,
+            "forage.jms.ibmmq.read.ahead.allowed",
+            "Whether non-persistent messages are sent ahead to consumers (DESTQDEF uses the queue DEFREADA, NO, YES)",
+            "Read Ahead Allowed",
+            "DESTQDEF",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule READ_AHEAD_CLOSE_POLICY = ConfigModule.of(
+            IbmMqConfig.class,
+            "forage.jms.ibmmq.read.ahead.close.policy",
+            "What happens to messages read ahead when a consumer closes (DELIVERALL, CURRENT)",
+            "Read Ahead Close Policy",
+            "DELIVERALL",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule SSL_CIPHER_SUITE = ConfigModule.of(
             IbmMqConfig.class,
             "forage.jms.ibmmq.ssl.cipher.suite",
@@ -73,6 +93,8 @@ public final class IbmMqConfigEntries extends ConfigEntries {
                 RECONNECT_OPTION,
                 RECONNECT_TIMEOUT,
                 SHARE_CONVERSATIONS,
+                READ_AHEAD_ALLOWED,
+                READ_AHEAD_CLOSE_POLICY,
                 SSL_CIPHER_SUITE,
                 SSL_PEER_NAME);
     }
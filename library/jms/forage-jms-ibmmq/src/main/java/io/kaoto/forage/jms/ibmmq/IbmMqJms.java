@@ -9,6 +9,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Path;
+import org.springframework.jms.support.destination.DestinationResolver;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import io.kaoto.forage.jms.common.PooledConnectionFactory;
@@ -53,6 +54,35 @@ public class IbmMqJms extends PooledConnectionFactory {
         }
     }
 
+    @Override
+    public DestinationResolver createDestinationResolver(String id) {
+        IbmMqConfig mqConfig = new IbmMqConfig(new ConnectionFactoryConfig(id).configPrefix());
+        String readAheadAllowed = mqConfig.readAheadAllowed();
+        int allowed =
+                switch (readAheadAllowed.toUpperCase()) {
+                    case "DESTQDEF" -> CommonConstants.WMQ_READ_AHEAD_ALLOWED_AS_DEST;
+                    case "NO" -> CommonConstants.WMQ_READ_AHEAD_ALLOWED_DISABLED;
+                    case "YES" -> CommonConstants.WMQ_READ_AHEAD_ALLOWED_ENABLED;
+                    default ->
+                        throw new IllegalArgumentException("Invalid read ahead allowed option: " + readAheadAllowed
+                                + ". Expected one of: DESTQDEF, NO, YES");
+                };
+        String readAheadClosePolicy = mqConfig.readAheadClosePolicy();
+        int closePolicy =
+                switch (readAheadClosePolicy.toUpperCase()) {
+                    case "DELIVERALL" -> CommonConstants.WMQ_READ_AHEAD_DELIVERALL;
+                    case "CURRENT" -> CommonConstants.WMQ_READ_AHEAD_DELIVERCURRENT;
+                    default ->
+                        throw new IllegalArgumentException("Invalid read ahead close policy: " + readAheadClosePolicy
+                                + ". Expected one of: DELIVERALL, CURRENT");
+                };
+        if (allowed == CommonConstants.WMQ_READ_AHEAD_ALLOWED_AS_DEST
+                && closePolicy == CommonConstants.WMQ_READ_AHEAD_DELIVERALL) {
+            return null;
+        }
+        return new ReadAheadDestinationResolver(allowed, closePolicy);
+    }
+
     private void configureConnectionFactory(
             MQConnectionFactory connectionFactory, ConnectionFactoryConfig config, IbmMqConfig mqConfig)
             throws JMSException {
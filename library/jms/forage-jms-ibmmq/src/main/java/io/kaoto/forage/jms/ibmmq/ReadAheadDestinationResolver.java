@@ -0,0 +1,35 @@
+package io.kaoto.forage.jms.ibmmq;
+
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+import com.ibm.mq.jakarta.jms.MQDestination;
+
+/**
+ * Resolves destinations as the JMS component does by default, with the read-ahead settings of the broker
+ * configuration. IBM MQ takes these from the destination a consumer is created on, not from the
+ * ConnectionFactory.
+ */
+class ReadAheadDestinationResolver extends DynamicDestinationResolver {
+
+    private final int readAheadAllowed;
+    private final int readAheadClosePolicy;
+
+    ReadAheadDestinationResolver(int readAheadAllowed, int readAheadClosePolicy) {
+        this.readAheadAllowed = readAheadAllowed;
+        this.readAheadClosePolicy = readAheadClosePolicy;
+    }
+
+    @Override
+    public Destination resolveDestinationName(Session session, String destinationName, boolean pubSubDomain)
+            throws JMSException {
+        Destination destination = super.resolveDestinationName(session, destinationName, pubSubDomain);
+        if (destination instanceof MQDestination mqDestination) {
+            mqDestination.setReadAheadAllowed(readAheadAllowed);
+            mqDestination.setReadAheadClosePolicy(readAheadClosePolicy);
+        }
+        return destination;
+    }
+}
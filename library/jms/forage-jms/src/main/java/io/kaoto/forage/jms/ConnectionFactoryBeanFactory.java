@@ -2,20 +2,27 @@ package io.kaoto.forage.jms;
 
 import jakarta.jms.ConnectionFactory;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.camel.CamelContext;
+import org.apache.camel.NamedNode;
 import org.apache.camel.component.jms.JmsComponent;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spi.RoutePolicy;
+import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jms.support.destination.DestinationResolver;
 import org.springframework.transaction.jta.JtaTransactionManager;
 import io.kaoto.forage.core.annotations.ConditionalBean;
 import io.kaoto.forage.core.annotations.ConditionalBeanGroup;
 import io.kaoto.forage.core.annotations.FactoryType;
 import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
-import io.kaoto.forage.core.common.ServiceLoaderHelper;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NeverJtaTransactionPolicy;
@@ -24,11 +31,16 @@ import io.kaoto.forage.core.jta.RequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.RequiresNewJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.SupportsJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.recovery.ForageRecoveryService;
+import io.kaoto.forage.core.util.config.ConfigChanges;
 import io.kaoto.forage.core.util.config.ConfigHelper;
 import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryCommonExportHelper;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import io.kaoto.forage.jms.common.PooledConnectionFactory;
+import io.kaoto.forage.jms.common.autoscaling.ConsumerAutoscaler;
+import io.kaoto.forage.jms.common.autoscaling.QueueDepthProbe;
+import io.kaoto.forage.jms.common.batching.BatchingJmsComponent;
+import io.kaoto.forage.jms.common.metrics.ConnectionFactoryMetrics;
 import io.kaoto.forage.jms.common.transactions.JmsJtaTransactionSupport;
 
 @ForageFactory(
@@ -94,6 +106,19 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
     private static final String DEFAULT_CONNECTION_FACTORY = "connectionFactory";
     private static final String JTA_TRANSACTION_MANAGER = "jtaTransactionManager";
     private static final String JMS_TRANSACTION_MANAGER_CUSTOMIZER = "forageJmsTransactionManagerCustomizer";
+    private static final List<String> TRANSACTION_BEANS = List.of(
+            "PROPAGATION_REQUIRED",
+            "MANDATORY",
+            "NEVER",
+            "NOT_SUPPORTED",
+            "REQUIRES_NEW",
+            "SUPPORTS",
+            JTA_TRANSACTION_MANAGER,
+            JMS_TRANSACTION_MANAGER_CUSTOMIZER);
+
+    private final Map<String, AutoCloseable> poolMetrics = new ConcurrentHashMap<>();
+    private final Map<String, ConsumerAutoscaler> autoscalers = new ConcurrentHashMap<>();
+    private boolean autoscalingPolicyAdded;
 
     @Override
     public void cleanup() {
@@ -113,20 +138,64 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
 
         // Unbind JTA transaction policies and transaction manager wiring if they were registered
         if (anyTransactionEnabled(config, prefixes)) {
-            for (String name : List.of(
-                    "PROPAGATION_REQUIRED",
-                    "MANDATORY",
-                    "NEVER",
-                    "NOT_SUPPORTED",
-                    "REQUIRES_NEW",
-                    "SUPPORTS",
-                    JTA_TRANSACTION_MANAGER,
-                    JMS_TRANSACTION_MANAGER_CUSTOMIZER)) {
-                camelContext.getRegistry().unbind(name);
-            }
+            TRANSACTION_BEANS.forEach(this::unbind);
         }
     }
 
+    /**
+     * ConnectionFactories are configured in parallel with other factories unless transactions are enabled,
+     * where the JTA transaction policies and the Narayana transaction manager are shared with other factories.
+     */
+    @Override
+    public boolean supportsParallelConfigure() {
+        ConnectionFactoryConfig config = new ConnectionFactoryConfig();
+        Set<String> prefixes =
+                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        return !anyTransactionEnabled(config, prefixes);
+    }
+
+    @Override
+    public boolean supportsIncrementalReload() {
+        return true;
+    }
+
+    /**
+     * Recreates only the ConnectionFactories and per-broker JMS components whose
+     * {@code forage.<name>.jms.*} keys changed, and creates those of added prefixes; the pools of all other
+     * brokers stay bound with their open connections. A change of the default {@code forage.jms.*} configuration, which also drives
+     * the transaction wiring shared by all brokers, recreates every ConnectionFactory.
+     */
+    @Override
+    public void reload(ConfigChanges changes) {
+        ConnectionFactoryConfig config = new ConnectionFactoryConfig();
+        Set<String> prefixes =
+                ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
+        Set<String> affected = new HashSet<>(changes.changedPrefixes("jms"));
+        affected.addAll(changes.addedPrefixes("jms", prefixes));
+        boolean defaultChanged = changes.defaultChanged("jms");
+        if (affected.isEmpty() && !defaultChanged) {
+            LOG.debug("No JMS configuration changed, keeping all ConnectionFactories");
+            return;
+        }
+
+        if (defaultChanged) {
+            affected.addAll(prefixes);
+            affected.add(DEFAULT_CONNECTION_FACTORY);
+        }
+
+        LOG.info("Recreating ConnectionFactories {} after configuration change", affected);
+        for (String name : affected) {
+            closeAndUnbind(name);
+            camelContext.removeComponent(name);
+            ForageRecoveryService.getInstance().deregisterHelpers(PooledConnectionFactory.recoveryKey(name));
+        }
+        if (defaultChanged || !anyTransactionEnabled(config, prefixes)) {
+            TRANSACTION_BEANS.forEach(this::unbind);
+        }
+
+        configure();
+    }
+
     @Override
     public void stop() {
         ConnectionFactoryConfig config = new ConnectionFactoryConfig();
@@ -134,6 +203,8 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
                 ConfigStore.getInstance().readPrefixes(config, ConfigHelper.getNamedPropertyRegexp("jms"));
 
         deregisterRecoveryHelpers(prefixes);
+        autoscalers.values().forEach(ConsumerAutoscaler::close);
+        autoscalers.clear();
         // The recovery manager is shared with the JDBC module: the last module out terminates it.
         ForageRecoveryService.getInstance().stopIfNoRegistrations();
     }
@@ -150,7 +221,19 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
         // Note: we intentionally do NOT close AutoCloseable resources here.
         // Camel components cache references at the component level.
         // The old resource is unbound and will be GC'd after the component is reset and routes reloaded.
-        camelContext.getRegistry().unbind(name);
+        unbind(name);
+        AutoCloseable metrics = poolMetrics.remove(name);
+        if (metrics != null) {
+            try {
+                metrics.close();
+            } catch (Exception e) {
+                LOG.debug("Failed to remove pool metrics of ConnectionFactory {}", name, e);
+            }
+        }
+        ConsumerAutoscaler autoscaler = autoscalers.remove(name);
+        if (autoscaler != null) {
+            autoscaler.close();
+        }
     }
 
     @Override
@@ -164,37 +247,42 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
         // discovered prefixed config has transactions enabled (#427)
         JtaTransactionManager jtaTransactionManager = null;
         if (anyTransactionEnabled(config, prefixes)) {
-            camelContext.getRegistry().bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
-            camelContext.getRegistry().bind("MANDATORY", new MandatoryJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NEVER", new NeverJtaTransactionPolicy());
-            camelContext.getRegistry().bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
-            camelContext.getRegistry().bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
-            camelContext.getRegistry().bind("SUPPORTS", new SupportsJtaTransactionPolicy());
+            bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
+            bind("MANDATORY", new MandatoryJtaTransactionPolicy());
+            bind("NEVER", new NeverJtaTransactionPolicy());
+            bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
+            bind("REQUIRES_NEW", new RequiresNewJtaTransactionPolicy());
+            bind("SUPPORTS", new SupportsJtaTransactionPolicy());
 
-            jtaTransactionManager = JmsJtaTransactionSupport.createJtaTransactionManager();
-            camelContext.getRegistry().bind(JTA_TRANSACTION_MANAGER, jtaTransactionManager);
+            // Reuse the transaction manager already wired into the components of brokers kept by reload()
+            jtaTransactionManager = lookup(JTA_TRANSACTION_MANAGER, JtaTransactionManager.class);
+            if (jtaTransactionManager == null) {
+                jtaTransactionManager = JmsJtaTransactionSupport.createJtaTransactionManager();
+                bind(JTA_TRANSACTION_MANAGER, jtaTransactionManager);
+            }
 
             // Apply the ComponentCustomizer to the default "jms" component ONLY when
             // the default (unprefixed) config enables transactions. Named per-broker
             // components are pre-configured at creation time (#433).
             if (config.transactionEnabled()) {
-                camelContext
-                        .getRegistry()
-                        .bind(
-                                JMS_TRANSACTION_MANAGER_CUSTOMIZER,
-                                JmsJtaTransactionSupport.jmsComponentCustomizer(jtaTransactionManager));
+                bind(
+                        JMS_TRANSACTION_MANAGER_CUSTOMIZER,
+                        JmsJtaTransactionSupport.jmsComponentCustomizer(jtaTransactionManager));
             }
         }
 
         if (!prefixes.isEmpty()) {
             for (String name : prefixes) {
-                ConnectionFactory connectionFactory =
-                        camelContext.getRegistry().lookupByNameAndType(name, ConnectionFactory.class);
+                ConnectionFactory connectionFactory = lookup(name, ConnectionFactory.class);
                 if (connectionFactory == null) {
                     ConnectionFactoryConfig cfConfig = new ConnectionFactoryConfig(name);
                     connectionFactory = newConnectionFactory(cfConfig, name);
                     if (connectionFactory != null) {
-                        camelContext.getRegistry().bind(name, connectionFactory);
+                        bind(name, connectionFactory);
+                        // under the registry monitor, like every change to the context, see supportsParallelConfigure()
+                        synchronized (camelContext.getRegistry()) {
+                            poolMetrics.put(name, ConnectionFactoryMetrics.bind(camelContext, name, connectionFactory));
+                        }
                     } else {
                         LOG.warn("Skipping binding for '{}' because ConnectionFactory creation returned null", name);
                         continue;
@@ -202,21 +290,37 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
                 }
 
                 // Register a per-broker JmsComponent so routes using "name:queue:..."
-                // get the correct ConnectionFactory and JTA scoping (#433)
+                // get the correct ConnectionFactory and JTA scoping (#433). A component
+                // kept by reload() already holds the ConnectionFactory bound above.
+                if (camelContext.hasComponent(name) != null) {
+                    continue;
+                }
                 ConnectionFactoryConfig cfConfig = new ConnectionFactoryConfig(name);
                 JtaTransactionManager perBrokerTm = cfConfig.transactionEnabled() ? jtaTransactionManager : null;
-                JmsComponent jmsComponent = JmsJtaTransactionSupport.createJmsComponent(connectionFactory, perBrokerTm);
+                JmsComponent jmsComponent = newJmsComponent(name, cfConfig, connectionFactory, perBrokerTm);
+                DestinationResolver destinationResolver = createDestinationResolver(cfConfig, name);
+                if (destinationResolver != null) {
+                    jmsComponent.setDestinationResolver(destinationResolver);
+                }
+                if (cfConfig.consumerAutoscalingEnabled()) {
+                    startAutoscaler(name, cfConfig, jmsComponent);
+                }
                 camelContext.addComponent(name, jmsComponent);
             }
         } else {
             try {
-                if (camelContext.getRegistry().lookupByNameAndType(DEFAULT_CONNECTION_FACTORY, ConnectionFactory.class)
-                        == null) {
+                if (lookup(DEFAULT_CONNECTION_FACTORY, ConnectionFactory.class) == null) {
                     final List<ServiceLoader.Provider<ConnectionFactoryProvider>> providers =
                             findProviders(ConnectionFactoryProvider.class);
                     if (providers.size() == 1) {
                         ConnectionFactory connectionFactory = doCreateConnectionFactory(providers.get(0), null);
-                        camelContext.getRegistry().bind(DEFAULT_CONNECTION_FACTORY, connectionFactory);
+                        bind(DEFAULT_CONNECTION_FACTORY, connectionFactory);
+                        synchronized (camelContext.getRegistry()) {
+                            poolMetrics.put(
+                                    DEFAULT_CONNECTION_FACTORY,
+                                    ConnectionFactoryMetrics.bind(
+                                            camelContext, DEFAULT_CONNECTION_FACTORY, connectionFactory));
+                        }
                     } else {
                         throw new IllegalArgumentException(
                                 "No ConnectionFactory implementation is present in the classpath");
@@ -228,6 +332,80 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
         }
     }
 
+    private JmsComponent newJmsComponent(
+            String name,
+            ConnectionFactoryConfig config,
+            ConnectionFactory connectionFactory,
+            JtaTransactionManager transactionManager) {
+        if (config.producerBatchSize() > 1) {
+            if (transactionManager == null) {
+                BatchingJmsComponent component =
+                        new BatchingJmsComponent(config.producerBatchSize(), config.producerBatchTimeoutMillis());
+                component.setConnectionFactory(connectionFactory);
+                return component;
+            }
+            LOG.warn(
+                    "Ignoring the producer batch size of '{}': within JTA transactions the route commits its sends",
+                    name);
+        }
+        return JmsJtaTransactionSupport.createJmsComponent(connectionFactory, transactionManager);
+    }
+
+    private DestinationResolver createDestinationResolver(ConnectionFactoryConfig config, String name) {
+        final ServiceLoader.Provider<ConnectionFactoryProvider> provider = findProvider(
+                ConnectionFactoryProvider.class,
+                ConnectionFactoryCommonExportHelper.transformJmsKindIntoProviderClass(config.jmsKind()));
+        return provider != null && provider.get() instanceof PooledConnectionFactory pooled
+                ? pooled.createDestinationResolver(name)
+                : null;
+    }
+
+    private void startAutoscaler(String name, ConnectionFactoryConfig config, JmsComponent jmsComponent) {
+        ConsumerAutoscaler autoscaler =
+                new ConsumerAutoscaler(name, jmsComponent, config, createQueueDepthProbe(config, name));
+        autoscaler.start(camelContext);
+        autoscalers.put(name, autoscaler);
+        if (!autoscalingPolicyAdded) {
+            synchronized (camelContext.getRegistry()) {
+                camelContext.addRoutePolicyFactory(this::autoscalingPolicy);
+            }
+            autoscalingPolicyAdded = true;
+        }
+    }
+
+    private QueueDepthProbe createQueueDepthProbe(ConnectionFactoryConfig config, String name) {
+        final ServiceLoader.Provider<ConnectionFactoryProvider> provider = findProvider(
+                ConnectionFactoryProvider.class,
+                ConnectionFactoryCommonExportHelper.transformJmsKindIntoProviderClass(config.jmsKind()));
+        QueueDepthProbe probe = provider != null && provider.get() instanceof PooledConnectionFactory pooled
+                ? pooled.createQueueDepthProbe(name)
+                : null;
+        if (probe == null) {
+            LOG.info(
+                    "JMS kind '{}' does not expose queue depths, the consumers of '{}' are scaled on their idle "
+                            + "ratio only",
+                    config.jmsKind(),
+                    name);
+        }
+        return probe;
+    }
+
+    /**
+     * Adds the policy of the broker autoscaler to routes consuming through a per-broker component
+     * ({@code name:queue:...}), so that their consumers are scaled once started.
+     */
+    private RoutePolicy autoscalingPolicy(CamelContext context, String routeId, NamedNode node) {
+        if (node instanceof RouteDefinition route && route.getInput() != null) {
+            String uri = route.getInput().getEndpointUri();
+            String component = uri == null ? null : StringHelper.before(uri, ":", "");
+            if (component != null && autoscalers.containsKey(component)) {
+                // looked up when the route starts, as a reload replaces the autoscaler
+                return ConsumerAutoscaler.routePolicy(component, autoscalers::get);
+            }
+        }
+        return null;
+    }
+
     private static boolean anyTransactionEnabled(ConnectionFactoryConfig defaultConfig, Set<String> prefixes) {
         if (defaultConfig.transactionEnabled()) {
             return true;
@@ -242,14 +420,11 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
                         connectionFactoryConfig.jmsKind());
         LOG.info("Creating ConnectionFactory of type {}", connectionFactoryProviderClass);
 
-        final List<ServiceLoader.Provider<ConnectionFactoryProvider>> providers =
-                findProviders(ConnectionFactoryProvider.class);
-
         final ServiceLoader.Provider<ConnectionFactoryProvider> connectionFactoryProvider =
-                ServiceLoaderHelper.findProviderByClassName(providers, connectionFactoryProviderClass);
+                findProvider(ConnectionFactoryProvider.class, connectionFactoryProviderClass);
 
         if (connectionFactoryProvider == null) {
-            String available = providers.stream()
+            String available = findProviders(ConnectionFactoryProvider.class).stream()
                     .map(p -> p.type().getName())
                     .reduce((a, b) -> a + ", " + b)
                     .orElse("none");
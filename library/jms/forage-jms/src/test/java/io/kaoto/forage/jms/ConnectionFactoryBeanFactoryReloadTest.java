@@ -0,0 +1,124 @@
+package io.kaoto.forage.jms;
+
+import jakarta.jms.ConnectionFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import io.kaoto.forage.core.ForageContextServicePlugin;
+import io.kaoto.forage.core.util.config.ConfigStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that a hot-reload recreates only the ConnectionFactories whose configuration changed, so
+ * the pooled-jms pool and the per-broker component of an untouched prefix keep their identity. The
+ * configuration is written to a temporary {@code forage.config.dir}, which takes precedence over the
+ * test classpath's properties file. No broker is needed: Artemis connects lazily.
+ */
+class ConnectionFactoryBeanFactoryReloadTest {
+
+    @TempDir
+    Path configDir;
+
+    private CamelContext camelContext;
+    private ForageContextServicePlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+        camelContext = new DefaultCamelContext();
+        plugin = new ForageContextServicePlugin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+    }
+
+    @Test
+    void unrelatedChangeKeepsJmsPool() throws IOException {
+        writeConfig(1);
+        plugin.load(camelContext);
+
+        ConnectionFactory mq1 = lookup("mq1");
+        ConnectionFactory mq2 = lookup("mq2");
+        Component mq1Component = camelContext.hasComponent("mq1");
+        assertThat(mq1).isInstanceOf(JmsPoolConnectionFactory.class);
+
+        writeConfig(2);
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("mq1"))
+                .as("mq1 has no changed key and must keep its pool")
+                .isSameAs(mq1);
+        assertThat(camelContext.hasComponent("mq1")).isSameAs(mq1Component);
+        assertThat(lookup("mq2"))
+                .as("mq2 changed its pool size and must be recreated")
+                .isInstanceOf(JmsPoolConnectionFactory.class)
+                .isNotSameAs(mq2);
+        assertThat(((JmsPoolConnectionFactory) lookup("mq2")).getMaxConnections())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void unchangedConfigurationKeepsAllPools() throws IOException {
+        writeConfig(1);
+        plugin.load(camelContext);
+
+        ConnectionFactory mq1 = lookup("mq1");
+        ConnectionFactory mq2 = lookup("mq2");
+
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("mq1")).isSameAs(mq1);
+        assertThat(lookup("mq2")).isSameAs(mq2);
+    }
+
+    @Test
+    void addedPrefixIsCreated() throws IOException {
+        writeConfig(1);
+        plugin.load(camelContext);
+        ConnectionFactory mq1 = lookup("mq1");
+        assertThat(lookup("mq3")).isNull();
+
+        Files.writeString(
+                configDir.resolve("forage-connectionfactory.properties"),
+                """
+                forage.mq3.jms.kind=artemis
+                forage.mq3.jms.broker.url=tcp://localhost:61618
+                """,
+                StandardOpenOption.APPEND);
+        plugin.onReload(camelContext);
+
+        assertThat(lookup("mq3")).isInstanceOf(JmsPoolConnectionFactory.class);
+        assertThat(camelContext.hasComponent("mq3")).isNotNull();
+        assertThat(lookup("mq1")).isSameAs(mq1);
+    }
+
+    private ConnectionFactory lookup(String name) {
+        return camelContext.getRegistry().lookupByNameAndType(name, ConnectionFactory.class);
+    }
+
+    private void writeConfig(int mq2MaxConnections) throws IOException {
+        String properties = """
+                forage.mq1.jms.kind=artemis
+                forage.mq1.jms.broker.url=tcp://localhost:61616
+                forage.mq2.jms.kind=artemis
+                forage.mq2.jms.broker.url=tcp://localhost:61617
+                forage.mq2.jms.pool.max.connections=%d
+                """.formatted(mq2MaxConnections);
+        Files.writeString(configDir.resolve("forage-connectionfactory.properties"), properties);
+    }
+}
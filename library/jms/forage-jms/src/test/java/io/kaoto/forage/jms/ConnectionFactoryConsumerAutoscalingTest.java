@@ -0,0 +1,172 @@
+package io.kaoto.forage.jms;
+
+import jakarta.jms.Connection;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import io.kaoto.forage.core.util.config.ConfigChanges;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.common.pool.JmsPoolStats;
+import io.kaoto.forage.jms.common.pool.TrackedConnectionPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the same bursts of slow messages to a route with one static consumer ({@code fixed}) and to a route
+ * whose consumers are scaled by the broker component ({@code scaled}), on an embedded Artemis broker, and
+ * compares the time both take to drain their queue, and checks that the running route is still scaled
+ * after a reload replaced the autoscaler.
+ */
+class ConnectionFactoryConsumerAutoscalingTest {
+
+    private static final int BURSTS = 3;
+    private static final int BURST_SIZE = 100;
+    private static final long BURST_PAUSE_MILLIS = 100;
+    private static final long WORK_MILLIS = 10;
+    private static final int MAX_SESSIONS = 4;
+
+    @TempDir
+    Path configDir;
+
+    private final CountDownLatch fixedProcessed = new CountDownLatch(BURSTS * BURST_SIZE);
+    private final CountDownLatch scaledProcessed = new CountDownLatch(BURSTS * BURST_SIZE);
+    private final AtomicInteger scaledInFlight = new AtomicInteger();
+    private final AtomicInteger scaledInFlightMax = new AtomicInteger();
+    private final AtomicInteger sessionsBorrowedMax = new AtomicInteger();
+
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private ConnectionFactoryBeanFactory factory;
+    private JmsPoolStats scaledPool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        writeConfig(100);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        scaledPool = camelContext
+                .getRegistry()
+                .lookupByNameAndType("scaled", TrackedConnectionPool.class)
+                .poolStats();
+
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("fixed:queue:fixed?concurrentConsumers=1").routeId("fixed").process(exchange -> {
+                    Thread.sleep(WORK_MILLIS);
+                    fixedProcessed.countDown();
+                });
+                from("scaled:queue:scaled").routeId("scaled").process(exchange -> {
+                    scaledInFlightMax.accumulateAndGet(scaledInFlight.incrementAndGet(), Math::max);
+                    sessionsBorrowedMax.accumulateAndGet(scaledPool.sessionsBorrowedMax(), Math::max);
+                    Thread.sleep(WORK_MILLIS);
+                    scaledInFlight.decrementAndGet();
+                    scaledProcessed.countDown();
+                });
+            }
+        });
+        camelContext.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        JmsPoolConnectionFactory fixed =
+                camelContext.getRegistry().lookupByNameAndType("fixed", JmsPoolConnectionFactory.class);
+        JmsPoolConnectionFactory scaled =
+                camelContext.getRegistry().lookupByNameAndType("scaled", JmsPoolConnectionFactory.class);
+        camelContext.close();
+        fixed.stop();
+        scaled.stop();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        broker.stop();
+    }
+
+    @Test
+    void scaledConsumersDrainBurstsFasterWithinTheSessionLimit() throws Exception {
+        long fixedMillis = drainMillis("fixed", fixedProcessed);
+        long scaledMillis = drainMillis("scaled", scaledProcessed);
+
+        assertThat(scaledMillis).isLessThan(fixedMillis);
+        assertThat(scaledInFlightMax.get()).isBetween(2, MAX_SESSIONS);
+        assertThat(sessionsBorrowedMax.get()).isLessThanOrEqualTo(MAX_SESSIONS);
+        assertThat(scaledPool.blockedCount()).isZero();
+    }
+
+    @Test
+    void runningRouteIsScaledAfterReload() throws Exception {
+        ConfigChanges changes = ConfigChanges.capture();
+        writeConfig(50);
+        ConfigStore.getInstance().reload();
+        changes.reread();
+        factory.reload(changes);
+
+        drainMillis("scaled", scaledProcessed);
+
+        assertThat(scaledInFlightMax.get()).isBetween(2, MAX_SESSIONS);
+    }
+
+    private void writeConfig(long intervalMillis) throws IOException {
+        // Without a consumer window the first consumer does not buffer the backlog the others should take
+        Files.writeString(configDir.resolve("forage-connectionfactory.properties"), """
+                forage.fixed.jms.kind=artemis
+                forage.fixed.jms.broker.url=vm://0
+                forage.fixed.jms.artemis.consumer.window.size=0
+                forage.scaled.jms.kind=artemis
+                forage.scaled.jms.broker.url=vm://0
+                forage.scaled.jms.artemis.consumer.window.size=0
+                forage.scaled.jms.pool.max.connections=1
+                forage.scaled.jms.pool.max.sessions.per.connection=%d
+                forage.scaled.jms.consumer.autoscaling.enabled=true
+                forage.scaled.jms.consumer.autoscaling.min.consumers=1
+                forage.scaled.jms.consumer.autoscaling.max.consumers=10
+                forage.scaled.jms.consumer.autoscaling.interval.millis=%d
+                forage.scaled.jms.consumer.autoscaling.messages.per.consumer=5
+                """.formatted(MAX_SESSIONS, intervalMillis));
+    }
+
+    private long drainMillis(String queue, CountDownLatch processed) throws Exception {
+        long start = System.nanoTime();
+        try (Connection connection = new ActiveMQConnectionFactory("vm://0").createConnection()) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(session.createQueue(queue));
+            for (int burst = 0; burst < BURSTS; burst++) {
+                for (int i = 0; i < BURST_SIZE; i++) {
+                    producer.send(session.createTextMessage("burst " + burst));
+                }
+                Thread.sleep(BURST_PAUSE_MILLIS);
+            }
+        }
+        assertThat(processed.await(60, TimeUnit.SECONDS)).isTrue();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,175 @@
+package io.kaoto.forage.jms;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Session;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.camel.CamelContext;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.common.pool.TrackedConnectionPool;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exhausts the sessions of a single-connection pool on an embedded Artemis broker and checks that its pool
+ * metrics are published to the {@link MeterRegistry} found in the Camel registry.
+ */
+class ConnectionFactoryPoolMetricsTest {
+
+    @TempDir
+    Path configDir;
+
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private MeterRegistry meterRegistry;
+    private ConnectionFactoryBeanFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0"));
+        broker.start();
+
+        Files.writeString(configDir.resolve("forage-connectionfactory.properties"), """
+                forage.mq.jms.kind=artemis
+                forage.mq.jms.broker.url=vm://0
+                forage.mq.jms.pool.max.connections=1
+                forage.mq.jms.pool.max.sessions.per.connection=2
+                forage.mq.jms.pool.block.if.full=true
+                forage.mq.jms.pool.idle.timeout.millis=100
+                forage.mq.jms.pool.expiry.timeout.millis=100
+                """);
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        meterRegistry = new SimpleMeterRegistry();
+        camelContext.getRegistry().bind("meterRegistry", meterRegistry);
+        factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (camelContext.getRegistry().lookupByName("mq") instanceof JmsPoolConnectionFactory pool) {
+            pool.stop();
+        }
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        broker.stop();
+    }
+
+    @Test
+    void blockedTimerRecordsTheWaitOnAFullSessionPool() throws Exception {
+        Connection connection = connectionFactory().createConnection();
+        Session first = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Session second = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        assertThat(gauge("connections.active")).isEqualTo(1);
+        assertThat(gauge("sessions.active")).isEqualTo(2);
+        assertThat(gauge("sessions.active.max")).isEqualTo(2);
+
+        CompletableFuture<Void> release = CompletableFuture.runAsync(() -> {
+            try {
+                Thread.sleep(200);
+                first.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Session third = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        release.get(5, TimeUnit.SECONDS);
+
+        FunctionTimer blocked = meterRegistry
+                .get("forage.jms.pool.sessions.blocked")
+                .tag("broker", "mq")
+                .functionTimer();
+        assertThat(blocked.count()).isEqualTo(1);
+        assertThat(blocked.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(150);
+        assertThat(meterRegistry
+                        .get("forage.jms.pool.sessions.blocked.max")
+                        .tag("broker", "mq")
+                        .timeGauge()
+                        .value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(150);
+        assertThat(gauge("sessions.active")).isEqualTo(2);
+
+        third.close();
+        second.close();
+        assertThat(gauge("sessions.active")).isZero();
+        assertThat(gauge("sessions.idle")).isEqualTo(2);
+
+        connection.close();
+        assertThat(gauge("connections.active")).isZero();
+    }
+
+    @Test
+    void idleCheckEvictsUnusedConnections() throws Exception {
+        Connection connection = connectionFactory().createConnection();
+        connection.createSession(false, Session.AUTO_ACKNOWLEDGE).close();
+        connection.close();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (counter("connections.evicted") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(counter("connections.evicted")).isEqualTo(1);
+        assertThat(gauge("connections.idle")).isZero();
+        assertThat(gauge("sessions.idle")).isZero();
+    }
+
+    @Test
+    void metersAreRemovedWhenConnectionFactoryIsUnbound() throws Exception {
+        JmsPoolConnectionFactory pool = (JmsPoolConnectionFactory) connectionFactory();
+        // kept open, so that the idle check leaves its broker connection to stop()
+        Connection connection = pool.createConnection();
+        assertThat(meterRegistry.find("forage.jms.pool.sessions.active").gauges())
+                .hasSize(1);
+
+        factory.cleanup();
+        pool.stop();
+
+        assertThat(meterRegistry.find("forage.jms.pool.sessions.active").gauges())
+                .isEmpty();
+        assertThat(((TrackedConnectionPool) pool).poolStats().evictions()).isZero();
+        connection.close();
+    }
+
+    private ConnectionFactory connectionFactory() {
+        return camelContext.getRegistry().lookupByNameAndType("mq", ConnectionFactory.class);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry
+                .get("forage.jms.pool." + name)
+                .tag("broker", "mq")
+                .gauge()
+                .value();
+    }
+
+    private double counter(String name) {
+        return meterRegistry
+                .get("forage.jms.pool." + name)
+                .tag("broker", "mq")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,196 @@
+package io.kaoto.forage.jms;
+
+import jakarta.jms.Connection;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.JmsConstants;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import io.kaoto.forage.jms.common.batching.BatchingJmsComponent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends through a per-broker component with {@code producer.batch.size} set, on an embedded Artemis broker,
+ * and checks that a full batch is committed at once while a lone message waits for the batch timeout, that
+ * a message that cannot be sent fails only its own exchange, and that request/reply exchanges are not batched.
+ */
+class ConnectionFactoryProducerBatchingTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final long BATCH_TIMEOUT_MILLIS = 2000;
+
+    @TempDir
+    Path configDir;
+
+    private EmbeddedActiveMQ broker;
+    private CamelContext camelContext;
+    private ProducerTemplate template;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("in-vm", "vm://0")
+                .addAddressSetting(
+                        "missing", new AddressSettings().setAutoCreateAddresses(false).setAutoCreateQueues(false)));
+        broker.start();
+
+        Files.writeString(configDir.resolve("forage-connectionfactory.properties"), """
+                forage.mq.jms.kind=artemis
+                forage.mq.jms.broker.url=vm://0
+                forage.mq.jms.producer.batch.size=%d
+                forage.mq.jms.producer.batch.timeout.millis=%d
+                """.formatted(BATCH_SIZE, BATCH_TIMEOUT_MILLIS));
+        System.setProperty("forage.config.dir", configDir.toString());
+        ConfigStore.getInstance().reload();
+
+        camelContext = new DefaultCamelContext();
+        ConnectionFactoryBeanFactory factory = new ConnectionFactoryBeanFactory();
+        factory.setCamelContext(camelContext);
+        factory.configure();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:send").to("mq:queue:batched");
+                from("mq:queue:service").setBody(simple("reply to ${body}"));
+            }
+        });
+        camelContext.start();
+        template = camelContext.createProducerTemplate();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        JmsPoolConnectionFactory pool =
+                camelContext.getRegistry().lookupByNameAndType("mq", JmsPoolConnectionFactory.class);
+        camelContext.close();
+        pool.stop();
+        System.clearProperty("forage.config.dir");
+        ConfigStore.getInstance().reload();
+        broker.stop();
+    }
+
+    @Test
+    void fullBatchIsCommittedWithoutWaitingForTheTimeout() throws Exception {
+        assertThat(camelContext.getComponent("mq")).isInstanceOf(BatchingJmsComponent.class);
+
+        ExecutorService senders = Executors.newFixedThreadPool(BATCH_SIZE);
+        try {
+            long start = System.nanoTime();
+            List<Future<Exchange>> sent = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                String body = "message " + i;
+                sent.add(senders.submit(() -> template.send("direct:send", e -> e.getMessage().setBody(body))));
+            }
+            for (Future<Exchange> exchange : sent) {
+                assertThat(exchange.get(10, TimeUnit.SECONDS).getException()).isNull();
+            }
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(BATCH_TIMEOUT_MILLIS);
+        } finally {
+            senders.shutdownNow();
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            expected.add("message " + i);
+        }
+        assertThat(receive(BATCH_SIZE)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void failedSendFailsOnlyItsExchange() throws Exception {
+        ExecutorService senders = Executors.newFixedThreadPool(BATCH_SIZE);
+        List<Exchange> exchanges = new ArrayList<>();
+        try {
+            List<Future<Exchange>> sent = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                String body = "message " + i;
+                boolean missing = i == 0;
+                sent.add(senders.submit(() -> template.send("direct:send", e -> {
+                    e.getMessage().setBody(body);
+                    if (missing) {
+                        // the broker does not create this queue, so its send fails
+                        e.getMessage().setHeader(JmsConstants.JMS_DESTINATION_NAME, "missing");
+                    }
+                })));
+            }
+            for (Future<Exchange> exchange : sent) {
+                exchanges.add(exchange.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            senders.shutdownNow();
+        }
+
+        assertThat(exchanges.get(0).getException()).isNotNull();
+        Set<String> expected = new HashSet<>();
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            assertThat(exchanges.get(i).getException()).isNull();
+            expected.add("message " + i);
+        }
+        assertThat(receive(BATCH_SIZE - 1)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void partialBatchIsCommittedAfterTheTimeout() throws Exception {
+        long start = System.nanoTime();
+        template.sendBody("direct:send", "alone");
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isGreaterThanOrEqualTo(BATCH_TIMEOUT_MILLIS - 100);
+        assertThat(receive(1)).containsExactly("alone");
+    }
+
+    @Test
+    void requestReplyIsNotBatched() {
+        long start = System.nanoTime();
+        String reply = template.requestBody("mq:queue:service", "ping", String.class);
+
+        assertThat(reply).isEqualTo("reply to ping");
+        // a batched request and reply would each wait for the batch timeout
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(BATCH_TIMEOUT_MILLIS);
+    }
+
+    private List<String> receive(int count) throws Exception {
+        List<String> bodies = new ArrayList<>();
+        try (Connection connection = new ActiveMQConnectionFactory("vm://0").createConnection()) {
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue("batched"));
+            for (int i = 0; i < count; i++) {
+                TextMessage message = (TextMessage) consumer.receive(5000);
+                assertThat(message).isNotNull();
+                bodies.add(message.getText());
+            }
+            assertThat(consumer.receiveNoWait()).isNull();
+        }
+        return bodies;
+    }
+}